@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.batch.jobs.impl.messaging;
+
+import static com.elasticpath.persistence.api.PersistenceConstants.LIST_PARAMETER_NAME;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.ProducerTemplate;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elasticpath.domain.messaging.OutboxMessage;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.service.misc.TimeService;
+import com.elasticpath.settings.provider.SettingValueProvider;
+
+/**
+ * Continuously relays the messages of the Camel messages outbox to their final destination.
+ * <p>
+ * The outbox is split into partitions by the partition key of its messages, which is derived from the entity they are about, and each
+ * partition owned by this node is drained by its own worker thread, so that no two workers ever claim the same message and the
+ * messages about one entity are always relayed by the same worker. Nodes share the outbox by owning disjoint sets of partitions.
+ * <p>
+ * A worker reads a batch in creation order and sends it in rounds: each round sends the next message of every partition key in the
+ * batch without waiting for each broker acknowledgement, then waits for the acknowledgements. The messages of one partition key are
+ * therefore sent one after the other, in order. Once a message fails to send, the later messages with its partition key are neither
+ * sent nor deleted, and the whole sequence is retried with the next batch. The acknowledged messages are deleted.
+ * A worker polls again immediately while it relays full batches, and sleeps for the poll interval otherwise, including when
+ * nothing could be relayed.
+ */
+@ManagedResource(objectName = "com.elasticpath.batch:name=OutboxMessageRelay", description = "Relay of the Camel messages outbox",
+		currencyTimeLimit = 1)
+public class OutboxMessageRelay implements SmartLifecycle {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OutboxMessageRelay.class);
+
+	private static final String SELECT_PARTITION_QUERY = "SELECT_OUTBOXMESSAGES_BY_PARTITION";
+
+	private static final long DEFAULT_SEND_TIMEOUT = 30000;
+
+	@EndpointInject(context = "ep-batch-outbox-relay")
+	private ProducerTemplate producer;
+
+	private PersistenceEngine persistenceEngine;
+
+	private TransactionTemplate transactionTemplate;
+
+	private TimeService timeService;
+
+	private SettingValueProvider<Integer> batchSizeProvider;
+
+	private int partitionCount = 1;
+
+	private String ownedPartitions;
+
+	private long pollInterval;
+
+	private long startDelay;
+
+	private long sendTimeout = DEFAULT_SEND_TIMEOUT;
+
+	private boolean autoStartup = true;
+
+	private final AtomicLong relayedMessageCount = new AtomicLong();
+
+	private final AtomicLong failedMessageCount = new AtomicLong();
+
+	private final List<Thread> workers = new ArrayList<>();
+
+	private volatile boolean running;
+
+	@Override
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		for (final int partition : getOwnedPartitions()) {
+			final Thread worker = new Thread(() -> relay(partition), "outbox-relay-" + partition);
+			worker.setDaemon(true);
+			workers.add(worker);
+			worker.start();
+		}
+		LOG.info("Started relaying outbox partitions {} of {}", getOwnedPartitions(), partitionCount);
+	}
+
+	@Override
+	public synchronized void stop() {
+		running = false;
+		for (final Thread worker : workers) {
+			worker.interrupt();
+		}
+		for (final Thread worker : workers) {
+			try {
+				worker.join(sendTimeout);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		workers.clear();
+	}
+
+	@Override
+	public void stop(final Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return autoStartup;
+	}
+
+	@Override
+	public int getPhase() {
+		// start after, and stop before, the components the relay depends on
+		return Integer.MAX_VALUE;
+	}
+
+	private void relay(final int partition) {
+		if (!pause(startDelay)) {
+			return;
+		}
+		while (running) {
+			long delay = 0;
+			try {
+				if (relayPartition(partition) < getBatchSize()) {
+					delay = pollInterval;
+				}
+			} catch (final RuntimeException e) {
+				LOG.error(String.format("Failed to relay outbox partition %d", partition), e);
+				delay = pollInterval;
+			}
+			if (!pause(delay)) {
+				return;
+			}
+		}
+	}
+
+	private boolean pause(final long millis) {
+		if (millis <= 0) {
+			return !Thread.currentThread().isInterrupted();
+		}
+		try {
+			Thread.sleep(millis);
+			return true;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Relays one batch of the messages of a partition of the outbox.
+	 *
+	 * @param partition the partition
+	 * @return the number of messages sent and deleted from the outbox
+	 */
+	int relayPartition(final int partition) {
+		final List<OutboxMessage> batch = persistenceEngine.retrieveByNamedQuery(SELECT_PARTITION_QUERY,
+				new Object[]{partitionCount, partition}, 0, getBatchSize());
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		final Map<Integer, Deque<OutboxMessage>> sequences = new LinkedHashMap<>();
+		for (final OutboxMessage message : batch) {
+			sequences.computeIfAbsent(message.getPartitionKey(), key -> new ArrayDeque<>()).add(message);
+		}
+
+		final List<Long> relayedUids = new ArrayList<>(batch.size());
+		while (!sequences.isEmpty() && !Thread.currentThread().isInterrupted()) {
+			relayRound(sequences, relayedUids);
+		}
+
+		if (!relayedUids.isEmpty()) {
+			transactionTemplate.execute(status ->
+					persistenceEngine.executeNamedQueryWithList("DELETE_OUTBOXMESSAGES_BY_UIDS", LIST_PARAMETER_NAME, relayedUids));
+		}
+		relayedMessageCount.addAndGet(relayedUids.size());
+		return relayedUids.size();
+	}
+
+	/**
+	 * Sends the next message of every sequence, and drops the sequences which are exhausted or whose message could not be sent.
+	 *
+	 * @param sequences the messages not sent yet, in creation order, by partition key
+	 * @param relayedUids the uids of the messages sent so far
+	 */
+	private void relayRound(final Map<Integer, Deque<OutboxMessage>> sequences, final List<Long> relayedUids) {
+		final Map<OutboxMessage, Future<Object>> acknowledgements = new LinkedHashMap<>();
+		for (final Deque<OutboxMessage> sequence : sequences.values()) {
+			final OutboxMessage message = sequence.peek();
+			acknowledgements.put(message, producer.asyncSendBody(message.getCamelUri(), message.getMessageBody()));
+		}
+
+		final Iterator<Deque<OutboxMessage>> sequenceIterator = sequences.values().iterator();
+		while (sequenceIterator.hasNext()) {
+			final Deque<OutboxMessage> sequence = sequenceIterator.next();
+			final OutboxMessage message = sequence.poll();
+			if (awaitAcknowledgement(message, acknowledgements.get(message))) {
+				relayedUids.add(message.getUidPk());
+				if (sequence.isEmpty()) {
+					sequenceIterator.remove();
+				}
+			} else {
+				// the later messages about the same entity must not overtake this one
+				failedMessageCount.incrementAndGet();
+				sequenceIterator.remove();
+			}
+		}
+	}
+
+	private boolean awaitAcknowledgement(final OutboxMessage message, final Future<Object> acknowledgement) {
+		try {
+			acknowledgement.get(sendTimeout, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (final ExecutionException | TimeoutException e) {
+			LOG.error(String.format("Failed to relay outbox message %d to %s", message.getUidPk(), message.getCamelUri()), e);
+			acknowledgement.cancel(false);
+			return false;
+		} catch (final InterruptedException e) {
+			// the message may still be sent, and is then sent again by the next run
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the partitions relayed by this node: the configured ones, or all of them if none are configured.
+	 *
+	 * @return the partitions relayed by this node
+	 */
+	List<Integer> getOwnedPartitions() {
+		final List<Integer> partitions = new ArrayList<>();
+		if (StringUtils.isBlank(ownedPartitions)) {
+			for (int partition = 0; partition < partitionCount; partition++) {
+				partitions.add(partition);
+			}
+			return partitions;
+		}
+		for (final String partition : StringUtils.split(ownedPartitions, ',')) {
+			final int value = Integer.parseInt(partition.trim());
+			if (value < 0 || value >= partitionCount) {
+				throw new IllegalArgumentException("Outbox partition " + value + " is not between 0 and " + (partitionCount - 1));
+			}
+			partitions.add(value);
+		}
+		return partitions;
+	}
+
+	private int getBatchSize() {
+		return batchSizeProvider.get();
+	}
+
+	/**
+	 * Returns the number of messages waiting in the outbox.
+	 *
+	 * @return the number of messages waiting in the outbox
+	 */
+	@ManagedAttribute(description = "The number of messages waiting in the outbox")
+	public long getOutboxDepth() {
+		final List<Long> counts = persistenceEngine.retrieveByNamedQuery("COUNT_OUTBOXMESSAGES");
+		return counts.isEmpty() ? 0 : counts.get(0);
+	}
+
+	/**
+	 * Returns how long the oldest message in the outbox has been waiting, in milliseconds.
+	 *
+	 * @return the age of the oldest message in the outbox, or zero if the outbox is empty
+	 */
+	@ManagedAttribute(description = "The age in milliseconds of the oldest message in the outbox")
+	public long getRelayLag() {
+		final List<Date> oldestDates = persistenceEngine.retrieveByNamedQuery("SELECT_OLDEST_OUTBOXMESSAGE_DATE");
+		if (oldestDates.isEmpty() || oldestDates.get(0) == null) {
+			return 0;
+		}
+		return Math.max(0, timeService.getCurrentTime().getTime() - oldestDates.get(0).getTime());
+	}
+
+	@ManagedAttribute(description = "The number of messages relayed since startup")
+	public long getRelayedMessageCount() {
+		return relayedMessageCount.get();
+	}
+
+	@ManagedAttribute(description = "The number of failed message sends since startup; the messages after them are held back")
+	public long getFailedMessageCount() {
+		return failedMessageCount.get();
+	}
+
+	@ManagedAttribute(description = "The number of worker threads relaying the outbox")
+	public synchronized int getActiveWorkerCount() {
+		return (int) workers.stream().filter(Thread::isAlive).count();
+	}
+
+	public void setProducer(final ProducerTemplate producer) {
+		this.producer = producer;
+	}
+
+	public void setPersistenceEngine(final PersistenceEngine persistenceEngine) {
+		this.persistenceEngine = persistenceEngine;
+	}
+
+	public void setTransactionTemplate(final TransactionTemplate transactionTemplate) {
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	public void setTimeService(final TimeService timeService) {
+		this.timeService = timeService;
+	}
+
+	public void setConfigBatchSize(final SettingValueProvider<Integer> batchSizeProvider) {
+		this.batchSizeProvider = batchSizeProvider;
+	}
+
+	/**
+	 * Sets the number of partitions of the outbox across all the nodes.
+	 *
+	 * @param partitionCount the number of partitions
+	 */
+	public void setPartitionCount(final int partitionCount) {
+		if (partitionCount < 1) {
+			throw new IllegalArgumentException("The number of outbox partitions must be positive: " + partitionCount);
+		}
+		this.partitionCount = partitionCount;
+	}
+
+	/**
+	 * Sets the comma separated partitions relayed by this node. If blank, this node relays every partition.
+	 *
+	 * @param ownedPartitions the partitions relayed by this node
+	 */
+	public void setOwnedPartitions(final String ownedPartitions) {
+		this.ownedPartitions = ownedPartitions;
+	}
+
+	/**
+	 * Sets how long a worker sleeps, in milliseconds, after relaying less than a full batch, or nothing at all.
+	 *
+	 * @param pollInterval the poll interval in milliseconds
+	 */
+	public void setPollInterval(final long pollInterval) {
+		this.pollInterval = pollInterval;
+	}
+
+	public void setStartDelay(final long startDelay) {
+		this.startDelay = startDelay;
+	}
+
+	/**
+	 * Sets how long to wait, in milliseconds, for the broker to acknowledge a message before leaving it in the outbox.
+	 *
+	 * @param sendTimeout the send timeout in milliseconds
+	 */
+	public void setSendTimeout(final long sendTimeout) {
+		if (sendTimeout < 1) {
+			throw new IllegalArgumentException("The send timeout must be positive: " + sendTimeout);
+		}
+		this.sendTimeout = sendTimeout;
+	}
+
+	public void setAutoStartup(final boolean autoStartup) {
+		this.autoStartup = autoStartup;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.batch.jobs.impl.messaging;
+
+import static com.elasticpath.persistence.api.PersistenceConstants.LIST_PARAMETER_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.ProducerTemplate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elasticpath.domain.messaging.OutboxMessage;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.settings.provider.SettingValueProvider;
+
+/**
+ * Tests {@link OutboxMessageRelay}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OutboxMessageRelayTest {
+
+	private static final String SELECT_PARTITION_QUERY = "SELECT_OUTBOXMESSAGES_BY_PARTITION";
+	private static final String DELETE_QUERY = "DELETE_OUTBOXMESSAGES_BY_UIDS";
+	private static final String URI = "jms:topic:events";
+	private static final int BATCH_SIZE = 10;
+	private static final int PARTITIONS = 4;
+	private static final int PARTITION = 2;
+	private static final int ENTITY_KEY = 6;
+	private static final int OTHER_ENTITY_KEY = 10;
+
+	@Mock
+	private PersistenceEngine persistenceEngine;
+
+	@Mock
+	private ProducerTemplate producer;
+
+	@Mock
+	private SettingValueProvider<Integer> batchSizeProvider;
+
+	private final OutboxMessageRelay relay = new OutboxMessageRelay();
+
+	@Before
+	public void setUp() {
+		relay.setPersistenceEngine(persistenceEngine);
+		relay.setProducer(producer);
+		relay.setTransactionTemplate(new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		relay.setConfigBatchSize(batchSizeProvider);
+		relay.setPartitionCount(PARTITIONS);
+	}
+
+	@Test
+	public void testAcknowledgedMessagesAreDeletedAndFailedOnesKept() {
+		final OutboxMessage sent = createMessage(2L, ENTITY_KEY, "sent");
+		final OutboxMessage failed = createMessage(6L, OTHER_ENTITY_KEY, "failed");
+		givenPartitionContains(Arrays.asList(sent, failed));
+		when(producer.asyncSendBody(URI, "sent")).thenReturn(CompletableFuture.completedFuture(null));
+		when(producer.asyncSendBody(URI, "failed")).thenReturn(createFailure());
+
+		assertEquals(1, relay.relayPartition(PARTITION));
+
+		verify(persistenceEngine).retrieveByNamedQuery(SELECT_PARTITION_QUERY, new Object[]{PARTITIONS, PARTITION}, 0, BATCH_SIZE);
+		verify(persistenceEngine).executeNamedQueryWithList(DELETE_QUERY, LIST_PARAMETER_NAME, Collections.singletonList(2L));
+		assertEquals(1, relay.getRelayedMessageCount());
+		assertEquals(1, relay.getFailedMessageCount());
+	}
+
+	@Test
+	public void testMessagesAboutOneEntityAreSentInOrder() {
+		final OutboxMessage first = createMessage(2L, ENTITY_KEY, "first");
+		final OutboxMessage other = createMessage(3L, OTHER_ENTITY_KEY, "other");
+		final OutboxMessage second = createMessage(4L, ENTITY_KEY, "second");
+		givenPartitionContains(Arrays.asList(first, other, second));
+		when(producer.asyncSendBody(eq(URI), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+		assertEquals(3, relay.relayPartition(PARTITION));
+
+		final InOrder inOrder = inOrder(producer);
+		inOrder.verify(producer).asyncSendBody(URI, "first");
+		inOrder.verify(producer).asyncSendBody(URI, "second");
+		verify(persistenceEngine).executeNamedQueryWithList(DELETE_QUERY, LIST_PARAMETER_NAME, Arrays.asList(2L, 3L, 4L));
+	}
+
+	@Test
+	public void testMessagesAfterAFailedSendAboutTheSameEntityAreHeldBack() {
+		final OutboxMessage failed = createMessage(2L, ENTITY_KEY, "failed");
+		final OutboxMessage later = createMessage(4L, ENTITY_KEY, "later");
+		givenPartitionContains(Arrays.asList(failed, later));
+		when(producer.asyncSendBody(URI, "failed")).thenReturn(createFailure());
+
+		assertEquals(0, relay.relayPartition(PARTITION));
+
+		verify(producer, never()).asyncSendBody(URI, "later");
+		verify(persistenceEngine, never()).executeNamedQueryWithList(eq(DELETE_QUERY), anyString(), any());
+		assertEquals(1, relay.getFailedMessageCount());
+	}
+
+	@Test
+	public void testEmptyPartitionSendsNothing() {
+		givenPartitionContains(Collections.emptyList());
+
+		assertEquals(0, relay.relayPartition(PARTITION));
+
+		verify(producer, never()).asyncSendBody(anyString(), any());
+		verify(persistenceEngine, never()).executeNamedQueryWithList(eq(DELETE_QUERY), anyString(), any());
+	}
+
+	@Test
+	public void testAllPartitionsAreOwnedByDefault() {
+		assertEquals(Arrays.asList(0, 1, 2, 3), relay.getOwnedPartitions());
+	}
+
+	@Test
+	public void testConfiguredPartitionsAreOwned() {
+		relay.setOwnedPartitions("1, 3");
+
+		assertEquals(Arrays.asList(1, 3), relay.getOwnedPartitions());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownPartitionIsRejected() {
+		relay.setOwnedPartitions("4");
+
+		relay.getOwnedPartitions();
+	}
+
+	private void givenPartitionContains(final List<OutboxMessage> messages) {
+		when(batchSizeProvider.get()).thenReturn(BATCH_SIZE);
+		when(persistenceEngine.retrieveByNamedQuery(eq(SELECT_PARTITION_QUERY), any(Object[].class), eq(0), eq(BATCH_SIZE)))
+				.thenReturn(messages);
+	}
+
+	private CompletableFuture<Object> createFailure() {
+		final CompletableFuture<Object> failure = new CompletableFuture<>();
+		failure.completeExceptionally(new IllegalStateException("broker unavailable"));
+		return failure;
+	}
+
+	private OutboxMessage createMessage(final long uidPk, final int partitionKey, final String body) {
+		// held back messages are never sent
+		final OutboxMessage message = mock(OutboxMessage.class, withSettings().lenient());
+		when(message.getUidPk()).thenReturn(uidPk);
+		when(message.getPartitionKey()).thenReturn(partitionKey);
+		when(message.getCamelUri()).thenReturn(URI);
+		when(message.getMessageBody()).thenReturn(body);
+		return message;
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.base.cache.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.base.cache.SynchronizedCacheSupport;
+
+/**
+ * A {@link SynchronizedCacheSupport} which coalesces concurrent cache misses for the same key into a single fallback loader call.
+ * This implementation provides the following guarantees:
+ *
+ * 1. Only one fallback loader call is in flight per cache key. Lookups for different cache keys are never blocked.
+ *
+ * 2. Threads which miss while a load for the same key is in flight wait for that load and receive its result (or its exception)
+ * directly, rather than re-reading the cache. This holds even when the populate function does not store the value, or the
+ * value is evicted before the waiting threads wake up.
+ *
+ * 3. A loader which re-enters the cache for the key it is loading runs the nested load itself instead of waiting on its own result.
+ *
+ * Counters for loads, coalesced calls and failed loads are kept so the effect can be measured.
+ *
+ * @param <K> the cache key type
+ * @param <V> the result type
+ */
+public class SingleFlightCacheSupportImpl<K, V> implements SynchronizedCacheSupport<K, V> {
+	private final ConcurrentMap<K, InFlightLoad<V>> inFlightLoads = new ConcurrentHashMap<>();
+	private final LongAdder loadCount = new LongAdder();
+	private final LongAdder coalescedCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+
+	@Override
+	public V get(final K cacheKey,
+				 final Function<K, V> fallbackLoaderFunction,
+				 final Function<K, CacheResult<V>> checkCacheFunction,
+				 final BiFunction<K, V, V> populateCacheFunction) {
+		final CacheResult<V> cachedResult = checkCacheFunction.apply(cacheKey);
+		if (cachedResult.isPresent()) {
+			return cachedResult.get();
+		}
+
+		final InFlightLoad<V> newLoad = new InFlightLoad<>(Thread.currentThread());
+		final InFlightLoad<V> existingLoad = inFlightLoads.putIfAbsent(cacheKey, newLoad);
+		if (existingLoad == null) {
+			return load(cacheKey, newLoad, fallbackLoaderFunction, checkCacheFunction, populateCacheFunction);
+		}
+		if (existingLoad.getOwner() == Thread.currentThread()) {
+			return populateCacheFunction.apply(cacheKey, fallbackLoaderFunction.apply(cacheKey));
+		}
+
+		coalescedCount.increment();
+		return existingLoad.await();
+	}
+
+	@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidCatchingThrowable"})
+	private V load(final K cacheKey, final InFlightLoad<V> inFlightLoad,
+				   final Function<K, V> fallbackLoaderFunction,
+				   final Function<K, CacheResult<V>> checkCacheFunction,
+				   final BiFunction<K, V, V> populateCacheFunction) {
+		try {
+			// Another load may have completed between the first cache check and claiming the key
+			final CacheResult<V> result = checkCacheFunction.apply(cacheKey);
+			final V value;
+			if (result.isPresent()) {
+				value = result.get();
+			} else {
+				loadCount.increment();
+				value = populateCacheFunction.apply(cacheKey, fallbackLoaderFunction.apply(cacheKey));
+			}
+			inFlightLoad.getFuture().complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			loadFailureCount.increment();
+			inFlightLoad.getFuture().completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightLoads.remove(cacheKey, inFlightLoad);
+		}
+	}
+
+	/**
+	 * Returns the number of fallback loader calls made.
+	 *
+	 * @return the load count
+	 */
+	public long getLoadCount() {
+		return loadCount.sum();
+	}
+
+	/**
+	 * Returns the number of calls which waited for a load already in flight instead of calling the fallback loader.
+	 *
+	 * @return the coalesced call count
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.sum();
+	}
+
+	/**
+	 * Returns the number of fallback loader calls which threw an exception.
+	 *
+	 * @return the failed load count
+	 */
+	public long getLoadFailureCount() {
+		return loadFailureCount.sum();
+	}
+
+	/**
+	 * Returns the number of loads currently in flight.
+	 *
+	 * @return the in flight load count
+	 */
+	public int getInFlightCount() {
+		return inFlightLoads.size();
+	}
+
+	/**
+	 * A load in progress for a single key.
+	 *
+	 * @param <V> the result type
+	 */
+	private static final class InFlightLoad<V> {
+		private final Thread owner;
+		private final CompletableFuture<V> future = new CompletableFuture<>();
+
+		InFlightLoad(final Thread owner) {
+			this.owner = owner;
+		}
+
+		Thread getOwner() {
+			return owner;
+		}
+
+		CompletableFuture<V> getFuture() {
+			return future;
+		}
+
+		V await() {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+	}
+}
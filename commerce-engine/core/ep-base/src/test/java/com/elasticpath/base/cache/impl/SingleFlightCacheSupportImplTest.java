@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.base.cache.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.elasticpath.base.cache.CacheResult;
+
+/**
+ * Tests for SingleFlightCacheSupportImpl.
+ */
+public class SingleFlightCacheSupportImplTest {
+	private static final String KEY = "key";
+	private static final int NUMBER_OF_WAITERS = 20;
+	private static final int MAX_WAIT_SECONDS = 10;
+
+	private final Function<String, CacheResult<String>> checkCacheFunctionAlwaysMiss = key -> CacheResult.notPresent();
+	private final BiFunction<String, String, String> populateCacheFunctionDoNothing = (key, value) -> value;
+
+	private final SingleFlightCacheSupportImpl<String, String> cacheSupport = new SingleFlightCacheSupportImpl<>();
+	private final ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_WAITERS + 1);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testCacheHitDoesNotLoad() {
+		assertThat(cacheSupport.get(KEY, key -> "loaded", key -> CacheResult.create("cached"), populateCacheFunctionDoNothing))
+				.isEqualTo("cached");
+		assertThat(cacheSupport.getLoadCount()).isZero();
+	}
+
+	@Test
+	public void testConcurrentMissesShareOneLoadEvenWhenNothingIsCached() throws Exception {
+		final CountDownLatch releaseLoader = new CountDownLatch(1);
+		final AtomicInteger loaderCalls = new AtomicInteger();
+		final Function<String, String> blockingLoader = key -> {
+			loaderCalls.incrementAndGet();
+			awaitQuietly(releaseLoader);
+			return "loaded";
+		};
+
+		final Future<String> leader = executor.submit(() ->
+				cacheSupport.get(KEY, blockingLoader, checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing));
+		await().atMost(MAX_WAIT_SECONDS, TimeUnit.SECONDS).until(() -> cacheSupport.getInFlightCount() == 1);
+
+		final List<Future<String>> waiters = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_WAITERS; i++) {
+			waiters.add(executor.submit(() ->
+					cacheSupport.get(KEY, blockingLoader, checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing)));
+		}
+		await().atMost(MAX_WAIT_SECONDS, TimeUnit.SECONDS).until(() -> cacheSupport.getCoalescedCount() == NUMBER_OF_WAITERS);
+		releaseLoader.countDown();
+
+		assertThat(leader.get(MAX_WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo("loaded");
+		for (Future<String> waiter : waiters) {
+			assertThat(waiter.get(MAX_WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo("loaded");
+		}
+		assertThat(loaderCalls.get()).isEqualTo(1);
+		assertThat(cacheSupport.getLoadCount()).isEqualTo(1);
+		assertThat(cacheSupport.getInFlightCount()).isZero();
+	}
+
+	@Test
+	public void testLoaderExceptionIsPropagatedAndNextMissLoadsAgain() {
+		final IllegalStateException failure = new IllegalStateException("database down");
+
+		assertThatThrownBy(() -> cacheSupport.get(KEY, key -> {
+			throw failure;
+		}, checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing)).isSameAs(failure);
+
+		assertThat(cacheSupport.getLoadFailureCount()).isEqualTo(1);
+		assertThat(cacheSupport.get(KEY, key -> "loaded", checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing))
+				.isEqualTo("loaded");
+	}
+
+	@Test
+	public void testReentrantLoadForTheSameKeyDoesNotDeadlock() {
+		final Function<String, String> reentrantLoader = key ->
+				cacheSupport.get(key, nestedKey -> "nested", checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing);
+
+		assertThat(cacheSupport.get(KEY, reentrantLoader, checkCacheFunctionAlwaysMiss, populateCacheFunctionDoNothing))
+				.isEqualTo("nested");
+	}
+
+	private static void awaitQuietly(final CountDownLatch latch) {
+		try {
+			latch.await(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.factory.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.factory.CacheFactory;
+
+/**
+ * CacheFactory which delegates to an alternate factory for a configured set of cache names and to the default factory
+ * for every other cache. This allows a second caching backend to be trialled on selected caches on the same node.
+ */
+public class CacheNameSelectingCacheFactory implements CacheFactory {
+	/** Cache name which selects the alternate factory for every cache. */
+	public static final String ALL_CACHES = "*";
+
+	private CacheFactory defaultCacheFactory;
+	private CacheFactory alternateCacheFactory;
+	private Collection<String> alternateCacheNames = Collections.emptySet();
+
+	@Override
+	public <K, V> Cache<K, V> createCache(final String cacheName) {
+		if (isAlternateCache(cacheName)) {
+			return getAlternateCacheFactory().createCache(cacheName);
+		}
+		return getDefaultCacheFactory().createCache(cacheName);
+	}
+
+	private boolean isAlternateCache(final String cacheName) {
+		return getAlternateCacheFactory() != null
+				&& (getAlternateCacheNames().contains(cacheName) || getAlternateCacheNames().contains(ALL_CACHES));
+	}
+
+	protected CacheFactory getDefaultCacheFactory() {
+		return defaultCacheFactory;
+	}
+
+	public void setDefaultCacheFactory(final CacheFactory defaultCacheFactory) {
+		this.defaultCacheFactory = defaultCacheFactory;
+	}
+
+	protected CacheFactory getAlternateCacheFactory() {
+		return alternateCacheFactory;
+	}
+
+	public void setAlternateCacheFactory(final CacheFactory alternateCacheFactory) {
+		this.alternateCacheFactory = alternateCacheFactory;
+	}
+
+	protected Collection<String> getAlternateCacheNames() {
+		return alternateCacheNames;
+	}
+
+	public void setAlternateCacheNames(final Collection<String> alternateCacheNames) {
+		this.alternateCacheNames = alternateCacheNames;
+	}
+
+	/**
+	 * Sets the names of the caches created by the alternate factory from a comma-separated list, e.g. a system property.
+	 *
+	 * @param alternateCacheNames the comma-separated cache names, {@link #ALL_CACHES} for all
+	 */
+	public void setCommaSeparatedAlternateCacheNames(final String alternateCacheNames) {
+		setAlternateCacheNames(splitCacheNames(alternateCacheNames));
+	}
+
+	/**
+	 * Splits a comma-separated list of cache names, ignoring blanks.
+	 *
+	 * @param cacheNames the comma-separated cache names
+	 * @return the cache names
+	 */
+	public static Collection<String> splitCacheNames(final String cacheNames) {
+		return Arrays.stream(cacheNames.split(","))
+				.map(String::trim)
+				.filter(cacheName -> !cacheName.isEmpty())
+				.collect(Collectors.toSet());
+	}
+}
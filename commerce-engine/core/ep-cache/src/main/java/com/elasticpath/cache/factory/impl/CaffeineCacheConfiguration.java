@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.factory.impl;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Size and expiry settings for a single cache created by {@link CaffeineCacheFactory}. Unset expiry properties leave the
+ * corresponding limit disabled, while a cache without any size limit is bounded by the factory's default maximum size.
+ */
+public class CaffeineCacheConfiguration {
+	private Long maximumSize;
+	private Long maximumWeight;
+	private Weigher<Object, Object> weigher;
+	private Long timeToLive;
+	private Long timeToIdle;
+	private Long refreshAfterWrite;
+
+	public Long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public void setMaximumSize(final Long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	public Long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Sets the maximum total weight of the cache. Only applies when a {@link #setWeigher(Weigher) weigher} is also set,
+	 * in which case it takes precedence over the maximum size.
+	 *
+	 * @param maximumWeight the maximum weight
+	 */
+	public void setMaximumWeight(final Long maximumWeight) {
+		this.maximumWeight = maximumWeight;
+	}
+
+	public Weigher<Object, Object> getWeigher() {
+		return weigher;
+	}
+
+	public void setWeigher(final Weigher<Object, Object> weigher) {
+		this.weigher = weigher;
+	}
+
+	public Long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Sets the number of seconds after which an entry expires once written.
+	 *
+	 * @param timeToLive the time to live in seconds
+	 */
+	public void setTimeToLive(final Long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	public Long getTimeToIdle() {
+		return timeToIdle;
+	}
+
+	/**
+	 * Sets the number of seconds after which an entry expires once it was last read or written.
+	 *
+	 * @param timeToIdle the time to idle in seconds
+	 */
+	public void setTimeToIdle(final Long timeToIdle) {
+		this.timeToIdle = timeToIdle;
+	}
+
+	public Long getRefreshAfterWrite() {
+		return refreshAfterWrite;
+	}
+
+	/**
+	 * Sets the number of seconds after which a hit on an entry reloads it in the background. Should be lower than the
+	 * time to live for refresh-ahead to have any effect.
+	 *
+	 * @param refreshAfterWrite the refresh interval in seconds
+	 */
+	public void setRefreshAfterWrite(final Long refreshAfterWrite) {
+		this.refreshAfterWrite = refreshAfterWrite;
+	}
+}
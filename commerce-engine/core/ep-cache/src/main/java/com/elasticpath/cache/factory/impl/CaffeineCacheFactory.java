@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.factory.impl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.Weigher;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+
+import com.elasticpath.cache.factory.CacheFactory;
+import com.elasticpath.cache.impl.CaffeineCacheAdapter;
+import com.elasticpath.cache.impl.CaffeineCacheAdapter.CachedValue;
+
+/**
+ * CacheFactory which creates in-process Caffeine backed caches. Caffeine uses a frequency-aware (W-TinyLFU) admission
+ * policy which holds up better than LRU for skewed lookups such as products and skus.
+ * <p>
+ * Each cache is configured from, in order of precedence, its entry in {@link #setCacheConfigurations(Map)}, the
+ * configuration of the ehcache with the same name in the cache manager (so both backends can be sized from the same
+ * settings), or the default configuration. A cache configured with neither a maximum size nor a maximum weight is bounded
+ * by the default maximum size, so that no cache grows without limit.
+ */
+public class CaffeineCacheFactory implements CacheFactory {
+	/** The maximum number of entries of a cache configured without any size limit. */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000L;
+
+	private CacheManager cacheManager;
+	private Map<String, CaffeineCacheConfiguration> cacheConfigurations = Collections.emptyMap();
+	private CaffeineCacheConfiguration defaultConfiguration = new CaffeineCacheConfiguration();
+	private Executor executor = ForkJoinPool.commonPool();
+	private Ticker ticker = Ticker.systemTicker();
+	private long defaultMaximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	@Override
+	public <K, V> com.elasticpath.cache.Cache<K, V> createCache(final String cacheName) {
+		final CaffeineCacheConfiguration configuration = getConfiguration(cacheName);
+
+		final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+				.executor(getExecutor())
+				.ticker(getTicker())
+				.recordStats();
+
+		final Weigher<Object, Object> weigher = configuration.getWeigher();
+		if (weigher != null && configuration.getMaximumWeight() != null) {
+			builder.maximumWeight(configuration.getMaximumWeight())
+					.weigher((Object key, Object value) -> weigh(weigher, key, (CachedValue<?>) value));
+		} else if (configuration.getMaximumSize() != null) {
+			builder.maximumSize(configuration.getMaximumSize());
+		} else {
+			builder.maximumSize(getDefaultMaximumSize());
+		}
+		if (isPositive(configuration.getTimeToLive())) {
+			builder.expireAfterWrite(configuration.getTimeToLive(), TimeUnit.SECONDS);
+		}
+		if (isPositive(configuration.getTimeToIdle())) {
+			builder.expireAfterAccess(configuration.getTimeToIdle(), TimeUnit.SECONDS);
+		}
+
+		final long refreshAfterWriteNanos = isPositive(configuration.getRefreshAfterWrite())
+				? TimeUnit.SECONDS.toNanos(configuration.getRefreshAfterWrite())
+				: 0;
+
+		final com.github.benmanes.caffeine.cache.Cache<K, CachedValue<V>> cache = builder.build();
+		return new CaffeineCacheAdapter<>(cacheName, cache, getTicker(), refreshAfterWriteNanos, getExecutor());
+	}
+
+	/**
+	 * Resolves the configuration to use for the given cache.
+	 *
+	 * @param cacheName the cache name
+	 * @return the configuration
+	 */
+	protected CaffeineCacheConfiguration getConfiguration(final String cacheName) {
+		final CaffeineCacheConfiguration configuration = getCacheConfigurations().get(cacheName);
+		if (configuration != null) {
+			return configuration;
+		}
+
+		final Ehcache ehcache = getCacheManager() == null ? null : getCacheManager().getEhcache(cacheName);
+		if (ehcache == null) {
+			return getDefaultConfiguration();
+		}
+		return createConfiguration(ehcache.getCacheConfiguration());
+	}
+
+	/**
+	 * Translates an ehcache configuration into the equivalent Caffeine configuration.
+	 *
+	 * @param ehcacheConfiguration the ehcache configuration
+	 * @return the Caffeine configuration
+	 */
+	protected CaffeineCacheConfiguration createConfiguration(final CacheConfiguration ehcacheConfiguration) {
+		final CaffeineCacheConfiguration configuration = new CaffeineCacheConfiguration();
+		configuration.setRefreshAfterWrite(getDefaultConfiguration().getRefreshAfterWrite());
+		if (ehcacheConfiguration.getMaxEntriesLocalHeap() > 0) {
+			configuration.setMaximumSize(ehcacheConfiguration.getMaxEntriesLocalHeap());
+		} else {
+			configuration.setMaximumSize(getDefaultConfiguration().getMaximumSize());
+		}
+		if (!ehcacheConfiguration.isEternal()) {
+			configuration.setTimeToLive(ehcacheConfiguration.getTimeToLiveSeconds());
+			configuration.setTimeToIdle(ehcacheConfiguration.getTimeToIdleSeconds());
+		}
+		return configuration;
+	}
+
+	private static int weigh(final Weigher<Object, Object> weigher, final Object key, final CachedValue<?> cachedValue) {
+		if (cachedValue.getValue() == null) {
+			return 1;
+		}
+		return weigher.weigh(key, cachedValue.getValue());
+	}
+
+	private static boolean isPositive(final Long value) {
+		return value != null && value > 0;
+	}
+
+	protected CacheManager getCacheManager() {
+		return cacheManager;
+	}
+
+	public void setCacheManager(final CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	protected Map<String, CaffeineCacheConfiguration> getCacheConfigurations() {
+		return cacheConfigurations;
+	}
+
+	public void setCacheConfigurations(final Map<String, CaffeineCacheConfiguration> cacheConfigurations) {
+		this.cacheConfigurations = cacheConfigurations;
+	}
+
+	protected CaffeineCacheConfiguration getDefaultConfiguration() {
+		return defaultConfiguration;
+	}
+
+	public void setDefaultConfiguration(final CaffeineCacheConfiguration defaultConfiguration) {
+		this.defaultConfiguration = defaultConfiguration;
+	}
+
+	protected long getDefaultMaximumSize() {
+		return defaultMaximumSize;
+	}
+
+	/**
+	 * Sets the maximum number of entries of the caches configured without any size limit.
+	 *
+	 * @param defaultMaximumSize the default maximum number of entries
+	 */
+	public void setDefaultMaximumSize(final long defaultMaximumSize) {
+		this.defaultMaximumSize = defaultMaximumSize;
+	}
+
+	protected Executor getExecutor() {
+		return executor;
+	}
+
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
+	protected Ticker getTicker() {
+		return ticker;
+	}
+
+	public void setTicker(final Ticker ticker) {
+		this.ticker = ticker;
+	}
+}
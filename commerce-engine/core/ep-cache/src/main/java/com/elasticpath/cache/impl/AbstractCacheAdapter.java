@@ -12,19 +12,21 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import com.elasticpath.base.cache.CacheResult;
-import com.elasticpath.base.cache.SynchronizedCacheSupport;
-import com.elasticpath.base.cache.impl.SynchronizedCacheSupportImpl;
+import com.elasticpath.base.cache.impl.SingleFlightCacheSupportImpl;
 import com.elasticpath.base.exception.EpServiceException;
 import com.elasticpath.cache.Cache;
 
 /**
  * Abstract class implementing generic methods of the Cache interface.
+ * <p>
+ * Misses through {@link #get(Object, Function)} are coalesced, so that only one fallback loader call per key is in flight
+ * and concurrent callers for the same key wait for its result.
  *
  * @param <K> the cache key type
  * @param <V> the result type
  */
 public abstract class AbstractCacheAdapter<K, V> implements Cache<K, V> {
-	private final SynchronizedCacheSupport<K, V> synchronizedCacheSupport = new SynchronizedCacheSupportImpl<>();
+	private final SingleFlightCacheSupportImpl<K, V> synchronizedCacheSupport = new SingleFlightCacheSupportImpl<>();
 
 	@Override
 	public V get(final K key, final Function<K, V> fallbackLoader) {
@@ -86,4 +88,30 @@ public abstract class AbstractCacheAdapter<K, V> implements Cache<K, V> {
 		return cachedValuesMap;
 	}
 
+	/**
+	 * Returns the number of fallback loader calls made through {@link #get(Object, Function)}.
+	 *
+	 * @return the load count
+	 */
+	public long getLoadCount() {
+		return synchronizedCacheSupport.getLoadCount();
+	}
+
+	/**
+	 * Returns the number of misses which waited for a load of the same key already in flight instead of calling their own loader.
+	 *
+	 * @return the coalesced call count
+	 */
+	public long getCoalescedLoadCount() {
+		return synchronizedCacheSupport.getCoalescedCount();
+	}
+
+	/**
+	 * Returns the number of fallback loader calls which threw an exception.
+	 *
+	 * @return the failed load count
+	 */
+	public long getLoadFailureCount() {
+		return synchronizedCacheSupport.getLoadFailureCount();
+	}
 }
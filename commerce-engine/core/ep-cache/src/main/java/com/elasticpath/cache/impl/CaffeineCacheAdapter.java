@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.base.cache.CacheResult;
+
+/**
+ * A wrapper which provides a {@link com.elasticpath.cache.Cache} interface for an in-process Caffeine cache.
+ * <p>
+ * Caffeine does not accept null values, so every value is stored in a {@link CachedValue} holder which also records the
+ * time it was written. When a refresh-after-write interval is configured, a hit on an entry older than that interval
+ * returns the cached value immediately and reloads it in the background using the caller's fallback loader.
+ *
+ * @param <K> The class implemented by the cache keys
+ * @param <V> The class implemented by the cache values
+ */
+public class CaffeineCacheAdapter<K, V> extends AbstractCacheAdapter<K, V> implements com.elasticpath.cache.Cache<K, V> {
+	private static final Logger LOG = LogManager.getLogger(CaffeineCacheAdapter.class);
+
+	private final String name;
+	private final com.github.benmanes.caffeine.cache.Cache<K, CachedValue<V>> cache;
+	private final Ticker ticker;
+	private final long refreshAfterWriteNanos;
+	private final Executor refreshExecutor;
+	private final Set<K> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Constructs an adapter without refresh-ahead.
+	 *
+	 * @param name the cache name
+	 * @param cache the underlying Caffeine cache
+	 */
+	public CaffeineCacheAdapter(final String name, final com.github.benmanes.caffeine.cache.Cache<K, CachedValue<V>> cache) {
+		this(name, cache, Ticker.systemTicker(), 0, Runnable::run);
+	}
+
+	/**
+	 * Constructs the adapter.
+	 *
+	 * @param name the cache name
+	 * @param cache the underlying Caffeine cache
+	 * @param ticker the time source used to age entries for refresh-ahead
+	 * @param refreshAfterWriteNanos the age after which a hit triggers a background reload; zero or less disables refresh-ahead
+	 * @param refreshExecutor the executor that runs background reloads
+	 */
+	public CaffeineCacheAdapter(final String name, final com.github.benmanes.caffeine.cache.Cache<K, CachedValue<V>> cache,
+			final Ticker ticker, final long refreshAfterWriteNanos, final Executor refreshExecutor) {
+		this.name = name;
+		this.cache = cache;
+		this.ticker = ticker;
+		this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	@Override
+	public CacheResult<V> get(final K key) {
+		final CachedValue<V> cachedValue = cache.getIfPresent(key);
+		if (cachedValue == null) {
+			return CacheResult.notPresent();
+		}
+		return CacheResult.create(cachedValue.getValue());
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader) {
+		return get(key, fallbackLoader, this::put);
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader, final BiFunction<K, V, V> populateCacheFunction) {
+		final CachedValue<V> cachedValue = cache.getIfPresent(key);
+		if (cachedValue == null) {
+			return super.get(key, fallbackLoader, populateCacheFunction);
+		}
+		if (isRefreshDue(cachedValue)) {
+			scheduleRefresh(key, fallbackLoader, populateCacheFunction);
+		}
+		return cachedValue.getValue();
+	}
+
+	@Override
+	public Map<K, V> getAll(final Collection<? extends K> keyValues) {
+		final Map<K, CachedValue<V>> present = cache.getAllPresent(keyValues);
+		final Map<K, V> result = new LinkedHashMap<>(present.size() * 2);
+		for (K key : keyValues) {
+			final CachedValue<V> cachedValue = present.get(key);
+			if (cachedValue != null) {
+				result.put(key, cachedValue.getValue());
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public V put(final K key, final V value) {
+		cache.put(key, new CachedValue<>(value, ticker.read()));
+		return value;
+	}
+
+	@Override
+	public boolean remove(final K key) {
+		return cache.asMap().remove(key) != null;
+	}
+
+	@Override
+	public void removeAll() {
+		cache.invalidateAll();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(final Class<T> clazz) {
+		return (T) cache;
+	}
+
+	@Override
+	public boolean containsKey(final K key) {
+		return cache.getIfPresent(key) != null;
+	}
+
+	private boolean isRefreshDue(final CachedValue<V> cachedValue) {
+		return refreshAfterWriteNanos > 0 && ticker.read() - cachedValue.getWriteTime() >= refreshAfterWriteNanos;
+	}
+
+	private void scheduleRefresh(final K key, final Function<K, V> fallbackLoader, final BiFunction<K, V, V> populateCacheFunction) {
+		if (!refreshesInFlight.add(key)) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> refresh(key, fallbackLoader, populateCacheFunction));
+		} catch (RejectedExecutionException e) {
+			refreshesInFlight.remove(key);
+			LOG.debug("Refresh of key {} in cache {} was rejected", key, name, e);
+		}
+	}
+
+	@SuppressWarnings("PMD.AvoidCatchingGenericException")
+	private void refresh(final K key, final Function<K, V> fallbackLoader, final BiFunction<K, V, V> populateCacheFunction) {
+		try {
+			populateCacheFunction.apply(key, fallbackLoader.apply(key));
+		} catch (RuntimeException e) {
+			// The stale value stays in place until it expires or a later refresh succeeds
+			LOG.warn("Unable to refresh key {} in cache {}", key, name, e);
+		} finally {
+			refreshesInFlight.remove(key);
+		}
+	}
+
+	/**
+	 * Holder for a cached value, which may be null, and the ticker time at which it was written.
+	 *
+	 * @param <V> the class implemented by the cached value
+	 */
+	public static final class CachedValue<V> {
+		private final V value;
+		private final long writeTime;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param value the cached value
+		 * @param writeTime the ticker time at which the value was written
+		 */
+		public CachedValue(final V value, final long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+		}
+
+		public V getValue() {
+			return value;
+		}
+
+		public long getWriteTime() {
+			return writeTime;
+		}
+	}
+}
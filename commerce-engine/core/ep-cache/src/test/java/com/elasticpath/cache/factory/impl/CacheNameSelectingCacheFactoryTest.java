@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.factory.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.factory.CacheFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheNameSelectingCacheFactoryTest {
+	private static final String SELECTED_CACHE = "productLookupCache";
+	private static final String OTHER_CACHE = "categoryLookupCache";
+
+	@Mock
+	private CacheFactory defaultCacheFactory;
+	@Mock
+	private CacheFactory alternateCacheFactory;
+	@Mock
+	private Cache<Object, Object> defaultCache;
+	@Mock
+	private Cache<Object, Object> alternateCache;
+
+	private CacheNameSelectingCacheFactory factory;
+
+	@Before
+	public void setUp() {
+		factory = new CacheNameSelectingCacheFactory();
+		factory.setDefaultCacheFactory(defaultCacheFactory);
+		factory.setAlternateCacheFactory(alternateCacheFactory);
+	}
+
+	@Test
+	public void shouldUseAlternateFactoryOnlyForSelectedCaches() {
+		factory.setAlternateCacheNames(Arrays.asList(SELECTED_CACHE, "otherSelectedCache"));
+		when(alternateCacheFactory.createCache(SELECTED_CACHE)).thenReturn(alternateCache);
+		when(defaultCacheFactory.createCache(OTHER_CACHE)).thenReturn(defaultCache);
+
+		assertThat(factory.<Object, Object>createCache(SELECTED_CACHE)).isSameAs(alternateCache);
+		assertThat(factory.<Object, Object>createCache(OTHER_CACHE)).isSameAs(defaultCache);
+	}
+
+	@Test
+	public void shouldUseAlternateFactoryForEachCacheOfACommaSeparatedList() {
+		factory.setCommaSeparatedAlternateCacheNames(SELECTED_CACHE + ", " + OTHER_CACHE);
+		when(alternateCacheFactory.createCache(SELECTED_CACHE)).thenReturn(alternateCache);
+		when(alternateCacheFactory.createCache(OTHER_CACHE)).thenReturn(alternateCache);
+
+		assertThat(factory.<Object, Object>createCache(SELECTED_CACHE)).isSameAs(alternateCache);
+		assertThat(factory.<Object, Object>createCache(OTHER_CACHE)).isSameAs(alternateCache);
+	}
+
+	@Test
+	public void shouldUseDefaultFactoryWhenTheCommaSeparatedListIsEmpty() {
+		factory.setCommaSeparatedAlternateCacheNames("");
+		when(defaultCacheFactory.createCache(SELECTED_CACHE)).thenReturn(defaultCache);
+
+		assertThat(factory.<Object, Object>createCache(SELECTED_CACHE)).isSameAs(defaultCache);
+	}
+
+	@Test
+	public void shouldUseAlternateFactoryForAllCachesWhenWildcardIsSelected() {
+		factory.setAlternateCacheNames(Collections.singleton(CacheNameSelectingCacheFactory.ALL_CACHES));
+		when(alternateCacheFactory.createCache(OTHER_CACHE)).thenReturn(alternateCache);
+
+		assertThat(factory.<Object, Object>createCache(OTHER_CACHE)).isSameAs(alternateCache);
+	}
+
+	@Test
+	public void shouldUseDefaultFactoryWhenNoCachesAreSelected() {
+		when(defaultCacheFactory.createCache(SELECTED_CACHE)).thenReturn(defaultCache);
+
+		assertThat(factory.<Object, Object>createCache(SELECTED_CACHE)).isSameAs(defaultCache);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.factory.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.Cache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaffeineCacheFactoryTest {
+	private static final String CACHE_NAME = "cache";
+	private static final long MAX_ENTRIES = 500L;
+	private static final long TIME_TO_LIVE = 600L;
+
+	@Mock
+	private CacheManager cacheManager;
+	@Mock
+	private Ehcache ehcache;
+
+	private CaffeineCacheFactory factory;
+
+	@Before
+	public void setUp() {
+		factory = new CaffeineCacheFactory();
+		factory.setCacheManager(cacheManager);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldSizeCacheFromEhcacheConfigurationWithTheSameName() {
+		when(cacheManager.getEhcache(CACHE_NAME)).thenReturn(ehcache);
+		when(ehcache.getCacheConfiguration()).thenReturn(new CacheConfiguration(CACHE_NAME, (int) MAX_ENTRIES)
+				.timeToLiveSeconds(TIME_TO_LIVE));
+
+		Cache<String, String> cache = factory.createCache(CACHE_NAME);
+
+		com.github.benmanes.caffeine.cache.Cache<String, ?> caffeineCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+		assertThat(cache.getName()).isEqualTo(CACHE_NAME);
+		assertThat(caffeineCache.policy().eviction().get().getMaximum()).isEqualTo(MAX_ENTRIES);
+		assertThat(caffeineCache.policy().expireAfterWrite().get().getExpiresAfter(TimeUnit.SECONDS)).isEqualTo(TIME_TO_LIVE);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldPreferExplicitCacheConfiguration() {
+		CaffeineCacheConfiguration configuration = new CaffeineCacheConfiguration();
+		configuration.setMaximumSize(MAX_ENTRIES);
+		factory.setCacheConfigurations(Collections.singletonMap(CACHE_NAME, configuration));
+
+		Cache<String, String> cache = factory.createCache(CACHE_NAME);
+
+		com.github.benmanes.caffeine.cache.Cache<String, ?> caffeineCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+		assertThat(caffeineCache.policy().eviction().get().getMaximum()).isEqualTo(MAX_ENTRIES);
+		assertThat(caffeineCache.policy().expireAfterWrite().isPresent()).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldBoundCacheConfiguredWithoutMaximumSize() {
+		factory.setCacheConfigurations(Collections.singletonMap(CACHE_NAME, new CaffeineCacheConfiguration()));
+
+		Cache<String, String> cache = factory.createCache(CACHE_NAME);
+
+		com.github.benmanes.caffeine.cache.Cache<String, ?> caffeineCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+		assertThat(caffeineCache.policy().eviction().get().getMaximum()).isEqualTo(CaffeineCacheFactory.DEFAULT_MAXIMUM_SIZE);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldBoundCacheSizedFromUnboundedEhcacheConfiguration() {
+		when(cacheManager.getEhcache(CACHE_NAME)).thenReturn(ehcache);
+		when(ehcache.getCacheConfiguration()).thenReturn(new CacheConfiguration(CACHE_NAME, 0));
+
+		Cache<String, String> cache = factory.createCache(CACHE_NAME);
+
+		com.github.benmanes.caffeine.cache.Cache<String, ?> caffeineCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+		assertThat(caffeineCache.policy().eviction().get().getMaximum()).isEqualTo(CaffeineCacheFactory.DEFAULT_MAXIMUM_SIZE);
+	}
+
+	@Test
+	public void shouldStoreAndRetrieveValues() {
+		Cache<String, String> cache = factory.createCache(CACHE_NAME);
+
+		cache.put("key", "value");
+
+		assertThat(cache.get("key").get()).isEqualTo("value");
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.cache.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.CacheLoader;
+import com.elasticpath.cache.impl.CaffeineCacheAdapter.CachedValue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaffeineCacheAdapterTest {
+	private static final String CACHE_NAME = "test-cache";
+	private static final String KEY_1 = "key1";
+	private static final String KEY_2 = "key2";
+	private static final String VAL_1 = "value1";
+	private static final String VAL_2 = "value2";
+	private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	@Mock
+	private CacheLoader<String, String> fallbackCacheLoader;
+
+	private final AtomicLong time = new AtomicLong();
+
+	private com.github.benmanes.caffeine.cache.Cache<String, CachedValue<String>> cache;
+	private CaffeineCacheAdapter<String, String> adapter;
+
+	@Before
+	public void setUp() {
+		cache = Caffeine.newBuilder().build();
+		adapter = new CaffeineCacheAdapter<>(CACHE_NAME, cache, time::get, REFRESH_NANOS, Runnable::run);
+	}
+
+	@Test
+	public void verifyThatGetOnCacheHitReturnsACachedObject() {
+		adapter.put(KEY_1, VAL_1);
+
+		assertThat(adapter.get(KEY_1).get()).isEqualTo(VAL_1);
+		assertThat(adapter.containsKey(KEY_1)).isTrue();
+	}
+
+	@Test
+	public void verifyThatGetOnCacheMissReturnsNotPresent() {
+		assertThat(adapter.get(KEY_1)).isEqualTo(CacheResult.notPresent());
+		assertThat(adapter.containsKey(KEY_1)).isFalse();
+	}
+
+	@Test
+	public void shouldCacheNullValuesReturnedByFallbackLoader() {
+		when(fallbackCacheLoader.load(KEY_1)).thenReturn(null);
+
+		assertThat(adapter.get(KEY_1, fallbackCacheLoader::load)).isNull();
+		assertThat(adapter.get(KEY_1)).isEqualTo(CacheResult.create(null));
+
+		verify(fallbackCacheLoader).load(KEY_1);
+		verifyNoMoreInteractions(fallbackCacheLoader);
+	}
+
+	@Test
+	public void shouldNotRefreshFreshEntries() {
+		adapter.put(KEY_1, VAL_1);
+		time.addAndGet(REFRESH_NANOS - 1);
+
+		assertThat(adapter.get(KEY_1, fallbackCacheLoader::load)).isEqualTo(VAL_1);
+
+		verifyZeroInteractions(fallbackCacheLoader);
+	}
+
+	@Test
+	public void shouldReturnStaleValueAndRefreshInBackgroundWhenRefreshIsDue() {
+		when(fallbackCacheLoader.load(KEY_1)).thenReturn(VAL_2);
+		adapter.put(KEY_1, VAL_1);
+		time.addAndGet(REFRESH_NANOS);
+
+		assertThat(adapter.get(KEY_1, fallbackCacheLoader::load)).isEqualTo(VAL_1);
+		assertThat(adapter.get(KEY_1, fallbackCacheLoader::load)).isEqualTo(VAL_2);
+
+		verify(fallbackCacheLoader, times(1)).load(KEY_1);
+	}
+
+	@Test
+	public void shouldKeepStaleValueWhenRefreshFails() {
+		when(fallbackCacheLoader.load(KEY_1)).thenThrow(new IllegalStateException("database down"));
+		adapter.put(KEY_1, VAL_1);
+		time.addAndGet(REFRESH_NANOS);
+
+		assertThat(adapter.get(KEY_1, fallbackCacheLoader::load)).isEqualTo(VAL_1);
+		assertThat(adapter.get(KEY_1).get()).isEqualTo(VAL_1);
+	}
+
+	@Test
+	public void shouldReturnCachedValuesInKeyOrderFromBulkGet() {
+		adapter.put(KEY_2, VAL_2);
+		adapter.put(KEY_1, VAL_1);
+
+		Map<String, String> result = adapter.getAll(Lists.newArrayList(KEY_1, "miss", KEY_2));
+
+		assertThat(result).containsExactly(entry(KEY_1, VAL_1), entry(KEY_2, VAL_2));
+	}
+
+	@Test
+	public void shouldLoadOnlyMissingKeysFromFallbackLoader() {
+		List<String> keys = Lists.newArrayList(KEY_1, KEY_2);
+		List<String> missingKey = Lists.newArrayList(KEY_2);
+		Map<String, String> loaded = new HashMap<>();
+		loaded.put(KEY_2, VAL_2);
+		when(fallbackCacheLoader.loadAll(missingKey)).thenReturn(loaded);
+		adapter.put(KEY_1, VAL_1);
+
+		Map<String, String> result = adapter.getAll(keys, fallbackCacheLoader::loadAll);
+
+		assertThat(result).containsExactly(entry(KEY_1, VAL_1), entry(KEY_2, VAL_2));
+		assertThat(adapter.get(KEY_2).get()).isEqualTo(VAL_2);
+	}
+
+	@Test
+	public void shouldRemoveEntries() {
+		adapter.put(KEY_1, VAL_1);
+		adapter.put(KEY_2, VAL_2);
+
+		assertThat(adapter.remove(KEY_1)).isTrue();
+		assertThat(adapter.remove(KEY_1)).isFalse();
+
+		adapter.removeAll();
+
+		assertThat(adapter.containsKey(KEY_2)).isFalse();
+	}
+
+	@Test
+	public void shouldUnwrapToCaffeineCache() {
+		assertThat(adapter.unwrap(com.github.benmanes.caffeine.cache.Cache.class)).isSameAs(cache);
+		assertThat(adapter.getName()).isEqualTo(CACHE_NAME);
+	}
+}
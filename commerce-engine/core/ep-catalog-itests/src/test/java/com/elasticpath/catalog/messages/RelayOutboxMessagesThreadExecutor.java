@@ -3,35 +3,29 @@
  */
 package com.elasticpath.catalog.messages;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
-import com.elasticpath.batch.jobs.impl.messaging.RelayOutboxMessagesJob;
+import com.elasticpath.batch.jobs.impl.messaging.OutboxMessageRelay;
 
 /**
- * Creates a scheduled thread pool to run the send camel messages job every second, simulating what Quartz does within Batch server.
+ * Starts and stops the outbox message relay around a test, as the Batch server does on startup and shutdown.
  */
 public class RelayOutboxMessagesThreadExecutor {
-	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
-	private RelayOutboxMessagesJob relayOutboxMessagesJob;
+	private OutboxMessageRelay outboxMessageRelay;
 
 	/**
-	 * Start the executor service.
+	 * Start relaying outbox messages.
 	 */
 	public void start() {
-		scheduler.scheduleWithFixedDelay(() -> relayOutboxMessagesJob.execute(), 0, 1, TimeUnit.SECONDS);
+		outboxMessageRelay.start();
 	}
 
 	/**
-	 * Stop the executor service.
+	 * Stop relaying outbox messages.
 	 */
 	public void stop() {
-		scheduler.shutdown();
+		outboxMessageRelay.stop();
 	}
 
-	public void setRelayOutboxMessagesJob(final RelayOutboxMessagesJob relayOutboxMessagesJob) {
-		this.relayOutboxMessagesJob = relayOutboxMessagesJob;
+	public void setOutboxMessageRelay(final OutboxMessageRelay outboxMessageRelay) {
+		this.outboxMessageRelay = outboxMessageRelay;
 	}
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A keyed eviction, or an eviction of every entry, for a named cache, broadcast from one node to the others.
+ */
+public class CacheInvalidationMessage implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final String sourceNodeId;
+	private final String cacheName;
+	private final Serializable key;
+	private final boolean allEntries;
+
+	private CacheInvalidationMessage(final String sourceNodeId, final String cacheName, final Serializable key, final boolean allEntries) {
+		this.sourceNodeId = sourceNodeId;
+		this.cacheName = cacheName;
+		this.key = key;
+		this.allEntries = allEntries;
+	}
+
+	/**
+	 * Creates a message evicting a single key.
+	 *
+	 * @param sourceNodeId the id of the node publishing the message
+	 * @param cacheName the cache name
+	 * @param key the key to evict
+	 * @return the message
+	 */
+	public static CacheInvalidationMessage forKey(final String sourceNodeId, final String cacheName, final Serializable key) {
+		return new CacheInvalidationMessage(sourceNodeId, cacheName, key, false);
+	}
+
+	/**
+	 * Creates a message evicting every entry in a cache.
+	 *
+	 * @param sourceNodeId the id of the node publishing the message
+	 * @param cacheName the cache name
+	 * @return the message
+	 */
+	public static CacheInvalidationMessage forAllEntries(final String sourceNodeId, final String cacheName) {
+		return new CacheInvalidationMessage(sourceNodeId, cacheName, null, true);
+	}
+
+	public String getSourceNodeId() {
+		return sourceNodeId;
+	}
+
+	public String getCacheName() {
+		return cacheName;
+	}
+
+	public Serializable getKey() {
+		return key;
+	}
+
+	public boolean isAllEntries() {
+		return allEntries;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this)
+				.append("sourceNodeId", sourceNodeId)
+				.append("cacheName", cacheName)
+				.append("key", key)
+				.append("allEntries", allEntries)
+				.toString();
+	}
+}
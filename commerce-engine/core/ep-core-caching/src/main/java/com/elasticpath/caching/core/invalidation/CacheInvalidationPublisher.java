@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation;
+
+/**
+ * Broadcasts cache invalidations to the other nodes in the cluster.
+ */
+public interface CacheInvalidationPublisher {
+
+	/**
+	 * Publishes an invalidation. Implementations should not throw if the transport is unavailable, since the local
+	 * invalidation has already happened.
+	 *
+	 * @param message the invalidation message
+	 */
+	void publish(CacheInvalidationMessage message);
+}
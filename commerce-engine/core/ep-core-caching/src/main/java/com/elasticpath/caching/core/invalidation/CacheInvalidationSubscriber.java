@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation;
+
+import com.elasticpath.cache.Cache;
+
+/**
+ * Applies invalidations received from other nodes to the caches of this node.
+ */
+public interface CacheInvalidationSubscriber {
+
+	/**
+	 * Registers a local cache so that invalidations for its name are applied to it.
+	 *
+	 * @param cache the local cache, which must not broadcast its own invalidations
+	 */
+	void registerCache(Cache<?, ?> cache);
+
+	/**
+	 * Applies a received invalidation. Messages published by this node are ignored.
+	 *
+	 * @param message the invalidation message
+	 */
+	void onMessage(CacheInvalidationMessage message);
+}
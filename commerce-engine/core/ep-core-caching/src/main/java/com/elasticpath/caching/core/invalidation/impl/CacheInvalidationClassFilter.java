@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+
+/**
+ * Allow-list of the classes which may be read from the cache invalidation messages broadcast by other nodes, so that publishing to the
+ * invalidation topic can't be used to deserialize arbitrary classes.
+ * <p>
+ * Strings and boxed integers, characters and booleans are allowed as keys by default. Other key classes, enums included, must be listed in
+ * {@link #setKeyClassNames(Collection)}, along with the classes of their serializable fields. Removing a key of any other class
+ * evicts the whole cache on the other nodes.
+ */
+public class CacheInvalidationClassFilter {
+	private static final Set<String> DEFAULT_CLASS_NAMES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			CacheInvalidationMessage.class.getName(),
+			String.class.getName(),
+			Number.class.getName(),
+			Long.class.getName(),
+			Integer.class.getName(),
+			Short.class.getName(),
+			Byte.class.getName(),
+			Character.class.getName(),
+			Boolean.class.getName(),
+			Enum.class.getName())));
+
+	private Set<String> keyClassNames = Collections.emptySet();
+
+	/**
+	 * Returns whether a class may be read from a cache invalidation message.
+	 *
+	 * @param className the class name
+	 * @return true if the class is allowed
+	 */
+	public boolean isAllowed(final String className) {
+		return DEFAULT_CLASS_NAMES.contains(className) || keyClassNames.contains(className);
+	}
+
+	/**
+	 * Returns whether a key can be broadcast, that is whether it is serializable and its class is allowed.
+	 *
+	 * @param key the cache key
+	 * @return true if the key can be broadcast
+	 */
+	public boolean isAllowedKey(final Object key) {
+		return key instanceof Serializable && isAllowed(key.getClass().getName());
+	}
+
+	/**
+	 * Sets the names of the key classes allowed in addition to the default ones.
+	 *
+	 * @param keyClassNames the key class names
+	 */
+	public void setKeyClassNames(final Collection<String> keyClassNames) {
+		this.keyClassNames = new HashSet<>(keyClassNames);
+	}
+}
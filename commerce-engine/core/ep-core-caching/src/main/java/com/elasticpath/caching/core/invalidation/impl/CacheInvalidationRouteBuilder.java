@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.commons.lang3.SerializationException;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationSubscriber;
+
+/**
+ * Route which consumes cache invalidations broadcast by other nodes and applies them to the caches of this node.
+ */
+public class CacheInvalidationRouteBuilder extends RouteBuilder {
+	private Endpoint incomingEndpoint;
+	private CacheInvalidationSubscriber subscriber;
+	private CacheInvalidationClassFilter classFilter = new CacheInvalidationClassFilter();
+
+	@Override
+	public void configure() {
+		from(getIncomingEndpoint())
+				.errorHandler(noErrorHandler())
+				.routeId("cacheInvalidation")
+				.process(this::applyInvalidation);
+	}
+
+	private void applyInvalidation(final Exchange exchange) throws InvalidPayloadException {
+		final byte[] body = exchange.getIn().getMandatoryBody(byte[].class);
+		getSubscriber().onMessage(deserialize(body));
+	}
+
+	/**
+	 * Deserializes a message, resolving classes through this bundle's class loader so that composite cache keys can be read in OSGi.
+	 * Any class not allowed by the class filter is rejected before it is loaded, as anyone able to publish to the broker can send
+	 * a message.
+	 *
+	 * @param body the serialized message
+	 * @return the message
+	 */
+	protected CacheInvalidationMessage deserialize(final byte[] body) {
+		try (ObjectInputStream inputStream = new BundleObjectInputStream(new ByteArrayInputStream(body), getClassFilter())) {
+			return (CacheInvalidationMessage) inputStream.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			throw new SerializationException("Unable to read cache invalidation message", e);
+		}
+	}
+
+	protected Endpoint getIncomingEndpoint() {
+		return incomingEndpoint;
+	}
+
+	public void setIncomingEndpoint(final Endpoint incomingEndpoint) {
+		this.incomingEndpoint = incomingEndpoint;
+	}
+
+	protected CacheInvalidationSubscriber getSubscriber() {
+		return subscriber;
+	}
+
+	public void setSubscriber(final CacheInvalidationSubscriber subscriber) {
+		this.subscriber = subscriber;
+	}
+
+	protected CacheInvalidationClassFilter getClassFilter() {
+		return classFilter;
+	}
+
+	public void setClassFilter(final CacheInvalidationClassFilter classFilter) {
+		this.classFilter = classFilter;
+	}
+
+	/**
+	 * Object input stream which only reads the allowed classes, resolving them through the class loader that loaded this route builder.
+	 */
+	private static final class BundleObjectInputStream extends ObjectInputStream {
+		private final CacheInvalidationClassFilter classFilter;
+
+		BundleObjectInputStream(final InputStream inputStream, final CacheInvalidationClassFilter classFilter) throws IOException {
+			super(inputStream);
+			this.classFilter = classFilter;
+		}
+
+		@Override
+		protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (!classFilter.isAllowed(desc.getName())) {
+				throw new InvalidClassException(desc.getName(), "Class not allowed in cache invalidation messages");
+			}
+			try {
+				return Class.forName(desc.getName(), false, CacheInvalidationRouteBuilder.class.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException {
+			throw new InvalidClassException("Proxy classes are not allowed in cache invalidation messages");
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationSubscriber;
+
+/**
+ * Default implementation of {@link CacheInvalidationSubscriber}, which keeps a registry of local caches by name.
+ */
+public class CacheInvalidationSubscriberImpl implements CacheInvalidationSubscriber {
+	private static final Logger LOG = LogManager.getLogger(CacheInvalidationSubscriberImpl.class);
+
+	private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+	private String nodeId;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void registerCache(final Cache<?, ?> cache) {
+		caches.put(cache.getName(), (Cache<Object, Object>) cache);
+	}
+
+	@Override
+	public void onMessage(final CacheInvalidationMessage message) {
+		if (Objects.equals(getNodeId(), message.getSourceNodeId())) {
+			return;
+		}
+
+		final Cache<Object, Object> cache = caches.get(message.getCacheName());
+		if (cache == null) {
+			LOG.debug("Ignoring invalidation for cache {} which is not registered on this node", message.getCacheName());
+			return;
+		}
+
+		if (message.isAllEntries()) {
+			cache.removeAll();
+		} else {
+			cache.remove(message.getKey());
+		}
+	}
+
+	protected String getNodeId() {
+		return nodeId;
+	}
+
+	public void setNodeId(final String nodeId) {
+		this.nodeId = nodeId;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.ProducerTemplate;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationPublisher;
+
+/**
+ * {@link CacheInvalidationPublisher} which sends messages to a Camel endpoint, normally a JMS topic that every node subscribes to.
+ * Messages are sent as serialized bytes rather than JMS object messages, so that brokers do not need to trust the key classes;
+ * the receiving nodes only read the classes allowed by their {@link CacheInvalidationClassFilter}.
+ */
+public class CamelCacheInvalidationPublisherImpl implements CacheInvalidationPublisher {
+	private static final Logger LOG = LogManager.getLogger(CamelCacheInvalidationPublisherImpl.class);
+
+	private ProducerTemplate producerTemplate;
+	private Endpoint endpoint;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Never throws, as the local eviction has already been applied when a cache publishes its invalidation.
+	 */
+	@Override
+	@SuppressWarnings("PMD.AvoidCatchingGenericException")
+	public void publish(final CacheInvalidationMessage message) {
+		try {
+			getProducerTemplate().sendBody(getEndpoint(), SerializationUtils.serialize(message));
+		} catch (RuntimeException e) {
+			// Other nodes will pick up the change when their entry expires
+			LOG.error("Unable to broadcast cache invalidation " + message, e);
+		}
+	}
+
+	protected ProducerTemplate getProducerTemplate() {
+		return producerTemplate;
+	}
+
+	public void setProducerTemplate(final ProducerTemplate producerTemplate) {
+		this.producerTemplate = producerTemplate;
+	}
+
+	protected Endpoint getEndpoint() {
+		return endpoint;
+	}
+
+	public void setEndpoint(final Endpoint endpoint) {
+		this.endpoint = endpoint;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationPublisher;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationSubscriber;
+
+/**
+ * In-memory {@link CacheInvalidationPublisher} which delivers messages synchronously to subscribers in the same JVM.
+ * Used where no message broker is configured, and in tests to simulate several nodes sharing one bus.
+ */
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationPublisher {
+	private final List<CacheInvalidationSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(final CacheInvalidationMessage message) {
+		for (CacheInvalidationSubscriber subscriber : subscribers) {
+			subscriber.onMessage(message);
+		}
+	}
+
+	/**
+	 * Adds a subscriber which will receive every published message.
+	 *
+	 * @param subscriber the subscriber
+	 */
+	public void addSubscriber(final CacheInvalidationSubscriber subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	public void setSubscribers(final List<CacheInvalidationSubscriber> subscribers) {
+		this.subscribers.clear();
+		this.subscribers.addAll(subscribers);
+	}
+}
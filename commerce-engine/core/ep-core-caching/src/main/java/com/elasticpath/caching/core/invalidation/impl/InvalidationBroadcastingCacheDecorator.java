@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.Cache;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationPublisher;
+
+/**
+ * A {@link Cache} decorator which broadcasts every removal to the other nodes after applying it locally.
+ * Keys which are not allowed by the {@link CacheInvalidationClassFilter} cannot be sent, so removing one of them evicts the whole
+ * cache on the other nodes.
+ *
+ * @param <K> the class implemented by the cache keys
+ * @param <V> the class implemented by the cache values
+ */
+public class InvalidationBroadcastingCacheDecorator<K, V> implements Cache<K, V> {
+	private final Cache<K, V> delegate;
+	private final CacheInvalidationPublisher publisher;
+	private final String nodeId;
+	private final CacheInvalidationClassFilter classFilter;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param delegate the local cache
+	 * @param publisher the invalidation publisher
+	 * @param nodeId the id of this node
+	 * @param classFilter the filter of the classes the other nodes read from the messages
+	 */
+	public InvalidationBroadcastingCacheDecorator(final Cache<K, V> delegate, final CacheInvalidationPublisher publisher,
+			final String nodeId, final CacheInvalidationClassFilter classFilter) {
+		this.delegate = delegate;
+		this.publisher = publisher;
+		this.nodeId = nodeId;
+		this.classFilter = classFilter;
+	}
+
+	@Override
+	public CacheResult<V> get(final K key) {
+		return delegate.get(key);
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader) {
+		return delegate.get(key, fallbackLoader);
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader, final BiFunction<K, V, V> populateCacheFunction) {
+		return delegate.get(key, fallbackLoader, populateCacheFunction);
+	}
+
+	@Override
+	public Map<K, V> getAll(final Collection<? extends K> keyValues) {
+		return delegate.getAll(keyValues);
+	}
+
+	@Override
+	public Map<K, V> getAll(final Collection<K> keyValues, final Function<Collection<K>, Map<K, V>> fallbackLoader) {
+		return delegate.getAll(keyValues, fallbackLoader);
+	}
+
+	@Override
+	public V put(final K key, final V value) {
+		return delegate.put(key, value);
+	}
+
+	@Override
+	public boolean remove(final K key) {
+		final boolean removed = delegate.remove(key);
+		if (classFilter.isAllowedKey(key)) {
+			publisher.publish(CacheInvalidationMessage.forKey(nodeId, getName(), (Serializable) key));
+		} else {
+			publisher.publish(CacheInvalidationMessage.forAllEntries(nodeId, getName()));
+		}
+		return removed;
+	}
+
+	@Override
+	public void removeAll() {
+		delegate.removeAll();
+		publisher.publish(CacheInvalidationMessage.forAllEntries(nodeId, getName()));
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public <T> T unwrap(final Class<T> clazz) {
+		return delegate.unwrap(clazz);
+	}
+
+	@Override
+	public boolean containsKey(final K key) {
+		return delegate.containsKey(key);
+	}
+}
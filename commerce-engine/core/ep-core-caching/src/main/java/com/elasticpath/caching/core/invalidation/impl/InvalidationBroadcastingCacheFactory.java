@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.factory.CacheFactory;
+import com.elasticpath.cache.factory.impl.CacheNameSelectingCacheFactory;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationPublisher;
+import com.elasticpath.caching.core.invalidation.CacheInvalidationSubscriber;
+
+/**
+ * CacheFactory which makes the caches named in {@link #setBroadcastCacheNames(Collection)} cluster-aware: removals are
+ * broadcast to the other nodes, and removals received from other nodes are applied to the local cache.
+ * Every other cache is returned from the delegate factory unchanged.
+ */
+public class InvalidationBroadcastingCacheFactory implements CacheFactory {
+	private CacheFactory delegateCacheFactory;
+	private CacheInvalidationPublisher publisher;
+	private CacheInvalidationSubscriber subscriber;
+	private String nodeId;
+	private CacheInvalidationClassFilter classFilter = new CacheInvalidationClassFilter();
+	private Collection<String> broadcastCacheNames = Collections.emptySet();
+
+	@Override
+	public <K, V> Cache<K, V> createCache(final String cacheName) {
+		final Cache<K, V> cache = getDelegateCacheFactory().createCache(cacheName);
+		if (!isBroadcastCache(cacheName)) {
+			return cache;
+		}
+
+		getSubscriber().registerCache(cache);
+		return new InvalidationBroadcastingCacheDecorator<>(cache, getPublisher(), getNodeId(), getClassFilter());
+	}
+
+	private boolean isBroadcastCache(final String cacheName) {
+		return getBroadcastCacheNames().contains(cacheName)
+				|| getBroadcastCacheNames().contains(CacheNameSelectingCacheFactory.ALL_CACHES);
+	}
+
+	protected CacheFactory getDelegateCacheFactory() {
+		return delegateCacheFactory;
+	}
+
+	public void setDelegateCacheFactory(final CacheFactory delegateCacheFactory) {
+		this.delegateCacheFactory = delegateCacheFactory;
+	}
+
+	protected CacheInvalidationPublisher getPublisher() {
+		return publisher;
+	}
+
+	public void setPublisher(final CacheInvalidationPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	protected CacheInvalidationSubscriber getSubscriber() {
+		return subscriber;
+	}
+
+	public void setSubscriber(final CacheInvalidationSubscriber subscriber) {
+		this.subscriber = subscriber;
+	}
+
+	protected String getNodeId() {
+		return nodeId;
+	}
+
+	public void setNodeId(final String nodeId) {
+		this.nodeId = nodeId;
+	}
+
+	protected CacheInvalidationClassFilter getClassFilter() {
+		return classFilter;
+	}
+
+	public void setClassFilter(final CacheInvalidationClassFilter classFilter) {
+		this.classFilter = classFilter;
+	}
+
+	protected Collection<String> getBroadcastCacheNames() {
+		return broadcastCacheNames;
+	}
+
+	public void setBroadcastCacheNames(final Collection<String> broadcastCacheNames) {
+		this.broadcastCacheNames = broadcastCacheNames;
+	}
+
+	/**
+	 * Sets the names of the caches whose removals are broadcast from a comma-separated list, e.g. a system property.
+	 *
+	 * @param broadcastCacheNames the comma-separated cache names, {@link CacheNameSelectingCacheFactory#ALL_CACHES} for all
+	 */
+	public void setCommaSeparatedBroadcastCacheNames(final String broadcastCacheNames) {
+		setBroadcastCacheNames(CacheNameSelectingCacheFactory.splitCacheNames(broadcastCacheNames));
+	}
+}
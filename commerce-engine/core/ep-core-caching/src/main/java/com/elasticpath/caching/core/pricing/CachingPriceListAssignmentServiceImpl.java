@@ -20,7 +20,9 @@ public class CachingPriceListAssignmentServiceImpl implements PriceListAssignmen
 
 	@Override
 	public PriceListAssignment saveOrUpdate(final PriceListAssignment plAssignment) {
-		return fallbackService.saveOrUpdate(plAssignment);
+		final PriceListAssignment savedAssignment = fallbackService.saveOrUpdate(plAssignment);
+		priceListAssignmentCache.removeAll();
+		return savedAssignment;
 	}
 
 	@Override
@@ -106,6 +108,7 @@ public class CachingPriceListAssignmentServiceImpl implements PriceListAssignmen
 	@Override
 	public void delete(final PriceListAssignment plAssignment) {
 		fallbackService.delete(plAssignment);
+		priceListAssignmentCache.removeAll();
 	}
 
 	public void setFallbackService(final PriceListAssignmentService fallbackService) {
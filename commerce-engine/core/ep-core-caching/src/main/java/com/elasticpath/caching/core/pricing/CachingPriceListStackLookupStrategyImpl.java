@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+
+package com.elasticpath.caching.core.pricing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.common.pricing.service.PriceListStackLookupStrategy;
+import com.elasticpath.domain.pricing.PriceListAssignment;
+import com.elasticpath.domain.pricing.PriceListStack;
+import com.elasticpath.domain.pricing.impl.PriceListStackImpl;
+import com.elasticpath.domain.sellingcontext.SellingContext;
+import com.elasticpath.service.pricing.PriceListAssignmentService;
+import com.elasticpath.tags.Tag;
+import com.elasticpath.tags.TagSet;
+import com.elasticpath.tags.domain.Condition;
+import com.elasticpath.tags.domain.ConditionalExpression;
+import com.elasticpath.tags.domain.LogicalOperator;
+import com.elasticpath.tags.service.ConditionDSLBuilder;
+
+/**
+ * Caching price list stack lookup strategy.
+ * <p>
+ * The price list stack of a catalog and currency only depends on the values of the tags that the selling contexts of the price list
+ * assignments refer to, so stacks are cached by the values of these tags: shoppers with the same values share a stack. The tags are
+ * found by parsing the conditions of the assignments once per version of the cached list of assignments; a new list of assignments,
+ * loaded when the cached one expires or is invalidated, starts a new version so the stacks built from the previous one are no
+ * longer used.
+ */
+public class CachingPriceListStackLookupStrategyImpl implements PriceListStackLookupStrategy {
+
+	private static final Logger LOG = LogManager.getLogger(CachingPriceListStackLookupStrategyImpl.class);
+
+	private final AtomicLong assignmentsVersions = new AtomicLong();
+	private final Map<CatalogAndCurrencyCodeAndHiddenCompositeKey, ReferencedTags> referencedTagsByCatalogAndCurrency = new ConcurrentHashMap<>();
+
+	private PriceListStackLookupStrategy fallbackStrategy;
+	private PriceListAssignmentService priceListAssignmentService;
+	private ConditionDSLBuilder conditionDSLBuilder;
+	private Cache<PriceListStackCacheKey, PriceListStack> priceListStackCache;
+
+	@Override
+	public PriceListStack getPriceListStack(final String catalogCode, final Currency currency, final TagSet tagSet) {
+		if (tagSet == null) {
+			return fallbackStrategy.getPriceListStack(catalogCode, currency, null);
+		}
+
+		final String currencyCode = currency.getCurrencyCode();
+		final List<PriceListAssignment> assignments = priceListAssignmentService.listByCatalogAndCurrencyCode(catalogCode, currencyCode, true);
+		final ReferencedTags referencedTags = getReferencedTags(catalogCode, currencyCode, assignments);
+		if (referencedTags.getTagNames() == null) {
+			return fallbackStrategy.getPriceListStack(catalogCode, currency, tagSet);
+		}
+
+		final PriceListStackCacheKey cacheKey = new PriceListStackCacheKey(catalogCode, currencyCode, referencedTags.getVersion(),
+				referencedTags.getTagValues(tagSet));
+		final PriceListStack priceListStack = priceListStackCache.get(cacheKey,
+				key -> fallbackStrategy.getPriceListStack(catalogCode, currency, tagSet));
+
+		// the cached stack is shared, callers get their own copy
+		return copyOf(priceListStack);
+	}
+
+	private ReferencedTags getReferencedTags(final String catalogCode, final String currencyCode, final List<PriceListAssignment> assignments) {
+		final CatalogAndCurrencyCodeAndHiddenCompositeKey key = new CatalogAndCurrencyCodeAndHiddenCompositeKey(catalogCode, currencyCode, true);
+		ReferencedTags referencedTags = referencedTagsByCatalogAndCurrency.get(key);
+		if (referencedTags == null || referencedTags.getAssignments() != assignments) {
+			referencedTags = new ReferencedTags(assignments, assignmentsVersions.incrementAndGet(), findReferencedTagNames(assignments));
+			referencedTagsByCatalogAndCurrency.put(key, referencedTags);
+		}
+		return referencedTags;
+	}
+
+	/**
+	 * Finds the names of the tags referred to by the selling contexts of the given price list assignments.
+	 *
+	 * @param assignments the price list assignments
+	 * @return the tag names, or null if a condition could not be parsed, in which case the stacks are not cached
+	 */
+	protected Set<String> findReferencedTagNames(final List<PriceListAssignment> assignments) {
+		final Set<String> tagNames = new TreeSet<>();
+		if (assignments == null) {
+			return tagNames;
+		}
+
+		for (PriceListAssignment assignment : assignments) {
+			final SellingContext sellingContext = assignment.getSellingContext();
+			if (sellingContext == null) {
+				continue;
+			}
+			for (ConditionalExpression expression : sellingContext.getConditions().values()) {
+				if (expression == null || StringUtils.isEmpty(expression.getConditionString())) {
+					continue;
+				}
+				try {
+					addTagNames(conditionDSLBuilder.getLogicalOperationTree(expression.getConditionString()), tagNames);
+				} catch (RuntimeException e) {
+					LOG.warn("Price list stacks are not cached for the conditions of price list assignment " + assignment.getGuid(), e);
+					return null;
+				}
+			}
+		}
+		return tagNames;
+	}
+
+	private void addTagNames(final LogicalOperator logicalOperator, final Set<String> tagNames) {
+		for (Condition condition : logicalOperator.getConditions()) {
+			tagNames.add(condition.getTagDefinitionString());
+		}
+		for (LogicalOperator child : logicalOperator.getLogicalOperators()) {
+			addTagNames(child, tagNames);
+		}
+	}
+
+	private PriceListStack copyOf(final PriceListStack priceListStack) {
+		final PriceListStack copy = new PriceListStackImpl();
+		copy.setCurrency(priceListStack.getCurrency());
+		copy.setStack(new ArrayList<>(priceListStack.getPriceListStack()));
+		return copy;
+	}
+
+	/**
+	 * The tags referred to by a list of price list assignments.
+	 */
+	private static final class ReferencedTags {
+
+		private final List<PriceListAssignment> assignments;
+		private final long version;
+		private final Set<String> tagNames;
+
+		ReferencedTags(final List<PriceListAssignment> assignments, final long version, final Set<String> tagNames) {
+			this.assignments = assignments;
+			this.version = version;
+			this.tagNames = tagNames;
+		}
+
+		List<PriceListAssignment> getAssignments() {
+			return assignments;
+		}
+
+		long getVersion() {
+			return version;
+		}
+
+		Set<String> getTagNames() {
+			return tagNames;
+		}
+
+		Map<String, Object> getTagValues(final TagSet tagSet) {
+			if (tagNames.isEmpty()) {
+				return Collections.emptyMap();
+			}
+			final Map<String, Object> tagValues = new TreeMap<>();
+			for (String tagName : tagNames) {
+				final Tag tag = tagSet.getTags().get(tagName);
+				tagValues.put(tagName, tag == null ? null : tag.getValue());
+			}
+			return tagValues;
+		}
+	}
+
+	public void setFallbackStrategy(final PriceListStackLookupStrategy fallbackStrategy) {
+		this.fallbackStrategy = fallbackStrategy;
+	}
+
+	public void setPriceListAssignmentService(final PriceListAssignmentService priceListAssignmentService) {
+		this.priceListAssignmentService = priceListAssignmentService;
+	}
+
+	public void setConditionDSLBuilder(final ConditionDSLBuilder conditionDSLBuilder) {
+		this.conditionDSLBuilder = conditionDSLBuilder;
+	}
+
+	public void setPriceListStackCache(final Cache<PriceListStackCacheKey, PriceListStack> priceListStackCache) {
+		this.priceListStackCache = priceListStackCache;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+
+package com.elasticpath.caching.core.pricing;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache key for a price list stack: the catalog code, the currency code, the version of the price list assignments of the catalog
+ * and currency, and the values of the tags that the selling contexts of these assignments refer to.
+ */
+public class PriceListStackCacheKey {
+
+	private final String catalogCode;
+	private final String currencyCode;
+	private final long assignmentsVersion;
+	private final Map<String, Object> tagValues;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param catalogCode        catalog code
+	 * @param currencyCode       currency code
+	 * @param assignmentsVersion version of the price list assignments
+	 * @param tagValues          values of the referenced tags, by tag name
+	 */
+	PriceListStackCacheKey(final String catalogCode, final String currencyCode, final long assignmentsVersion,
+			final Map<String, Object> tagValues) {
+		this.catalogCode = catalogCode;
+		this.currencyCode = currencyCode;
+		this.assignmentsVersion = assignmentsVersion;
+		this.tagValues = tagValues;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		PriceListStackCacheKey that = (PriceListStackCacheKey) other;
+
+		return assignmentsVersion == that.assignmentsVersion
+				&& Objects.equals(catalogCode, that.catalogCode)
+				&& Objects.equals(currencyCode, that.currencyCode)
+				&& Objects.equals(tagValues, that.tagValues);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(catalogCode, currencyCode, assignmentsVersion, tagValues);
+	}
+
+	@Override
+	public String toString() {
+		return catalogCode + "/" + currencyCode + "/" + assignmentsVersion + tagValues;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usage statistics collected for a single cache since it was created or last reset.
+ */
+public interface CacheStatistics {
+
+	/**
+	 * Value returned by the backend derived statistics when the backing cache cannot provide them.
+	 */
+	long NOT_AVAILABLE = -1L;
+
+	/**
+	 * Returns the name of the cache.
+	 *
+	 * @return the cache name
+	 */
+	String getCacheName();
+
+	/**
+	 * Returns the number of lookups answered from the cache without calling a loader or waiting for one.
+	 *
+	 * @return the hit count
+	 */
+	long getHitCount();
+
+	/**
+	 * Returns the number of lookups which found no entry, whether they then called their own loader, waited for the load of another
+	 * caller or loaded nothing.
+	 *
+	 * @return the miss count
+	 */
+	long getMissCount();
+
+	/**
+	 * Returns the fraction of lookups which were hits, or zero if there have been no lookups.
+	 *
+	 * @return the hit ratio between 0 and 1
+	 */
+	double getHitRatio();
+
+	/**
+	 * Returns the number of loader calls made on a miss.
+	 *
+	 * @return the load count
+	 */
+	long getLoadCount();
+
+	/**
+	 * Returns the number of loader calls which threw an exception.
+	 *
+	 * @return the failed load count
+	 */
+	long getLoadFailureCount();
+
+	/**
+	 * Returns the number of misses which waited for a load of the same key already started by another caller, instead of calling
+	 * their own loader.
+	 *
+	 * @return the coalesced load count, or {@link #NOT_AVAILABLE}
+	 */
+	long getCoalescedLoadCount();
+
+	/**
+	 * Returns the total time spent in loader calls.
+	 *
+	 * @return the total load time in nanoseconds
+	 */
+	long getTotalLoadTimeNanos();
+
+	/**
+	 * Returns the loader latency distribution, keyed by the upper bound of each bucket (for example {@code "<= 5 ms"}) in ascending order.
+	 *
+	 * @return the number of loader calls in each latency bucket
+	 */
+	Map<String, Long> getLoadLatencyHistogram();
+
+	/**
+	 * Returns the number of entries the backing cache has evicted or expired.
+	 *
+	 * @return the eviction count, or {@link #NOT_AVAILABLE}
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Returns the number of entries currently held in memory by the backing cache.
+	 *
+	 * @return the entry count, or {@link #NOT_AVAILABLE}
+	 */
+	long getEntryCount();
+
+	/**
+	 * Returns an estimate of the heap used by the cache values, extrapolated from the serialized size of a sample of the hottest entries.
+	 * This is a sizing aid rather than a measurement; values which are not serializable are left out of the sample, and the sample is
+	 * only taken again once the footprint refresh interval has passed.
+	 *
+	 * @return the estimated footprint in bytes, or {@link #NOT_AVAILABLE}
+	 */
+	long getEstimatedHeapBytes();
+
+	/**
+	 * Returns the most frequently requested keys seen by the key sampler, hottest first.
+	 *
+	 * @param limit the maximum number of keys to return
+	 * @return the keys and their estimated request counts
+	 */
+	List<Map.Entry<Object, Long>> getHotKeys(int limit);
+
+	/**
+	 * Resets every counter to zero.
+	 */
+	void reset();
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics;
+
+import java.util.Collection;
+
+/**
+ * Holds the {@link CacheStatistics} of every cache created on this node.
+ */
+public interface CacheStatisticsRegistry {
+
+	/**
+	 * Registers the statistics of a cache, replacing any statistics already registered under the same cache name.
+	 *
+	 * @param cacheStatistics the statistics
+	 */
+	void register(CacheStatistics cacheStatistics);
+
+	/**
+	 * Returns the statistics of the named cache.
+	 *
+	 * @param cacheName the cache name
+	 * @return the statistics, or null if no cache of that name has been registered
+	 */
+	CacheStatistics getCacheStatistics(String cacheName);
+
+	/**
+	 * Returns the statistics of every registered cache, ordered by cache name.
+	 *
+	 * @return the statistics
+	 */
+	Collection<CacheStatistics> getAllCacheStatistics();
+
+	/**
+	 * Resets the statistics of every registered cache.
+	 */
+	void reset();
+}
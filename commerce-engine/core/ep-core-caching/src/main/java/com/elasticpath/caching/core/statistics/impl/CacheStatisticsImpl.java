@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.impl.AbstractCacheAdapter;
+import com.elasticpath.caching.core.statistics.CacheStatistics;
+
+/**
+ * Thread safe {@link CacheStatistics} for one cache. Request counters are recorded by {@link StatisticsRecordingCacheDecorator};
+ * eviction and entry counts are read from the backing Ehcache or Caffeine cache where the cache exposes one through
+ * {@link Cache#unwrap(Class)}. Coalesced loads are read from the cache itself when it coalesces concurrent misses, as
+ * {@link AbstractCacheAdapter} does.
+ */
+public class CacheStatisticsImpl implements CacheStatistics {
+	private static final Logger LOG = LogManager.getLogger(CacheStatisticsImpl.class);
+
+	/**
+	 * The default number of milliseconds for which the sampled size of the cache entries is reused.
+	 */
+	public static final long DEFAULT_FOOTPRINT_REFRESH_INTERVAL = 60000L;
+
+	private final Cache<Object, ?> cache;
+	private final HotKeySampler hotKeySampler;
+	private final int footprintSampleSize;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTimeNanos = new LongAdder();
+	private final LoadLatencyHistogram loadLatencyHistogram = new LoadLatencyHistogram();
+
+	private LongSupplier evictionCounter = () -> NOT_AVAILABLE;
+	private LongSupplier entryCounter = () -> NOT_AVAILABLE;
+	private LongSupplier coalescedLoadCounter = () -> NOT_AVAILABLE;
+	private volatile long evictionCountAtReset;
+	private volatile long coalescedLoadCountAtReset;
+
+	private long footprintRefreshInterval = DEFAULT_FOOTPRINT_REFRESH_INTERVAL;
+	private volatile long sampledBytesPerEntry = NOT_AVAILABLE;
+	private volatile long footprintSampleTime;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cache the undecorated cache, used to read backend statistics and to sample values for the footprint estimate
+	 * @param hotKeySampler the sampler which tracks the hottest keys
+	 * @param footprintSampleSize the number of hot entries serialized to estimate the heap footprint
+	 */
+	@SuppressWarnings("unchecked")
+	public CacheStatisticsImpl(final Cache<?, ?> cache, final HotKeySampler hotKeySampler, final int footprintSampleSize) {
+		this.cache = (Cache<Object, ?>) cache;
+		this.hotKeySampler = hotKeySampler;
+		this.footprintSampleSize = footprintSampleSize;
+		bindBackend();
+		if (cache instanceof AbstractCacheAdapter) {
+			coalescedLoadCounter = ((AbstractCacheAdapter<?, ?>) cache)::getCoalescedLoadCount;
+		}
+	}
+
+	private void bindBackend() {
+		final Object backend = unwrapBackend();
+		if (backend instanceof Ehcache) {
+			final Ehcache ehcache = (Ehcache) backend;
+			final LongAdder evictions = new LongAdder();
+			ehcache.getCacheEventNotificationService().registerListener(new EvictionCountingListener(evictions));
+			evictionCounter = evictions::sum;
+			entryCounter = ehcache::getMemoryStoreSize;
+		} else if (backend instanceof com.github.benmanes.caffeine.cache.Cache) {
+			final com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache = (com.github.benmanes.caffeine.cache.Cache<?, ?>) backend;
+			evictionCounter = () -> caffeineCache.stats().evictionCount();
+			entryCounter = caffeineCache::estimatedSize;
+		}
+	}
+
+	private Object unwrapBackend() {
+		try {
+			return cache.unwrap(Object.class);
+		} catch (IllegalArgumentException e) {
+			LOG.debug("Cache " + cache.getName() + " does not expose its backing cache; eviction and size statistics are not available", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Records a lookup of the given key.
+	 *
+	 * @param key the key
+	 * @param hit whether the value was found without calling a loader
+	 */
+	public void recordRequest(final Object key, final boolean hit) {
+		if (hit) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+		}
+		hotKeySampler.record(key);
+	}
+
+	/**
+	 * Records a loader call.
+	 *
+	 * @param elapsedNanos the time the loader took
+	 * @param failed whether the loader threw an exception
+	 */
+	public void recordLoad(final long elapsedNanos, final boolean failed) {
+		loadCount.increment();
+		if (failed) {
+			loadFailureCount.increment();
+		}
+		totalLoadTimeNanos.add(elapsedNanos);
+		loadLatencyHistogram.record(elapsedNanos);
+	}
+
+	@Override
+	public String getCacheName() {
+		return cache.getName();
+	}
+
+	/**
+	 * Lookups which waited for the load of another caller did not run their own loader, so the decorator records them as hits.
+	 * They are moved to the misses here, using the coalesced load count of the cache.
+	 */
+	@Override
+	public long getHitCount() {
+		return Math.max(0, hitCount.sum() - getCoalescedMissCount());
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum() + getCoalescedMissCount();
+	}
+
+	private long getCoalescedMissCount() {
+		return Math.max(0, getCoalescedLoadCount());
+	}
+
+	@Override
+	public double getHitRatio() {
+		final long hits = getHitCount();
+		final long requests = hits + getMissCount();
+		if (requests == 0) {
+			return 0;
+		}
+		return (double) hits / requests;
+	}
+
+	@Override
+	public long getLoadCount() {
+		return loadCount.sum();
+	}
+
+	@Override
+	public long getLoadFailureCount() {
+		return loadFailureCount.sum();
+	}
+
+	@Override
+	public long getCoalescedLoadCount() {
+		final long coalescedLoadCount = coalescedLoadCounter.getAsLong();
+		if (coalescedLoadCount == NOT_AVAILABLE) {
+			return NOT_AVAILABLE;
+		}
+		return coalescedLoadCount - coalescedLoadCountAtReset;
+	}
+
+	@Override
+	public long getTotalLoadTimeNanos() {
+		return totalLoadTimeNanos.sum();
+	}
+
+	@Override
+	public Map<String, Long> getLoadLatencyHistogram() {
+		return loadLatencyHistogram.getCounts();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		final long evictionCount = evictionCounter.getAsLong();
+		if (evictionCount == NOT_AVAILABLE) {
+			return NOT_AVAILABLE;
+		}
+		return evictionCount - evictionCountAtReset;
+	}
+
+	@Override
+	public long getEntryCount() {
+		return entryCounter.getAsLong();
+	}
+
+	@Override
+	public long getEstimatedHeapBytes() {
+		final long entryCount = getEntryCount();
+		if (entryCount == NOT_AVAILABLE || entryCount == 0) {
+			return entryCount;
+		}
+
+		final long bytesPerEntry = getSampledBytesPerEntry();
+		if (bytesPerEntry == NOT_AVAILABLE) {
+			return NOT_AVAILABLE;
+		}
+		return bytesPerEntry * entryCount;
+	}
+
+	private long getSampledBytesPerEntry() {
+		final long now = System.currentTimeMillis();
+		if (sampledBytesPerEntry == NOT_AVAILABLE || now - footprintSampleTime >= footprintRefreshInterval) {
+			// claim the sample first, so that concurrent metrics reads reuse the previous one rather than serializing again
+			footprintSampleTime = now;
+			final long bytesPerEntry = sampleBytesPerEntry();
+			if (bytesPerEntry != NOT_AVAILABLE) {
+				sampledBytesPerEntry = bytesPerEntry;
+			}
+			return bytesPerEntry;
+		}
+		return sampledBytesPerEntry;
+	}
+
+	private long sampleBytesPerEntry() {
+		long sampledBytes = 0;
+		int sampledEntries = 0;
+		for (Map.Entry<Object, Long> hotKey : hotKeySampler.getHotKeys(footprintSampleSize)) {
+			final CacheResult<?> result = cache.get(hotKey.getKey());
+			if (result.isPresent() && result.get() instanceof Serializable) {
+				try {
+					sampledBytes += SerializationUtils.serialize((Serializable) result.get()).length;
+					sampledEntries++;
+				} catch (SerializationException e) {
+					LOG.debug("Unable to size value of " + hotKey.getKey() + " in cache " + getCacheName(), e);
+				}
+			}
+		}
+
+		if (sampledEntries == 0) {
+			return NOT_AVAILABLE;
+		}
+		return sampledBytes / sampledEntries;
+	}
+
+	@Override
+	public List<Map.Entry<Object, Long>> getHotKeys(final int limit) {
+		return hotKeySampler.getHotKeys(limit);
+	}
+
+	@Override
+	public void reset() {
+		hitCount.reset();
+		missCount.reset();
+		loadCount.reset();
+		loadFailureCount.reset();
+		totalLoadTimeNanos.reset();
+		loadLatencyHistogram.reset();
+		hotKeySampler.reset();
+		evictionCountAtReset = Math.max(0, evictionCounter.getAsLong());
+		coalescedLoadCountAtReset = Math.max(0, coalescedLoadCounter.getAsLong());
+	}
+
+	/**
+	 * Sets how long the sampled size of the cache entries is reused by {@link #getEstimatedHeapBytes()} before the hot entries
+	 * are serialized again.
+	 *
+	 * @param footprintRefreshInterval the refresh interval in milliseconds
+	 */
+	public void setFootprintRefreshInterval(final long footprintRefreshInterval) {
+		this.footprintRefreshInterval = footprintRefreshInterval;
+	}
+
+	/**
+	 * Counts entries which Ehcache evicts to stay within its size limit or expires.
+	 */
+	private static final class EvictionCountingListener extends CacheEventListenerAdapter {
+		private final LongAdder evictions;
+
+		EvictionCountingListener(final LongAdder evictions) {
+			this.evictions = evictions;
+		}
+
+		@Override
+		public void notifyElementEvicted(final Ehcache cache, final Element element) {
+			evictions.increment();
+		}
+
+		@Override
+		public void notifyElementExpired(final Ehcache cache, final Element element) {
+			evictions.increment();
+		}
+	}
+}
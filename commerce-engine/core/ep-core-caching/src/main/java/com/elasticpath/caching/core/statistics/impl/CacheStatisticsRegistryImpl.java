@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import com.elasticpath.caching.core.statistics.CacheStatistics;
+import com.elasticpath.caching.core.statistics.CacheStatisticsRegistry;
+
+/**
+ * The default implementation of {@link CacheStatisticsRegistry}, which also publishes the statistics of every cache through JMX
+ * as formatted tables.
+ */
+@ManagedResource(objectName = CacheStatisticsRegistryImpl.OBJECT_NAME, description = "Usage statistics for the caches of this node",
+		currencyTimeLimit = 1)
+public class CacheStatisticsRegistryImpl implements CacheStatisticsRegistry {
+
+	/**
+	 * The JMX object name the registry is published under.
+	 */
+	public static final String OBJECT_NAME = "com.elasticpath.cache:name=CacheStatistics";
+
+	private static final double PERCENT = 100.0;
+
+	private final Map<String, CacheStatistics> cacheStatistics = new ConcurrentSkipListMap<>();
+
+	@Override
+	public void register(final CacheStatistics statistics) {
+		cacheStatistics.put(statistics.getCacheName(), statistics);
+	}
+
+	@Override
+	public CacheStatistics getCacheStatistics(final String cacheName) {
+		return cacheStatistics.get(cacheName);
+	}
+
+	@Override
+	public Collection<CacheStatistics> getAllCacheStatistics() {
+		return new ArrayList<>(cacheStatistics.values());
+	}
+
+	@Override
+	@ManagedOperation(description = "Reset the statistics of every cache.")
+	public void reset() {
+		for (CacheStatistics statistics : cacheStatistics.values()) {
+			statistics.reset();
+		}
+	}
+
+	/**
+	 * Exposed via JMX, returns a formatted table of the request, load and size statistics of every cache.
+	 * Eviction, entry, footprint and coalesced columns show -1 when the cache cannot provide them.
+	 *
+	 * @return A multi-line string, best displayed with a non-proportional font.
+	 */
+	@ManagedAttribute(description = "Request, load and size statistics for all caches", currencyTimeLimit = 1)
+	public String getCacheSummary() {
+		final StringBuilder message = new StringBuilder(String.format("%-45s %10s %12s %12s %12s %7s %10s %10s %10s %12s %10s%n",
+				"Cache", "Entries", "Est. Bytes", "Hits", "Misses", "Hit %", "Loads", "Coalesced", "Failures", "Avg Load ms", "Evictions"));
+		for (CacheStatistics statistics : cacheStatistics.values()) {
+			message.append(String.format("%-45s %10d %12d %12d %12d %7.1f %10d %10d %10d %12.2f %10d%n",
+					statistics.getCacheName(),
+					statistics.getEntryCount(),
+					statistics.getEstimatedHeapBytes(),
+					statistics.getHitCount(),
+					statistics.getMissCount(),
+					statistics.getHitRatio() * PERCENT,
+					statistics.getLoadCount(),
+					statistics.getCoalescedLoadCount(),
+					statistics.getLoadFailureCount(),
+					getAverageLoadTimeMillis(statistics),
+					statistics.getEvictionCount()));
+		}
+		return message.toString();
+	}
+
+	/**
+	 * Exposed via JMX, returns a formatted table of the loader latency histogram of every cache which has loaded at least one entry.
+	 *
+	 * @return A multi-line string, best displayed with a non-proportional font.
+	 */
+	@ManagedAttribute(description = "Loader latency histograms for all caches", currencyTimeLimit = 1)
+	public String getLoadLatencyHistograms() {
+		final StringBuilder message = new StringBuilder();
+		for (CacheStatistics statistics : cacheStatistics.values()) {
+			if (statistics.getLoadCount() == 0) {
+				continue;
+			}
+			message.append("Cache: ").append(statistics.getCacheName());
+			message.append(String.format("%n%-15s %-10s%n", "Latency", "Loads"));
+			for (Map.Entry<String, Long> bucket : statistics.getLoadLatencyHistogram().entrySet()) {
+				message.append(String.format("%-15s %10d%n", bucket.getKey(), bucket.getValue()));
+			}
+			message.append('\n');
+		}
+		return message.toString();
+	}
+
+	/**
+	 * For JMX. Returns a formatted table of the most requested keys of a cache, as seen by its key sampler.
+	 *
+	 * @param cacheName the cache name
+	 * @param limit the maximum number of keys to list
+	 * @return A multi-line string, best displayed with a non-proportional font.
+	 */
+	@ManagedOperation(description = "Return the most requested keys of the specified cache", currencyTimeLimit = 1)
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "cacheName", description = "The name of the cache."),
+			@ManagedOperationParameter(name = "limit", description = "The maximum number of keys to list.")
+	})
+	public String getHotKeys(final String cacheName, final int limit) {
+		final CacheStatistics statistics = getCacheStatistics(cacheName);
+		if (statistics == null) {
+			return "?";
+		}
+
+		final StringBuilder message = new StringBuilder(String.format("%-12s %s%n", "Requests", "Key"));
+		for (Map.Entry<Object, Long> hotKey : statistics.getHotKeys(limit)) {
+			message.append(String.format("%12d %s%n", hotKey.getValue(), hotKey.getKey()));
+		}
+		return message.toString();
+	}
+
+	private double getAverageLoadTimeMillis(final CacheStatistics statistics) {
+		final long loadCount = statistics.getLoadCount();
+		if (loadCount == 0) {
+			return 0;
+		}
+		return (double) statistics.getTotalLoadTimeNanos() / loadCount / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Approximate counter of the most frequently requested cache keys.
+ * <p>
+ * Only one request in {@code sampleRate} is counted, and at most {@code capacity} distinct keys are tracked. When a new key
+ * arrives and the table is full, every count is halved and keys whose count drops to zero are forgotten, so the table favours
+ * keys which are both frequent and recent. Reported counts are scaled back up by the sample rate.
+ */
+public class HotKeySampler {
+	private final int sampleRate;
+	private final int capacity;
+	private final Map<Object, LongAdder> counts = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sampleRate one request in this many is counted; 1 counts every request
+	 * @param capacity the maximum number of distinct keys tracked
+	 */
+	public HotKeySampler(final int sampleRate, final int capacity) {
+		this.sampleRate = Math.max(1, sampleRate);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Records a request for the given key, subject to sampling.
+	 *
+	 * @param key the requested key
+	 */
+	public void record(final Object key) {
+		if (key == null || capacity <= 0 || sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+			return;
+		}
+
+		LongAdder counter = counts.get(key);
+		if (counter == null) {
+			if (counts.size() >= capacity) {
+				decay();
+				if (counts.size() >= capacity) {
+					return;
+				}
+			}
+			counter = counts.computeIfAbsent(key, newKey -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	private synchronized void decay() {
+		if (counts.size() < capacity) {
+			return;
+		}
+		final Iterator<LongAdder> iterator = counts.values().iterator();
+		while (iterator.hasNext()) {
+			final LongAdder counter = iterator.next();
+			final long halved = counter.sumThenReset() / 2;
+			if (halved == 0) {
+				iterator.remove();
+			} else {
+				counter.add(halved);
+			}
+		}
+	}
+
+	/**
+	 * Returns the hottest keys, hottest first.
+	 *
+	 * @param limit the maximum number of keys to return
+	 * @return the keys with their estimated request counts
+	 */
+	public List<Map.Entry<Object, Long>> getHotKeys(final int limit) {
+		return counts.entrySet().stream()
+				.map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum() * sampleRate))
+				.sorted(Comparator.comparing((Map.Entry<Object, Long> entry) -> entry.getValue()).reversed())
+				.limit(Math.max(0, limit))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Forgets every tracked key.
+	 */
+	public void reset() {
+		counts.clear();
+	}
+}
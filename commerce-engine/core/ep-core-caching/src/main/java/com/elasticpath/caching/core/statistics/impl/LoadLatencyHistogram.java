@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe histogram of loader latencies with fixed millisecond buckets.
+ */
+public class LoadLatencyHistogram {
+	private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+	private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_MILLIS.length + 1];
+
+	/**
+	 * Constructor.
+	 */
+	public LoadLatencyHistogram() {
+		for (int index = 0; index < buckets.length; index++) {
+			buckets[index] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records one loader call.
+	 *
+	 * @param elapsedNanos the time the loader took
+	 */
+	public void record(final long elapsedNanos) {
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		int index = 0;
+		while (index < BUCKET_UPPER_BOUNDS_MILLIS.length && elapsedMillis > BUCKET_UPPER_BOUNDS_MILLIS[index]) {
+			index++;
+		}
+		buckets[index].increment();
+	}
+
+	/**
+	 * Returns the count of each bucket, keyed by its label in ascending order of latency.
+	 *
+	 * @return the bucket counts
+	 */
+	public Map<String, Long> getCounts() {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for (int index = 0; index < BUCKET_UPPER_BOUNDS_MILLIS.length; index++) {
+			counts.put("<= " + BUCKET_UPPER_BOUNDS_MILLIS[index] + " ms", buckets[index].sum());
+		}
+		final int overflowIndex = BUCKET_UPPER_BOUNDS_MILLIS.length;
+		counts.put("> " + BUCKET_UPPER_BOUNDS_MILLIS[overflowIndex - 1] + " ms", buckets[overflowIndex].sum());
+		return counts;
+	}
+
+	/**
+	 * Resets every bucket to zero.
+	 */
+	public void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+	}
+}
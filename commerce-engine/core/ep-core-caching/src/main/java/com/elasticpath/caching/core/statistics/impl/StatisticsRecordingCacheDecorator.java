@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.Cache;
+
+/**
+ * A {@link Cache} decorator which records hits, misses and loader timings in a {@link CacheStatisticsImpl}.
+ * <p>
+ * A call through one of the loader methods is counted as a miss when its own loader runs. Callers which wait for a load of the
+ * same key already started by another caller do not run their loader, so they are recorded as hits here; {@link CacheStatisticsImpl}
+ * then counts them as misses using the coalesced load count of the cache.
+ *
+ * @param <K> the class implemented by the cache keys
+ * @param <V> the class implemented by the cache values
+ */
+public class StatisticsRecordingCacheDecorator<K, V> implements Cache<K, V> {
+	private final Cache<K, V> delegate;
+	private final CacheStatisticsImpl statistics;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param delegate the cache to record
+	 * @param statistics the statistics to record into
+	 */
+	public StatisticsRecordingCacheDecorator(final Cache<K, V> delegate, final CacheStatisticsImpl statistics) {
+		this.delegate = delegate;
+		this.statistics = statistics;
+	}
+
+	@Override
+	public CacheResult<V> get(final K key) {
+		final CacheResult<V> result = delegate.get(key);
+		statistics.recordRequest(key, result.isPresent());
+		return result;
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader) {
+		final AtomicBoolean loaded = new AtomicBoolean();
+		final V value = delegate.get(key, timed(fallbackLoader, loaded));
+		statistics.recordRequest(key, !loaded.get());
+		return value;
+	}
+
+	@Override
+	public V get(final K key, final Function<K, V> fallbackLoader, final BiFunction<K, V, V> populateCacheFunction) {
+		final AtomicBoolean loaded = new AtomicBoolean();
+		final V value = delegate.get(key, timed(fallbackLoader, loaded), populateCacheFunction);
+		statistics.recordRequest(key, !loaded.get());
+		return value;
+	}
+
+	@Override
+	public Map<K, V> getAll(final Collection<? extends K> keyValues) {
+		final Map<K, V> result = delegate.getAll(keyValues);
+		for (K key : keyValues) {
+			statistics.recordRequest(key, result.containsKey(key));
+		}
+		return result;
+	}
+
+	@Override
+	public Map<K, V> getAll(final Collection<K> keyValues, final Function<Collection<K>, Map<K, V>> fallbackLoader) {
+		final Set<K> loadedKeys = new HashSet<>();
+		final Map<K, V> result = delegate.getAll(keyValues, uncachedKeys -> {
+			loadedKeys.addAll(uncachedKeys);
+			return timed(fallbackLoader).apply(uncachedKeys);
+		});
+
+		for (K key : keyValues) {
+			statistics.recordRequest(key, !loadedKeys.contains(key));
+		}
+		return result;
+	}
+
+	private Function<K, V> timed(final Function<K, V> fallbackLoader, final AtomicBoolean loaded) {
+		return key -> {
+			loaded.set(true);
+			return timed(fallbackLoader).apply(key);
+		};
+	}
+
+	private <T, R> Function<T, R> timed(final Function<T, R> loader) {
+		return argument -> {
+			final long start = System.nanoTime();
+			boolean failed = true;
+			try {
+				final R result = loader.apply(argument);
+				failed = false;
+				return result;
+			} finally {
+				statistics.recordLoad(System.nanoTime() - start, failed);
+			}
+		};
+	}
+
+	@Override
+	public V put(final K key, final V value) {
+		return delegate.put(key, value);
+	}
+
+	@Override
+	public boolean remove(final K key) {
+		return delegate.remove(key);
+	}
+
+	@Override
+	public void removeAll() {
+		delegate.removeAll();
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public <T> T unwrap(final Class<T> clazz) {
+		return delegate.unwrap(clazz);
+	}
+
+	@Override
+	public boolean containsKey(final K key) {
+		return delegate.containsKey(key);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.factory.CacheFactory;
+import com.elasticpath.caching.core.statistics.CacheStatisticsRegistry;
+
+/**
+ * CacheFactory which records the usage of every cache created by the delegate factory and registers its statistics with a
+ * {@link CacheStatisticsRegistry}. When disabled, caches are returned from the delegate factory unchanged.
+ */
+public class StatisticsRecordingCacheFactory implements CacheFactory {
+	private static final int DEFAULT_HOT_KEY_SAMPLE_RATE = 16;
+	private static final int DEFAULT_HOT_KEY_CAPACITY = 256;
+	private static final int DEFAULT_FOOTPRINT_SAMPLE_SIZE = 20;
+
+	private CacheFactory delegateCacheFactory;
+	private CacheStatisticsRegistry cacheStatisticsRegistry;
+	private boolean enabled = true;
+	private int hotKeySampleRate = DEFAULT_HOT_KEY_SAMPLE_RATE;
+	private int hotKeyCapacity = DEFAULT_HOT_KEY_CAPACITY;
+	private int footprintSampleSize = DEFAULT_FOOTPRINT_SAMPLE_SIZE;
+	private long footprintRefreshInterval = CacheStatisticsImpl.DEFAULT_FOOTPRINT_REFRESH_INTERVAL;
+
+	@Override
+	public <K, V> Cache<K, V> createCache(final String cacheName) {
+		final Cache<K, V> cache = getDelegateCacheFactory().createCache(cacheName);
+		if (!isEnabled()) {
+			return cache;
+		}
+
+		final CacheStatisticsImpl statistics = new CacheStatisticsImpl(cache, new HotKeySampler(getHotKeySampleRate(), getHotKeyCapacity()),
+				getFootprintSampleSize());
+		statistics.setFootprintRefreshInterval(getFootprintRefreshInterval());
+		getCacheStatisticsRegistry().register(statistics);
+		return new StatisticsRecordingCacheDecorator<>(cache, statistics);
+	}
+
+	protected CacheFactory getDelegateCacheFactory() {
+		return delegateCacheFactory;
+	}
+
+	public void setDelegateCacheFactory(final CacheFactory delegateCacheFactory) {
+		this.delegateCacheFactory = delegateCacheFactory;
+	}
+
+	protected CacheStatisticsRegistry getCacheStatisticsRegistry() {
+		return cacheStatisticsRegistry;
+	}
+
+	public void setCacheStatisticsRegistry(final CacheStatisticsRegistry cacheStatisticsRegistry) {
+		this.cacheStatisticsRegistry = cacheStatisticsRegistry;
+	}
+
+	protected boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	protected int getHotKeySampleRate() {
+		return hotKeySampleRate;
+	}
+
+	/**
+	 * Sets how many requests are made for each one counted by the hot key sampler.
+	 *
+	 * @param hotKeySampleRate one request in this many is sampled
+	 */
+	public void setHotKeySampleRate(final int hotKeySampleRate) {
+		this.hotKeySampleRate = hotKeySampleRate;
+	}
+
+	protected int getHotKeyCapacity() {
+		return hotKeyCapacity;
+	}
+
+	/**
+	 * Sets the number of distinct keys the hot key sampler tracks for each cache.
+	 *
+	 * @param hotKeyCapacity the number of keys
+	 */
+	public void setHotKeyCapacity(final int hotKeyCapacity) {
+		this.hotKeyCapacity = hotKeyCapacity;
+	}
+
+	protected int getFootprintSampleSize() {
+		return footprintSampleSize;
+	}
+
+	/**
+	 * Sets the number of hot entries serialized when estimating the heap footprint of a cache.
+	 *
+	 * @param footprintSampleSize the number of entries
+	 */
+	public void setFootprintSampleSize(final int footprintSampleSize) {
+		this.footprintSampleSize = footprintSampleSize;
+	}
+
+	protected long getFootprintRefreshInterval() {
+		return footprintRefreshInterval;
+	}
+
+	/**
+	 * Sets how long, in milliseconds, the sampled size of the cache entries is reused when estimating the heap footprint of a cache.
+	 *
+	 * @param footprintRefreshInterval the refresh interval in milliseconds
+	 */
+	public void setFootprintRefreshInterval(final long footprintRefreshInterval) {
+		this.footprintRefreshInterval = footprintRefreshInterval;
+	}
+}
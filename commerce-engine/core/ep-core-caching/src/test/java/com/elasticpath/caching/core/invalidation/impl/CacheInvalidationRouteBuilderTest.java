@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+
+/**
+ * Tests the deserialization of {@link CacheInvalidationRouteBuilder}.
+ */
+public class CacheInvalidationRouteBuilderTest {
+	private static final String NODE_ID = "nodeA";
+	private static final String CACHE_NAME = "productByUidCache";
+
+	private final CacheInvalidationRouteBuilder routeBuilder = new CacheInvalidationRouteBuilder();
+
+	@Test
+	public void testMessageWithAllowedKeyIsRead() {
+		CacheInvalidationMessage message = routeBuilder.deserialize(serialize(1L));
+
+		assertThat(message.getCacheName()).isEqualTo(CACHE_NAME);
+		assertThat(message.getKey()).isEqualTo(1L);
+	}
+
+	@Test
+	public void testMessageWithKeyOfAClassNotAllowedIsRejected() {
+		byte[] body = serialize(new Date());
+
+		assertThatThrownBy(() -> routeBuilder.deserialize(body))
+				.isInstanceOf(SerializationException.class)
+				.hasMessageContaining("Unable to read cache invalidation message");
+	}
+
+	@Test
+	public void testMessageWithConfiguredKeyClassIsRead() {
+		CacheInvalidationClassFilter classFilter = new CacheInvalidationClassFilter();
+		classFilter.setKeyClassNames(Collections.singleton(Date.class.getName()));
+		routeBuilder.setClassFilter(classFilter);
+		Date key = new Date();
+
+		assertThat(routeBuilder.deserialize(serialize(key)).getKey()).isEqualTo(key);
+	}
+
+	private byte[] serialize(final Serializable key) {
+		return SerializationUtils.serialize(CacheInvalidationMessage.forKey(NODE_ID, CACHE_NAME, key));
+	}
+}
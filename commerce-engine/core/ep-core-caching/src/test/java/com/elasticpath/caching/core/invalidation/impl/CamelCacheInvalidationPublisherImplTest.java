@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Endpoint;
+import org.apache.camel.ProducerTemplate;
+import org.apache.commons.lang3.SerializationException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.caching.core.invalidation.CacheInvalidationMessage;
+
+/**
+ * Tests {@link CamelCacheInvalidationPublisherImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CamelCacheInvalidationPublisherImplTest {
+	private static final CacheInvalidationMessage MESSAGE = CacheInvalidationMessage.forKey("nodeA", "productByUidCache", 1L);
+
+	@Mock
+	private ProducerTemplate producerTemplate;
+	@Mock
+	private Endpoint endpoint;
+
+	private final CamelCacheInvalidationPublisherImpl publisher = new CamelCacheInvalidationPublisherImpl();
+
+	@Before
+	public void setUp() {
+		publisher.setProducerTemplate(producerTemplate);
+		publisher.setEndpoint(endpoint);
+	}
+
+	@Test
+	public void testFailedSendIsNotPropagated() {
+		doThrow(new CamelExecutionException("broker down", null)).when(producerTemplate).sendBody(eq(endpoint), any(Object.class));
+
+		assertThatCode(() -> publisher.publish(MESSAGE)).doesNotThrowAnyException();
+	}
+
+	@Test
+	public void testOtherRuntimeFailuresAreNotPropagated() {
+		doThrow(new SerializationException("unreadable")).when(producerTemplate).sendBody(eq(endpoint), any(Object.class));
+
+		assertThatCode(() -> publisher.publish(MESSAGE)).doesNotThrowAnyException();
+	}
+}
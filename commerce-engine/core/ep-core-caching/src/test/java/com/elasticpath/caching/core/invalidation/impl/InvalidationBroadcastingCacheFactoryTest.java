@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.invalidation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.factory.CacheFactory;
+
+/**
+ * Tests {@link InvalidationBroadcastingCacheFactory} with two nodes sharing an {@link InMemoryCacheInvalidationTransport}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InvalidationBroadcastingCacheFactoryTest {
+	private static final String CACHE_NAME = "productByUidCache";
+	private static final String OTHER_CACHE_NAME = "categoryByUidCache";
+	private static final Long KEY = 1L;
+
+	@Mock
+	private CacheFactory nodeACacheFactory;
+	@Mock
+	private CacheFactory nodeBCacheFactory;
+	@Mock
+	private Cache<Object, Object> nodeALocalCache;
+	@Mock
+	private Cache<Object, Object> nodeBLocalCache;
+	@Mock
+	private Cache<Object, Object> nodeAOtherLocalCache;
+
+	private final InMemoryCacheInvalidationTransport transport = new InMemoryCacheInvalidationTransport();
+
+	private InvalidationBroadcastingCacheFactory nodeA;
+	private InvalidationBroadcastingCacheFactory nodeB;
+
+	@Before
+	public void setUp() {
+		nodeA = createNode("nodeA", nodeACacheFactory);
+		nodeB = createNode("nodeB", nodeBCacheFactory);
+	}
+
+	@Test
+	public void testRemoveIsAppliedLocallyAndOnOtherNodes() {
+		givenBothNodesCreateTheCache();
+		Cache<Object, Object> cacheOnNodeA = nodeA.createCache(CACHE_NAME);
+		nodeB.createCache(CACHE_NAME);
+
+		cacheOnNodeA.remove(KEY);
+
+		verify(nodeALocalCache).remove(KEY);
+		verify(nodeBLocalCache).remove(KEY);
+	}
+
+	@Test
+	public void testRemoveAllIsAppliedOnOtherNodes() {
+		givenBothNodesCreateTheCache();
+		Cache<Object, Object> cacheOnNodeA = nodeA.createCache(CACHE_NAME);
+		nodeB.createCache(CACHE_NAME);
+
+		cacheOnNodeA.removeAll();
+
+		verify(nodeALocalCache).removeAll();
+		verify(nodeBLocalCache).removeAll();
+	}
+
+	@Test
+	public void testNonSerializableKeyEvictsWholeCacheOnOtherNodes() {
+		givenBothNodesCreateTheCache();
+		Cache<Object, Object> cacheOnNodeA = nodeA.createCache(CACHE_NAME);
+		nodeB.createCache(CACHE_NAME);
+		Object key = new Object();
+
+		cacheOnNodeA.remove(key);
+
+		verify(nodeBLocalCache).removeAll();
+		verify(nodeBLocalCache, never()).remove(any());
+	}
+
+	@Test
+	public void testKeyOfAClassNotAllowedEvictsWholeCacheOnOtherNodes() {
+		givenBothNodesCreateTheCache();
+		Cache<Object, Object> cacheOnNodeA = nodeA.createCache(CACHE_NAME);
+		nodeB.createCache(CACHE_NAME);
+		Object key = new Date();
+
+		cacheOnNodeA.remove(key);
+
+		verify(nodeBLocalCache).removeAll();
+		verify(nodeBLocalCache, never()).remove(any());
+	}
+
+	@Test
+	public void testRemovesFromEachCacheOfACommaSeparatedListAreBroadcast() {
+		nodeA.setCommaSeparatedBroadcastCacheNames(CACHE_NAME + ", " + OTHER_CACHE_NAME);
+		when(nodeALocalCache.getName()).thenReturn(CACHE_NAME);
+		when(nodeAOtherLocalCache.getName()).thenReturn(OTHER_CACHE_NAME);
+		when(nodeACacheFactory.createCache(CACHE_NAME)).thenReturn(nodeALocalCache);
+		when(nodeACacheFactory.createCache(OTHER_CACHE_NAME)).thenReturn(nodeAOtherLocalCache);
+
+		assertThat(nodeA.<Object, Object>createCache(CACHE_NAME)).isInstanceOf(InvalidationBroadcastingCacheDecorator.class);
+		assertThat(nodeA.<Object, Object>createCache(OTHER_CACHE_NAME)).isInstanceOf(InvalidationBroadcastingCacheDecorator.class);
+	}
+
+	@Test
+	public void testCachesNotSelectedForBroadcastAreNotDecorated() {
+		when(nodeACacheFactory.createCache(OTHER_CACHE_NAME)).thenReturn(nodeALocalCache);
+
+		assertThat(nodeA.<Object, Object>createCache(OTHER_CACHE_NAME)).isSameAs(nodeALocalCache);
+	}
+
+	private void givenBothNodesCreateTheCache() {
+		when(nodeALocalCache.getName()).thenReturn(CACHE_NAME);
+		when(nodeBLocalCache.getName()).thenReturn(CACHE_NAME);
+		when(nodeACacheFactory.createCache(CACHE_NAME)).thenReturn(nodeALocalCache);
+		when(nodeBCacheFactory.createCache(CACHE_NAME)).thenReturn(nodeBLocalCache);
+	}
+
+	private InvalidationBroadcastingCacheFactory createNode(final String nodeId, final CacheFactory delegateCacheFactory) {
+		CacheInvalidationSubscriberImpl subscriber = new CacheInvalidationSubscriberImpl();
+		subscriber.setNodeId(nodeId);
+		transport.addSubscriber(subscriber);
+
+		InvalidationBroadcastingCacheFactory factory = new InvalidationBroadcastingCacheFactory();
+		factory.setDelegateCacheFactory(delegateCacheFactory);
+		factory.setPublisher(transport);
+		factory.setSubscriber(subscriber);
+		factory.setNodeId(nodeId);
+		factory.setBroadcastCacheNames(Collections.singleton(CACHE_NAME));
+		return factory;
+	}
+}
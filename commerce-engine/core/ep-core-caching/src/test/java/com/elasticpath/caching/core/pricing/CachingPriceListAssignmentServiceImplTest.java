@@ -77,6 +77,7 @@ public class CachingPriceListAssignmentServiceImplTest {
 		assertThat(cachingPriceListAssignmentService.saveOrUpdate(notCachedPriceListAssignment)).isEqualTo(notCachedPriceListAssignment);
 
 		verify(fallbackService).saveOrUpdate(notCachedPriceListAssignment);
+		verify(priceListAssignmentsByCatalogAndCurrencyCodeCache).removeAll();
 	}
 
 	@Test
@@ -200,5 +201,6 @@ public class CachingPriceListAssignmentServiceImplTest {
 		cachingPriceListAssignmentService.delete(notCachedPriceListAssignment);
 
 		verify(fallbackService).delete(notCachedPriceListAssignment);
+		verify(priceListAssignmentsByCatalogAndCurrencyCodeCache).removeAll();
 	}
 }
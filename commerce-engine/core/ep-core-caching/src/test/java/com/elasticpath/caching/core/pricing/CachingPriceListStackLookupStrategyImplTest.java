@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+
+package com.elasticpath.caching.core.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.Cache;
+import com.elasticpath.common.pricing.service.PriceListStackLookupStrategy;
+import com.elasticpath.domain.pricing.PriceListAssignment;
+import com.elasticpath.domain.pricing.PriceListStack;
+import com.elasticpath.domain.pricing.impl.PriceListStackImpl;
+import com.elasticpath.domain.sellingcontext.SellingContext;
+import com.elasticpath.service.pricing.PriceListAssignmentService;
+import com.elasticpath.tags.Tag;
+import com.elasticpath.tags.TagSet;
+import com.elasticpath.tags.domain.Condition;
+import com.elasticpath.tags.domain.ConditionalExpression;
+import com.elasticpath.tags.domain.LogicalOperator;
+import com.elasticpath.tags.domain.LogicalOperatorType;
+import com.elasticpath.tags.service.ConditionDSLBuilder;
+
+/**
+ * Unit test for {@link CachingPriceListStackLookupStrategyImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingPriceListStackLookupStrategyImplTest {
+
+	private static final String CATALOG_CODE = "catalogCode";
+
+	private static final Currency CURRENCY = Currency.getInstance("CAD");
+
+	private static final String CONDITION_STRING = "{ AND { CUSTOMER_AGE.greaterThan (18i) } }";
+
+	private static final String REFERENCED_TAG = "CUSTOMER_AGE";
+
+	private static final String PRICE_LIST_GUID = "priceListGuid";
+
+	@Mock
+	private PriceListStackLookupStrategy fallbackStrategy;
+
+	@Mock
+	private PriceListAssignmentService priceListAssignmentService;
+
+	@Mock
+	private ConditionDSLBuilder conditionDSLBuilder;
+
+	@Mock
+	private Cache<PriceListStackCacheKey, PriceListStack> priceListStackCache;
+
+	private final Map<PriceListStackCacheKey, PriceListStack> cachedStacks = new HashMap<>();
+
+	private final CachingPriceListStackLookupStrategyImpl strategy = new CachingPriceListStackLookupStrategyImpl();
+
+	@Before
+	public void setUp() {
+		strategy.setFallbackStrategy(fallbackStrategy);
+		strategy.setPriceListAssignmentService(priceListAssignmentService);
+		strategy.setConditionDSLBuilder(conditionDSLBuilder);
+		strategy.setPriceListStackCache(priceListStackCache);
+	}
+
+	@Test
+	public void verifyShoppersWithSameReferencedTagValuesShareStack() {
+		givenAssignmentsReferringToTag(createAssignments());
+		givenFallbackStack();
+
+		final PriceListStack first = strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(20, "Vancouver"));
+		final PriceListStack second = strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(20, "Toronto"));
+
+		assertThat(second.getPriceListStack()).containsExactly(PRICE_LIST_GUID);
+		assertThat(second).isNotSameAs(first);
+		verify(fallbackStrategy, times(1)).getPriceListStack(eq(CATALOG_CODE), eq(CURRENCY), any(TagSet.class));
+	}
+
+	@Test
+	public void verifyDifferentReferencedTagValuesDoNotShareStack() {
+		givenAssignmentsReferringToTag(createAssignments());
+		givenFallbackStack();
+
+		strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(20, "Vancouver"));
+		strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(15, "Vancouver"));
+
+		verify(fallbackStrategy, times(2)).getPriceListStack(eq(CATALOG_CODE), eq(CURRENCY), any(TagSet.class));
+	}
+
+	@Test
+	public void verifyStacksOfPreviousAssignmentsAreNotUsed() {
+		givenAssignmentsReferringToTag(createAssignments(), createAssignments());
+		givenFallbackStack();
+
+		strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(20, "Vancouver"));
+		strategy.getPriceListStack(CATALOG_CODE, CURRENCY, createTagSet(20, "Vancouver"));
+
+		verify(fallbackStrategy, times(2)).getPriceListStack(eq(CATALOG_CODE), eq(CURRENCY), any(TagSet.class));
+	}
+
+	@Test
+	public void verifyLookupWithoutTagSetCallsFallbackStrategy() {
+		final PriceListStack stack = new PriceListStackImpl();
+		when(fallbackStrategy.getPriceListStack(CATALOG_CODE, CURRENCY, null)).thenReturn(stack);
+
+		assertThat(strategy.getPriceListStack(CATALOG_CODE, CURRENCY, null)).isSameAs(stack);
+	}
+
+	@SafeVarargs
+	private final void givenAssignmentsReferringToTag(final List<PriceListAssignment> assignments,
+			final List<PriceListAssignment>... nextAssignments) {
+		when(priceListAssignmentService.listByCatalogAndCurrencyCode(CATALOG_CODE, CURRENCY.getCurrencyCode(), true))
+				.thenReturn(assignments, nextAssignments);
+
+		final LogicalOperator logicalOperator = new LogicalOperator(LogicalOperatorType.AND);
+		logicalOperator.addCondition(new Condition(null, REFERENCED_TAG, "greaterThan", 18));
+		when(conditionDSLBuilder.getLogicalOperationTree(CONDITION_STRING)).thenReturn(logicalOperator);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void givenFallbackStack() {
+		when(priceListStackCache.get(any(PriceListStackCacheKey.class), any(Function.class))).thenAnswer(invocation -> cachedStacks.computeIfAbsent(
+				invocation.getArgument(0), invocation.<Function<PriceListStackCacheKey, PriceListStack>>getArgument(1)));
+		when(fallbackStrategy.getPriceListStack(eq(CATALOG_CODE), eq(CURRENCY), any(TagSet.class))).thenAnswer(invocation -> {
+			final PriceListStack stack = new PriceListStackImpl();
+			stack.setCurrency(CURRENCY);
+			stack.addPriceList(PRICE_LIST_GUID);
+			return stack;
+		});
+	}
+
+	private List<PriceListAssignment> createAssignments() {
+		final ConditionalExpression expression = mock(ConditionalExpression.class);
+		when(expression.getConditionString()).thenReturn(CONDITION_STRING);
+		final SellingContext sellingContext = mock(SellingContext.class);
+		when(sellingContext.getConditions()).thenReturn(Collections.singletonMap("PLA_SHOPPER", expression));
+		final PriceListAssignment assignment = mock(PriceListAssignment.class);
+		when(assignment.getSellingContext()).thenReturn(sellingContext);
+		return Collections.singletonList(assignment);
+	}
+
+	private TagSet createTagSet(final int age, final String city) {
+		final TagSet tagSet = new TagSet();
+		tagSet.addTag(REFERENCED_TAG, new Tag(age));
+		tagSet.addTag("CUSTOMER_CITY", new Tag(city));
+		return tagSet;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.elasticpath.cache.impl.CaffeineCacheAdapter;
+
+/**
+ * Tests {@link CacheStatisticsImpl}.
+ */
+public class CacheStatisticsImplTest {
+	private static final String KEY = "key";
+	private static final String OTHER_KEY = "otherKey";
+	private static final String VALUE = "value";
+	private static final String LONGER_VALUE = "a much longer value than the first one";
+
+	private final CaffeineCacheAdapter<String, String> cache = new CaffeineCacheAdapter<>("cache", Caffeine.newBuilder().build());
+
+	private CacheStatisticsImpl statistics;
+
+	@Before
+	public void setUp() {
+		statistics = new CacheStatisticsImpl(cache, new HotKeySampler(1, 10), 1);
+		cache.put(KEY, VALUE);
+		cache.put(OTHER_KEY, VALUE);
+		statistics.recordRequest(KEY, true);
+	}
+
+	@Test
+	public void testEstimatedHeapBytesAreExtrapolatedFromTheHotEntries() {
+		assertThat(statistics.getEstimatedHeapBytes()).isEqualTo(2L * SerializationUtils.serialize(VALUE).length);
+	}
+
+	@Test
+	public void testEntrySizeSampleIsReusedWithinTheRefreshInterval() {
+		final long estimatedHeapBytes = statistics.getEstimatedHeapBytes();
+		cache.put(KEY, LONGER_VALUE);
+
+		assertThat(statistics.getEstimatedHeapBytes()).isEqualTo(estimatedHeapBytes);
+	}
+
+	@Test
+	public void testEntrySizeIsSampledAgainOnceTheRefreshIntervalHasPassed() {
+		statistics.setFootprintRefreshInterval(0);
+		statistics.getEstimatedHeapBytes();
+		cache.put(KEY, LONGER_VALUE);
+
+		assertThat(statistics.getEstimatedHeapBytes()).isEqualTo(2L * SerializationUtils.serialize(LONGER_VALUE).length);
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link HotKeySampler}.
+ */
+public class HotKeySamplerTest {
+
+	@Test
+	public void testHotKeysAreOrderedHottestFirst() {
+		final HotKeySampler sampler = new HotKeySampler(1, 10);
+		record(sampler, "warm", 2);
+		record(sampler, "hot", 5);
+		record(sampler, "cold", 1);
+
+		assertThat(sampler.getHotKeys(2)).containsExactly(entry("hot", 5L), entry("warm", 2L));
+	}
+
+	@Test
+	public void testFullTableDecaysAndForgetsColdKeys() {
+		final HotKeySampler sampler = new HotKeySampler(1, 2);
+		record(sampler, "hot", 4);
+		record(sampler, "cold", 1);
+
+		sampler.record("new");
+
+		assertThat(sampler.getHotKeys(10)).containsExactlyInAnyOrder(entry("hot", 2L), entry("new", 1L));
+	}
+
+	@Test
+	public void testCountsAreScaledBySampleRate() {
+		final HotKeySampler sampler = new HotKeySampler(4, 10);
+		record(sampler, "key", 4000);
+
+		assertThat(sampler.getHotKeys(1)).hasSize(1);
+		assertThat(sampler.getHotKeys(1).get(0).getValue()).isBetween(3000L, 5000L);
+	}
+
+	private void record(final HotKeySampler sampler, final String key, final int times) {
+		for (int count = 0; count < times; count++) {
+			sampler.record(key);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.caching.core.statistics.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.Cache;
+import com.elasticpath.cache.impl.CaffeineCacheAdapter;
+import com.elasticpath.caching.core.statistics.CacheStatistics;
+
+/**
+ * Tests {@link StatisticsRecordingCacheDecorator}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsRecordingCacheDecoratorTest {
+	private static final String KEY = "key";
+	private static final String OTHER_KEY = "otherKey";
+	private static final String VALUE = "value";
+	private static final int MAX_WAIT_SECONDS = 10;
+
+	@Mock
+	private Cache<String, String> delegate;
+
+	private CacheStatisticsImpl statistics;
+	private StatisticsRecordingCacheDecorator<String, String> cache;
+
+	@Before
+	public void setUp() {
+		statistics = new CacheStatisticsImpl(delegate, new HotKeySampler(1, 10), 1);
+		cache = new StatisticsRecordingCacheDecorator<>(delegate, statistics);
+	}
+
+	@Test
+	public void testGetRecordsHitsAndMisses() {
+		when(delegate.get(KEY)).thenReturn(CacheResult.create(VALUE));
+		when(delegate.get(OTHER_KEY)).thenReturn(CacheResult.notPresent());
+
+		cache.get(KEY);
+		cache.get(KEY);
+		cache.get(OTHER_KEY);
+
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getHitRatio()).isEqualTo(2.0 / 3);
+		assertThat(statistics.getHotKeys(1)).containsExactly(entry(KEY, 2L));
+	}
+
+	@Test
+	public void testGetWithLoaderCountsAMissAndTimesTheLoadWhenTheLoaderRuns() {
+		when(delegate.get(eq(KEY), any())).thenAnswer(invocation -> invocation.<Function<String, String>>getArgument(1).apply(KEY));
+
+		assertThat(cache.get(KEY, key -> VALUE)).isEqualTo(VALUE);
+
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getHitCount()).isZero();
+		assertThat(statistics.getLoadCount()).isEqualTo(1);
+		assertThat(statistics.getLoadLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1);
+	}
+
+	@Test
+	public void testGetWithLoaderCountsAHitWhenTheLoaderDoesNotRun() {
+		when(delegate.get(eq(KEY), any())).thenReturn(VALUE);
+
+		cache.get(KEY, key -> VALUE);
+
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getLoadCount()).isZero();
+	}
+
+	@Test
+	public void testFailedLoadIsCounted() {
+		when(delegate.get(eq(KEY), any())).thenAnswer(invocation -> invocation.<Function<String, String>>getArgument(1).apply(KEY));
+
+		assertThatThrownBy(() -> cache.get(KEY, key -> {
+			throw new IllegalStateException("load failed");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(statistics.getLoadCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGetAllWithLoaderCountsOnlyLoadedKeysAsMisses() {
+		final List<String> keys = Arrays.asList(KEY, OTHER_KEY);
+		when(delegate.getAll(eq(keys), any(Function.class))).thenAnswer(invocation -> invocation
+				.<Function<Collection<String>, Map<String, String>>>getArgument(1)
+				.apply(Collections.singletonList(OTHER_KEY)));
+
+		cache.getAll(keys, uncachedKeys -> Collections.singletonMap(OTHER_KEY, VALUE));
+
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testResetClearsCounters() {
+		when(delegate.get(KEY)).thenReturn(CacheResult.create(VALUE));
+		cache.get(KEY);
+
+		statistics.reset();
+
+		assertThat(statistics.getHitCount()).isZero();
+		assertThat(statistics.getHotKeys(1)).isEmpty();
+	}
+
+	@Test
+	public void testBackendStatisticsAreNotAvailableWhenTheCacheHasNoKnownBackend() {
+		assertThat(statistics.getEvictionCount()).isEqualTo(CacheStatistics.NOT_AVAILABLE);
+		assertThat(statistics.getEntryCount()).isEqualTo(CacheStatistics.NOT_AVAILABLE);
+		assertThat(statistics.getEstimatedHeapBytes()).isEqualTo(CacheStatistics.NOT_AVAILABLE);
+		assertThat(statistics.getCoalescedLoadCount()).isEqualTo(CacheStatistics.NOT_AVAILABLE);
+	}
+
+	@Test
+	public void testCoalescedLoadsOfTheCacheAreExposed() throws Exception {
+		final CaffeineCacheAdapter<String, String> adapter = new CaffeineCacheAdapter<>("cache", Caffeine.newBuilder().build());
+		final CacheStatisticsImpl adapterStatistics = new CacheStatisticsImpl(adapter, new HotKeySampler(1, 10), 1);
+		final StatisticsRecordingCacheDecorator<String, String> recordingCache = new StatisticsRecordingCacheDecorator<>(adapter,
+				adapterStatistics);
+		final CountDownLatch releaseLoader = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<String> leader = executor.submit(() -> recordingCache.get(KEY, key -> {
+				awaitQuietly(releaseLoader);
+				return VALUE;
+			}));
+			await().atMost(MAX_WAIT_SECONDS, TimeUnit.SECONDS).until(() -> adapter.getLoadCount() == 1);
+			final Future<String> waiter = executor.submit(() -> recordingCache.get(KEY, key -> OTHER_KEY));
+			await().atMost(MAX_WAIT_SECONDS, TimeUnit.SECONDS).until(() -> adapterStatistics.getCoalescedLoadCount() == 1);
+			releaseLoader.countDown();
+
+			assertThat(leader.get(MAX_WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo(VALUE);
+			assertThat(waiter.get(MAX_WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo(VALUE);
+			assertThat(adapterStatistics.getLoadCount()).isEqualTo(1);
+			assertThat(adapterStatistics.getHitCount()).isZero();
+			assertThat(adapterStatistics.getMissCount()).isEqualTo(2);
+
+			adapterStatistics.reset();
+			assertThat(adapterStatistics.getCoalescedLoadCount()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void awaitQuietly(final CountDownLatch latch) {
+		try {
+			latch.await(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
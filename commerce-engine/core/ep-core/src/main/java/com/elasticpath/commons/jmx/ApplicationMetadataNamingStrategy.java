@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.commons.jmx;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jmx.export.naming.MetadataNamingStrategy;
+
+/**
+ * Names the MBeans from the object name of their {@code @ManagedResource} annotation, with an {@code application} key added,
+ * e.g. {@code com.elasticpath.cart:name=CartPricing,application=Cortex}.
+ * <p>
+ * The webapps deployed to a servlet container share its MBean server, so the key keeps the MBeans of the same bean in each webapp
+ * apart. Without an application name, the object names of the annotations are used as is, and so are the object names listed as unqualified,
+ * which monitoring tools already look up.
+ */
+public class ApplicationMetadataNamingStrategy extends MetadataNamingStrategy {
+
+	/** The key added to the object names. */
+	public static final String APPLICATION_KEY = "application";
+
+	private String applicationName;
+
+	private Set<String> unqualifiedObjectNames = Collections.emptySet();
+
+	@Override
+	public ObjectName getObjectName(final Object managedBean, final String beanKey) throws MalformedObjectNameException {
+		final ObjectName objectName = super.getObjectName(managedBean, beanKey);
+		if (StringUtils.isEmpty(applicationName) || objectName.getKeyProperty(APPLICATION_KEY) != null || isUnqualified(objectName)) {
+			return objectName;
+		}
+		return new ObjectName(objectName.getDomain() + ":" + objectName.getKeyPropertyListString() + "," + APPLICATION_KEY + "=" + applicationName);
+	}
+
+	private boolean isUnqualified(final ObjectName objectName) throws MalformedObjectNameException {
+		for (final String unqualifiedObjectName : unqualifiedObjectNames) {
+			if (objectName.equals(new ObjectName(unqualifiedObjectName))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sets the name of the application added to the object names, usually the {@code applicationName} bean of the context.
+	 *
+	 * @param applicationName the application name
+	 */
+	public void setApplicationName(final String applicationName) {
+		this.applicationName = applicationName;
+	}
+
+	/**
+	 * Sets the object names which are kept without the application name, as they were published before it was added. The beans named so
+	 * must only exist in one application.
+	 *
+	 * @param unqualifiedObjectNames the object names kept as is
+	 */
+	public void setUnqualifiedObjectNames(final Collection<String> unqualifiedObjectNames) {
+		this.unqualifiedObjectNames = new HashSet<>(unqualifiedObjectNames);
+	}
+}
@@ -11,7 +11,7 @@ import net.sf.ehcache.event.CacheEventListener;
 import com.elasticpath.commons.util.GroovyUtility;
 
 /**
- * Custom Ehcache listener used to remove expired compiled Groovy scripts from cache
+ * Custom Ehcache listener used to remove expired or evicted compiled Groovy scripts from cache
  * by calling {@link GroovyUtility#removeExpiredCompiledScriptFromCache}.
  */
 @SuppressWarnings({"PMD.UncommentedEmptyMethodBody", "squid:S1186"})
@@ -37,6 +37,7 @@ public class GroovyEhcacheEventListener implements CacheEventListener {
 
 	@Override
 	public void notifyElementEvicted(final Ehcache cache, final Element element) {
+		GroovyUtility.removeExpiredCompiledScriptFromCache(element);
 	}
 
 	@Override
@@ -99,6 +99,13 @@ public interface ImportJobStatus extends Persistable, DatabaseLastModifiedDate {
 	 */
 	int getLeftRows();
 
+	/**
+	 * Returns the average number of rows imported per second since the job started, until it ended if it has.
+	 * 
+	 * @return the rows imported per second, or 0 if the job hasn't started
+	 */
+	double getRowsPerSecond();
+
 	/**
 	 * Returns <code>true</code> if the job is cancelled, otherwise, <code>false</code>.
 	 * 
@@ -63,6 +63,8 @@ public class ImportJobStatusImpl extends AbstractPersistableImpl implements Impo
 	 */
 	public static final String TABLE_NAME = "TIMPORTJOBSTATUS";
 
+	private static final double MILLIS_PER_SECOND = 1000d;
+
 	private long uidPk;
 	private Date endTime;
 	private Date startTime;
@@ -134,6 +136,20 @@ public class ImportJobStatusImpl extends AbstractPersistableImpl implements Impo
 		return getTotalRows() - getCurrentRow();
 	}
 
+	@Override
+	@Transient
+	public double getRowsPerSecond() {
+		if (getStartTime() == null) {
+			return 0;
+		}
+		final Date until = getEndTime() == null ? new Date() : getEndTime();
+		final long elapsedMillis = until.getTime() - getStartTime().getTime();
+		if (elapsedMillis <= 0) {
+			return 0;
+		}
+		return getCurrentRow() * MILLIS_PER_SECOND / elapsedMillis;
+	}
+
 	@Override
 	@Basic
 	@Temporal(TemporalType.TIMESTAMP)
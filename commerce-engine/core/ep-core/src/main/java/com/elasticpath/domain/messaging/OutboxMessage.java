@@ -38,4 +38,18 @@ public interface OutboxMessage extends Persistable, DatabaseCreationDate {
 	 * @param messageBody the message body
 	 */
 	void setMessageBody(String messageBody);
+
+	/**
+	 * Retrieve the partition key, which is the same for every message about the same entity so that they are relayed in order.
+	 *
+	 * @return the non-negative partition key
+	 */
+	int getPartitionKey();
+
+	/**
+	 * Set the partition key.
+	 *
+	 * @param partitionKey the non-negative partition key
+	 */
+	void setPartitionKey(int partitionKey);
 }
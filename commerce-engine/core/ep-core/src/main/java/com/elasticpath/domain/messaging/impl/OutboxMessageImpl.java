@@ -44,6 +44,8 @@ public class OutboxMessageImpl extends AbstractPersistableImpl implements Outbox
 
 	private String messageBody;
 
+	private int partitionKey;
+
 	@Override
 	@Id
 	@Column(name = "UIDPK")
@@ -100,6 +102,18 @@ public class OutboxMessageImpl extends AbstractPersistableImpl implements Outbox
 		this.messageBody = messageBody;
 	}
 
+	@Override
+	@Basic
+	@Column(name = "PARTITION_KEY", nullable = false)
+	public int getPartitionKey() {
+		return partitionKey;
+	}
+
+	@Override
+	public void setPartitionKey(final int partitionKey) {
+		this.partitionKey = partitionKey;
+	}
+
 	@Override
 	public boolean equals(final Object other) {
 		if (this == other) {
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.domain.pricing.csvimport.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elasticpath.base.exception.EpServiceException;
+import com.elasticpath.common.dto.pricing.BaseAmountDTO;
+import com.elasticpath.common.dto.pricing.PriceListDescriptorDTO;
+import com.elasticpath.csvimport.ImportValidRow;
+import com.elasticpath.domain.dataimport.ImportBadRow;
+import com.elasticpath.domain.pricing.BaseAmount;
+import com.elasticpath.domain.pricing.exceptions.BaseAmountInvalidException;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.service.pricing.PriceUpdatedNotificationService;
+
+/**
+ * An insert/update importer for BaseAmounts which, when enabled, writes a whole chunk of rows with batched JDBC statements
+ * instead of finding, inserting or updating every row through the {@code BaseAmountService}.
+ * <p>
+ * The existing base amounts of the chunk are prefetched with a few queries, the UIDs of the new ones are reserved in
+ * {@code JPA_GENERATED_KEYS} the same way OpenJPA reserves them, the rows are updated and inserted by batches in a single
+ * transaction, and the prices of the affected products are notified once per product.
+ * <p>
+ * The rows are imported one by one, as by the parent class, when the bulk import is disabled, when change sets are enabled
+ * (the base amounts must then be added to the change set one by one), or when the bulk write fails, so that the failing rows are
+ * reported as bad rows. Invalid rows, and rows repeating a base amount of the chunk, are also imported one by one, after the chunk.
+ */
+public class BulkBaseAmountDtoInsertUpdateImporterImpl extends BaseAmountDtoInsertUpdateImporterWithHeaderExtensionImpl {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BulkBaseAmountDtoInsertUpdateImporterImpl.class);
+
+	private static final String TABLE_NAME = "TBASEAMOUNT";
+
+	private static final String SELECT_EXISTING_BASE_AMOUNTS = "SELECT UIDPK, OBJECT_GUID, OBJECT_TYPE, QUANTITY FROM TBASEAMOUNT"
+			+ " WHERE PRICE_LIST_GUID = ? AND OBJECT_GUID IN (%s)";
+
+	private static final String UPDATE_BASE_AMOUNT = "UPDATE TBASEAMOUNT SET LIST = ?, SALE = ? WHERE UIDPK = ?";
+
+	private static final String INSERT_BASE_AMOUNT = "INSERT INTO TBASEAMOUNT"
+			+ " (UIDPK, GUID, OBJECT_GUID, OBJECT_TYPE, PRICE_LIST_GUID, QUANTITY, LIST, SALE) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String SELECT_LAST_UID = "SELECT LAST_VALUE FROM JPA_GENERATED_KEYS WHERE ID = ?";
+
+	private static final String RESERVE_UIDS = "UPDATE JPA_GENERATED_KEYS SET LAST_VALUE = ? WHERE ID = ? AND LAST_VALUE = ?";
+
+	/** Some databases, like Oracle, limit the number of values of an IN clause. */
+	private static final int MAX_OBJECT_GUIDS_PER_QUERY = 900;
+
+	private static final int MAX_UID_RESERVATION_ATTEMPTS = 10;
+
+	private boolean bulkImportEnabled;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate transactionTemplate;
+
+	private PersistenceEngine persistenceEngine;
+
+	private PriceUpdatedNotificationService priceUpdatedNotificationService;
+
+	@Override
+	public List<ImportBadRow> importDtos(final List<ImportValidRow<BaseAmountDTO>> validRows, final PriceListDescriptorDTO priceListDescriptorDTO) {
+		if (!isBulkImportEnabled() || getChangeSetService().isChangeSetEnabled() || validRows.isEmpty()) {
+			return super.importDtos(validRows, priceListDescriptorDTO);
+		}
+		if (priceListDescriptorDTO == null) {
+			throw new EpServiceException("PriceListDescriptor was not specified.");
+		}
+
+		final Map<BaseAmountKey, BaseAmount> baseAmounts = new LinkedHashMap<>();
+		final List<ImportValidRow<BaseAmountDTO>> rowsToImportOneByOne = new ArrayList<>();
+		for (ImportValidRow<BaseAmountDTO> row : validRows) {
+			final BaseAmount baseAmount = assembleBaseAmount(row.getDto(), priceListDescriptorDTO.getGuid());
+			if (baseAmount == null || baseAmounts.putIfAbsent(new BaseAmountKey(baseAmount), baseAmount) != null) {
+				rowsToImportOneByOne.add(row);
+			}
+		}
+
+		try {
+			bulkInsertOrUpdate(priceListDescriptorDTO.getGuid(), baseAmounts);
+		} catch (DataAccessException | TransactionException | EpServiceException ex) {
+			LOG.warn("Bulk import of " + validRows.size() + " base amounts failed, importing them one by one", ex);
+			return super.importDtos(validRows, priceListDescriptorDTO);
+		}
+
+		if (rowsToImportOneByOne.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return super.importDtos(rowsToImportOneByOne, priceListDescriptorDTO);
+	}
+
+	/**
+	 * Assembles the base amount of a row.
+	 *
+	 * @param dto the DTO of the row
+	 * @param priceListDescriptorGuid the GUID of the price list the row is imported in
+	 * @return the base amount, or null if the row is invalid and must be reported by the one by one import
+	 */
+	protected BaseAmount assembleBaseAmount(final BaseAmountDTO dto, final String priceListDescriptorGuid) {
+		dto.setPriceListDescriptorGuid(priceListDescriptorGuid);
+		try {
+			return getAssembler().assembleDomain(dto);
+		} catch (BaseAmountInvalidException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Updates the existing base amounts and inserts the new ones, then evicts the updated ones from the data cache and notifies
+	 * the price updates.
+	 *
+	 * @param priceListDescriptorGuid the GUID of the price list
+	 * @param baseAmounts the base amounts to import, by key
+	 */
+	protected void bulkInsertOrUpdate(final String priceListDescriptorGuid, final Map<BaseAmountKey, BaseAmount> baseAmounts) {
+		if (baseAmounts.isEmpty()) {
+			return;
+		}
+
+		final Map<BaseAmountKey, Long> existingUids = findExistingUids(priceListDescriptorGuid, baseAmounts.keySet());
+
+		final List<BaseAmount> updatedBaseAmounts = new ArrayList<>();
+		final List<BaseAmount> insertedBaseAmounts = new ArrayList<>();
+		for (Map.Entry<BaseAmountKey, BaseAmount> entry : baseAmounts.entrySet()) {
+			final Long existingUid = existingUids.get(entry.getKey());
+			if (existingUid == null) {
+				insertedBaseAmounts.add(entry.getValue());
+			} else {
+				entry.getValue().setUidPk(existingUid);
+				updatedBaseAmounts.add(entry.getValue());
+			}
+		}
+
+		long nextUid = reserveUids(insertedBaseAmounts.size());
+		for (BaseAmount baseAmount : insertedBaseAmounts) {
+			baseAmount.setUidPk(nextUid++);
+		}
+
+		getTransactionTemplate().execute(status -> {
+			batchUpdate(updatedBaseAmounts);
+			batchInsert(insertedBaseAmounts);
+			return null;
+		});
+
+		for (BaseAmount baseAmount : updatedBaseAmounts) {
+			getPersistenceEngine().evictObjectFromCache(baseAmount);
+		}
+		getPriceUpdatedNotificationService().notifyPricesUpdated(priceListDescriptorGuid, baseAmounts.values());
+
+		LOG.debug("Bulk imported base amounts into price list {}: {} updated, {} inserted",
+				priceListDescriptorGuid, updatedBaseAmounts.size(), insertedBaseAmounts.size());
+	}
+
+	/**
+	 * Finds the UIDs of the base amounts of the price list matching the given keys.
+	 *
+	 * @param priceListDescriptorGuid the GUID of the price list
+	 * @param keys the keys of the base amounts
+	 * @return the UIDs of the existing base amounts, by key
+	 */
+	protected Map<BaseAmountKey, Long> findExistingUids(final String priceListDescriptorGuid, final Set<BaseAmountKey> keys) {
+		final Set<String> objectGuids = new LinkedHashSet<>();
+		for (BaseAmountKey key : keys) {
+			objectGuids.add(key.getObjectGuid());
+		}
+
+		final Map<BaseAmountKey, Long> existingUids = new HashMap<>();
+		for (List<String> batchOfObjectGuids : Lists.partition(new ArrayList<>(objectGuids), MAX_OBJECT_GUIDS_PER_QUERY)) {
+			final String query = String.format(SELECT_EXISTING_BASE_AMOUNTS, StringUtils.repeat("?", ", ", batchOfObjectGuids.size()));
+			final List<Object> parameters = new ArrayList<>(batchOfObjectGuids.size() + 1);
+			parameters.add(priceListDescriptorGuid);
+			parameters.addAll(batchOfObjectGuids);
+
+			getJdbcTemplate().query(query, parameters.toArray(), (RowCallbackHandler) resultSet -> {
+				final BaseAmountKey key = new BaseAmountKey(resultSet.getString("OBJECT_GUID"), resultSet.getString("OBJECT_TYPE"),
+						resultSet.getBigDecimal("QUANTITY"));
+				// like findBaseAmount(), use the first one if the price list has duplicates
+				existingUids.putIfAbsent(key, resultSet.getLong("UIDPK"));
+			});
+		}
+		return existingUids;
+	}
+
+	/**
+	 * Reserves a range of UIDs of base amounts. The range is reserved by moving the last value of the {@code TBASEAMOUNT} key,
+	 * only if no one else moved it in the meantime, as OpenJPA does.
+	 *
+	 * @param count the number of UIDs to reserve
+	 * @return the first reserved UID
+	 */
+	protected long reserveUids(final int count) {
+		if (count == 0) {
+			return 0;
+		}
+		for (int attempt = 0; attempt < MAX_UID_RESERVATION_ATTEMPTS; attempt++) {
+			final Long lastValue = getJdbcTemplate().queryForObject(SELECT_LAST_UID, Long.class, TABLE_NAME);
+			if (lastValue != null && getJdbcTemplate().update(RESERVE_UIDS, lastValue + count, TABLE_NAME, lastValue) == 1) {
+				return lastValue;
+			}
+		}
+		throw new EpServiceException("Could not reserve " + count + " UIDs of " + TABLE_NAME + " after "
+				+ MAX_UID_RESERVATION_ATTEMPTS + " attempts.");
+	}
+
+	private void batchUpdate(final List<BaseAmount> baseAmounts) {
+		if (baseAmounts.isEmpty()) {
+			return;
+		}
+		final List<Object[]> batchArgs = new ArrayList<>(baseAmounts.size());
+		for (BaseAmount baseAmount : baseAmounts) {
+			batchArgs.add(new Object[] {baseAmount.getListValue(), baseAmount.getSaleValue(), baseAmount.getUidPk()});
+		}
+		getJdbcTemplate().batchUpdate(UPDATE_BASE_AMOUNT, batchArgs);
+	}
+
+	private void batchInsert(final List<BaseAmount> baseAmounts) {
+		if (baseAmounts.isEmpty()) {
+			return;
+		}
+		final List<Object[]> batchArgs = new ArrayList<>(baseAmounts.size());
+		for (BaseAmount baseAmount : baseAmounts) {
+			batchArgs.add(new Object[] {baseAmount.getUidPk(), baseAmount.getGuid(), baseAmount.getObjectGuid(), baseAmount.getObjectType(),
+					baseAmount.getPriceListDescriptorGuid(), baseAmount.getQuantity(), baseAmount.getListValue(), baseAmount.getSaleValue()});
+		}
+		getJdbcTemplate().batchUpdate(INSERT_BASE_AMOUNT, batchArgs);
+	}
+
+	/**
+	 * Identifies a base amount within a price list, the way {@code findBaseAmount()} does: by object and quantity.
+	 */
+	protected static final class BaseAmountKey {
+
+		private final String objectGuid;
+		private final String objectType;
+		private final String quantity;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param baseAmount the base amount
+		 */
+		BaseAmountKey(final BaseAmount baseAmount) {
+			this(baseAmount.getObjectGuid(), baseAmount.getObjectType(), baseAmount.getQuantity());
+		}
+
+		/**
+		 * Constructor.
+		 *
+		 * @param objectGuid the GUID of the product or SKU
+		 * @param objectType the type of the object
+		 * @param quantity the quantity, compared regardless of its scale
+		 */
+		BaseAmountKey(final String objectGuid, final String objectType, final BigDecimal quantity) {
+			this.objectGuid = objectGuid;
+			this.objectType = objectType;
+			this.quantity = quantity == null ? null : quantity.stripTrailingZeros().toPlainString();
+		}
+
+		public String getObjectGuid() {
+			return objectGuid;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof BaseAmountKey)) {
+				return false;
+			}
+			final BaseAmountKey other = (BaseAmountKey) obj;
+			return StringUtils.equals(objectGuid, other.objectGuid)
+					&& StringUtils.equals(objectType, other.objectType)
+					&& StringUtils.equals(quantity, other.quantity);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(objectGuid, objectType, quantity);
+		}
+	}
+
+	public boolean isBulkImportEnabled() {
+		return bulkImportEnabled;
+	}
+
+	public void setBulkImportEnabled(final boolean bulkImportEnabled) {
+		this.bulkImportEnabled = bulkImportEnabled;
+	}
+
+	protected JdbcTemplate getJdbcTemplate() {
+		return jdbcTemplate;
+	}
+
+	/**
+	 * Sets the data source the base amounts are written to.
+	 *
+	 * @param dataSource the data source
+	 */
+	public void setDataSource(final DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	protected TransactionTemplate getTransactionTemplate() {
+		return transactionTemplate;
+	}
+
+	/**
+	 * Sets the transaction manager of the data source.
+	 *
+	 * @param transactionManager the transaction manager
+	 */
+	public void setTransactionManager(final PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	protected PersistenceEngine getPersistenceEngine() {
+		return persistenceEngine;
+	}
+
+	public void setPersistenceEngine(final PersistenceEngine persistenceEngine) {
+		this.persistenceEngine = persistenceEngine;
+	}
+
+	protected PriceUpdatedNotificationService getPriceUpdatedNotificationService() {
+		return priceUpdatedNotificationService;
+	}
+
+	public void setPriceUpdatedNotificationService(final PriceUpdatedNotificationService priceUpdatedNotificationService) {
+		this.priceUpdatedNotificationService = priceUpdatedNotificationService;
+	}
+}
@@ -104,6 +104,23 @@ public interface IndexNotification extends Persistable {
 		 */
 		public static final String SINGLE_UNIT = "singleUnit";
 
+		/**
+		 * Notification of a single product whose prices changed. Only the price fields of the product's document need to be updated.
+		 */
+		public static final String PRODUCT_PRICE = "productPrice";
+
+		/**
+		 * Notification of a single product whose availability changed, for example because it went in or out of stock. Only the
+		 * displayability fields of the product's document need to be updated.
+		 */
+		public static final String PRODUCT_AVAILABILITY = "productAvailability";
+
+		/**
+		 * Notification of a single product whose category membership changed. Only the category related fields of the product's document
+		 * need to be updated.
+		 */
+		public static final String PRODUCT_CATEGORIES = "productCategories";
+
 		private AffectedEntityType() {
 			// Do not instantiate this class
 		}
@@ -167,6 +167,8 @@ public class ShoppingCartImpl extends AbstractEpDomainImpl implements ShoppingCa
 
 	private final ShoppingItemHasRecurringPricePredicate shoppingItemHasRecurringPricePredicate;
 
+	private transient Object pricedState;
+
 	/**
 	 * Default Constructor.
 	 */
@@ -674,6 +676,26 @@ public class ShoppingCartImpl extends AbstractEpDomainImpl implements ShoppingCa
 
 		// Clear discounts associated with any items that may be in the cart
 		getAllShoppingItemsStream().forEach(ShoppingItem::clearDiscount);
+
+		pricedState = null;
+	}
+
+	/**
+	 * Gets the state of the cart the promotion rules were last fired on, or null if the promotions were cleared since.
+	 *
+	 * @return the priced state
+	 */
+	public Object getPricedState() {
+		return pricedState;
+	}
+
+	/**
+	 * Sets the state of the cart the promotion rules were fired on.
+	 *
+	 * @param pricedState the priced state
+	 */
+	public void setPricedState(final Object pricedState) {
+		this.pricedState = pricedState;
 	}
 
 	/**
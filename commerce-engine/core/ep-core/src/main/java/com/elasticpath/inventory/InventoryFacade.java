@@ -106,6 +106,17 @@ public interface InventoryFacade extends CapabilityAware {
 	Map<String, InventoryDto> getInventoriesForSkusInWarehouse(
 			Set<String> skuCodes, long warehouseUid);
 
+	/**
+	 * Get a map of sku code to inventory for display, e.g. on listing pages. The inventories may be read from a short lived cache,
+	 * so they must not be used to decide allocations.
+	 *
+	 * @param skuCodes the list of sku codes whose inventory is needed
+	 * @param warehouseUid the warehouse to get inventory for
+	 * @return a map of sku codes to inventory values.
+	 */
+	Map<String, InventoryDto> getCachedInventoriesForSkusInWarehouse(
+			Set<String> skuCodes, long warehouseUid);
+
 	/**
 	 * Finds inventories which are low stock for the given set of sku codes.
 	 *
@@ -75,6 +75,15 @@ public interface InventoryJournalDao {
 	 */
 	List<InventoryKey> getAllInventoryKeys(int minimumRollupRows);
 
+	/**
+	 * Get the inventory keys from TINVENTORYJOURNAL table which have at least minimumRollupRows of rows, deepest first,
+	 * with their number of rows.
+	 * @param minimumRollupRows the minimum rows for each key.
+	 * @param maxResults the maximum number of keys to return.
+	 * @return the number of rows of each key, in descending order.
+	 */
+	Map<InventoryKey, Long> getInventoryKeysByJournalDepth(int minimumRollupRows, int maxResults);
+
 	/**
 	 * Finds inventories which are low stock for the given set of sku codes.
 	 *
@@ -5,6 +5,7 @@ package com.elasticpath.inventory.dao.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -121,6 +122,18 @@ public class InventoryJournalDaoImpl extends AbstractDaoImpl implements Inventor
 		return getPersistenceEngine().retrieveByNamedQuery("INVENTORY_JOURNAL_ALL_KEYS_WITH_MIN_ROWS", minimumRollupRows);
 	}
 
+	@Override
+	public Map<InventoryKey, Long> getInventoryKeysByJournalDepth(final int minimumRollupRows, final int maxResults) {
+		final List<Object[]> rows = getPersistenceEngine().retrieveByNamedQuery("INVENTORY_JOURNAL_KEYS_BY_DEPTH_WITH_MIN_ROWS",
+				new Object[]{minimumRollupRows}, 0, maxResults);
+
+		final Map<InventoryKey, Long> result = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			result.put(new InventoryKey((String) row[0], (Long) row[1]), ((Number) row[2]).longValue());
+		}
+		return result;
+	}
+
 	@Override
 	public List<InventoryDto> findLowStockInventories(final Set<String> skuCodes, final long warehouseUid) {
 		if (skuCodes == null || skuCodes.isEmpty()) {
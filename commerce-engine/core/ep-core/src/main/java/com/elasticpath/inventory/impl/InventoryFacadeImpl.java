@@ -119,6 +119,12 @@ public class InventoryFacadeImpl implements InventoryFacade {
 		return getSelectedInventoryStrategy().getInventoriesForSkusInWarehouse(skuCodes, warehouseUid);
 	}
 
+	@Override
+	public Map<String, InventoryDto> getCachedInventoriesForSkusInWarehouse(
+			final Set<String> skuCodes, final long warehouseUid) {
+		return getSelectedInventoryStrategy().getCachedInventoriesForSkusInWarehouse(skuCodes, warehouseUid);
+	}
+
 	/**
 	 * @return capabilities
 	 */
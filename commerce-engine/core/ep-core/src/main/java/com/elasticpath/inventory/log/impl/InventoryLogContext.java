@@ -27,6 +27,9 @@ public class InventoryLogContext {
 	
 	/** Inventory rollup contention log messages. */
 	public static final String ROLLUP_CONTENTION_MSG = "INV012 InventoryJournal rollup contention, task terminated: ";
+
+	/** Inventory compaction contention log message. */
+	public static final String COMPACTION_CONTENTION_MSG = "INV013 InventoryJournal compaction contention, key skipped: ";
 	
 	/** Attribute name for order number. */
 	public static final String ORDER_NUMBER = "orderNumber";
@@ -4,6 +4,7 @@
 package com.elasticpath.inventory.strategy;
 
 import java.util.List;
+import java.util.Map;
 
 import com.elasticpath.inventory.InventoryKey;
 
@@ -18,6 +19,14 @@ public interface InventoryJournalRollupService {
 	 */
 	List<InventoryKey> getAllInventoryKeys();
 
+	/**
+	 * Get the inventory keys from TINVENTORYJOURNAL which have at least InventoryJournalRollupServiceImpl.MINIMUM_ROLLUP_ROWS,
+	 * deepest first, with their number of rows.
+	 * @param maxKeys the maximum number of keys to return.
+	 * @return the number of rows of each key, in descending order.
+	 */
+	Map<InventoryKey, Long> getInventoryKeysByJournalDepth(int maxKeys);
+
 	/**
 	 * Sums allocated quantity delta and quantity on hand delta in TINVENTORYJOURNAL table
 	 * for the given InventoryKey, merge to TINVENTORY, delete records in TINVENTORYJOURNAL.
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.inventory.strategy.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.orm.jpa.JpaOptimisticLockingFailureException;
+import org.springframework.orm.jpa.JpaSystemException;
+
+import com.elasticpath.inventory.InventoryKey;
+import com.elasticpath.inventory.log.impl.InventoryLogContext;
+import com.elasticpath.inventory.log.impl.InventoryLogSupport;
+import com.elasticpath.inventory.strategy.InventoryJournalRollupService;
+
+/**
+ * Continuously compacts the inventory journal, so that availability reads and allocations never sum long journals.
+ * <p>
+ * Each cycle reads the deepest journals once, up to the cycle size, and its passes roll them up a batch at a time, each journal in
+ * its own short transaction guarded by its inventory journal lock. A journal locked by another compactor is skipped, as it is being
+ * rolled up anyway. A journal which fails to roll up is skipped by the following cycles until its retry delay has passed, so that it
+ * doesn't stay on top of every cycle.
+ * The compactor starts another pass immediately while it rolls journals up and is behind the journal, that is while journals of
+ * the cycle are left or the cycle read a full cycle size, and sleeps for the poll interval otherwise.
+ */
+@ManagedResource(objectName = "com.elasticpath.inventory:name=InventoryJournalCompactor", description = "Compaction of the inventory journal",
+		currencyTimeLimit = 1)
+public class InventoryJournalCompactor implements SmartLifecycle {
+
+	private static final Logger LOG = LogManager.getLogger(InventoryJournalCompactor.class);
+
+	private static final int DEFAULT_BATCH_SIZE = 100;
+
+	private static final int DEFAULT_CYCLE_SIZE = 1000;
+
+	private static final long DEFAULT_FAILURE_RETRY_DELAY = 300000;
+
+	private static final long STOP_TIMEOUT = 30000;
+
+	private InventoryJournalRollupService inventoryJournalRollupService;
+
+	private InventoryLogSupport inventoryLogSupport;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private int cycleSize = DEFAULT_CYCLE_SIZE;
+
+	private long failureRetryDelay = DEFAULT_FAILURE_RETRY_DELAY;
+
+	private long pollInterval;
+
+	private long startDelay;
+
+	private boolean autoStartup = true;
+
+	private final LongAdder compactedJournalCount = new LongAdder();
+
+	private final LongAdder compactedRowCount = new LongAdder();
+
+	private final LongAdder contentionCount = new LongAdder();
+
+	private final LongAdder failureCount = new LongAdder();
+
+	private volatile long[] lastJournalDepths = new long[0];
+
+	private volatile long caughtUpTime;
+
+	// the cycle state is only used by the worker thread
+	private final Deque<Map.Entry<InventoryKey, Long>> cycleJournals = new ArrayDeque<>();
+
+	private final Map<InventoryKey, Long> failedJournalRetryTimes = new HashMap<>();
+
+	private long cycleStartTime;
+
+	private boolean fullCycle;
+
+	private Thread worker;
+
+	private volatile boolean running;
+
+	@Override
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		caughtUpTime = System.currentTimeMillis();
+		worker = new Thread(this::compact, "inventory-journal-compactor");
+		worker.setDaemon(true);
+		worker.start();
+		LOG.info("Started compacting the inventory journal in batches of " + batchSize);
+	}
+
+	@Override
+	public synchronized void stop() {
+		running = false;
+		if (worker == null) {
+			return;
+		}
+		worker.interrupt();
+		try {
+			worker.join(STOP_TIMEOUT);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		worker = null;
+	}
+
+	@Override
+	public void stop(final Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return autoStartup;
+	}
+
+	@Override
+	public int getPhase() {
+		// start after, and stop before, the components the compactor depends on
+		return Integer.MAX_VALUE;
+	}
+
+	private void compact() {
+		if (!pause(startDelay)) {
+			return;
+		}
+		while (running) {
+			long delay = 0;
+			try {
+				if (compactDeepestJournals() == 0 || isCaughtUp()) {
+					delay = pollInterval;
+				}
+			} catch (final RuntimeException e) {
+				LOG.error("Failed to read the inventory journal depths", e);
+				delay = pollInterval;
+			}
+			if (!pause(delay)) {
+				return;
+			}
+		}
+	}
+
+	private boolean pause(final long millis) {
+		if (millis <= 0) {
+			return !Thread.currentThread().isInterrupted();
+		}
+		try {
+			Thread.sleep(millis);
+			return true;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Rolls up the next batch of the journals read by the current cycle, deepest first, starting a new cycle if the current one is
+	 * done. The journals waiting for their retry delay after a failure are skipped.
+	 *
+	 * @return the number of journals rolled up
+	 */
+	int compactDeepestJournals() {
+		if (cycleJournals.isEmpty()) {
+			startCycle();
+		}
+
+		int compactedJournals = 0;
+		for (int batchJournals = 0; batchJournals < batchSize && !cycleJournals.isEmpty(); batchJournals++) {
+			if (Thread.currentThread().isInterrupted()) {
+				return compactedJournals;
+			}
+			final Map.Entry<InventoryKey, Long> journalDepth = cycleJournals.poll();
+			if (!failedJournalRetryTimes.containsKey(journalDepth.getKey())
+					&& compactJournal(journalDepth.getKey(), journalDepth.getValue())) {
+				compactedJournals++;
+			}
+		}
+
+		// every journal deep enough to be rolled up when the cycle started has been rolled up
+		if (isCaughtUp()) {
+			caughtUpTime = cycleStartTime;
+		}
+		return compactedJournals;
+	}
+
+	private void startCycle() {
+		cycleStartTime = System.currentTimeMillis();
+		failedJournalRetryTimes.values().removeIf(retryTime -> retryTime <= cycleStartTime);
+
+		final Map<InventoryKey, Long> journalDepths = inventoryJournalRollupService.getInventoryKeysByJournalDepth(cycleSize);
+		lastJournalDepths = journalDepths.values().stream().mapToLong(Long::longValue).toArray();
+		cycleJournals.addAll(journalDepths.entrySet());
+		fullCycle = journalDepths.size() >= cycleSize;
+	}
+
+	private boolean isCaughtUp() {
+		return cycleJournals.isEmpty() && !fullCycle;
+	}
+
+	private boolean compactJournal(final InventoryKey inventoryKey, final long depth) {
+		try {
+			inventoryJournalRollupService.processRollup(inventoryKey);
+			compactedJournalCount.increment();
+			compactedRowCount.add(depth);
+			return true;
+		} catch (final JpaSystemException | JpaOptimisticLockingFailureException e) {
+			contentionCount.increment();
+			logContention(inventoryKey, e);
+		} catch (final RuntimeException e) {
+			failureCount.increment();
+			failedJournalRetryTimes.put(inventoryKey, System.currentTimeMillis() + failureRetryDelay);
+			LOG.error("Failed to compact the inventory journal of " + inventoryKey + ", retrying in " + failureRetryDelay + " ms", e);
+		}
+		return false;
+	}
+
+	private void logContention(final InventoryKey inventoryKey, final NestedRuntimeException jpaException) {
+		inventoryLogSupport.log(Level.INFO,
+				InventoryLogContext.COMPACTION_CONTENTION_MSG + jpaException.getMostSpecificCause().getMessage(),
+				new InventoryLogContext(inventoryKey));
+	}
+
+	/**
+	 * Returns how long ago the compactor last caught up with the journal, in milliseconds. Every journal row written before then has
+	 * been rolled up.
+	 *
+	 * @return the compaction lag in milliseconds, or zero if the compactor is not running
+	 */
+	@ManagedAttribute(description = "Milliseconds since every journal row written before then was rolled up")
+	public long getCompactionLag() {
+		if (!running) {
+			return 0;
+		}
+		return Math.max(0, System.currentTimeMillis() - caughtUpTime);
+	}
+
+	@ManagedAttribute(description = "The number of journals read by the last cycle which were deep enough to roll up")
+	public int getJournalCount() {
+		return lastJournalDepths.length;
+	}
+
+	@ManagedAttribute(description = "The number of rows of the deepest journal read by the last cycle")
+	public long getMaxJournalDepth() {
+		final long[] depths = lastJournalDepths;
+		return depths.length == 0 ? 0 : depths[0];
+	}
+
+	@ManagedAttribute(description = "The median number of rows of the journals read by the last cycle")
+	public long getMedianJournalDepth() {
+		final long[] depths = lastJournalDepths;
+		return depths.length == 0 ? 0 : depths[depths.length / 2];
+	}
+
+	@ManagedAttribute(description = "The mean number of rows of the journals read by the last cycle")
+	public double getMeanJournalDepth() {
+		return Arrays.stream(lastJournalDepths).average().orElse(0);
+	}
+
+	@ManagedAttribute(description = "The total number of rows of the journals read by the last cycle")
+	public long getJournalRowCount() {
+		return Arrays.stream(lastJournalDepths).sum();
+	}
+
+	@ManagedAttribute(description = "The number of journals rolled up since startup")
+	public long getCompactedJournalCount() {
+		return compactedJournalCount.sum();
+	}
+
+	@ManagedAttribute(description = "The number of journal rows rolled up since startup")
+	public long getCompactedRowCount() {
+		return compactedRowCount.sum();
+	}
+
+	@ManagedAttribute(description = "The number of journals skipped since startup as another compactor was rolling them up")
+	public long getContentionCount() {
+		return contentionCount.sum();
+	}
+
+	@ManagedAttribute(description = "The number of failed journal roll ups since startup")
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+
+	public void setInventoryJournalRollupService(final InventoryJournalRollupService inventoryJournalRollupService) {
+		this.inventoryJournalRollupService = inventoryJournalRollupService;
+	}
+
+	public void setInventoryLogSupport(final InventoryLogSupport inventoryLogSupport) {
+		this.inventoryLogSupport = inventoryLogSupport;
+	}
+
+	/**
+	 * Sets the maximum number of journals rolled up by a pass.
+	 *
+	 * @param batchSize the maximum number of journals rolled up by a pass
+	 */
+	public void setBatchSize(final int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The inventory journal compaction batch size must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the maximum number of journals read by a cycle.
+	 *
+	 * @param cycleSize the maximum number of journals read by a cycle
+	 */
+	public void setCycleSize(final int cycleSize) {
+		if (cycleSize < 1) {
+			throw new IllegalArgumentException("The inventory journal compaction cycle size must be positive: " + cycleSize);
+		}
+		this.cycleSize = cycleSize;
+	}
+
+	/**
+	 * Sets how long a journal which failed to roll up is skipped, in milliseconds.
+	 *
+	 * @param failureRetryDelay the failure retry delay in milliseconds
+	 */
+	public void setFailureRetryDelay(final long failureRetryDelay) {
+		this.failureRetryDelay = failureRetryDelay;
+	}
+
+	/**
+	 * Sets how long the compactor sleeps, in milliseconds, after a pass rolling no journal up or catching up with the journal.
+	 *
+	 * @param pollInterval the poll interval in milliseconds
+	 */
+	public void setPollInterval(final long pollInterval) {
+		this.pollInterval = pollInterval;
+	}
+
+	public void setStartDelay(final long startDelay) {
+		this.startDelay = startDelay;
+	}
+
+	public void setAutoStartup(final boolean autoStartup) {
+		this.autoStartup = autoStartup;
+	}
+}
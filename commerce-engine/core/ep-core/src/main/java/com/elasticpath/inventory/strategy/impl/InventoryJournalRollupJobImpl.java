@@ -17,7 +17,10 @@ import com.elasticpath.inventory.strategy.InventoryJournalRollupService;
 
 /**
  * Job which will rollup inventory journal.
+ *
+ * @deprecated Use the {@link InventoryJournalCompactor} instead, which rolls up the deepest journals continuously.
  */
+@Deprecated
 public class InventoryJournalRollupJobImpl {
 	
 	private InventoryJournalRollupService inventoryJournalRollupService;
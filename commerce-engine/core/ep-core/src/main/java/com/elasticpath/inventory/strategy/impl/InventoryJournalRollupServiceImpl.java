@@ -4,6 +4,7 @@
 package com.elasticpath.inventory.strategy.impl;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.Level;
 
@@ -150,6 +151,11 @@ public class InventoryJournalRollupServiceImpl implements InventoryJournalRollup
 		return inventoryJournalDao.getAllInventoryKeys(MINIMUM_ROLLUP_ROWS);
 	}
 
+	@Override
+	public Map<InventoryKey, Long> getInventoryKeysByJournalDepth(final int maxKeys) {
+		return inventoryJournalDao.getInventoryKeysByJournalDepth(MINIMUM_ROLLUP_ROWS, maxKeys);
+	}
+
 	public void setBeanFactory(final BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
 	}
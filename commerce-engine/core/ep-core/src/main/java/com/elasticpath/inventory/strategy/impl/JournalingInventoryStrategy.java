@@ -4,11 +4,14 @@
 package com.elasticpath.inventory.strategy.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.elasticpath.cache.Cache;
 import com.elasticpath.commons.constants.ContextIdNames;
 import com.elasticpath.commons.util.capabilities.Capabilities;
 import com.elasticpath.commons.util.capabilities.impl.CapabilitiesImpl;
@@ -48,6 +51,9 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 	/** The product SKU service. */
 	private ProductSkuService productSkuService;
 
+	/** The short lived cache of the inventories displayed on listing pages, invalidated by the inventory commands. */
+	private Cache<InventoryKey, InventoryDto> inventoryAvailabilityCache;
+
 	/** */
 	private final Capabilities supportedCapabilities;
 	
@@ -108,34 +114,15 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		final Map<InventoryKey, InventoryDto> result = new HashMap<>();
 		
 		for (final Map.Entry<Long, Set<InventoryKey>> entry : keysByWarehouses.entrySet()) {
-			final Map<String, Inventory> inventoryMap = getInventoryDao()
-																.getInventoryMap(getSkuCodesFromInventoryKeys(
-																	entry.getValue()), entry.getKey());
-			addInventoriesToResult(result, inventoryMap, entry.getValue());
+			final Map<String, InventoryDto> inventories = loadInventoriesForSkusInWarehouse(getSkuCodesFromInventoryKeys(entry.getValue()),
+					entry.getKey());
+			for (final Map.Entry<String, InventoryDto> inventory : inventories.entrySet()) {
+				result.put(findInventoryKey(inventory.getKey(), entry.getValue()), inventory.getValue());
+			}
 		}
 		
 		return result;
 	}
-	
-	/**
-	 * TODO: Do a single DB query to get rollups for all InventoryKeys at once.
-	 * Right now we are doing DB queries one at a time.
-	 * 
-	 * @param result The map to fill up.
-	 * @param inventoryMap The inventory map.
-	 * @param keys The set of keys.
-	 */
-	private void addInventoriesToResult(final Map<InventoryKey, InventoryDto> result,
-			final Map<String, Inventory> inventoryMap, final Set<InventoryKey> keys) {
-		
-		for (final Map.Entry<String, Inventory> entry : inventoryMap.entrySet()) {
-			final InventoryKey key = findInventoryKey(entry.getKey(), keys);
-			final Inventory inventory = entry.getValue();
-
-			result.put(key, rollupDto(inventory));
-		}
-		
-	}
 
 	@Override
 	public Map<Long, InventoryDto> getInventoriesForSku(final String skuCode) {
@@ -161,9 +148,58 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		return result;
 	}
 	
+	/**
+	 * Reads the inventories with one inventory query and one journal rollup query. The inventory availability cache is not used, as
+	 * allocation reads the inventories through this method and must see the latest quantities.
+	 *
+	 * {@inheritDoc}
+	 */
 	@Override
 	public Map<String, InventoryDto> getInventoriesForSkusInWarehouse(
 			final Set<String> skuCodes, final long warehouseUid) {
+		return loadInventoriesForSkusInWarehouse(skuCodes, warehouseUid);
+	}
+
+	/**
+	 * Reads the inventories of a whole listing page through the inventory availability cache if set, loading the missing ones with
+	 * one inventory query and one journal rollup query. The cached inventories are shared and must not be modified.
+	 *
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, InventoryDto> getCachedInventoriesForSkusInWarehouse(
+			final Set<String> skuCodes, final long warehouseUid) {
+
+		if (inventoryAvailabilityCache == null || skuCodes.isEmpty()) {
+			return loadInventoriesForSkusInWarehouse(skuCodes, warehouseUid);
+		}
+
+		final List<InventoryKey> inventoryKeys = skuCodes.stream()
+				.map(skuCode -> new InventoryKey(skuCode, warehouseUid))
+				.collect(Collectors.toList());
+		final Map<InventoryKey, InventoryDto> inventories = inventoryAvailabilityCache.getAll(inventoryKeys,
+				uncachedKeys -> loadInventories(uncachedKeys, warehouseUid));
+
+		final Map<String, InventoryDto> result = new HashMap<>();
+		for (Map.Entry<InventoryKey, InventoryDto> entry : inventories.entrySet()) {
+			result.put(entry.getKey().getSkuCode(), entry.getValue());
+		}
+		return result;
+	}
+
+	private Map<InventoryKey, InventoryDto> loadInventories(final Collection<InventoryKey> inventoryKeys, final long warehouseUid) {
+		final Set<String> skuCodes = inventoryKeys.stream()
+				.map(InventoryKey::getSkuCode)
+				.collect(Collectors.toSet());
+
+		final Map<InventoryKey, InventoryDto> result = new HashMap<>();
+		for (Map.Entry<String, InventoryDto> entry : loadInventoriesForSkusInWarehouse(skuCodes, warehouseUid).entrySet()) {
+			result.put(new InventoryKey(entry.getKey(), warehouseUid), entry.getValue());
+		}
+		return result;
+	}
+
+	private Map<String, InventoryDto> loadInventoriesForSkusInWarehouse(final Set<String> skuCodes, final long warehouseUid) {
 
 		final Map<String, InventoryDto> result = new HashMap<>();
 
@@ -187,6 +223,18 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		return result;
 	}
 
+	/**
+	 * Removes the inventory from the inventory availability cache, as it is being changed. The change is only committed later, so the
+	 * inventory may be cached again before the commit, in which case the change is seen once the cached inventory expires.
+	 *
+	 * @param inventoryKey the inventory key
+	 */
+	protected void invalidateInventory(final InventoryKey inventoryKey) {
+		if (inventoryAvailabilityCache != null) {
+			inventoryAvailabilityCache.remove(inventoryKey);
+		}
+	}
+
 	private InventoryDto rollupDto(final Inventory inventory) {
 		InventoryJournalRollup rollup = getInventoryJournalDao().getRollup(new InventoryKey(inventory.getSkuCode(), inventory.getWarehouseUid()));
 		return getInventoryDtoAssembler().assembleDtoFromDomain(inventory, rollup);
@@ -217,6 +265,10 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		this.productSkuService = productSkuService;
 	}
 
+	public void setInventoryAvailabilityCache(final Cache<InventoryKey, InventoryDto> inventoryAvailabilityCache) {
+		this.inventoryAvailabilityCache = inventoryAvailabilityCache;
+	}
+
 	@Override
 	public Capabilities getCapabilities() {
 		return supportedCapabilities;
@@ -256,7 +308,7 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		 */
 		@Override
 		public InventoryCommand getCreateOrUpdateInventoryCommand(final InventoryDto inventoryDto) {
-			CreateUpdateInventoryCommand createUpdateInventoryCommand = new CreateUpdateInventoryCommand(inventoryDto);
+			CreateUpdateInventoryCommand createUpdateInventoryCommand = new CreateUpdateJournalingInventoryCommand(inventoryDto);
 			createUpdateInventoryCommand.setLogContext(new InventoryLogContext(inventoryDto.getInventoryKey(), "CreateOrUpdate", 0));
 			return createUpdateInventoryCommand;		
 		}
@@ -289,6 +341,31 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 		}
 	}
 	
+	/**
+	 * Also removes the inventory from the inventory availability cache.
+	 */
+	class CreateUpdateJournalingInventoryCommand extends CreateUpdateInventoryCommand {
+
+		private final InventoryKey inventoryKey;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param inventoryDto the inventory dto
+		 */
+		@SuppressWarnings("checkstyle:redundantmodifier")
+		public CreateUpdateJournalingInventoryCommand(final InventoryDto inventoryDto) {
+			super(inventoryDto);
+			this.inventoryKey = inventoryDto.getInventoryKey();
+		}
+
+		@Override
+		public void execute(final InventoryLogSupport logSupport) {
+			super.execute(logSupport);
+			invalidateInventory(inventoryKey);
+		}
+	}
+
 	/**
 	 *
 	 * Also removes journaling and journaling lock records for the given inventory key.
@@ -310,11 +387,12 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 			super.execute(logSupport);
 			inventoryJournalDao.removeByKey(getInventoryKey());
 			inventoryJournalLockDao.removeByKey(getInventoryKey());
+			invalidateInventory(getInventoryKey());
 		}
 	}
 	
 	/**
-	 * Adds an entry to the InventoryJournal table.
+	 * Adds an entry to the InventoryJournal table, removing the inventory from the inventory availability cache.
 	 * However, no row is added if allocatedQuantityDelta is 0 and quantityOnHandDelta is 0.
 	 * 
 	 * @param inventoryKey The inventory key.
@@ -330,6 +408,7 @@ public class JournalingInventoryStrategy extends AbstractEPInventoryStrategy {
 			inventoryJournal.setQuantityOnHandDelta(quantityOnHandDelta);
 
 			getInventoryJournalDao().saveOrUpdate(inventoryJournal);
+			invalidateInventory(inventoryKey);
 		}
 	}
 	
@@ -319,7 +319,7 @@ public class ProductDaoImpl extends AbstractDaoImpl implements ProductDao {
 
 		return getPersistenceEngine()
 			.withLoadTuners(fetchGroupLoadTuner)
-			.retrieveByNamedQueryWithList("PRODUCT_BY_UIDS", PLACEHOLDER_FOR_LIST, productUids);
+			.retrieveByNamedQueryWithListInParallel("PRODUCT_BY_UIDS", PLACEHOLDER_FOR_LIST, productUids);
 	}
 
 	/**
@@ -436,12 +436,13 @@ public class ProductDaoImpl extends AbstractDaoImpl implements ProductDao {
 
 	@Override
 	public Map<Long, String> findCodesByUids(final List<Long> productUids) {
-		final List<Object[]> result = getPersistenceEngine().retrieveByNamedQueryWithList("PRODUCT_CODE_SELECT_BY_UID", "list", productUids);
-		Map<Long, String> map = new HashMap<>();
-		for (Object[] oArray : result) {
-			// uidPk, code
-			map.put((Long) oArray[0], (String) oArray[1]);
-		}
+		final Map<Long, String> map = new HashMap<>();
+		getPersistenceEngine().<Object[], Long>streamByNamedQueryWithList("PRODUCT_CODE_SELECT_BY_UID", "list", productUids, chunk -> {
+			for (Object[] oArray : chunk) {
+				// uidPk, code
+				map.put((Long) oArray[0], (String) oArray[1]);
+			}
+		});
 		return map;
 	}
 
@@ -40,14 +40,20 @@ public class ProductInventoryShoppingServiceImpl implements ProductInventoryShop
 	@Override
 	public SkuInventoryDetails getSkuInventoryDetails(final ProductSku productSku,
 			final Store store, final ShoppingItemDto shoppingItemDto) {
-		Map<String, SkuInventoryDetails> allSkuInventoryDetails = getSkuInventoryDetailsForAllSkus(productSku.getProduct(), store, shoppingItemDto);
+		final Product product = productSku.getProduct();
+
+		// the cart validators read the details of a single sku, so they see the latest quantities
+		Map<String, InventoryDto> skuInventoryMap = productInventoryManagementService.getInventoriesForSkusInWarehouse(
+				getSkuCodesForInventoryLookup(product), store.getWarehouse().getUidPk());
+
+		Map<String, SkuInventoryDetails> allSkuInventoryDetails = getSkuInventoryDetailsMapForAllSkusInProduct(product, store, shoppingItemDto,
+				skuInventoryMap);
 		return allSkuInventoryDetails.get(productSku.getSkuCode());
 	}
 
 	@Override
 	public SkuInventoryDetails getSkuInventoryDetails(final ProductSku productSku, final Store store) {
-		Map<String, SkuInventoryDetails> allSkuInventoryDetails = getSkuInventoryDetailsForAllSkus(productSku.getProduct(), store);
-		return allSkuInventoryDetails.get(productSku.getSkuCode());
+		return getSkuInventoryDetails(productSku, store, null);
 	}
 
 	@Override
@@ -61,7 +67,7 @@ public class ProductInventoryShoppingServiceImpl implements ProductInventoryShop
 			final Product product, final Store store, final ShoppingItemDto shoppingItemDto) {
 		Set<String> skuCodesForInventory = getSkuCodesForInventoryLookup(product);
 
-		Map<String, InventoryDto> skuInventoryMap = productInventoryManagementService.getInventoriesForSkusInWarehouse(
+		Map<String, InventoryDto> skuInventoryMap = productInventoryManagementService.getCachedInventoriesForSkusInWarehouse(
 				skuCodesForInventory, store.getWarehouse().getUidPk());
 
 		return getSkuInventoryDetailsMapForAllSkusInProduct(product, store, shoppingItemDto, skuInventoryMap);
@@ -76,7 +82,7 @@ public class ProductInventoryShoppingServiceImpl implements ProductInventoryShop
 			allProductsSkuCodes.addAll(getSkuCodesForInventoryLookup(product));
 		}
 
-		Map<String, InventoryDto> skuInventoryMap = productInventoryManagementService.getInventoriesForSkusInWarehouse(
+		Map<String, InventoryDto> skuInventoryMap = productInventoryManagementService.getCachedInventoriesForSkusInWarehouse(
 				allProductsSkuCodes, store.getWarehouse().getUidPk());
 
 		for (Product product : products) {
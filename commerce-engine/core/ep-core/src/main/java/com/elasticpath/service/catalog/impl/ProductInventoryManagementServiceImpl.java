@@ -29,6 +29,7 @@ import com.elasticpath.domain.catalog.impl.InventoryAuditImpl;
 import com.elasticpath.domain.catalog.impl.PreOrBackOrderDetails;
 import com.elasticpath.domain.order.Order;
 import com.elasticpath.domain.order.OrderSku;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.domain.store.Warehouse;
 import com.elasticpath.inventory.CommandFactory;
 import com.elasticpath.inventory.InventoryCommand;
@@ -164,7 +165,8 @@ public class ProductInventoryManagementServiceImpl implements ProductInventoryMa
 		if (isOutOfStockBefore != inventoryEventResult.getInventoryAfter().getAvailableQuantityInStock() < product.getMinOrderQty()
 				&& product.getAvailabilityCriteria().equals(AvailabilityCriteria.AVAILABLE_WHEN_IN_STOCK)) {
 			//trigger the search index in the case the out of stock status change to update the displayability
-			getIndexNotificationService().addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk());
+			getIndexNotificationService().addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk(),
+					AffectedEntityType.PRODUCT_AVAILABILITY);
 		}
 
 		return inventoryEventResult;
@@ -565,6 +567,12 @@ public class ProductInventoryManagementServiceImpl implements ProductInventoryMa
 		return inventoryFacade.getInventoriesForSkusInWarehouse(skuCodesForInventory, warehouseUidPk);
 	}
 
+	@Override
+	public Map<String, InventoryDto> getCachedInventoriesForSkusInWarehouse(
+			final Set<String> skuCodesForInventory, final long warehouseUidPk) {
+		return inventoryFacade.getCachedInventoriesForSkusInWarehouse(skuCodesForInventory, warehouseUidPk);
+	}
+
 	@Override
 	public List<InventoryDto> findLowStockInventories(final Set<String> skuCodes, final long warehouseUid) {
 		return inventoryFacade.findLowStockInventories(skuCodes, warehouseUid);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.contentspace.impl;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.domain.contentspace.ContentWrapper;
+import com.elasticpath.domain.contentspace.ContentWrapperRepository;
+import com.elasticpath.domain.contentspace.Parameter;
+
+/**
+ * Compiles the scripts of the content wrappers at startup, so that the first requests rendering dynamic content don't wait for their
+ * compilation. The scripts are compiled in a background thread, as loading the content wrappers may take a while.
+ * <p>
+ * It is only defined in the Cortex context, as only Cortex renders dynamic content, so the other applications would load the content wrappers
+ * for nothing.
+ */
+public class ContentWrapperScriptPrecompiler {
+
+	private static final Logger LOG = LogManager.getLogger(ContentWrapperScriptPrecompiler.class);
+
+	private ContentWrapperRepository contentWrapperRepository;
+
+	private AbstractGroovyScriptEngineImpl scriptEngine;
+
+	private String scriptLanguage = "groovy";
+
+	private boolean enabled = true;
+
+	/**
+	 * Starts compiling the scripts of the content wrappers in a background thread, if enabled.
+	 */
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		final Thread thread = new Thread(this::precompileScripts, "content-wrapper-script-precompiler");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Compiles the init sections and the parameter expressions of the content wrappers in the script language of the script engine.
+	 *
+	 * @return the number of scripts compiled
+	 */
+	public int precompileScripts() {
+		final Set<String> scripts;
+		try {
+			scripts = findScripts(contentWrapperRepository.getContentWrappers());
+		} catch (RuntimeException e) {
+			LOG.warn("Unable to load the content wrappers to compile their scripts", e);
+			return 0;
+		}
+
+		final long start = System.currentTimeMillis();
+		int compiled = 0;
+		for (String script : scripts) {
+			if (scriptEngine.getCompiledScript(script) != null) {
+				compiled++;
+			}
+		}
+		LOG.info("Compiled " + compiled + " of " + scripts.size() + " content wrapper scripts in " + (System.currentTimeMillis() - start) + " ms");
+		return compiled;
+	}
+
+	private Set<String> findScripts(final Map<String, ContentWrapper> contentWrappers) {
+		final Set<String> scripts = new LinkedHashSet<>();
+		if (contentWrappers == null) {
+			return scripts;
+		}
+		for (ContentWrapper contentWrapper : contentWrappers.values()) {
+			if (!scriptLanguage.equals(contentWrapper.getScriptLanguage())) {
+				continue;
+			}
+			// as evaluated by ParameterValueResolverImpl: the init section as is, the parameter expressions trimmed
+			if (contentWrapper.getInitSection() != null) {
+				scripts.add(contentWrapper.getInitSection());
+			}
+			if (contentWrapper.getTemplateParameters() != null) {
+				for (Parameter parameter : contentWrapper.getTemplateParameters()) {
+					if (StringUtils.isNotBlank(parameter.getScriptExpression())) {
+						scripts.add(parameter.getScriptExpression().trim());
+					}
+				}
+			}
+		}
+		return scripts;
+	}
+
+	public void setContentWrapperRepository(final ContentWrapperRepository contentWrapperRepository) {
+		this.contentWrapperRepository = contentWrapperRepository;
+	}
+
+	public void setScriptEngine(final AbstractGroovyScriptEngineImpl scriptEngine) {
+		this.scriptEngine = scriptEngine;
+	}
+
+	public void setScriptLanguage(final String scriptLanguage) {
+		this.scriptLanguage = scriptLanguage;
+	}
+
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+}
@@ -3,6 +3,8 @@
  */
 package com.elasticpath.service.contentspace.impl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.FutureTask;
 
 import groovy.lang.Binding;
@@ -10,13 +12,17 @@ import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 import com.elasticpath.cache.SimpleTimeoutCache;
 
 /**
  * This implementation of the GroovyScriptEngine uses a single GroovyShell instance and
- * is biased to perform better where the same script is run very frequently: all text 
+ * is biased to perform better where the same script is run very frequently: all text
  * expressions are pre-compiled and the resulting Script objects cached.
+ * <p>
+ * The cache is read without locking. A script missing from the cache is compiled by the first thread asking for it, while the other
+ * threads asking for it wait for that compilation rather than compiling it again.
  */
 public class FutureTaskGroovyScriptEngineImpl extends AbstractGroovyScriptEngineImpl {
 
@@ -24,9 +30,13 @@ public class FutureTaskGroovyScriptEngineImpl extends AbstractGroovyScriptEngine
 
 	private final GroovyShell groovyShell = new GroovyShell();
 
+	private final ConcurrentMap<String, FutureTask<Script>> compilationsInProgress = new ConcurrentHashMap<>();
+
 	//injected via Spring
 	private SimpleTimeoutCache<String, FutureTask<Script>> groovyScriptTimeoutCache;
 
+	private GroovyScriptStatistics groovyScriptStatistics = new GroovyScriptStatistics();
+
 	/**
 	 * Return the compiled script version of the incoming text script.
 	 * @param textScript the script to get a compiled version of.
@@ -34,20 +44,11 @@ public class FutureTaskGroovyScriptEngineImpl extends AbstractGroovyScriptEngine
 	 */
 	@Override
 	public RunnableScript getCompiledScript(final String textScript) {
-		boolean newlyCreated = false;
-
-		FutureTask<Script> compiler;
-		synchronized (groovyScriptTimeoutCache) {
-			compiler = groovyScriptTimeoutCache.get(textScript);
-			if (compiler == null) {
-				newlyCreated = true;
-				compiler = new FutureTask<>(() -> groovyShell.parse(textScript));
-				groovyScriptTimeoutCache.put(textScript, compiler);
-			}
-		}
-
-		if (newlyCreated) {
-			compiler.run();
+		FutureTask<Script> compiler = groovyScriptTimeoutCache.get(textScript);
+		if (compiler == null) {
+			compiler = compile(textScript);
+		} else {
+			groovyScriptStatistics.recordCacheHit();
 		}
 
 		Script script = null;
@@ -61,41 +62,75 @@ public class FutureTaskGroovyScriptEngineImpl extends AbstractGroovyScriptEngine
 		if (script == null) {
 			return null;
 		}
-		return new SynchronizedRunnableScript(script);
+		return new ScriptInstanceRunnableScript(script, groovyScriptStatistics);
 	}
 
+	/**
+	 * Compiles the script and caches it, or returns the compilation of the script already in progress in another thread.
+	 * Failed compilations are cached too, so that invalid scripts are not compiled on every call.
+	 *
+	 * @param textScript the script to compile
+	 * @return the compilation of the script
+	 */
+	private FutureTask<Script> compile(final String textScript) {
+		final FutureTask<Script> compiler = new FutureTask<>(() -> parse(textScript));
+		final FutureTask<Script> compilationInProgress = compilationsInProgress.putIfAbsent(textScript, compiler);
+		if (compilationInProgress != null) {
+			return compilationInProgress;
+		}
+
+		try {
+			compiler.run();
+			groovyScriptTimeoutCache.put(textScript, compiler);
+		} finally {
+			compilationsInProgress.remove(textScript, compiler);
+		}
+		return compiler;
+	}
 
+	private Script parse(final String textScript) {
+		final long start = System.nanoTime();
+		try {
+			return groovyShell.parse(textScript);
+		} finally {
+			groovyScriptStatistics.recordCompilation(System.nanoTime() - start);
+		}
+	}
 
 	/**
-	 * A script wrapper that makes setting the binding on a script and running the 
-	 * script an atomic operation - by synchronizing on the script.
+	 * A script wrapper that runs a new instance of the compiled script class with the binding, so that concurrent runs of the same
+	 * script don't share the script instance nor need to be serialized.
 	 */
-	static class SynchronizedRunnableScript implements RunnableScript {
+	static class ScriptInstanceRunnableScript implements RunnableScript {
 
 		private final Script script;
 
+		private final GroovyScriptStatistics groovyScriptStatistics;
+
 		/**
-		 * @param script the script to run.
+		 * @param script the compiled script to run.
+		 * @param groovyScriptStatistics the statistics recording the evaluations.
 		 */
-		@SuppressWarnings("checkstyle:redundantmodifier")
-		public SynchronizedRunnableScript(final Script script) {
+		ScriptInstanceRunnableScript(final Script script, final GroovyScriptStatistics groovyScriptStatistics) {
 			this.script = script;
-
+			this.groovyScriptStatistics = groovyScriptStatistics;
 		}
 
 		/**
-		 * Runs the script in the context of the binding as an atomic operation.
+		 * Runs a new instance of the script in the context of the binding.
 		 * @param binding the binding to run the script in the context of.
 		 * @return the result of the script.
 		 */
 		@Override
 		public Object run(final Binding binding) {
-			synchronized (script) {
-				script.setBinding(binding);
-				return script.run();
+			final long start = System.nanoTime();
+			try {
+				return InvokerHelper.createScript(script.getClass(), binding).run();
+			} finally {
+				groovyScriptStatistics.recordEvaluation(System.nanoTime() - start);
 			}
 		}
-		
+
 		/** @return the currenct script object - for testing only. */
 		Script getScriptForTestingOnly() {
 			return script;
@@ -110,6 +145,10 @@ public class FutureTaskGroovyScriptEngineImpl extends AbstractGroovyScriptEngine
 		this.groovyScriptTimeoutCache = groovyScriptTimeoutCache;
 	}
 
+	public void setGroovyScriptStatistics(final GroovyScriptStatistics groovyScriptStatistics) {
+		this.groovyScriptStatistics = groovyScriptStatistics;
+	}
+
 	public GroovyShell getGroovyShell() {
 		return groovyShell;
 	}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.contentspace.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Counters and timings of the script compilations and evaluations of {@link FutureTaskGroovyScriptEngineImpl}.
+ */
+@ManagedResource(objectName = "com.elasticpath.contentspace:name=GroovyScripts", description = "Groovy script compilation and evaluation statistics",
+		currencyTimeLimit = 1)
+public class GroovyScriptStatistics {
+
+	private final LongAdder cacheHitCount = new LongAdder();
+	private final LongAdder compilationCount = new LongAdder();
+	private final LongAdder compilationNanos = new LongAdder();
+	private final LongAdder evaluationCount = new LongAdder();
+	private final LongAdder evaluationNanos = new LongAdder();
+
+	/**
+	 * Record a compiled script served from the cache.
+	 */
+	public void recordCacheHit() {
+		cacheHitCount.increment();
+	}
+
+	/**
+	 * Record a script compilation.
+	 *
+	 * @param nanos the duration of the compilation in nanoseconds
+	 */
+	public void recordCompilation(final long nanos) {
+		compilationCount.increment();
+		compilationNanos.add(nanos);
+	}
+
+	/**
+	 * Record a script evaluation.
+	 *
+	 * @param nanos the duration of the evaluation in nanoseconds
+	 */
+	public void recordEvaluation(final long nanos) {
+		evaluationCount.increment();
+		evaluationNanos.add(nanos);
+	}
+
+	@ManagedAttribute(description = "Number of compiled scripts served from the cache")
+	public long getCacheHitCount() {
+		return cacheHitCount.sum();
+	}
+
+	@ManagedAttribute(description = "Number of script compilations")
+	public long getCompilationCount() {
+		return compilationCount.sum();
+	}
+
+	@ManagedAttribute(description = "Total time spent compiling scripts in milliseconds")
+	public long getCompilationTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(compilationNanos.sum());
+	}
+
+	@ManagedAttribute(description = "Number of script evaluations")
+	public long getEvaluationCount() {
+		return evaluationCount.sum();
+	}
+
+	@ManagedAttribute(description = "Total time spent evaluating scripts in milliseconds")
+	public long getEvaluationTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(evaluationNanos.sum());
+	}
+
+	@ManagedAttribute(description = "Average script compilation time in milliseconds")
+	public double getAverageCompilationMillis() {
+		return averageMillis(compilationNanos.sum(), getCompilationCount());
+	}
+
+	@ManagedAttribute(description = "Average script evaluation time in milliseconds")
+	public double getAverageEvaluationMillis() {
+		return averageMillis(evaluationNanos.sum(), getEvaluationCount());
+	}
+
+	private double averageMillis(final long nanos, final long count) {
+		return count == 0 ? 0 : (double) nanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("cacheHits=%d, compilations=%d, compilationMillis=%d, evaluations=%d, evaluationMillis=%d", getCacheHitCount(),
+				getCompilationCount(), getCompilationTimeMillis(), getEvaluationCount(), getEvaluationTimeMillis());
+	}
+}
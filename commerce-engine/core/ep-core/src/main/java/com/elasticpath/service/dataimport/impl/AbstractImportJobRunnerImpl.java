@@ -7,7 +7,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -15,6 +15,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -78,6 +83,8 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 
 	private static final int TOTAL_ERRORS_MAX = 100;
 
+	private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
 	private ImportService importService;
 
 	private ImportJobStatusHandler importJobStatusHandler;
@@ -97,7 +104,7 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 
 	private ImportGuidHelper importGuidHelper;
 
-	private final Set<String> importedEntityGuids = new HashSet<>();
+	private final Set<String> importedEntityGuids = ConcurrentHashMap.newKeySet();
 
 	private ImportDataType importDataType;
 
@@ -115,6 +122,10 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 
 	private EnvironmentInfoService environmentInfoService;
 
+	private int parallelImportWorkers = 1;
+
+	private Executor parallelImportExecutor;
+
 	/**
 	 * Find the entity with the given guid.
 	 *
@@ -472,6 +483,11 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 		prepareAuditData();
 		prepareChangeSetProcessing();
 
+		if (isParallelImportEnabled()) {
+			runInParallel();
+			return;
+		}
+
 		final CsvFileReader csvFileReader = getCsvFileReader();
 
 		// skip the title line
@@ -551,12 +567,201 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 			}
 		}
 
+		finishRun(csvFileReader, finalImportJobState);
+	}
+
+	/**
+	 * Run the import job with several workers. The rows are read in waves of one commit unit per worker, and the rows of a wave are
+	 * partitioned by GUID, so that the rows of an entity are imported in order by the same worker. Each worker imports its rows in its
+	 * own transaction, like a commit unit of the sequential import, and the current row, failed rows and cancellation are checked once
+	 * every worker of the wave is done.
+	 */
+	protected void runInParallel() {
+		final CsvFileReader csvFileReader = getCsvFileReader();
+
+		// skip the title line
+		csvFileReader.readNext();
+
+		final int workers = getParallelImportWorkers();
+		final int waveSize = getCommitUnit() * workers;
+		// the listener metadata is thread local, so the workers get a copy of it
+		final Map<String, Object> listenerMetadata = new HashMap<>(getPersistenceListenerMetadataMap());
+		final long startTime = System.nanoTime();
+
+		int rowNumber = 0;
+		ImportJobState finalImportJobState = ImportJobState.FINISHED;
+
+		for (List<String[]> rows = csvFileReader.getTopLines(waveSize); !rows.isEmpty(); rows = csvFileReader.getTopLines(waveSize)) {
+			final List<List<ImportRow>> partitions = partitionByGuid(rows, rowNumber + 1, workers);
+
+			final List<CompletableFuture<ImportBadRow>> results = new ArrayList<>(partitions.size());
+			for (List<ImportRow> partition : partitions) {
+				results.add(CompletableFuture.supplyAsync(() -> importPartition(partition, listenerMetadata), parallelImportExecutor));
+			}
+
+			int failedRows = 0;
+			for (int index = 0; index < results.size(); index++) {
+				final ImportBadRow badRow = awaitPartition(results.get(index));
+				if (badRow != null) {
+					importJobStatusHandler.reportBadRows(importJobProcessId, badRow);
+					failedRows += partitions.get(index).size();
+				}
+			}
+
+			rowNumber += rows.size();
+			importJobStatusHandler.reportCurrentRow(importJobProcessId, rowNumber);
+			logThroughput(rowNumber, startTime);
+
+			if (failedRows > 0) {
+				importJobStatusHandler.reportFailedRows(importJobProcessId, failedRows);
+				// Break if reach max allow errors
+				if (!importJobStatusHandler.verifyImportJobFailedRows(importJobProcessId, request.getMaxAllowedFailedRows())) {
+					finalImportJobState = ImportJobState.FAILED;
+					break;
+				}
+			}
+
+			if (importJobStatusHandler.isImportJobCancelled(importJobProcessId)) {
+				finalImportJobState = ImportJobState.CANCELLED;
+				break;
+			}
+		}
+
+		finishRun(csvFileReader, finalImportJobState);
+	}
+
+	/**
+	 * Partition the rows of a wave by GUID, so that rows with the same GUID end up in the same partition, in their original order.
+	 * Rows without a GUID can't refer to the same entity, so they are spread by row number.
+	 *
+	 * @param rows the rows of the wave
+	 * @param firstRowNumber the row number of the first row of the wave
+	 * @param partitionCount the number of partitions
+	 * @return the non-empty partitions
+	 */
+	List<List<ImportRow>> partitionByGuid(final List<String[]> rows, final int firstRowNumber, final int partitionCount) {
+		final List<List<ImportRow>> partitions = new ArrayList<>(partitionCount);
+		for (int index = 0; index < partitionCount; index++) {
+			partitions.add(new ArrayList<>());
+		}
+
+		int rowNumber = firstRowNumber;
+		for (String[] row : rows) {
+			final String guid = readGuid(row);
+			final int hash = guid == null || guid.isEmpty() ? rowNumber : guid.hashCode();
+			partitions.get(Math.floorMod(hash, partitionCount)).add(new ImportRow(row, rowNumber));
+			rowNumber++;
+		}
+
+		partitions.removeIf(List::isEmpty);
+		return partitions;
+	}
+
+	/**
+	 * Import the rows of a partition in one transaction on the current worker thread.
+	 *
+	 * @param partition the rows to import
+	 * @param listenerMetadata the persistence listener metadata of the import job
+	 * @return the bad row reporting the failure if the transaction was rolled back, otherwise <code>null</code>
+	 */
+	protected ImportBadRow importPartition(final List<ImportRow> partition, final Map<String, Object> listenerMetadata) {
+		// the caller may run the partition itself, so its own metadata is restored afterwards
+		final Map<String, Object> previousMetadata = new HashMap<>(getPersistenceListenerMetadataMap());
+		getPersistenceListenerMetadataMap().putAll(listenerMetadata);
+
+		PersistenceSession session = null;
+		Transaction transaction = null;
+		ImportRow currentRow = partition.get(0);
+		try {
+			session = getPersistenceEngine().getSharedPersistenceSession();
+
+			// Tell the subclass we are starting a new commit unit of work.
+			preCommitUnitTransactionCreate();
+			transaction = session.beginTransaction();
+
+			// Tell the persistence engine to batch mode for this transaction
+			if (getPersistenceEngine().isCacheEnabled()) {
+				getPersistenceEngine().setLargeTransaction(true);
+			}
+
+			for (ImportRow row : partition) {
+				currentRow = row;
+				importOneRow(row.getFields(), session);
+			}
+
+			transaction.commit();
+			postCommitUnitTransactionCommit();
+			return null;
+
+		} catch (Exception e) {
+			final ImportBadRow badRow = logBadRow(request.getImportSource(), currentRow.getFields(), currentRow.getRowNumber(),
+					partition.get(0).getRowNumber(), partition.get(partition.size() - 1).getRowNumber() + 1, e);
+			if (transaction != null) {
+				try {
+					transaction.rollback();
+				} catch (Exception ee) {
+					LOG.error("Exception during commit or rollback.", ee);
+				}
+				postCommitUnitTransactionRollback();
+			}
+			return badRow;
+
+		} finally {
+			if (session != null) {
+				session.close();
+			}
+			getPersistenceListenerMetadataMap().clear();
+			getPersistenceListenerMetadataMap().putAll(previousMetadata);
+		}
+	}
+
+	private ImportBadRow awaitPartition(final CompletableFuture<ImportBadRow> result) {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EpServiceException("Interrupted while waiting for the import workers of job " + importJobProcessId, e);
+		} catch (ExecutionException e) {
+			throw new EpServiceException("Import worker of job " + importJobProcessId + " failed", e.getCause());
+		}
+	}
+
+	private void logThroughput(final int rowNumber, final long startTime) {
+		if (LOG.isInfoEnabled()) {
+			final double elapsedSeconds = (System.nanoTime() - startTime) / NANOS_PER_SECOND;
+			LOG.info(String.format("Import job %s: %d rows imported by %d workers, %.1f rows/sec", importJobProcessId, rowNumber,
+					getParallelImportWorkers(), elapsedSeconds > 0 ? rowNumber / elapsedSeconds : 0));
+		}
+	}
+
+	private void finishRun(final CsvFileReader csvFileReader, final ImportJobState finalImportJobState) {
 		csvFileReader.close();
 		importJobStatusHandler.reportImportJobState(importJobProcessId, finalImportJobState);
 		ImportJobStatus importJobStatus = importJobStatusHandler.getImportJobStatus(importJobProcessId);
 		postHandlings(importJobStatus, getInitiator(), getLocale());
 	}
 
+	/**
+	 * Checks if the job is imported by several workers. It is, if several workers and an executor to run them are configured,
+	 * and if the runner supports it.
+	 *
+	 * @return true if the job is imported by several workers
+	 */
+	protected boolean isParallelImportEnabled() {
+		return parallelImportWorkers > 1 && parallelImportExecutor != null && isParallelImportSupported();
+	}
+
+	/**
+	 * Checks if the rows of this runner can be imported concurrently by several workers, in separate transactions. This requires that
+	 * rows with different GUIDs don't update the same entities, and that the runner keeps no state across rows or commit units other
+	 * than the imported entity GUIDs.
+	 *
+	 * @return false by default
+	 */
+	protected boolean isParallelImportSupported() {
+		return false;
+	}
+
 	/**
 	 * Adds the metadata for enabling the change set processing by the change set persistable listener.
 	 */
@@ -1319,4 +1524,57 @@ public abstract class AbstractImportJobRunnerImpl extends AbstractEpPersistenceS
 		return environmentInfoService;
 	}
 
+	/**
+	 * @return the number of workers importing the rows concurrently
+	 */
+	protected int getParallelImportWorkers() {
+		return parallelImportWorkers;
+	}
+
+	/**
+	 * Sets the number of workers importing the rows concurrently, if the runner supports it. With one worker, the rows are imported
+	 * sequentially.
+	 *
+	 * @param parallelImportWorkers the number of workers
+	 */
+	public void setParallelImportWorkers(final int parallelImportWorkers) {
+		this.parallelImportWorkers = parallelImportWorkers;
+	}
+
+	/**
+	 * @param parallelImportExecutor the executor running the import workers
+	 */
+	public void setParallelImportExecutor(final Executor parallelImportExecutor) {
+		this.parallelImportExecutor = parallelImportExecutor;
+	}
+
+	/**
+	 * A row of the import file with its row number.
+	 */
+	protected static final class ImportRow {
+
+		private final String[] fields;
+
+		private final int rowNumber;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param fields the fields of the row
+		 * @param rowNumber the row number, starting at 1 for the first row after the title line
+		 */
+		ImportRow(final String[] fields, final int rowNumber) {
+			this.fields = fields;
+			this.rowNumber = rowNumber;
+		}
+
+		public String[] getFields() {
+			return fields;
+		}
+
+		public int getRowNumber() {
+			return rowNumber;
+		}
+	}
+
 }
@@ -72,6 +72,16 @@ public class ImportJobRunnerProductImpl extends AbstractImportJobRunnerImpl {
 		return ImportConstants.COMMIT_UNIT;
 	}
 
+	/**
+	 * Products are imported by GUID and their rows only update the product with that GUID, so they can be imported concurrently.
+	 *
+	 * @return true
+	 */
+	@Override
+	protected boolean isParallelImportSupported() {
+		return true;
+	}
+
 	/**
 	 * Update the entity before it get saved.
 	 * 
@@ -4,6 +4,7 @@
 package com.elasticpath.service.messaging.impl;
 
 import java.util.List;
+import java.util.Objects;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -52,6 +53,8 @@ public class OutboxMessageServiceImpl extends AbstractEpPersistenceServiceImpl i
 		OutboxMessage outboxMessage = getPrototypeBean(ContextIdNames.OUTBOX_MESSAGE, OutboxMessage.class);
 		outboxMessage.setCamelUri(camelUri);
 		outboxMessage.setMessageBody(getEventMessageBody(eventMessage));
+		// the messages about one entity share a partition, so that the relay sends them in order
+		outboxMessage.setPartitionKey(Objects.hashCode(eventMessage.getGuid()) & Integer.MAX_VALUE);
 		getPersistenceEngine().save(outboxMessage);
 		return outboxMessage;
 	}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.osgi;
+
+import java.util.Collection;
+import java.util.Objects;
+import javax.sql.DataSource;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.springframework.jdbc.datasource.lookup.DataSourceLookup;
+import org.springframework.jdbc.datasource.lookup.DataSourceLookupFailureException;
+
+/**
+ * Looks up the data sources which the webapp exposes to the OSGi framework as services, by their JNDI name.
+ *
+ * The webapp registers each JNDI resource listed in its {@code jndiMap} as a service with a {@code jndiName} property, e.g.
+ * {@code jdbc/epjndiReadOnly}, so the names are the same as the ones looked up from JNDI outside the OSGi framework.
+ */
+public class OsgiServiceDataSourceLookup implements DataSourceLookup {
+
+	private BundleContext bundleContext;
+
+	@Override
+	public DataSource getDataSource(final String dataSourceName) {
+		final Collection<ServiceReference<DataSource>> references;
+		try {
+			references = bundleContext.getServiceReferences(DataSource.class, "(jndiName=" + dataSourceName + ")");
+		} catch (final InvalidSyntaxException e) {
+			throw new DataSourceLookupFailureException("Invalid data source name " + dataSourceName, e);
+		}
+		return references.stream()
+				.map(bundleContext::getService)
+				.filter(Objects::nonNull)
+				.findFirst()
+				.orElseThrow(() -> new DataSourceLookupFailureException("No data source service is registered with JNDI name " + dataSourceName));
+	}
+
+	public void setBundleContext(final BundleContext bundleContext) {
+		this.bundleContext = bundleContext;
+	}
+}
@@ -3,6 +3,9 @@
  */
 package com.elasticpath.service.pricing;
 
+import java.util.Collection;
+
+import com.elasticpath.domain.pricing.BaseAmount;
 import com.elasticpath.domain.pricing.PriceListAssignment;
 
 /**
@@ -25,4 +28,13 @@ public interface PriceUpdatedNotificationService {
 	 * @param objectGuid - the guid of the object associated with this baseAmount
 	 */
 	void notifyPriceUpdated(String priceListDescriptorGuid, String objectType, String  objectGuid);
+
+	/**
+	 * Notifies price updates based on a batch of changed {@link BaseAmount}s of a price list.
+	 * The price list assignments are checked once, and each affected product is notified once.
+	 *
+	 * @param priceListDescriptorGuid - the guid of the pricelist descriptor
+	 * @param baseAmounts - the changed base amounts of the price list
+	 */
+	void notifyPricesUpdated(String priceListDescriptorGuid, Collection<BaseAmount> baseAmounts);
 }
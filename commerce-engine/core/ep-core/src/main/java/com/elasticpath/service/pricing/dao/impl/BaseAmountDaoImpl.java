@@ -26,7 +26,7 @@ import com.elasticpath.service.pricing.dao.BaseAmountDao;
  */
 public class BaseAmountDaoImpl implements BaseAmountDao {
 
-	//Total batch size is 2099 to remain under the MSSQL 2100 parameter limit.
+	//Remains under the MSSQL 2100 parameter limit, with the price list and object type parameters.
 	private static final int OBJ_BATCH_SIZE = 1999;
 	private static final int PL_BATCH_SIZE = 100;
 	private static final String LIST_PLACEHOLDER_NAME = "list";
@@ -118,22 +118,20 @@ public class BaseAmountDaoImpl implements BaseAmountDao {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The object guids are split into chunks by the persistence engine, which are retrieved in parallel outside transactions.
+	 */
 	@Override
 	public List<BaseAmount> getBaseAmounts(final List<String> plGuids, final List<String> objectGuids) {
 		List<BaseAmount> baseAmounts = new ArrayList<>();
 
 		List<List<String>> batchesOfPriceLists = Lists.partition(plGuids, PL_BATCH_SIZE);
 		for (List<String> batchOfPlGuids : batchesOfPriceLists) {
-			List<List<String>> batchesOfObjGuids = Lists.partition(objectGuids, OBJ_BATCH_SIZE);
-			for (List<String> batchOfObjGuids : batchesOfObjGuids) {
-				final Map<String, Collection<String>> parameterValueMap = new HashMap<>();
-				parameterValueMap.put("pricelists", batchOfPlGuids);
-				parameterValueMap.put("productskus", batchOfObjGuids);
-
-				List<BaseAmount> queryResults = getPersistenceEngine().retrieveByNamedQueryWithList(
-						"BASE_AMOUNT_BY_PLDG_OBJECTG", parameterValueMap);
-				baseAmounts.addAll(queryResults);
-			}
+			List<BaseAmount> queryResults = getPersistenceEngine().retrieveByNamedQueryWithListInParallel(
+					"BASE_AMOUNT_BY_PLDG_OBJECTG", LIST_PLACEHOLDER_NAME, objectGuids, batchOfPlGuids);
+			baseAmounts.addAll(queryResults);
 		}
 		return baseAmounts;
 	}
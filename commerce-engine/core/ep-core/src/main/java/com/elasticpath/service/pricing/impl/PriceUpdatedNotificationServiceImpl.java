@@ -3,15 +3,19 @@
  */
 package com.elasticpath.service.pricing.impl;
 
+import java.util.Collection;
 import java.util.Currency;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.elasticpath.commons.beanframework.BeanFactory;
 import com.elasticpath.commons.constants.ContextIdNames;
+import com.elasticpath.domain.pricing.BaseAmount;
 import com.elasticpath.domain.pricing.BaseAmountObjectType;
 import com.elasticpath.domain.pricing.PriceListAssignment;
 import com.elasticpath.domain.search.IndexNotification;
@@ -78,7 +82,7 @@ public class PriceUpdatedNotificationServiceImpl implements PriceUpdatedNotifica
 	}
 
 	/**
-	 * Creates an update {@link IndexNotification} based on a product UidPk.
+	 * Creates an update {@link IndexNotification} for the prices of a product.
 	 *
 	 * @param productUidPk product UidPk.
 	 * @return {@link IndexNotification}.
@@ -86,7 +90,7 @@ public class PriceUpdatedNotificationServiceImpl implements PriceUpdatedNotifica
 	protected IndexNotification createUpdateNotification(final long productUidPk) {
 		final IndexNotification notification = createEmptyNotification();
 
-		notification.setAffectedEntityType(AffectedEntityType.SINGLE_UNIT);
+		notification.setAffectedEntityType(AffectedEntityType.PRODUCT_PRICE);
 		notification.setAffectedUid(productUidPk);
 		notification.setIndexType(IndexType.PRODUCT);
 		notification.setUpdateType(UpdateType.UPDATE);
@@ -174,6 +178,28 @@ public class PriceUpdatedNotificationServiceImpl implements PriceUpdatedNotifica
 		getIndexNotificationService().add(notification);
 	}
 
+	@Override
+	public void notifyPricesUpdated(final String priceListDescriptorGuid, final Collection<BaseAmount> baseAmounts) {
+		if (baseAmounts.isEmpty() || !isPriceListAssignedToCatalog(priceListDescriptorGuid)) {
+			return;
+		}
+
+		final Set<Long> productUidPks = new LinkedHashSet<>();
+		for (final BaseAmount baseAmount : baseAmounts) {
+			final long productUidPk = getProductUidPk(baseAmount.getObjectType(), baseAmount.getObjectGuid());
+			if (productUidPk == 0) {
+				LOG.error("No product was found for base amount with objectType: " + baseAmount.getObjectType()
+						+ " and objectGuid:" + baseAmount.getObjectGuid());
+			} else {
+				productUidPks.add(productUidPk);
+			}
+		}
+
+		for (final Long productUidPk : productUidPks) {
+			getIndexNotificationService().add(createUpdateNotification(productUidPk));
+		}
+	}
+
 	@Override
 	public void notifyPriceUpdated(final PriceListAssignment assignment) {
 		final String catalogCode = assignment.getCatalog().getCode();
@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -60,6 +61,10 @@ public abstract class AbstractRuleEngineImpl implements EpRuleEngine {
 
 	private BeanFactory beanFactory;
 
+	private int catalogSessionPoolSize;
+
+	private final Map<String, KieSessionPool> catalogSessionPools = new ConcurrentHashMap<>();
+
 	@Override
 	public void fireCatalogPromotionRules(final Collection<? extends Product> products, final Currency activeCurrency,
 										  final Store store, final Map<String, List<Price>> prices, final TagSet tagSet) {
@@ -75,9 +80,17 @@ public abstract class AbstractRuleEngineImpl implements EpRuleEngine {
 
 		final SessionConfiguration sessionConfiguration = ruleEngineSessionFactory.getSessionConfiguration();
 
-		final WorkingMemory workingMemory = toWorkingMemory(getCatalogRuleBase(store)
-				.newKieSession(sessionConfiguration, EnvironmentFactory.newEnvironment()));
+		final KieBase catalogRuleBase = getCatalogRuleBase(store);
+		final KieSessionPool sessionPool = getCatalogSessionPool(store, catalogRuleBase);
+		final KieSession kieSession;
+		if (sessionPool == null) {
+			kieSession = catalogRuleBase.newKieSession(sessionConfiguration, EnvironmentFactory.newEnvironment());
+		} else {
+			kieSession = sessionPool.borrowSession(sessionConfiguration);
+		}
+		final WorkingMemory workingMemory = toWorkingMemory(kieSession);
 
+		boolean fired = false;
 		try {
 			assertObject(workingMemory, promotionRuleDelegate);
 			assertObject(workingMemory, activeCurrency);
@@ -89,11 +102,43 @@ public abstract class AbstractRuleEngineImpl implements EpRuleEngine {
 
 			workingMemory.setFocus(RuleAction.DEFAULT_AGENDA_GROUP);
 			workingMemory.fireAllRules();
+			fired = true;
 		} finally {
-			workingMemory.dispose();
+			// a session which failed part way is not reused, as its state is unknown
+			if (fired && sessionPool != null) {
+				sessionPool.returnSession(kieSession);
+			} else {
+				workingMemory.dispose();
+			}
 		}
 	}
 
+	/**
+	 * Gets the pool of catalog rule sessions of a store, replacing it if the store's catalog rule base has been swapped.
+	 *
+	 * @param store the store
+	 * @param catalogRuleBase the store's current catalog rule base
+	 * @return the pool, or null if catalog rule sessions are not pooled
+	 */
+	private KieSessionPool getCatalogSessionPool(final Store store, final KieBase catalogRuleBase) {
+		if (catalogSessionPoolSize <= 0) {
+			return null;
+		}
+		final KieSessionPool sessionPool = catalogSessionPools.get(store.getCode());
+		if (sessionPool != null && sessionPool.getRuleBase() == catalogRuleBase) {
+			return sessionPool;
+		}
+		return catalogSessionPools.compute(store.getCode(), (storeCode, currentPool) -> {
+			if (currentPool != null) {
+				if (currentPool.getRuleBase() == catalogRuleBase) {
+					return currentPool;
+				}
+				currentPool.close();
+			}
+			return new KieSessionPool(catalogRuleBase, catalogSessionPoolSize);
+		});
+	}
+
 	@Override
 	public void fireOrderPromotionRules(final ShoppingCart shoppingCart, final CustomerSession customerSession) {
 		firePromotionRulesForGroup(shoppingCart, customerSession, RuleAction.DEFAULT_AGENDA_GROUP);
@@ -290,5 +335,19 @@ public abstract class AbstractRuleEngineImpl implements EpRuleEngine {
 		this.ruleEngineRuleStrategy = ruleEngineRuleStrategy;
 	}
 
+	/**
+	 * Sets the maximum number of idle catalog rule sessions kept for reuse per store. The default of zero creates a new session
+	 * every time the catalog promotion rules are fired.
+	 *
+	 * @param catalogSessionPoolSize the maximum number of idle sessions per store
+	 */
+	public void setCatalogSessionPoolSize(final int catalogSessionPoolSize) {
+		this.catalogSessionPoolSize = catalogSessionPoolSize;
+	}
+
+	protected int getCatalogSessionPoolSize() {
+		return catalogSessionPoolSize;
+	}
+
 }
 
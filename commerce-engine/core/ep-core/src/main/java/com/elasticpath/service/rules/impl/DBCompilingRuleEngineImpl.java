@@ -10,6 +10,7 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -17,6 +18,7 @@ import java.util.Properties;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.antkorwin.xsync.XSync;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.drools.core.impl.InternalKnowledgeBase;
@@ -79,6 +81,12 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 
 	private final Map<String, KieBase> cartRuleBaseMap = new ConcurrentHashMap<>();
 
+	private final Map<String, CompiledRuleBase> compiledRuleBases = new ConcurrentHashMap<>();
+
+	private final XSync<String> compileSync = new XSync<>();
+
+	private final XSync<String> readSync = new XSync<>();
+
 	private Properties configProps;
 
 	/**
@@ -91,26 +99,28 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 
 	@Override
 	protected KieBase getCartRuleBase(final Store store) {
-		final KieBase ruleBase;
-		if (cartRuleBaseMap.containsKey(store.getCode())) {
-			ruleBase = cartRuleBaseMap.get(store.getCode());
-		} else {
-			ruleBase = readRuleBase(RuleScenarios.CART_SCENARIO, store);
-			cartRuleBaseMap.put(store.getCode(), ruleBase);
-		}
-		return ruleBase;
+		return getRuleBase(cartRuleBaseMap, RuleScenarios.CART_SCENARIO, store);
 	}
 
 	@Override
 	protected KieBase getCatalogRuleBase(final Store store) {
-		final KieBase ruleBase;
-		if (catalogRuleBaseMap.containsKey(store.getCode())) {
-			ruleBase = catalogRuleBaseMap.get(store.getCode());
-		} else {
-			ruleBase = readRuleBase(RuleScenarios.CATALOG_BROWSE_SCENARIO, store);
-			catalogRuleBaseMap.put(store.getCode(), ruleBase);
+		return getRuleBase(catalogRuleBaseMap, RuleScenarios.CATALOG_BROWSE_SCENARIO, store);
+	}
+
+	private KieBase getRuleBase(final Map<String, KieBase> ruleBaseMap, final int scenarioId, final Store store) {
+		final KieBase ruleBase = ruleBaseMap.get(store.getCode());
+		if (ruleBase != null) {
+			return ruleBase;
 		}
-		return ruleBase;
+		// read and compile outside of the map's locks, so that lookups of other stores' rule bases are not blocked meanwhile
+		return readSync.evaluate(scenarioId + ":" + store.getCode(), () -> {
+			KieBase readRuleBase = ruleBaseMap.get(store.getCode());
+			if (readRuleBase == null) {
+				readRuleBase = readRuleBase(scenarioId, store);
+				ruleBaseMap.put(store.getCode(), readRuleBase);
+			}
+			return readRuleBase;
+		});
 	}
 
 	/**
@@ -146,15 +156,38 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 	}
 
 	/**
-	 * Synchronized so we only try to recompile the rule base once at a time.   This may be able to be
-	 * pushed down to {@code #storeRuleBase(RuleBase, RuleSet, Store, Catalog)} if it becomes an issue.
+	 * Compiles and stores the rule base of a rule set for a store, or for the store's catalog in the catalog browse scenario.
+	 * Only one thread compiles a given rule base at a time, while other rule bases compile concurrently. If the rule code is the
+	 * same as when this rule base was last compiled, the compiled rule base is returned without compiling or storing it again.
 	 *
 	 * @param ruleSet rule set to compile
 	 * @param store store used to create rules
 	 * @return compiled ruleBase
 	 */
-	public synchronized KieBase recompileRuleBase(final RuleSet ruleSet, final Store store) { //NOPMD
-		final String ruleCode = ruleSet.getRuleCode(store);
+	public KieBase recompileRuleBase(final RuleSet ruleSet, final Store store) {
+		final String ruleBaseKey = getRuleBaseKey(ruleSet.getScenario(), store);
+		return compileSync.evaluate(ruleBaseKey, () -> {
+			final String ruleCode = ruleSet.getRuleCode(store);
+			final CompiledRuleBase compiledRuleBase = compiledRuleBases.get(ruleBaseKey);
+			if (compiledRuleBase != null && compiledRuleBase.getRuleCode().equals(ruleCode)) {
+				LOG.debug("Rule code of " + ruleBaseKey + " is unchanged, skipping its compilation");
+				return compiledRuleBase.getRuleBase();
+			}
+
+			final KieBase ruleBase = compileRuleBase(ruleSet, store, ruleCode);
+			compiledRuleBases.put(ruleBaseKey, new CompiledRuleBase(ruleCode, ruleBase));
+			return ruleBase;
+		});
+	}
+
+	private static String getRuleBaseKey(final int scenarioId, final Store store) {
+		if (scenarioId == RuleScenarios.CATALOG_BROWSE_SCENARIO) {
+			return scenarioId + ":" + store.getCatalog().getCode();
+		}
+		return scenarioId + ":" + store.getCode();
+	}
+
+	private KieBase compileRuleBase(final RuleSet ruleSet, final Store store, final String ruleCode) { //NOPMD
 		LOG.debug(ruleCode);
 		final Reader source = new StringReader(ruleCode);
 
@@ -274,15 +307,18 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 		List<Store> stores = storeService.findAllCompleteStores();
 		LOG.debug("Checking for modified rule sets");
 
-		for (Store store : stores) {
-			for (RuleSet currRuleSet : ruleSets) {
+		for (RuleSet currRuleSet : ruleSets) {
+			// the catalog browse rule base is shared by the stores of a catalog, so it is compiled once per catalog
+			final Map<String, KieBase> catalogRuleBases = new HashMap<>();
+			for (Store store : stores) {
 				if (currRuleSet.getScenario() == RuleScenarios.CART_SCENARIO) {
 					LOG.info("Re-compiling rule set for the shopping cart scenario");
 					KieBase cartRuleBase = recompileRuleBase(currRuleSet, store);
 					cartRuleBaseMap.put(store.getCode(), cartRuleBase);
 				} else {
 					LOG.info("Re-compiling rule set for the browse catalog scenario");
-					KieBase catalogRuleBase = recompileRuleBase(currRuleSet, store);
+					KieBase catalogRuleBase = catalogRuleBases.computeIfAbsent(store.getCatalog().getCode(),
+							catalogCode -> recompileRuleBase(currRuleSet, store));
 					catalogRuleBaseMap.put(store.getCode(), catalogRuleBase);
 				}
 			}
@@ -325,6 +361,7 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 	public void resetRuleBaseCache() {
 		this.cartRuleBaseMap.clear();
 		this.catalogRuleBaseMap.clear();
+		this.compiledRuleBases.clear();
 	}
 
 	public void setPropertiesDao(final PropertiesDao propertiesDao) {
@@ -358,4 +395,27 @@ public class DBCompilingRuleEngineImpl extends AbstractRuleEngineImpl implements
 	protected Properties getRuleEngineConfigProps() {
 		return configProps;
 	}
+
+	/**
+	 * A compiled rule base and the rule code it was compiled from.
+	 */
+	private static final class CompiledRuleBase {
+
+		private final String ruleCode;
+
+		private final KieBase ruleBase;
+
+		CompiledRuleBase(final String ruleCode, final KieBase ruleBase) {
+			this.ruleCode = ruleCode;
+			this.ruleBase = ruleBase;
+		}
+
+		String getRuleCode() {
+			return ruleCode;
+		}
+
+		KieBase getRuleBase() {
+			return ruleBase;
+		}
+	}
 }
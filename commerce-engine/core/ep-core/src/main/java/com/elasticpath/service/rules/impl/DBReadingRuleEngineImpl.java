@@ -10,6 +10,8 @@ import static com.elasticpath.domain.rules.RuleScenarios.CATALOG_BROWSE_SCENARIO
 import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import com.antkorwin.xsync.XSync;
 import org.kie.api.KieBase;
@@ -21,67 +23,84 @@ import com.elasticpath.service.misc.TimeService;
 /**
  * Provides the ability to read rules from the database. Take note that this does not write
  * anything to the database. This rules engine is implemented using Drools Rules 3.0.
+ * <p>
+ * The rule bases read from the database are swapped in without blocking the threads evaluating rules: once a rule base has been read,
+ * a single thread checks whether it has been recompiled, at most once per refresh interval, while the other threads keep using it.
  */
 public class DBReadingRuleEngineImpl extends AbstractRuleEngineImpl {
 
-	private final Map<String, EpRuleBase> cartRuleBases = new ConcurrentHashMap<>();
-	private final Map<String, EpRuleBase> catalogRuleBases = new ConcurrentHashMap<>();
+	private final Map<String, RuleBaseSnapshot> cartRuleBases = new ConcurrentHashMap<>();
+	private final Map<String, RuleBaseSnapshot> catalogRuleBases = new ConcurrentHashMap<>();
 	private final XSync<String> storeSync = new XSync<>();
 	private final XSync<String> catalogSync = new XSync<>();
 	private TimeService timeService;
+	private long refreshInterval;
 
 	@Override
 	protected KieBase getCartRuleBase(final Store store) {
-		final String code = store.getCode();
-		// We use XSync here to ensure that we don't have multiple threads trying to retrieve the rule base
-		// at the same time before the map is populated with the results.
-		return storeSync.evaluate(code, () -> {
-			EpRuleBase ruleBase = cartRuleBases.get(code);
-			if (ruleBase == null) {
-				ruleBase = getRuleService().findRuleBaseByScenario(store, null, CART_SCENARIO);
-			} else {
-				Date modifiedDate = getRuleService().getModifiedDateForRuleBase(ruleBase.getUidPk());
-				if (modifiedDate == null) {
-					ruleBase = null;
-				} else if (modifiedDate.after(ruleBase.getLastModifiedDate())) {
-					ruleBase = getRuleService().findRuleBaseByScenario(store, null, CART_SCENARIO);
-				}
-			}
-
-			if (ruleBase == null) {
-				ruleBase = new EpRuleBaseNotPresentImpl(timeService.getCurrentTime(), createRuleBase());
-			}
-
-			cartRuleBases.put(code, ruleBase);
-			return ruleBase.getRuleBase();
-		});
+		return getRuleBase(store.getCode(), cartRuleBases, storeSync,
+				() -> getRuleService().findRuleBaseByScenario(store, null, CART_SCENARIO));
 	}
 
 	@Override
 	protected KieBase getCatalogRuleBase(final Store store) {
-		final String code = store.getCatalog().getCode();
-		// We use XSync here to ensure that we don't have multiple threads trying to retrieve the rule base
-		// at the same time before the map is populated with the results.
-		return catalogSync.evaluate(code, () -> {
-			EpRuleBase ruleBase = catalogRuleBases.get(code);
-			if (ruleBase == null) {
-				ruleBase = getRuleService().findRuleBaseByScenario(null, store.getCatalog(), CATALOG_BROWSE_SCENARIO);
-			} else {
-				Date modifiedDate = getRuleService().getModifiedDateForRuleBase(ruleBase.getUidPk());
-				if (modifiedDate == null) {
-					ruleBase = null;
-				} else if (modifiedDate.after(ruleBase.getLastModifiedDate())) {
-					ruleBase = getRuleService().findRuleBaseByScenario(null, store.getCatalog(), CATALOG_BROWSE_SCENARIO);
+		return getRuleBase(store.getCatalog().getCode(), catalogRuleBases, catalogSync,
+				() -> getRuleService().findRuleBaseByScenario(null, store.getCatalog(), CATALOG_BROWSE_SCENARIO));
+	}
+
+	private KieBase getRuleBase(final String code, final Map<String, RuleBaseSnapshot> ruleBases, final XSync<String> sync,
+			final Supplier<EpRuleBase> ruleBaseFinder) {
+		final RuleBaseSnapshot snapshot = ruleBases.get(code);
+		if (snapshot == null) {
+			// We use XSync here to ensure that we don't have multiple threads trying to retrieve the rule base
+			// at the same time before the map is populated with the results. The rule base is read outside of the map's locks.
+			return sync.evaluate(code, () -> {
+				RuleBaseSnapshot readSnapshot = ruleBases.get(code);
+				if (readSnapshot == null) {
+					readSnapshot = createSnapshot(ruleBaseFinder.get());
+					ruleBases.put(code, readSnapshot);
 				}
-			}
+				return readSnapshot.getRuleBase();
+			});
+		}
 
-			if (ruleBase == null) {
-				ruleBase = new EpRuleBaseNotPresentImpl(timeService.getCurrentTime(), createRuleBase());
+		if (snapshot.isDue(getCurrentTimeMillis(), refreshInterval) && snapshot.startRefresh()) {
+			// only this thread refreshes the rule base; the others keep using the current one until it is swapped
+			final RuleBaseSnapshot refreshedSnapshot;
+			try {
+				refreshedSnapshot = createSnapshot(findUpdatedRuleBase(snapshot.getEpRuleBase(), ruleBaseFinder));
+			} catch (final RuntimeException e) {
+				snapshot.cancelRefresh();
+				throw e;
 			}
+			ruleBases.put(code, refreshedSnapshot);
+			return refreshedSnapshot.getRuleBase();
+		}
+		return snapshot.getRuleBase();
+	}
+
+	private EpRuleBase findUpdatedRuleBase(final EpRuleBase ruleBase, final Supplier<EpRuleBase> ruleBaseFinder) {
+		if (ruleBase instanceof EpRuleBaseNotPresentImpl) {
+			return ruleBaseFinder.get();
+		}
+		final Date modifiedDate = getRuleService().getModifiedDateForRuleBase(ruleBase.getUidPk());
+		if (modifiedDate == null) {
+			return null;
+		} else if (modifiedDate.after(ruleBase.getLastModifiedDate())) {
+			return ruleBaseFinder.get();
+		}
+		return ruleBase;
+	}
 
-			catalogRuleBases.put(code, ruleBase);
-			return ruleBase.getRuleBase();
-		});
+	private RuleBaseSnapshot createSnapshot(final EpRuleBase ruleBase) {
+		if (ruleBase == null) {
+			return new RuleBaseSnapshot(new EpRuleBaseNotPresentImpl(timeService.getCurrentTime(), createRuleBase()), getCurrentTimeMillis());
+		}
+		return new RuleBaseSnapshot(ruleBase, getCurrentTimeMillis());
+	}
+
+	private long getCurrentTimeMillis() {
+		return timeService.getCurrentTime().getTime();
 	}
 
 	protected TimeService getTimeService() {
@@ -91,4 +110,55 @@ public class DBReadingRuleEngineImpl extends AbstractRuleEngineImpl {
 	public void setTimeService(final TimeService timeService) {
 		this.timeService = timeService;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Sets the minimum number of milliseconds between checks of whether a rule base has been recompiled.
+	 * The default of zero checks before every use.
+	 *
+	 * @param refreshInterval the refresh interval in milliseconds
+	 */
+	public void setRefreshInterval(final long refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	protected long getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	/**
+	 * A rule base read from the database, with the time it was read and whether a thread is refreshing it.
+	 */
+	private static final class RuleBaseSnapshot {
+
+		private final EpRuleBase epRuleBase;
+
+		private final long readTime;
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		RuleBaseSnapshot(final EpRuleBase epRuleBase, final long readTime) {
+			this.epRuleBase = epRuleBase;
+			this.readTime = readTime;
+		}
+
+		EpRuleBase getEpRuleBase() {
+			return epRuleBase;
+		}
+
+		KieBase getRuleBase() {
+			return epRuleBase.getRuleBase();
+		}
+
+		boolean isDue(final long currentTime, final long refreshInterval) {
+			return currentTime - readTime >= refreshInterval;
+		}
+
+		boolean startRefresh() {
+			return refreshing.compareAndSet(false, true);
+		}
+
+		void cancelRefresh() {
+			refreshing.set(false);
+		}
+	}
+}
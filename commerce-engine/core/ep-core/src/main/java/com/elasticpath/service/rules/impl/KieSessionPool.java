@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.rules.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.impl.EnvironmentFactory;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+/**
+ * A bounded pool of the stateful sessions of one rule base, so that rules can be fired without creating a new session every time.
+ * Returned sessions are reset, which drops their facts, agenda and node memories in one go, before they are reused. Sessions which are
+ * not returned, which cannot be reset, or which do not fit in the pool, are disposed of.
+ */
+class KieSessionPool {
+
+	private static final Logger LOG = LogManager.getLogger(KieSessionPool.class);
+
+	private final KieBase ruleBase;
+
+	private final BlockingQueue<KieSession> idleSessions;
+
+	private volatile boolean closed;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param ruleBase the rule base of the sessions
+	 * @param maximumIdleSessions the maximum number of sessions to keep for reuse
+	 */
+	KieSessionPool(final KieBase ruleBase, final int maximumIdleSessions) {
+		this.ruleBase = ruleBase;
+		this.idleSessions = new ArrayBlockingQueue<>(maximumIdleSessions);
+	}
+
+	/**
+	 * Takes an idle session from the pool, or creates a new one if there is none.
+	 *
+	 * @param sessionConfiguration the configuration of new sessions
+	 * @return a session without facts
+	 */
+	KieSession borrowSession(final SessionConfiguration sessionConfiguration) {
+		final KieSession session = idleSessions.poll();
+		if (session != null) {
+			return session;
+		}
+		return ruleBase.newKieSession(sessionConfiguration, EnvironmentFactory.newEnvironment());
+	}
+
+	/**
+	 * Resets a session which has been used successfully and returns it to the pool. A session which fails to reset is disposed of, as the
+	 * rules were already fired successfully.
+	 *
+	 * @param session the session
+	 */
+	void returnSession(final KieSession session) {
+		if (closed || !(session instanceof StatefulKnowledgeSessionImpl)) {
+			session.dispose();
+			return;
+		}
+		try {
+			((StatefulKnowledgeSessionImpl) session).reset();
+		} catch (final RuntimeException e) {
+			LOG.error("Unable to reset a rule session, disposing of it", e);
+			session.dispose();
+			return;
+		}
+		if (!idleSessions.offer(session)) {
+			session.dispose();
+		}
+	}
+
+	/**
+	 * Disposes of the idle sessions and of the sessions returned from now on.
+	 */
+	void close() {
+		closed = true;
+		KieSession session = idleSessions.poll();
+		while (session != null) {
+			session.dispose();
+			session = idleSessions.poll();
+		}
+	}
+
+	KieBase getRuleBase() {
+		return ruleBase;
+	}
+}
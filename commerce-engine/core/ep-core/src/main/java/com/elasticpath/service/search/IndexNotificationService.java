@@ -63,6 +63,16 @@ public interface IndexNotificationService extends EpPersistenceService {
 	 */
 	void addNotificationForEntityIndexUpdate(IndexType indexType, Long affectedUid);
 
+	/**
+	 * Convenience method for creating an index notification for the certain entity that requires an index update, where the affected
+	 * entity type says which part of the entity's document needs updating.
+	 *
+	 * @param indexType index type of the entity
+	 * @param affectedUid entity's UID
+	 * @param affectedEntityType one of the single entity {@link com.elasticpath.domain.search.IndexNotification.AffectedEntityType}s
+	 */
+	void addNotificationForEntityIndexUpdate(IndexType indexType, Long affectedUid, String affectedEntityType);
+
 	/**
 	 * Finds an index notification by an index type and an update type.
 	 *
@@ -14,6 +14,7 @@ import com.elasticpath.base.exception.EpServiceException;
 import com.elasticpath.commons.constants.ContextIdNames;
 import com.elasticpath.commons.exception.EpUnsupportedOperationException;
 import com.elasticpath.domain.search.IndexNotification;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.domain.search.UpdateType;
 import com.elasticpath.service.impl.AbstractEpPersistenceServiceImpl;
 import com.elasticpath.service.search.IndexNotificationService;
@@ -202,10 +203,16 @@ public class IndexNotificationServiceImpl extends AbstractEpPersistenceServiceIm
 	@Override
 	public void addNotificationForEntityIndexUpdate(final IndexType indexType,
 			final Long affectedUid) {
+		addNotificationForEntityIndexUpdate(indexType, affectedUid, AffectedEntityType.SINGLE_UNIT);
+	}
+
+	@Override
+	public void addNotificationForEntityIndexUpdate(final IndexType indexType, final Long affectedUid, final String affectedEntityType) {
 		sanityCheck();
-		final IndexNotification notification = createNotification(indexType, affectedUid);
+		final IndexNotification notification = createNotification(indexType, affectedUid, affectedEntityType);
 		add(notification);
 	}
+
 	/**
 	 * Creates an update index notification object.
 	 *   
@@ -214,10 +221,22 @@ public class IndexNotificationServiceImpl extends AbstractEpPersistenceServiceIm
 	 * @return populated {@link IndexNotification}
 	 */
 	IndexNotification createNotification(final IndexType indexType, final Long affectedUid) {
+		return createNotification(indexType, affectedUid, AffectedEntityType.SINGLE_UNIT);
+	}
+
+	/**
+	 * Creates an update index notification object for a single entity.
+	 *
+	 * @param indexType index type
+	 * @param affectedUid affected uid
+	 * @param affectedEntityType the affected entity type, one of the single entity {@link AffectedEntityType}s
+	 * @return populated {@link IndexNotification}
+	 */
+	IndexNotification createNotification(final IndexType indexType, final Long affectedUid, final String affectedEntityType) {
 		final IndexNotification notification = getPrototypeBean(ContextIdNames.INDEX_NOTIFICATION, IndexNotification.class);
 		notification.setIndexType(indexType);
 		notification.setAffectedUid(affectedUid);
-		notification.setAffectedEntityType("singleUnit");
+		notification.setAffectedEntityType(affectedEntityType);
 		notification.setUpdateType(UpdateType.UPDATE);
 		return notification;
 	}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.shoppingcart.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Counters of the shopping cart loads and of the promotion rule firings of {@link PricingSnapshotServiceImpl}.
+ */
+@ManagedResource(objectName = "com.elasticpath.cart:name=CartPricing", description = "Shopping cart loading and pricing statistics",
+		currencyTimeLimit = 1)
+public class CartPricingStatistics {
+
+	private final LongAdder cartLoadCount = new LongAdder();
+	private final LongAdder ruleFiringCount = new LongAdder();
+	private final LongAdder skippedRuleFiringCount = new LongAdder();
+
+	/**
+	 * Record a shopping cart loaded from the database.
+	 */
+	public void recordCartLoad() {
+		cartLoadCount.increment();
+	}
+
+	/**
+	 * Record the promotion rules fired on a shopping cart.
+	 */
+	public void recordRuleFiring() {
+		ruleFiringCount.increment();
+	}
+
+	/**
+	 * Record a pricing snapshot served without firing the rules again, as the shopping cart didn't change since they were fired.
+	 */
+	public void recordSkippedRuleFiring() {
+		skippedRuleFiringCount.increment();
+	}
+
+	@ManagedAttribute(description = "Number of shopping carts loaded from the database")
+	public long getCartLoadCount() {
+		return cartLoadCount.sum();
+	}
+
+	@ManagedAttribute(description = "Number of times the promotion rules were fired on a shopping cart")
+	public long getRuleFiringCount() {
+		return ruleFiringCount.sum();
+	}
+
+	@ManagedAttribute(description = "Number of pricing snapshots served without firing the promotion rules again")
+	public long getSkippedRuleFiringCount() {
+		return skippedRuleFiringCount.sum();
+	}
+
+	/**
+	 * Return the average number of rule firings per loaded shopping cart. A cart is loaded once per request, so this is
+	 * the number of rule firings per request working on a cart.
+	 *
+	 * @return the rule firings per cart load.
+	 */
+	@ManagedAttribute(description = "Average number of promotion rule firings per loaded shopping cart")
+	public double getRuleFiringsPerCartLoad() {
+		final long loads = getCartLoadCount();
+		return loads == 0 ? 0 : (double) getRuleFiringCount() / loads;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("cartLoads=%d, ruleFirings=%d, skippedRuleFirings=%d", getCartLoadCount(), getRuleFiringCount(),
+				getSkippedRuleFiringCount());
+	}
+}
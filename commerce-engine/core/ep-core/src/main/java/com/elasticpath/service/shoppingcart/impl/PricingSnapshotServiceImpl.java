@@ -8,7 +8,9 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +24,8 @@ import org.apache.logging.log4j.Logger;
 
 import com.elasticpath.base.common.dto.StructuredErrorMessage;
 import com.elasticpath.commons.beanframework.BeanFactory;
+import com.elasticpath.domain.customer.Address;
+import com.elasticpath.domain.customer.CustomerSession;
 import com.elasticpath.domain.order.OrderSku;
 import com.elasticpath.domain.shoppingcart.DiscountRecord;
 import com.elasticpath.domain.shoppingcart.MutablePromotionRecordContainer;
@@ -58,6 +62,9 @@ public class PricingSnapshotServiceImpl implements PricingSnapshotService {
 	private Predicate<Throwable> shippingOptionResultExceptionLogPredicate;
 	private PricedShippableItemContainerTransformer pricedShippableItemContainerTransformer;
 
+	private boolean pricingMemoEnabled = true;
+	private CartPricingStatistics cartPricingStatistics = new CartPricingStatistics();
+
 	@Override
 	public ShoppingCartPricingSnapshot getPricingSnapshotForCart(final ShoppingCart shoppingCart) {
 		if (shoppingCart == null) {
@@ -65,7 +72,7 @@ public class PricingSnapshotServiceImpl implements PricingSnapshotService {
 		}
 
 		if (shoppingCart instanceof ShoppingCartImpl) {
-			fireRules((ShoppingCartImpl) shoppingCart);
+			firePricingRules((ShoppingCartImpl) shoppingCart);
 
 			return (ShoppingCartPricingSnapshot) shoppingCart;
 		}
@@ -80,6 +87,68 @@ public class PricingSnapshotServiceImpl implements PricingSnapshotService {
 		return (ShoppingItemPricingSnapshot) orderSku;
 	}
 
+	/**
+	 * Fires the promotion rules on the shopping cart, unless they were already fired on the same state of this cart instance.
+	 * A loaded cart instance lives for a request, so this saves firing the rules again each time the same request asks for
+	 * the pricing snapshot of an unchanged cart.
+	 *
+	 * @param shoppingCart the shopping cart
+	 */
+	protected void firePricingRules(final ShoppingCartImpl shoppingCart) {
+		if (!isPricingMemoEnabled()) {
+			fireRules(shoppingCart);
+			getCartPricingStatistics().recordRuleFiring();
+			return;
+		}
+
+		if (shoppingCart.getPricedState() != null && shoppingCart.getPricedState().equals(getPricedState(shoppingCart))) {
+			getCartPricingStatistics().recordSkippedRuleFiring();
+			return;
+		}
+
+		shoppingCart.setPricedState(null);
+		fireRules(shoppingCart);
+		getCartPricingStatistics().recordRuleFiring();
+		shoppingCart.setPricedState(getPricedState(shoppingCart));
+	}
+
+	/**
+	 * Gets the state of the shopping cart the promotion rules depend on: rules are fired again when it changes. Any save of the cart
+	 * changes its last modified date, and clearing the promotions of the cart forgets its priced state.
+	 *
+	 * @param shoppingCart the shopping cart
+	 * @return the state of the shopping cart, compared with {@link Object#equals(Object)}
+	 */
+	protected Object getPricedState(final ShoppingCartImpl shoppingCart) {
+		final List<Object> state = new ArrayList<>();
+		state.add(shoppingCart.getLastModifiedDate());
+		state.add(shoppingCart.isExchangeOrderShoppingCart());
+		state.add(shoppingCart.getShopper());
+		if (shoppingCart.getShopper() != null) {
+			state.add(shoppingCart.getShopper().getCustomer());
+			final CustomerSession customerSession = shoppingCart.getShopper().getCustomerSession();
+			if (customerSession != null) {
+				state.add(customerSession.getCurrency());
+				state.add(customerSession.getLocale());
+			}
+		}
+
+		final Address shippingAddress = shoppingCart.getShippingAddress();
+		state.add(shippingAddress);
+		if (shippingAddress != null) {
+			state.add(shippingAddress.getLastModifiedDate());
+		}
+		state.add(shoppingCart.getSelectedShippingOption().map(ShippingOption::getCode).orElse(null));
+		state.add(new HashSet<>(shoppingCart.getPromotionCodes()));
+
+		for (final ShoppingItem shoppingItem : shoppingCart.getAllShoppingItems()) {
+			state.add(shoppingItem.getGuid());
+			state.add(shoppingItem.getSkuGuid());
+			state.add(shoppingItem.getQuantity());
+		}
+		return state;
+	}
+
 	/**
 	 * <p>Forces the shopping cart to apply promotion rules. Promotion rules will usually be applied by the cart automatically as required.
 	 * However, it is sometimes necessary to force the cart to fire rules when the cart is loaded without a state change.</p>
@@ -381,4 +450,20 @@ public class PricingSnapshotServiceImpl implements PricingSnapshotService {
 	public void setPricedShippableItemContainerTransformer(final PricedShippableItemContainerTransformer pricedShippableItemContainerTransformer) {
 		this.pricedShippableItemContainerTransformer = pricedShippableItemContainerTransformer;
 	}
+
+	protected boolean isPricingMemoEnabled() {
+		return pricingMemoEnabled;
+	}
+
+	public void setPricingMemoEnabled(final boolean pricingMemoEnabled) {
+		this.pricingMemoEnabled = pricingMemoEnabled;
+	}
+
+	protected CartPricingStatistics getCartPricingStatistics() {
+		return cartPricingStatistics;
+	}
+
+	public void setCartPricingStatistics(final CartPricingStatistics cartPricingStatistics) {
+		this.cartPricingStatistics = cartPricingStatistics;
+	}
 }
@@ -57,6 +57,7 @@ public class ShoppingCartServiceImpl extends AbstractEpPersistenceServiceImpl im
 	private TimeService timeService;
 	private OrderPaymentApiCleanupService orderPaymentApiCleanupService;
 	private LoadTuner[] loadTuners;
+	private CartPricingStatistics cartPricingStatistics = new CartPricingStatistics();
 
 	/**
 	 * Updates the given shopping cart.
@@ -315,6 +316,7 @@ public class ShoppingCartServiceImpl extends AbstractEpPersistenceServiceImpl im
 		shoppingCart.setShopper(shopper);
 		if (shoppingCartMemento != null) {
 			setShoppingCartMemento(shoppingCart, shoppingCartMemento);
+			cartPricingStatistics.recordCartLoad();
 		}
 		return shoppingCart;
 	}
@@ -599,6 +601,14 @@ public class ShoppingCartServiceImpl extends AbstractEpPersistenceServiceImpl im
 		this.orderPaymentApiCleanupService = orderPaymentApiCleanupService;
 	}
 
+	protected CartPricingStatistics getCartPricingStatistics() {
+		return cartPricingStatistics;
+	}
+
+	public void setCartPricingStatistics(final CartPricingStatistics cartPricingStatistics) {
+		this.cartPricingStatistics = cartPricingStatistics;
+	}
+
 	// END - SPRING SETTERS
 	// This warning had to suppressed because the code is correct as per
 	// https://pmd.github.io/latest/pmd_rules_java_performance.html#optimizabletoarraycall
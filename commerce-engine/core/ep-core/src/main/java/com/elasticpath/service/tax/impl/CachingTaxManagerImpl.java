@@ -3,19 +3,15 @@
  */
 package com.elasticpath.service.tax.impl;
 
-import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
-import com.google.common.base.Optional;
-import net.sf.ehcache.Cache;
-import net.sf.ehcache.Element;
-import org.apache.commons.lang3.SerializationUtils;
-
+import com.elasticpath.base.cache.CacheResult;
+import com.elasticpath.cache.Cache;
 import com.elasticpath.plugin.tax.domain.TaxDocument;
 import com.elasticpath.plugin.tax.domain.TaxOperationContext;
 import com.elasticpath.plugin.tax.domain.TaxableItem;
 import com.elasticpath.plugin.tax.domain.TaxableItemContainer;
-import com.elasticpath.plugin.tax.domain.TaxedItem;
 import com.elasticpath.plugin.tax.manager.TaxManager;
 
 /**
@@ -25,18 +21,19 @@ import com.elasticpath.plugin.tax.manager.TaxManager;
  */
 public class CachingTaxManagerImpl implements TaxManager {
 
-	private Cache cache;
+	private Cache<TaxDocumentCacheKey, TaxDocument> cache;
 	private TaxManager delegateTaxManager;
+	private TaxDocumentCacheStatistics statistics = new TaxDocumentCacheStatistics();
 
 	/**
 	 * Retrieves the tax document for a given taxable container. If the document is cached, then the cached instance
 	 * is returned, otherwise the delegate tax manager is called and the result added to cache.
 	 * <p>
-	 * A hashCode is calculated for all the items in the container and is used as the cache key. The hashCode counts everything
-	 * in the taxable container except the taxable item GUID {@link TaxableItem}, which is the shopping item GUID.
-	 * For the same shopping cart, the shopping item GUID is changed all the time without affecting tax calculations.
-	 * But the GUID is very important when applying the tax result back to the shopping cart. so before returning the tax document,
-	 * its taxedItem's GUID needs to be replaced by the corresponding taxable item id in the supplied taxable container.
+	 * The cache key holds everything in the taxable container except the taxable item GUID {@link TaxableItem}, which is the
+	 * shopping item GUID. For the same shopping cart, the shopping item GUID is changed all the time without affecting tax calculations.
+	 * But the GUID is very important when applying the tax result back to the shopping cart, so the returned tax document is a
+	 * read-only view of the cached one, in which the taxed item GUIDs are those of the taxable items in the supplied taxable container.
+	 * The cached document itself is shared and never modified, so a cache hit doesn't copy it.
 	 *
 	 * @param taxableContainer the taxable container
 	 *
@@ -45,54 +42,37 @@ public class CachingTaxManagerImpl implements TaxManager {
 	 */
 	@Override
 	public TaxDocument calculate(final TaxableItemContainer taxableContainer) {
+		final TaxDocumentCacheKey key = TaxDocumentCacheKey.of(taxableContainer);
 
-		TaxDocument taxDocument = null;
-
-		Integer containerHashCode = taxableContainer.getTaxCacheKeyHash();
-		Optional<TaxDocument> cachedTaxDocument = getFromCache(containerHashCode);
-
+		final CacheResult<TaxDocument> cachedTaxDocument = getCache().get(key);
+		final TaxDocument taxDocument;
 		if (cachedTaxDocument.isPresent()) {
-			Optional<TaxDocument> updatedTaxDocument = replaceTaxItemGuids(taxableContainer, cachedTaxDocument.get());
-			taxDocument = updatedTaxDocument.orNull();
+			statistics.recordHit();
+			taxDocument = cachedTaxDocument.get();
+		} else {
+			// concurrent misses on the same key are coalesced into a single delegate call
+			taxDocument = getCache().get(key, missingKey -> {
+				statistics.recordMiss();
+				return delegateTaxManager.calculate(taxableContainer);
+			});
 		}
 
-		if (taxDocument == null) {
-			// if the document is not in the cache, or the taxItems of taxedItemContainer and the taxableItemContainer have different order
-			TaxDocument newTaxDocument = delegateTaxManager.calculate(taxableContainer);
-			saveInCache(newTaxDocument, containerHashCode);
-			taxDocument = newTaxDocument;
+		final List<String> itemGuids = getItemGuids(taxableContainer);
+		if (taxDocument.getTaxedItemContainer().getItems().size() != itemGuids.size()) {
+			// the taxed items can't be matched to the taxable items by their index, so the document can't be shared
+			getCache().remove(key);
+			return delegateTaxManager.calculate(taxableContainer);
 		}
-
-		return taxDocument;
+		return new GuidRemappedTaxDocument(taxDocument, itemGuids);
 	}
 
-	/*
-	 * The taxable items have GUIDs which do not affect tax calculations, but the GUIDs play important role when applying
-	 *  the tax calculation results back to shopping cart, order shipment or order return. So, it is important to replace
-	 *  the taxed items' GUIDs with the correct GUIDs from the given taxableContainer.
-	*/
-	private Optional<TaxDocument> replaceTaxItemGuids(final TaxableItemContainer taxableContainer, final TaxDocument cachedTaxDocument) {
-
-		if (cachedTaxDocument instanceof Serializable) {
-			//deep clone of TaxDocument and all the taxable items.
-			TaxDocument clonedTaxDocument = (TaxDocument) SerializationUtils.clone((Serializable) cachedTaxDocument);
-			List<? extends TaxedItem> cachedTaxedItems = clonedTaxDocument.getTaxedItemContainer().getItems();
-
-			for (int index = 0; index < cachedTaxedItems.size(); index++) {
-				TaxableItem taxableItem = taxableContainer.getItems().get(index);
-				TaxableItem cachedTaxableItem = cachedTaxedItems.get(index).getTaxableItem();
-				//out of order, not cacheable
-				if (taxableItem.hashCode() != cachedTaxableItem.hashCode()) {
-					return Optional.absent();
-				}
-
-				cachedTaxableItem.setItemGuid(taxableItem.getItemGuid());
-			}
-
-			return Optional.of(clonedTaxDocument);
+	private List<String> getItemGuids(final TaxableItemContainer taxableContainer) {
+		final List<? extends TaxableItem> items = taxableContainer.getItems();
+		final List<String> itemGuids = new ArrayList<>(items.size());
+		for (final TaxableItem item : items) {
+			itemGuids.add(item.getItemGuid());
 		}
-
-		return Optional.absent();
+		return itemGuids;
 	}
 
 	@Override
@@ -105,25 +85,11 @@ public class CachingTaxManagerImpl implements TaxManager {
 		delegateTaxManager.deleteDocument(document, taxOperationContext);
 	}
 
-	private void saveInCache(final TaxDocument document, final Integer containerHashCode) {
-		Element element = new Element(containerHashCode, document);
-		getCache().put(element);
-	}
-
-	private Optional<TaxDocument> getFromCache(final int containerHashCode) {
-		Element element = getCache().get(containerHashCode);
-
-		if (element != null && !element.isExpired()) {
-			return Optional.of((TaxDocument) element.getObjectValue());
-		}
-		return Optional.absent();
-	}
-
-	public Cache getCache() {
+	public Cache<TaxDocumentCacheKey, TaxDocument> getCache() {
 		return cache;
 	}
 
-	public void setCache(final Cache cache) {
+	public void setCache(final Cache<TaxDocumentCacheKey, TaxDocument> cache) {
 		this.cache = cache;
 	}
 
@@ -135,4 +101,12 @@ public class CachingTaxManagerImpl implements TaxManager {
 		this.delegateTaxManager = delegateTaxManager;
 	}
 
+	public TaxDocumentCacheStatistics getStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(final TaxDocumentCacheStatistics statistics) {
+		this.statistics = statistics;
+	}
+
 }
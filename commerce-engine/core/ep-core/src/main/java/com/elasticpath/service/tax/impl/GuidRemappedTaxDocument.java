@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.tax.impl;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import com.elasticpath.plugin.tax.common.TaxJournalType;
+import com.elasticpath.plugin.tax.domain.TaxAddress;
+import com.elasticpath.plugin.tax.domain.TaxDocument;
+import com.elasticpath.plugin.tax.domain.TaxDocumentId;
+import com.elasticpath.plugin.tax.domain.TaxRecord;
+import com.elasticpath.plugin.tax.domain.TaxableItem;
+import com.elasticpath.plugin.tax.domain.TaxedItem;
+import com.elasticpath.plugin.tax.domain.TaxedItemContainer;
+
+/**
+ * A read-only view of a cached tax document, in which the GUIDs of the taxed items are those of the taxable items the document
+ * is returned for, instead of those of the taxable items it was calculated for.
+ * <p>
+ * The cached document is shared by every view and is never modified, so the view rejects every modification.
+ */
+public class GuidRemappedTaxDocument implements TaxDocument, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String READ_ONLY = "Cached tax documents are read-only";
+
+	private final TaxDocument cachedDocument;
+	private final TaxedItemContainer taxedItemContainer;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cachedDocument the cached tax document
+	 * @param itemGuids the GUIDs of the taxable items, in the order of the cached taxed items
+	 */
+	public GuidRemappedTaxDocument(final TaxDocument cachedDocument, final List<String> itemGuids) {
+		this.cachedDocument = cachedDocument;
+		this.taxedItemContainer = new RemappedTaxedItemContainer(cachedDocument.getTaxedItemContainer(), itemGuids);
+	}
+
+	@Override
+	public TaxedItemContainer getTaxedItemContainer() {
+		return taxedItemContainer;
+	}
+
+	@Override
+	public TaxDocumentId getDocumentId() {
+		return cachedDocument.getDocumentId();
+	}
+
+	@Override
+	public String getTaxProviderName() {
+		return cachedDocument.getTaxProviderName();
+	}
+
+	@Override
+	public TaxJournalType getJournalType() {
+		return cachedDocument.getJournalType();
+	}
+
+	@Override
+	public String toString() {
+		return "GuidRemappedTaxDocument[" + cachedDocument + ", items=" + taxedItemContainer.getItems() + "]";
+	}
+
+	/**
+	 * The taxed item container of the view.
+	 */
+	private static class RemappedTaxedItemContainer implements TaxedItemContainer, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final TaxedItemContainer cachedContainer;
+		private final List<TaxedItem> items;
+
+		RemappedTaxedItemContainer(final TaxedItemContainer cachedContainer, final List<String> itemGuids) {
+			this.cachedContainer = cachedContainer;
+
+			final List<? extends TaxedItem> cachedItems = cachedContainer.getItems();
+			final List<TaxedItem> remappedItems = new ArrayList<>(cachedItems.size());
+			for (int index = 0; index < cachedItems.size(); index++) {
+				remappedItems.add(new RemappedTaxedItem(cachedItems.get(index), itemGuids.get(index)));
+			}
+			this.items = Collections.unmodifiableList(remappedItems);
+		}
+
+		@Override
+		public List<? extends TaxedItem> getItems() {
+			return items;
+		}
+
+		@Override
+		public String getStoreCode() {
+			return cachedContainer.getStoreCode();
+		}
+
+		@Override
+		public Currency getCurrency() {
+			return cachedContainer.getCurrency();
+		}
+
+		@Override
+		public TaxAddress getDestinationAddress() {
+			return cachedContainer.getDestinationAddress();
+		}
+
+		@Override
+		public TaxAddress getOriginAddress() {
+			return cachedContainer.getOriginAddress();
+		}
+
+		@Override
+		public boolean isTaxInclusive() {
+			return cachedContainer.isTaxInclusive();
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(items);
+		}
+	}
+
+	/**
+	 * The read-only taxable item of the view, with the GUID of the taxable item the document is returned for.
+	 */
+	private static class RemappedTaxableItem implements TaxableItem, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final TaxableItem cachedItem;
+		private final String itemGuid;
+
+		RemappedTaxableItem(final TaxableItem cachedItem, final String itemGuid) {
+			this.cachedItem = cachedItem;
+			this.itemGuid = itemGuid;
+		}
+
+		@Override
+		public Currency getCurrency() {
+			return cachedItem.getCurrency();
+		}
+
+		@Override
+		public BigDecimal getTaxablePrice() {
+			return cachedItem.getTaxablePrice();
+		}
+
+		@Override
+		public String getTaxCode() {
+			return cachedItem.getTaxCode();
+		}
+
+		@Override
+		public boolean isTaxCodeActive() {
+			return cachedItem.isTaxCodeActive();
+		}
+
+		@Override
+		public String getItemGuid() {
+			return itemGuid;
+		}
+
+		@Override
+		public String getItemCode() {
+			return cachedItem.getItemCode();
+		}
+
+		@Override
+		public String getFieldValue(final String name) {
+			return cachedItem.getFieldValue(name);
+		}
+
+		@Override
+		public int getQuantity() {
+			return cachedItem.getQuantity();
+		}
+
+		@Override
+		public String getItemDescription() {
+			return cachedItem.getItemDescription();
+		}
+
+		@Override
+		public Map<String, String> getFields() {
+			final Map<String, String> fields = cachedItem.getFields();
+			return fields == null ? null : Collections.unmodifiableMap(fields);
+		}
+
+		@Override
+		public void setItemGuid(final String itemGuid) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public void setFieldValue(final String name, final String value) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public void setQuantity(final int quantity) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public void setItemDescription(final String itemDescription) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public void setFields(final Map<String, String> fieldValues) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public String toString() {
+			return itemGuid + "=" + cachedItem;
+		}
+	}
+
+	/**
+	 * The read-only taxed item of the view, with the GUID of the taxable item the document is returned for.
+	 */
+	private static class RemappedTaxedItem extends RemappedTaxableItem implements TaxedItem {
+
+		private static final long serialVersionUID = 1L;
+
+		private final TaxedItem cachedTaxedItem;
+		private final TaxableItem taxableItem;
+
+		RemappedTaxedItem(final TaxedItem cachedTaxedItem, final String itemGuid) {
+			super(cachedTaxedItem, itemGuid);
+			this.cachedTaxedItem = cachedTaxedItem;
+			final TaxableItem cachedTaxableItem = cachedTaxedItem.getTaxableItem();
+			this.taxableItem = cachedTaxableItem == null ? null : new RemappedTaxableItem(cachedTaxableItem, itemGuid);
+		}
+
+		@Override
+		public BigDecimal getTotalTax() {
+			return cachedTaxedItem.getTotalTax();
+		}
+
+		@Override
+		public List<TaxRecord> getTaxRecords() {
+			final List<TaxRecord> taxRecords = cachedTaxedItem.getTaxRecords();
+			return taxRecords == null ? null : Collections.unmodifiableList(taxRecords);
+		}
+
+		@Override
+		public BigDecimal getPriceBeforeTax() {
+			return cachedTaxedItem.getPriceBeforeTax();
+		}
+
+		@Override
+		public BigDecimal getTaxInPrice() {
+			return cachedTaxedItem.getTaxInPrice();
+		}
+
+		@Override
+		public TaxableItem getTaxableItem() {
+			return taxableItem;
+		}
+
+		@Override
+		public BigDecimal getPrice() {
+			return cachedTaxedItem.getPrice();
+		}
+
+		@Override
+		public BigDecimal getDiscount() {
+			return cachedTaxedItem.getDiscount();
+		}
+
+		@Override
+		public void applyDiscount(final BigDecimal discount) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.tax.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.elasticpath.plugin.tax.domain.DiscountableTaxItem;
+import com.elasticpath.plugin.tax.domain.TaxExemption;
+import com.elasticpath.plugin.tax.domain.TaxOperationContext;
+import com.elasticpath.plugin.tax.domain.TaxableItem;
+import com.elasticpath.plugin.tax.domain.TaxableItemContainer;
+
+/**
+ * Key of a cached tax document. Two keys are equal only if every value affecting the tax calculation is equal, so unlike
+ * {@link TaxableItemContainer#getTaxCacheKeyHash()} two different containers can't share a cached document because of a hash collision.
+ * <p>
+ * The values are those of the container, of its tax operation context, except the ones identifying the order or the customer, and
+ * of its items, except their GUIDs. The items are compared in order, so that the cached taxed items can be matched to the items of
+ * the container by their index.
+ */
+public final class TaxDocumentCacheKey implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<Object> values;
+	private final int hashCode;
+
+	private TaxDocumentCacheKey(final List<Object> values) {
+		this.values = values;
+		this.hashCode = values.hashCode();
+	}
+
+	/**
+	 * Create the key of the tax document calculated for the given container.
+	 *
+	 * @param taxableContainer the taxable container
+	 * @return the key
+	 */
+	public static TaxDocumentCacheKey of(final TaxableItemContainer taxableContainer) {
+		final List<? extends TaxableItem> items = taxableContainer.getItems();
+
+		final List<Object> values = new ArrayList<>(items.size() + 2);
+		values.add(Arrays.asList(
+				taxableContainer.getStoreCode(),
+				taxableContainer.getCurrency(),
+				taxableContainer.isTaxInclusive(),
+				taxableContainer.getOriginAddress(),
+				taxableContainer.getDestinationAddress()));
+		values.add(getOperationContextValues(taxableContainer.getTaxOperationContext()));
+		for (final TaxableItem item : items) {
+			values.add(getItemValues(item));
+		}
+
+		return new TaxDocumentCacheKey(values);
+	}
+
+	private static List<Object> getOperationContextValues(final TaxOperationContext context) {
+		if (context == null) {
+			return null;
+		}
+
+		final TaxExemption exemption = context.getTaxExemption();
+
+		return Arrays.asList(
+				context.getCurrency(),
+				context.getJournalType(),
+				context.getTransactionType(),
+				context.getItemObjectType(),
+				context.getTaxOverrideContext(),
+				copyOf(context.getFields()),
+				exemption == null ? null : exemption.getExemptionId(),
+				exemption == null ? null : copyOf(exemption.getAllData()));
+	}
+
+	private static List<Object> getItemValues(final TaxableItem item) {
+		final boolean discountable = item instanceof DiscountableTaxItem;
+
+		return Arrays.asList(
+				item.getItemCode(),
+				item.getTaxCode(),
+				item.isTaxCodeActive(),
+				item.getCurrency(),
+				item.getTaxablePrice(),
+				discountable ? ((DiscountableTaxItem) item).getPrice() : null,
+				discountable ? ((DiscountableTaxItem) item).getDiscount() : null,
+				item.getQuantity(),
+				copyOf(item.getFields()));
+	}
+
+	private static Map<String, String> copyOf(final Map<String, String> map) {
+		return map == null ? null : new HashMap<>(map);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof TaxDocumentCacheKey)) {
+			return false;
+		}
+		final TaxDocumentCacheKey other = (TaxDocumentCacheKey) obj;
+		return hashCode == other.hashCode && values.equals(other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "TaxDocumentCacheKey" + values;
+	}
+}
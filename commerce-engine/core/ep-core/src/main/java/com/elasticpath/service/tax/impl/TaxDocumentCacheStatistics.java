@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.tax.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Hit and miss counters of the tax document cache of {@link CachingTaxManagerImpl}.
+ */
+@ManagedResource(objectName = "com.elasticpath.tax:name=TaxDocumentCache", description = "Tax document cache statistics",
+		currencyTimeLimit = 1)
+public class TaxDocumentCacheStatistics {
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * Record a tax document served from the cache.
+	 */
+	public void recordHit() {
+		hitCount.increment();
+	}
+
+	/**
+	 * Record a tax document calculated by the delegate tax manager.
+	 */
+	public void recordMiss() {
+		missCount.increment();
+	}
+
+	@ManagedAttribute(description = "Number of tax documents served from the cache")
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@ManagedAttribute(description = "Number of tax documents calculated by the delegate tax manager")
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Return the share of the tax documents served from the cache.
+	 *
+	 * @return the hit ratio, between 0 and 1.
+	 */
+	@ManagedAttribute(description = "Share of the tax documents served from the cache")
+	public double getHitRatio() {
+		final long hits = getHitCount();
+		final long total = hits + getMissCount();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits=%d, misses=%d, hitRatio=%.2f", getHitCount(), getMissCount(), getHitRatio());
+	}
+}
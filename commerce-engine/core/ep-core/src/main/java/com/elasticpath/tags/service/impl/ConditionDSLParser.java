@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tags.service.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
+
+import com.elasticpath.tags.domain.Condition;
+import com.elasticpath.tags.domain.LogicalOperator;
+import com.elasticpath.tags.domain.LogicalOperatorType;
+
+/**
+ * Parses condition strings in tag framework DSL format into logical operator trees without compiling them as Groovy scripts.
+ * <p>
+ * Only the subset of the DSL generated by {@link GroovyConditionDSLBuilderImpl#getConditionalDSLString} is accepted, e.g.
+ * {@code { AND { CUSTOMER_AGE.greaterThan (18i) } { OR { LOCATION.contains 'US' } { LOCATION.contains "CA" } } } }, and the tag
+ * values are typed as Groovy would type them. Anything else, such as an operator which is not one of the known ones, throws an
+ * {@link IllegalArgumentException} so that the caller can fall back on the Groovy builder.
+ */
+public class ConditionDSLParser {
+
+	private static final int MAX_INTEGER_DIGITS = 9;
+
+	private final String dsl;
+
+	private final Set<String> operators;
+
+	private int position;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dsl       the condition string to parse
+	 * @param operators the known condition operators
+	 */
+	public ConditionDSLParser(final String dsl, final Set<String> operators) {
+		this.dsl = dsl;
+		this.operators = operators;
+	}
+
+	/**
+	 * Parses the condition string.
+	 *
+	 * @return the root logical operator
+	 * @throws IllegalArgumentException if the condition string is not in the supported subset of the DSL
+	 */
+	public LogicalOperator parse() {
+		position = 0;
+		expect('{');
+		final LogicalOperator root = parseLogicalOperator(logicalOperatorType(parseIdentifier()), null);
+		expect('}');
+		skipWhitespace();
+		if (position != dsl.length()) {
+			throw unexpected();
+		}
+		return root;
+	}
+
+	private LogicalOperator parseLogicalOperator(final LogicalOperatorType operatorType, final LogicalOperator parent) {
+		final LogicalOperator logicalOperator = new LogicalOperator(operatorType);
+		if (parent != null) {
+			logicalOperator.setParentLogicalOperator(parent);
+			parent.addLogicalOperator(logicalOperator);
+		}
+		while (peek() == '{') {
+			position++;
+			parseClosureBody(logicalOperator);
+			expect('}');
+		}
+		return logicalOperator;
+	}
+
+	private void parseClosureBody(final LogicalOperator parent) {
+		if (peek() == '}') {
+			return;
+		}
+		final String identifier = parseIdentifier();
+		if (peek() != '.') {
+			parseLogicalOperator(logicalOperatorType(identifier), parent);
+			return;
+		}
+		position++;
+		final String operator = parseIdentifier();
+		if (!operators.contains(operator)) {
+			throw new IllegalArgumentException("Unknown condition operator " + operator + " in " + dsl);
+		}
+		parent.addCondition(new Condition(null, identifier, operator, parseValue()));
+	}
+
+	private Object parseValue() {
+		if (peek() == '(') {
+			position++;
+			final Object value = parseLiteral(true);
+			expect(')');
+			return value;
+		}
+		return parseLiteral(false);
+	}
+
+	/**
+	 * Parses a literal; negative numbers must be parenthesised, as Groovy reads {@code TAG.op -1} as a subtraction.
+	 */
+	private Object parseLiteral(final boolean parenthesised) {
+		final char first = peek();
+		if (first == '\'' || first == '"') {
+			return parseString(first);
+		}
+		if (first == '-' && parenthesised || Character.isDigit(first)) {
+			return parseNumber();
+		}
+		final String identifier = parseIdentifier();
+		if ("true".equals(identifier)) {
+			return Boolean.TRUE;
+		} else if ("false".equals(identifier)) {
+			return Boolean.FALSE;
+		}
+		throw new IllegalArgumentException("Unsupported value " + identifier + " in " + dsl);
+	}
+
+	private String parseString(final char quote) {
+		if (dsl.startsWith(new String(new char[] {quote, quote, quote}), position)) {
+			throw unexpected();
+		}
+		final StringBuilder value = new StringBuilder();
+		position++;
+		while (position < dsl.length()) {
+			final char character = dsl.charAt(position++);
+			if (character == quote) {
+				return value.toString();
+			} else if (character == '\\') {
+				value.append(parseEscape());
+			} else if (character == '$' && quote == '"' || character == '\n') {
+				// GString placeholders and multi-line strings are left to Groovy
+				throw unexpected();
+			} else {
+				value.append(character);
+			}
+		}
+		throw unexpected();
+	}
+
+	private char parseEscape() {
+		if (position >= dsl.length()) {
+			throw unexpected();
+		}
+		final char escaped = dsl.charAt(position++);
+		switch (escaped) {
+		case '\\':
+		case '\'':
+		case '"':
+		case '$':
+			return escaped;
+		case 'n':
+			return '\n';
+		case 't':
+			return '\t';
+		case 'r':
+			return '\r';
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		default:
+			throw unexpected();
+		}
+	}
+
+	/**
+	 * Parses a number, typed like Groovy types the literal: the type is given by the suffix if any, else integers are Integer, Long or
+	 * BigInteger depending on their magnitude and decimals are BigDecimal. As in Groovy, the sign is applied after typing the magnitude.
+	 */
+	private Number parseNumber() {
+		final boolean negative = dsl.charAt(position) == '-';
+		if (negative) {
+			position++;
+		}
+		final int start = position;
+		skipDigits();
+		final int integerDigits = position - start;
+		if (integerDigits == 0 || integerDigits > 1 && dsl.charAt(start) == '0') {
+			// no digits or an octal literal
+			throw unexpected();
+		}
+		boolean decimal = false;
+		if (position + 1 < dsl.length() && dsl.charAt(position) == '.' && Character.isDigit(dsl.charAt(position + 1))) {
+			decimal = true;
+			position++;
+			skipDigits();
+		}
+		final String magnitude = dsl.substring(start, position);
+		final char suffix = position < dsl.length() ? Character.toUpperCase(dsl.charAt(position)) : ' ';
+		final Number number = typeNumber(magnitude, decimal, suffix);
+		if (Character.isLetter(suffix)) {
+			position++;
+		}
+		return negative ? negate(number) : number;
+	}
+
+	private Number typeNumber(final String magnitude, final boolean decimal, final char suffix) {
+		switch (suffix) {
+		case 'I':
+			if (decimal || magnitude.length() > MAX_INTEGER_DIGITS) {
+				throw unexpected();
+			}
+			return Integer.valueOf(magnitude);
+		case 'L':
+			if (decimal) {
+				throw unexpected();
+			}
+			return Long.valueOf(magnitude);
+		case 'G':
+			return decimal ? new BigDecimal(magnitude) : new BigInteger(magnitude);
+		case 'F':
+			return Float.valueOf(magnitude);
+		case 'D':
+			return Double.valueOf(magnitude);
+		default:
+			if (Character.isLetter(suffix)) {
+				throw unexpected();
+			}
+			if (decimal) {
+				return new BigDecimal(magnitude);
+			}
+			final BigInteger integer = new BigInteger(magnitude);
+			if (integer.bitLength() < Integer.SIZE) {
+				return integer.intValue();
+			} else if (integer.bitLength() < Long.SIZE) {
+				return integer.longValue();
+			}
+			return integer;
+		}
+	}
+
+	private Number negate(final Number number) {
+		if (number instanceof Integer) {
+			return -number.intValue();
+		} else if (number instanceof Long) {
+			return -number.longValue();
+		} else if (number instanceof Float) {
+			return -number.floatValue();
+		} else if (number instanceof Double) {
+			return -number.doubleValue();
+		} else if (number instanceof BigInteger) {
+			return ((BigInteger) number).negate();
+		}
+		return ((BigDecimal) number).negate();
+	}
+
+	private void skipDigits() {
+		while (position < dsl.length() && Character.isDigit(dsl.charAt(position))) {
+			position++;
+		}
+	}
+
+	private String parseIdentifier() {
+		skipWhitespace();
+		final int start = position;
+		if (position < dsl.length() && Character.isJavaIdentifierStart(dsl.charAt(position)) && dsl.charAt(position) != '$') {
+			position++;
+			while (position < dsl.length() && Character.isJavaIdentifierPart(dsl.charAt(position)) && dsl.charAt(position) != '$') {
+				position++;
+			}
+		}
+		if (start == position) {
+			throw unexpected();
+		}
+		return dsl.substring(start, position);
+	}
+
+	private LogicalOperatorType logicalOperatorType(final String identifier) {
+		for (LogicalOperatorType operatorType : LogicalOperatorType.values()) {
+			if (operatorType.name().equals(identifier)) {
+				return operatorType;
+			}
+		}
+		throw new IllegalArgumentException("Unknown logical operator " + identifier + " in " + dsl);
+	}
+
+	/**
+	 * Skips the whitespace and returns the next character, or a space at the end of the string.
+	 */
+	private char peek() {
+		skipWhitespace();
+		return position < dsl.length() ? dsl.charAt(position) : ' ';
+	}
+
+	private void expect(final char expected) {
+		if (peek() != expected) {
+			throw unexpected();
+		}
+		position++;
+	}
+
+	private void skipWhitespace() {
+		while (position < dsl.length() && Character.isWhitespace(dsl.charAt(position))) {
+			position++;
+		}
+	}
+
+	private IllegalArgumentException unexpected() {
+		return new IllegalArgumentException("Unsupported condition syntax at position " + position + " of " + dsl);
+	}
+}
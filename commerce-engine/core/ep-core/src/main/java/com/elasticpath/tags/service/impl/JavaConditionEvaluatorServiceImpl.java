@@ -3,15 +3,19 @@
  */
 package com.elasticpath.tags.service.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.elasticpath.base.exception.EpServiceException;
+import com.elasticpath.cache.Cache;
 import com.elasticpath.tags.Tag;
 import com.elasticpath.tags.TagSet;
 import com.elasticpath.tags.domain.Condition;
@@ -25,12 +29,18 @@ import com.elasticpath.tags.service.ConditionOperatorEvaluator;
 /**
  * ConditionalExpression evaluator using injected Java-based condition operator evaluators.
  * Evaluates conditions strings that are expressed in tag framework DSL format.
+ * <p>
+ * Condition strings are compiled once into trees of predicates on the tags, which are cached by condition string. They are parsed
+ * by a {@link ConditionDSLParser}, falling back on the Groovy based {@link ConditionDSLBuilder} for the conditions it doesn't support.
  */
 public class JavaConditionEvaluatorServiceImpl implements ConditionEvaluatorService {
 	private static final Logger LOG = LogManager.getLogger(JavaConditionEvaluatorServiceImpl.class);
 
+	private static final Predicate<Map<String, Tag>> ALWAYS_FALSE = tagMap -> false;
+
 	private ConditionDSLBuilder conditionDSLBuilder;
 	private Map<String, ConditionOperatorEvaluator> conditionOperatorEvaluators;
+	private Cache<String, Predicate<Map<String, Tag>>> compiledConditionCache;
 
 	@Override
 	public boolean evaluateConditionOnTags(final TagSet tags, final ConditionalExpression condition) {
@@ -48,15 +58,103 @@ public class JavaConditionEvaluatorServiceImpl implements ConditionEvaluatorServ
 		if (condition.getConditionString().isEmpty()) {
 			return true;
 		}
-		LogicalOperator logicalOperatorTree = conditionDSLBuilder.getLogicalOperationTree(condition.getConditionString());
-
-		boolean result = evaluateLogicalOperatorOnMap(tagMap, logicalOperatorTree);
+		boolean result = getCompiledCondition(condition.getConditionString()).test(tagMap);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Evaluated condition " + condition.getConditionString() + " with tagSet " + tagMap + " for result " + result);
 		}
 		return result;
 	}
 
+	private Predicate<Map<String, Tag>> getCompiledCondition(final String conditionString) {
+		// the cache is optional, e.g. in unit tests, in which case the condition is compiled on every evaluation
+		if (compiledConditionCache == null) {
+			return compileConditionString(conditionString);
+		}
+		return compiledConditionCache.get(conditionString, this::compileConditionString);
+	}
+
+	/**
+	 * Compiles a condition string into a predicate on the tags.
+	 *
+	 * @param conditionString the condition string in tag framework DSL format
+	 * @return the predicate
+	 */
+	protected Predicate<Map<String, Tag>> compileConditionString(final String conditionString) {
+		LogicalOperator logicalOperatorTree;
+		try {
+			logicalOperatorTree = new ConditionDSLParser(conditionString, conditionOperatorEvaluators.keySet()).parse();
+		} catch (IllegalArgumentException e) {
+			LOG.debug("Parsing condition with the DSL builder: {}", e.getMessage());
+			logicalOperatorTree = conditionDSLBuilder.getLogicalOperationTree(conditionString);
+		}
+		return compileLogicalOperator(logicalOperatorTree);
+	}
+
+	/**
+	 * Compiles the passed LogicalOperator into a predicate evaluating it like {@link #evaluateLogicalOperatorOnMap(Map, LogicalOperator)}.
+	 * All the children are evaluated, so that an exception thrown by any of them propagates as it does when interpreting the tree.
+	 *
+	 * @param logicalOperatorTree the logical operator to compile
+	 * @return the predicate
+	 */
+	protected Predicate<Map<String, Tag>> compileLogicalOperator(final LogicalOperator logicalOperatorTree) {
+		if (logicalOperatorTree.getOperatorType() == null
+				|| logicalOperatorTree.getConditions().isEmpty() && logicalOperatorTree.getLogicalOperators().isEmpty()) {
+			return ALWAYS_FALSE;
+		}
+		final List<Predicate<Map<String, Tag>>> children = new ArrayList<>();
+		for (Condition condition : logicalOperatorTree.getConditions()) {
+			children.add(compileCondition(condition));
+		}
+		for (LogicalOperator logicalOperator : logicalOperatorTree.getLogicalOperators()) {
+			children.add(compileLogicalOperator(logicalOperator));
+		}
+		if (children.size() == 1) {
+			return children.get(0);
+		}
+
+		@SuppressWarnings("unchecked")
+		final Predicate<Map<String, Tag>>[] predicates = children.toArray(new Predicate[children.size()]);
+		if (logicalOperatorTree.getOperatorType() == LogicalOperatorType.AND) {
+			return tagMap -> {
+				boolean result = true;
+				for (Predicate<Map<String, Tag>> predicate : predicates) {
+					result &= predicate.test(tagMap);
+				}
+				return result;
+			};
+		}
+		return tagMap -> {
+			boolean result = false;
+			for (Predicate<Map<String, Tag>> predicate : predicates) {
+				result |= predicate.test(tagMap);
+			}
+			return result;
+		};
+	}
+
+	/**
+	 * Compiles the condition into a predicate evaluating it like {@link #evaluateConditionOnMap(Map, Condition)}.
+	 *
+	 * @param condition the condition to compile
+	 * @return the predicate
+	 */
+	protected Predicate<Map<String, Tag>> compileCondition(final Condition condition) {
+		final ConditionOperatorEvaluator conditionOperatorEvaluator = conditionOperatorEvaluators.get(condition.getOperator());
+		if (conditionOperatorEvaluator == null) {
+			final String operator = condition.getOperator();
+			return tagMap -> {
+				throw new EpServiceException("Unrecognized condition operator " + operator);
+			};
+		}
+		final String tagKey = condition.getTagDefinitionString();
+		final Object conditionValue = condition.getTagValue();
+		return tagMap -> {
+			final Tag tag = tagMap.get(tagKey);
+			return tag != null && conditionOperatorEvaluator.evaluate(tag.getValue(), conditionValue);
+		};
+	}
+
 	/**
 	 * Evaluates the passed LogicalOperator using the passed tagMap.
 	 *
@@ -126,6 +224,10 @@ public class JavaConditionEvaluatorServiceImpl implements ConditionEvaluatorServ
 		this.conditionDSLBuilder = conditionDSLBuilder;
 	}
 
+	public void setCompiledConditionCache(final Cache<String, Predicate<Map<String, Tag>>> compiledConditionCache) {
+		this.compiledConditionCache = compiledConditionCache;
+	}
+
 	protected Collection<ConditionOperatorEvaluator> getConditionOperatorEvaluators() {
 		return conditionOperatorEvaluators.values();
 	}
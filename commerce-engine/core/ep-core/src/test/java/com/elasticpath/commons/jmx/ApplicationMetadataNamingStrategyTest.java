@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.commons.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jmx.export.annotation.AnnotationJmxAttributeSource;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Tests {@link ApplicationMetadataNamingStrategy}.
+ */
+public class ApplicationMetadataNamingStrategyTest {
+
+	private static final String BEAN_KEY = "statistics";
+
+	private final ApplicationMetadataNamingStrategy namingStrategy = new ApplicationMetadataNamingStrategy();
+
+	@Before
+	public void setUp() {
+		namingStrategy.setAttributeSource(new AnnotationJmxAttributeSource());
+	}
+
+	@Test
+	public void testApplicationNameIsAddedToTheObjectNameOfTheAnnotation() throws Exception {
+		namingStrategy.setApplicationName("Commerce Manager");
+
+		assertThat(namingStrategy.getObjectName(new Statistics(), BEAN_KEY))
+				.isEqualTo(new ObjectName("com.elasticpath.test:name=Statistics,application=Commerce Manager"));
+	}
+
+	@Test
+	public void testObjectNameOfTheAnnotationIsKeptWithoutApplicationName() throws Exception {
+		assertThat(namingStrategy.getObjectName(new Statistics(), BEAN_KEY))
+				.isEqualTo(new ObjectName("com.elasticpath.test:name=Statistics"));
+	}
+
+	@Test
+	public void testApplicationOfTheAnnotationIsKept() throws Exception {
+		namingStrategy.setApplicationName("Cortex");
+
+		assertThat(namingStrategy.getObjectName(new ApplicationStatistics(), BEAN_KEY))
+				.isEqualTo(new ObjectName("com.elasticpath.test:name=Statistics,application=Search"));
+	}
+
+	@Test
+	public void testUnqualifiedObjectNameIsKept() throws Exception {
+		namingStrategy.setApplicationName("Search");
+		namingStrategy.setUnqualifiedObjectNames(Collections.singleton("com.elasticpath.test:name=Statistics"));
+
+		assertThat(namingStrategy.getObjectName(new Statistics(), BEAN_KEY))
+				.isEqualTo(new ObjectName("com.elasticpath.test:name=Statistics"));
+	}
+
+	/**
+	 * A managed bean.
+	 */
+	@ManagedResource(objectName = "com.elasticpath.test:name=Statistics")
+	public static class Statistics {
+	}
+
+	/**
+	 * A managed bean naming its own application.
+	 */
+	@ManagedResource(objectName = "com.elasticpath.test:name=Statistics,application=Search")
+	public static class ApplicationStatistics {
+	}
+}
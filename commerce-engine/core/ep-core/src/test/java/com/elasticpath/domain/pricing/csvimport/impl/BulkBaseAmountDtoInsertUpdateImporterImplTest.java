@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.domain.pricing.csvimport.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.elasticpath.common.dto.assembler.pricing.BaseAmountDtoAssembler;
+import com.elasticpath.common.dto.pricing.BaseAmountDTO;
+import com.elasticpath.common.dto.pricing.PriceListDescriptorDTO;
+import com.elasticpath.csvimport.ImportValidRow;
+import com.elasticpath.csvimport.impl.ImportValidRowImpl;
+import com.elasticpath.domain.pricing.BaseAmount;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.service.changeset.ChangeSetService;
+import com.elasticpath.service.pricing.PriceUpdatedNotificationService;
+import com.elasticpath.service.pricing.impl.BaseAmountFactoryImpl;
+import com.elasticpath.service.pricing.impl.BaseAmountValidatorImpl;
+
+/**
+ * Unit test for the {@code BulkBaseAmountDtoInsertUpdateImporterImpl} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BulkBaseAmountDtoInsertUpdateImporterImplTest {
+
+	private static final String PRICE_LIST_GUID = "PRICE_LIST";
+	private static final String EXISTING_SKU = "EXISTING_SKU";
+	private static final String NEW_SKU = "NEW_SKU";
+	private static final String SKU_TYPE = "SKU";
+	private static final long EXISTING_UID = 7L;
+	private static final long LAST_UID = 1000L;
+
+	@Mock private JdbcTemplate jdbcTemplate;
+	@Mock private PlatformTransactionManager transactionManager;
+	@Mock private ChangeSetService changeSetService;
+	@Mock private PersistenceEngine persistenceEngine;
+	@Mock private PriceUpdatedNotificationService priceUpdatedNotificationService;
+	@Mock private ResultSet resultSet;
+
+	@Captor private ArgumentCaptor<List<Object[]>> batchArgsCaptor;
+	@Captor private ArgumentCaptor<Collection<BaseAmount>> notifiedBaseAmountsCaptor;
+
+	private BulkBaseAmountDtoInsertUpdateImporterImpl importer;
+
+	@Before
+	public void setUp() {
+		final BaseAmountFactoryImpl baseAmountFactory = new BaseAmountFactoryImpl();
+		baseAmountFactory.setValidator(new BaseAmountValidatorImpl());
+		final BaseAmountDtoAssembler assembler = new BaseAmountDtoAssembler();
+		assembler.setBaseAmountFactory(baseAmountFactory);
+
+		importer = new BulkBaseAmountDtoInsertUpdateImporterImpl() {
+			@Override
+			protected JdbcTemplate getJdbcTemplate() {
+				return jdbcTemplate;
+			}
+		};
+		importer.setBulkImportEnabled(true);
+		importer.setAssembler(assembler);
+		importer.setChangeSetService(changeSetService);
+		importer.setTransactionManager(transactionManager);
+		importer.setPersistenceEngine(persistenceEngine);
+		importer.setPriceUpdatedNotificationService(priceUpdatedNotificationService);
+	}
+
+	/**
+	 * Test that the existing base amount is updated, the new one is inserted with a reserved UID, and both are notified at once.
+	 */
+	@Test
+	public void shouldUpdateExistingAndInsertNewBaseAmountsInBatches() throws SQLException {
+		givenExistingBaseAmount(EXISTING_SKU, new BigDecimal("1.00"));
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("TBASEAMOUNT"))).thenReturn(LAST_UID);
+		when(jdbcTemplate.update(anyString(), eq(LAST_UID + 1), eq("TBASEAMOUNT"), eq(LAST_UID))).thenReturn(1);
+
+		assertThat(importer.importDtos(Arrays.asList(createRow(EXISTING_SKU, 1), createRow(NEW_SKU, 2)), createPriceList()))
+			.isEmpty();
+
+		verify(jdbcTemplate).batchUpdate(eq("UPDATE TBASEAMOUNT SET LIST = ?, SALE = ? WHERE UIDPK = ?"), batchArgsCaptor.capture());
+		assertThat(batchArgsCaptor.getValue())
+			.extracting(args -> args[2])
+			.containsExactly(EXISTING_UID);
+
+		verify(jdbcTemplate).batchUpdate(eq(getInsertStatement()), batchArgsCaptor.capture());
+		assertThat(batchArgsCaptor.getValue())
+			.extracting(args -> args[0], args -> args[2])
+			.containsExactly(tuple(LAST_UID, NEW_SKU));
+
+		verify(persistenceEngine).evictObjectFromCache(any(BaseAmount.class));
+		verify(priceUpdatedNotificationService).notifyPricesUpdated(eq(PRICE_LIST_GUID), notifiedBaseAmountsCaptor.capture());
+		assertThat(notifiedBaseAmountsCaptor.getValue())
+			.extracting(BaseAmount::getObjectGuid)
+			.containsExactly(EXISTING_SKU, NEW_SKU);
+	}
+
+	/**
+	 * Test that the UIDs are reserved again when another one moved the last value in the meantime.
+	 */
+	@Test
+	public void shouldRetryUidReservationOnConcurrentReservation() {
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("TBASEAMOUNT"))).thenReturn(LAST_UID, LAST_UID + 10);
+		when(jdbcTemplate.update(anyString(), eq(LAST_UID + 5), eq("TBASEAMOUNT"), eq(LAST_UID))).thenReturn(0);
+		when(jdbcTemplate.update(anyString(), eq(LAST_UID + 15), eq("TBASEAMOUNT"), eq(LAST_UID + 10))).thenReturn(1);
+
+		assertThat(importer.reserveUids(5))
+			.isEqualTo(LAST_UID + 10);
+	}
+
+	private void givenExistingBaseAmount(final String objectGuid, final BigDecimal quantity) throws SQLException {
+		when(resultSet.getString("OBJECT_GUID")).thenReturn(objectGuid);
+		when(resultSet.getString("OBJECT_TYPE")).thenReturn(SKU_TYPE);
+		when(resultSet.getBigDecimal("QUANTITY")).thenReturn(quantity);
+		when(resultSet.getLong("UIDPK")).thenReturn(EXISTING_UID);
+		doAnswer(invocation -> {
+			invocation.<RowCallbackHandler>getArgument(2).processRow(resultSet);
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(Object[].class), any(RowCallbackHandler.class));
+	}
+
+	private ImportValidRow<BaseAmountDTO> createRow(final String objectGuid, final int rowNumber) {
+		final BaseAmountDTO dto = new BaseAmountDTO();
+		dto.setObjectGuid(objectGuid);
+		dto.setObjectType(SKU_TYPE);
+		dto.setQuantity(BigDecimal.ONE);
+		dto.setListValue(BigDecimal.TEN);
+
+		final ImportValidRowImpl<BaseAmountDTO> row = new ImportValidRowImpl<>();
+		row.setDto(dto);
+		row.setRowNumber(rowNumber);
+		return row;
+	}
+
+	private PriceListDescriptorDTO createPriceList() {
+		final PriceListDescriptorDTO priceList = new PriceListDescriptorDTO();
+		priceList.setGuid(PRICE_LIST_GUID);
+		return priceList;
+	}
+
+	private String getInsertStatement() {
+		return "INSERT INTO TBASEAMOUNT (UIDPK, GUID, OBJECT_GUID, OBJECT_TYPE, PRICE_LIST_GUID, QUANTITY, LIST, SALE)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	}
+}
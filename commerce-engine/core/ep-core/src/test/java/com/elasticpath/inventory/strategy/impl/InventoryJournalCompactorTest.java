@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.inventory.strategy.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.OptimisticLockException;
+
+import org.apache.logging.log4j.Level;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.orm.jpa.JpaOptimisticLockingFailureException;
+
+import com.elasticpath.inventory.InventoryKey;
+import com.elasticpath.inventory.log.impl.InventoryLogContext;
+import com.elasticpath.inventory.log.impl.InventoryLogSupport;
+import com.elasticpath.inventory.strategy.InventoryJournalRollupService;
+
+/**
+ * Test for {@link InventoryJournalCompactor}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InventoryJournalCompactorTest {
+
+	private static final int BATCH_SIZE = 10;
+
+	private static final int CYCLE_SIZE = 100;
+
+	private static final long DEEP_JOURNAL_DEPTH = 50;
+
+	private static final long SHALLOW_JOURNAL_DEPTH = 3;
+
+	private static final long MEDIUM_JOURNAL_DEPTH = 7;
+
+	private static final InventoryKey DEEP_KEY = new InventoryKey("deepSku", 1L);
+
+	private static final InventoryKey MEDIUM_KEY = new InventoryKey("mediumSku", 1L);
+
+	private static final InventoryKey SHALLOW_KEY = new InventoryKey("shallowSku", 1L);
+
+	@Mock
+	private InventoryJournalRollupService inventoryJournalRollupService;
+
+	@Mock
+	private InventoryLogSupport inventoryLogSupport;
+
+	private final InventoryJournalCompactor compactor = new InventoryJournalCompactor();
+
+	@Before
+	public void setUp() {
+		compactor.setInventoryJournalRollupService(inventoryJournalRollupService);
+		compactor.setInventoryLogSupport(inventoryLogSupport);
+		compactor.setBatchSize(BATCH_SIZE);
+		compactor.setCycleSize(CYCLE_SIZE);
+
+		final Map<InventoryKey, Long> journalDepths = new LinkedHashMap<>();
+		journalDepths.put(DEEP_KEY, DEEP_JOURNAL_DEPTH);
+		journalDepths.put(MEDIUM_KEY, MEDIUM_JOURNAL_DEPTH);
+		journalDepths.put(SHALLOW_KEY, SHALLOW_JOURNAL_DEPTH);
+		when(inventoryJournalRollupService.getInventoryKeysByJournalDepth(CYCLE_SIZE)).thenReturn(journalDepths);
+	}
+
+	@Test
+	public void verifyDeepestJournalsAreRolledUpFirst() {
+		assertThat(compactor.compactDeepestJournals()).isEqualTo(3);
+
+		final InOrder inOrder = inOrder(inventoryJournalRollupService);
+		inOrder.verify(inventoryJournalRollupService).processRollup(DEEP_KEY);
+		inOrder.verify(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+		inOrder.verify(inventoryJournalRollupService).processRollup(SHALLOW_KEY);
+		assertThat(compactor.getCompactedJournalCount()).isEqualTo(3);
+		assertThat(compactor.getCompactedRowCount()).isEqualTo(DEEP_JOURNAL_DEPTH + MEDIUM_JOURNAL_DEPTH + SHALLOW_JOURNAL_DEPTH);
+	}
+
+	@Test
+	public void verifyJournalDepthDistributionOfTheLastPassIsExposed() {
+		compactor.compactDeepestJournals();
+
+		assertThat(compactor.getJournalCount()).isEqualTo(3);
+		assertThat(compactor.getMaxJournalDepth()).isEqualTo(DEEP_JOURNAL_DEPTH);
+		assertThat(compactor.getMedianJournalDepth()).isEqualTo(MEDIUM_JOURNAL_DEPTH);
+		assertThat(compactor.getJournalRowCount()).isEqualTo(DEEP_JOURNAL_DEPTH + MEDIUM_JOURNAL_DEPTH + SHALLOW_JOURNAL_DEPTH);
+		assertThat(compactor.getMeanJournalDepth()).isEqualTo(20.0);
+	}
+
+	@Test
+	public void verifyContendedJournalIsSkipped() {
+		doThrow(new JpaOptimisticLockingFailureException(new OptimisticLockException("locked")))
+				.when(inventoryJournalRollupService).processRollup(DEEP_KEY);
+
+		compactor.compactDeepestJournals();
+
+		verify(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+		verify(inventoryJournalRollupService).processRollup(SHALLOW_KEY);
+		verify(inventoryLogSupport).log(eq(Level.INFO), any(String.class), any(InventoryLogContext.class));
+		assertThat(compactor.getContentionCount()).isEqualTo(1);
+		assertThat(compactor.getCompactedJournalCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void verifyFailedJournalDoesNotStopThePass() {
+		doThrow(new IllegalStateException("failed")).when(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+
+		compactor.compactDeepestJournals();
+
+		verify(inventoryJournalRollupService).processRollup(SHALLOW_KEY);
+		assertThat(compactor.getFailureCount()).isEqualTo(1);
+		assertThat(compactor.getCompactedJournalCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void verifyDeepestJournalsAreReadOncePerCycle() {
+		compactor.setBatchSize(1);
+
+		assertThat(compactor.compactDeepestJournals()).isEqualTo(1);
+		assertThat(compactor.compactDeepestJournals()).isEqualTo(1);
+		assertThat(compactor.compactDeepestJournals()).isEqualTo(1);
+
+		verify(inventoryJournalRollupService).getInventoryKeysByJournalDepth(CYCLE_SIZE);
+		final InOrder inOrder = inOrder(inventoryJournalRollupService);
+		inOrder.verify(inventoryJournalRollupService).processRollup(DEEP_KEY);
+		inOrder.verify(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+		inOrder.verify(inventoryJournalRollupService).processRollup(SHALLOW_KEY);
+	}
+
+	@Test
+	public void verifyFailedJournalIsSkippedByTheFollowingCycles() {
+		doThrow(new IllegalStateException("failed")).when(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+
+		compactor.compactDeepestJournals();
+		compactor.compactDeepestJournals();
+
+		verify(inventoryJournalRollupService, times(2)).getInventoryKeysByJournalDepth(CYCLE_SIZE);
+		verify(inventoryJournalRollupService, times(2)).processRollup(DEEP_KEY);
+		verify(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+		assertThat(compactor.getFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void verifyFailedJournalIsRetriedAfterItsRetryDelay() {
+		compactor.setFailureRetryDelay(0);
+		doThrow(new IllegalStateException("failed")).when(inventoryJournalRollupService).processRollup(MEDIUM_KEY);
+
+		compactor.compactDeepestJournals();
+		compactor.compactDeepestJournals();
+
+		verify(inventoryJournalRollupService, times(2)).processRollup(MEDIUM_KEY);
+		assertThat(compactor.getFailureCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void verifyPassRollingNothingUpReportsIt() {
+		doThrow(new IllegalStateException("failed")).when(inventoryJournalRollupService).processRollup(any(InventoryKey.class));
+
+		assertThat(compactor.compactDeepestJournals()).isZero();
+		assertThat(compactor.compactDeepestJournals()).isZero();
+
+		verify(inventoryJournalRollupService, times(3)).processRollup(any(InventoryKey.class));
+		assertThat(compactor.getFailureCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void verifyCompactionLagIsZeroWhenNotRunning() {
+		compactor.compactDeepestJournals();
+
+		assertThat(compactor.getCompactionLag()).isZero();
+	}
+}
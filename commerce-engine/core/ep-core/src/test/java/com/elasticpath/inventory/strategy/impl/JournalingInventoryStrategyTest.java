@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.inventory.strategy.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.impl.CaffeineCacheAdapter;
+import com.elasticpath.commons.beanframework.BeanFactory;
+import com.elasticpath.commons.constants.ContextIdNames;
+import com.elasticpath.inventory.InventoryDto;
+import com.elasticpath.inventory.InventoryExecutionResult;
+import com.elasticpath.inventory.InventoryKey;
+import com.elasticpath.inventory.dao.InventoryDao;
+import com.elasticpath.inventory.dao.InventoryJournalDao;
+import com.elasticpath.inventory.domain.Inventory;
+import com.elasticpath.inventory.domain.InventoryJournal;
+import com.elasticpath.inventory.domain.impl.InventoryImpl;
+import com.elasticpath.inventory.domain.impl.InventoryJournalImpl;
+import com.elasticpath.inventory.impl.InventoryExecutionResultImpl;
+import com.elasticpath.inventory.log.impl.InventoryLogSupport;
+import com.elasticpath.inventory.strategy.InventoryJournalRollup;
+
+/**
+ * Test for {@link JournalingInventoryStrategy}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JournalingInventoryStrategyTest {
+
+	private static final long WAREHOUSE_UID = 1L;
+
+	private static final String SKU_CODE_1 = "sku1";
+
+	private static final String SKU_CODE_2 = "sku2";
+
+	private static final int QUANTITY_ON_HAND = 10;
+
+	private static final int ALLOCATED_ELSEWHERE = 5;
+
+	@Mock
+	private InventoryDao inventoryDao;
+
+	@Mock
+	private InventoryJournalDao inventoryJournalDao;
+
+	@Mock
+	private InventoryLogSupport inventoryLogSupport;
+
+	@Mock
+	private BeanFactory beanFactory;
+
+	private final JournalingInventoryStrategy strategy = new JournalingInventoryStrategy();
+
+	private final Set<String> skuCodes = new HashSet<>(Arrays.asList(SKU_CODE_1, SKU_CODE_2));
+
+	@Before
+	public void setUp() {
+		strategy.setInventoryDao(inventoryDao);
+		strategy.setInventoryJournalDao(inventoryJournalDao);
+		strategy.setInventoryLogSupport(inventoryLogSupport);
+		strategy.setBeanFactory(beanFactory);
+
+		final Map<String, Inventory> inventories = new HashMap<>();
+		inventories.put(SKU_CODE_1, createInventory(SKU_CODE_1));
+		inventories.put(SKU_CODE_2, createInventory(SKU_CODE_2));
+		when(inventoryDao.getInventoryMap(anySet(), anyLong())).thenReturn(inventories);
+
+		final InventoryJournalRollup rollup = new InventoryJournalRollupImpl(SKU_CODE_1, WAREHOUSE_UID, 2, 0);
+		when(inventoryJournalDao.getInventoryRollupsForSkusInWarehouse(anySet(), anyLong()))
+				.thenReturn(Collections.singletonMap(SKU_CODE_1, rollup));
+	}
+
+	@Test
+	public void verifyInventoriesAreReadWithOneRollupQueryPerWarehouse() {
+		final InventoryKey inventoryKey1 = new InventoryKey(SKU_CODE_1, WAREHOUSE_UID);
+		final InventoryKey inventoryKey2 = new InventoryKey(SKU_CODE_2, WAREHOUSE_UID);
+
+		final Map<InventoryKey, InventoryDto> inventories = strategy.getInventories(new HashSet<>(Arrays.asList(inventoryKey1, inventoryKey2)));
+
+		assertThat(inventories.get(inventoryKey1).getAvailableQuantityInStock()).isEqualTo(QUANTITY_ON_HAND - 2);
+		assertThat(inventories.get(inventoryKey2).getAvailableQuantityInStock()).isEqualTo(QUANTITY_ON_HAND);
+		verify(inventoryJournalDao, times(1)).getInventoryRollupsForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+		verify(inventoryJournalDao, never()).getRollup(any(InventoryKey.class));
+	}
+
+	@Test
+	public void verifyCachedInventoriesAreReadOnce() {
+		givenInventoryAvailabilityCache();
+
+		strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+		final Map<String, InventoryDto> inventories = strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+
+		assertThat(inventories.get(SKU_CODE_1).getAvailableQuantityInStock()).isEqualTo(QUANTITY_ON_HAND - 2);
+		assertThat(inventories.get(SKU_CODE_2).getAvailableQuantityInStock()).isEqualTo(QUANTITY_ON_HAND);
+		verify(inventoryDao, times(1)).getInventoryMap(anySet(), anyLong());
+		verify(inventoryJournalDao, times(1)).getInventoryRollupsForSkusInWarehouse(anySet(), anyLong());
+	}
+
+	@Test
+	public void verifyAllocationInvalidatesCachedInventory() {
+		givenInventoryAvailabilityCache();
+		when(beanFactory.getPrototypeBean(ContextIdNames.INVENTORY_JOURNAL, InventoryJournal.class)).thenReturn(new InventoryJournalImpl());
+		when(beanFactory.getPrototypeBean(ContextIdNames.INVENTORY_EXECUTION_RESULT, InventoryExecutionResult.class))
+				.thenReturn(new InventoryExecutionResultImpl());
+
+		strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+		strategy.executeCommand(strategy.getCommandFactory().getAllocateInventoryCommand(new InventoryKey(SKU_CODE_1, WAREHOUSE_UID), 1));
+		strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+
+		verify(inventoryDao, times(1)).getInventoryMap(skuCodes, WAREHOUSE_UID);
+		verify(inventoryDao, times(1)).getInventoryMap(Collections.singleton(SKU_CODE_1), WAREHOUSE_UID);
+	}
+
+	@Test
+	public void verifyAllocationSeesQuantityChangesImmediately() {
+		givenInventoryAvailabilityCache();
+		strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID);
+
+		// allocated by another node, which can't invalidate the cache of this one
+		final InventoryJournalRollup rollup = new InventoryJournalRollupImpl(SKU_CODE_1, WAREHOUSE_UID, ALLOCATED_ELSEWHERE, 0);
+		when(inventoryJournalDao.getInventoryRollupsForSkusInWarehouse(anySet(), anyLong()))
+				.thenReturn(Collections.singletonMap(SKU_CODE_1, rollup));
+
+		assertThat(strategy.getInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID).get(SKU_CODE_1).getAvailableQuantityInStock())
+				.isEqualTo(QUANTITY_ON_HAND - ALLOCATED_ELSEWHERE);
+		assertThat(strategy.getCachedInventoriesForSkusInWarehouse(skuCodes, WAREHOUSE_UID).get(SKU_CODE_1).getAvailableQuantityInStock())
+				.isEqualTo(QUANTITY_ON_HAND - 2);
+	}
+
+	private void givenInventoryAvailabilityCache() {
+		strategy.setInventoryAvailabilityCache(new CaffeineCacheAdapter<>("inventoryAvailabilityCache", Caffeine.newBuilder().build()));
+	}
+
+	private Inventory createInventory(final String skuCode) {
+		final Inventory inventory = new InventoryImpl();
+		inventory.setSkuCode(skuCode);
+		inventory.setWarehouseUid(WAREHOUSE_UID);
+		inventory.setQuantityOnHand(QUANTITY_ON_HAND);
+		return inventory;
+	}
+}
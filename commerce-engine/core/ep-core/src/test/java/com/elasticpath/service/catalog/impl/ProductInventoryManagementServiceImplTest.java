@@ -44,6 +44,7 @@ import com.elasticpath.domain.order.impl.AllocationResultImpl;
 import com.elasticpath.domain.order.impl.OrderImpl;
 import com.elasticpath.domain.order.impl.OrderSkuImpl;
 import com.elasticpath.domain.order.impl.PhysicalOrderShipmentImpl;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.domain.shoppingcart.ShoppingItem;
 import com.elasticpath.domain.store.Store;
 import com.elasticpath.domain.store.Warehouse;
@@ -903,7 +904,8 @@ public class ProductInventoryManagementServiceImplTest {
 				allowing(inventoryJournalDao).getRollup(inventoryKey); will(returnValue(new InventoryJournalRollupImpl()));
 				oneOf(inventoryJournalDao).saveOrUpdate(inventoryJournal); will(returnValue(new InventoryJournalImpl()));
 
-				exactly(2).of(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk());
+				exactly(2).of(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk(),
+						AffectedEntityType.PRODUCT_AVAILABILITY);
 			}
 		});
 
@@ -1019,7 +1021,8 @@ public class ProductInventoryManagementServiceImplTest {
 				allowing(inventoryJournalDao).getRollup(inventoryKey); will(returnValue(new InventoryJournalRollupImpl()));
 				oneOf(inventoryJournalDao).saveOrUpdate(inventoryJournal); will(returnValue(new InventoryJournalImpl()));
 
-				oneOf(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk());
+				oneOf(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk(),
+						AffectedEntityType.PRODUCT_AVAILABILITY);
 			}
 		});
 
@@ -1128,7 +1131,8 @@ public class ProductInventoryManagementServiceImplTest {
 				allowing(productSkuLookup).findByGuid(productSku.getGuid()); will(returnValue(productSku));
 				oneOf(productSkuService).getPreOrBackOrderDetails(SKU_CODE); will(returnValue(preOrBackOrderDetails));
 				exactly(THREE).of(inventoryDao).getInventory(SKU_CODE, WAREHOUSE_UID); will(returnValue(inventory));
-				never(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk());
+				never(indexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, product.getUidPk(),
+						AffectedEntityType.PRODUCT_AVAILABILITY);
 				allowing(inventoryJournalDao).getRollup(inventoryKey); will(returnValue(new InventoryJournalRollupImpl()));
 				allowing(inventoryJournalDao).saveOrUpdate(inventoryJournal); will(returnValue(new InventoryJournalImpl()));
 			}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.contentspace.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+
+import groovy.lang.Script;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.elasticpath.domain.contentspace.ContentWrapper;
+import com.elasticpath.domain.contentspace.ContentWrapperRepository;
+import com.elasticpath.domain.contentspace.Parameter;
+import com.elasticpath.test.MapBasedSimpleTimeoutCache;
+
+/**
+ * Test for {@link ContentWrapperScriptPrecompiler}.
+ */
+public class ContentWrapperScriptPrecompilerTest {
+
+	private static final String INIT_SECTION = "b = 2";
+
+	private static final String EXPRESSION = "a + b";
+
+	private final ContentWrapperRepository contentWrapperRepository = mock(ContentWrapperRepository.class);
+
+	private final MapBasedSimpleTimeoutCache<String, FutureTask<Script>> groovyScriptCache = new MapBasedSimpleTimeoutCache<>();
+
+	private final ContentWrapperScriptPrecompiler precompiler = new ContentWrapperScriptPrecompiler();
+
+	@Before
+	public void setUp() {
+		final FutureTaskGroovyScriptEngineImpl scriptEngine = new FutureTaskGroovyScriptEngineImpl();
+		scriptEngine.setGroovyScriptTimeoutCache(groovyScriptCache);
+		precompiler.setContentWrapperRepository(contentWrapperRepository);
+		precompiler.setScriptEngine(scriptEngine);
+	}
+
+	/** Test that the init sections and the trimmed parameter expressions of the groovy content wrappers are compiled. */
+	@Test
+	public void testScriptsOfGroovyContentWrappersAreCompiled() {
+		final Map<String, ContentWrapper> contentWrappers = new LinkedHashMap<>();
+		contentWrappers.put("groovyWrapper", createContentWrapper("groovy", "  " + EXPRESSION + "\n"));
+		contentWrappers.put("otherWrapper", createContentWrapper("other", "c + d"));
+		when(contentWrapperRepository.getContentWrappers()).thenReturn(contentWrappers);
+
+		assertThat(precompiler.precompileScripts()).isEqualTo(2);
+		assertThat(groovyScriptCache.get(INIT_SECTION)).isNotNull();
+		assertThat(groovyScriptCache.get(EXPRESSION)).isNotNull();
+		assertThat(groovyScriptCache.get("c + d")).isNull();
+	}
+
+	/** Test that a failure to load the content wrappers doesn't propagate. */
+	@Test
+	public void testContentWrapperLoadingFailureIsIgnored() {
+		when(contentWrapperRepository.getContentWrappers()).thenThrow(new IllegalStateException("no content wrappers"));
+
+		assertThat(precompiler.precompileScripts()).isZero();
+	}
+
+	private ContentWrapper createContentWrapper(final String scriptLanguage, final String expression) {
+		final Parameter parameter = mock(Parameter.class);
+		when(parameter.getScriptExpression()).thenReturn(expression);
+		final Parameter staticParameter = mock(Parameter.class);
+
+		final ContentWrapper contentWrapper = mock(ContentWrapper.class);
+		when(contentWrapper.getScriptLanguage()).thenReturn(scriptLanguage);
+		when(contentWrapper.getInitSection()).thenReturn(INIT_SECTION);
+		when(contentWrapper.getTemplateParameters()).thenReturn(Arrays.asList(parameter, staticParameter));
+		return contentWrapper;
+	}
+}
@@ -3,12 +3,16 @@
  */
 package com.elasticpath.service.contentspace.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
+import java.util.Collections;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import groovy.lang.Binding;
 import groovy.lang.Script;
 import org.jmock.Expectations;
 import org.jmock.integration.junit4.JUnitRuleMockery;
@@ -19,7 +23,7 @@ import org.junit.Test;
 
 import com.elasticpath.cache.SimpleTimeoutCache;
 import com.elasticpath.service.contentspace.impl.AbstractGroovyScriptEngineImpl.RunnableScript;
-import com.elasticpath.service.contentspace.impl.FutureTaskGroovyScriptEngineImpl.SynchronizedRunnableScript;
+import com.elasticpath.service.contentspace.impl.FutureTaskGroovyScriptEngineImpl.ScriptInstanceRunnableScript;
 import com.elasticpath.test.MapBasedSimpleTimeoutCache;
 
 /**
@@ -70,10 +74,10 @@ public class FutureTaskGroovyScriptEngineImplTest {
 		scriptEngine.setGroovyScriptTimeoutCache(mapBasedSimpleTimeoutCache);
 
 		RunnableScript script1 = scriptEngine.getCompiledScript(GROOVY_SCRIPT);
-		Script firstScript = ((SynchronizedRunnableScript) script1).getScriptForTestingOnly();
+		Script firstScript = ((ScriptInstanceRunnableScript) script1).getScriptForTestingOnly();
 		
 		RunnableScript script2 = scriptEngine.getCompiledScript(GROOVY_SCRIPT);
-		Script secondScript = ((SynchronizedRunnableScript) script2).getScriptForTestingOnly();
+		Script secondScript = ((ScriptInstanceRunnableScript) script2).getScriptForTestingOnly();
 
 		assertNotSame("We should get different script wrapper.", script1, script2);
 		assertSame("The same underlying script should be returned from the cache.", firstScript, secondScript);
@@ -88,11 +92,11 @@ public class FutureTaskGroovyScriptEngineImplTest {
 		scriptEngine.setGroovyScriptTimeoutCache(mapBasedSimpleTimeoutCache);
 
 		final RunnableScript script1 = scriptEngine.getCompiledScript(GROOVY_SCRIPT);
-		final Script firstScript = ((SynchronizedRunnableScript) script1).getScriptForTestingOnly();
+		final Script firstScript = ((ScriptInstanceRunnableScript) script1).getScriptForTestingOnly();
 		
 		Runnable runnable = () -> {
 			RunnableScript script2 = scriptEngine.getCompiledScript(GROOVY_SCRIPT);
-			Script secondScript = ((SynchronizedRunnableScript) script2).getScriptForTestingOnly();
+			Script secondScript = ((ScriptInstanceRunnableScript) script2).getScriptForTestingOnly();
 			assertNotSame("We should get different script wrapper.", script1, script2);
 			assertSame("The same underlying script should be returned from the cache.", firstScript, secondScript);
 		};
@@ -101,7 +105,41 @@ public class FutureTaskGroovyScriptEngineImplTest {
 		threadAndWait(runnable, max);
 	}
 
-	
+	/** Test concurrent runs of the same script don't share their bindings. */
+	@Test
+	public void testConcurrentRunsUseTheirOwnBinding() {
+		scriptEngine.setGroovyScriptTimeoutCache(new MapBasedSimpleTimeoutCache<>());
+		final RunnableScript script = scriptEngine.getCompiledScript("a * 2");
+		final AtomicInteger failures = new AtomicInteger();
+
+		Runnable runnable = () -> {
+			for (int value = 0; value < 100; value++) {
+				if (!Integer.valueOf(value * 2).equals(script.run(new Binding(Collections.singletonMap("a", value))))) {
+					failures.incrementAndGet();
+				}
+			}
+		};
+
+		final int max = 20;
+		threadAndWait(runnable, max);
+		assertEquals("Each run should see its own binding.", 0, failures.get());
+	}
+
+	/** Test that compilations, cache hits and evaluations are recorded. */
+	@Test
+	public void testStatisticsAreRecorded() {
+		final GroovyScriptStatistics statistics = new GroovyScriptStatistics();
+		scriptEngine.setGroovyScriptStatistics(statistics);
+		scriptEngine.setGroovyScriptTimeoutCache(new MapBasedSimpleTimeoutCache<>());
+
+		scriptEngine.getCompiledScript(GROOVY_SCRIPT).run(new Binding());
+		scriptEngine.getCompiledScript(GROOVY_SCRIPT).run(new Binding());
+
+		assertEquals(1, statistics.getCompilationCount());
+		assertEquals(1, statistics.getCacheHitCount());
+		assertEquals(2, statistics.getEvaluationCount());
+	}
+
 	private void threadAndWait(final Runnable runnable, final int max) {
 		Thread [] threads = new Thread[max];
 		for (int x = 0; x < max; x++) {
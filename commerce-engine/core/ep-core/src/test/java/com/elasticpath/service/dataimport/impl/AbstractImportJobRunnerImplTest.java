@@ -671,6 +671,39 @@ public class AbstractImportJobRunnerImplTest extends AbstractEPServiceTestCase {
 		assertEquals(0, result.size());
 	}
 
+	/**
+	 * Test that the rows of a parallel import wave are partitioned by GUID, keeping the rows of a GUID together and in order.
+	 */
+	@Test
+	public void testPartitionByGuid() {
+		this.importJobRunnerImpl.init(getRequest(this.importJob, Locale.US, null), "id10");
+
+		final String[] firstRowOfGuid1 = new String[] { "row1", "guid1" };
+		final String[] rowOfGuid2 = new String[] { "row2", "guid2" };
+		final String[] secondRowOfGuid1 = new String[] { "row3", "guid1" };
+		final String[] rowWithoutGuid = new String[] { "row4", "" };
+		final int partitionCount = 3;
+
+		final List<List<AbstractImportJobRunnerImpl.ImportRow>> partitions = this.importJobRunnerImpl.partitionByGuid(
+				Arrays.asList(firstRowOfGuid1, rowOfGuid2, secondRowOfGuid1, rowWithoutGuid), 1, partitionCount);
+
+		int partitionedRowCount = 0;
+		for (List<AbstractImportJobRunnerImpl.ImportRow> partition : partitions) {
+			partitionedRowCount += partition.size();
+
+			final List<Integer> rowNumbersOfGuid1 = new ArrayList<>();
+			for (AbstractImportJobRunnerImpl.ImportRow row : partition) {
+				if ("guid1".equals(row.getFields()[1])) {
+					rowNumbersOfGuid1.add(row.getRowNumber());
+				}
+			}
+			if (!rowNumbersOfGuid1.isEmpty()) {
+				assertEquals(Arrays.asList(1, 3), rowNumbersOfGuid1);
+			}
+		}
+		assertEquals(4, partitionedRowCount);
+	}
+
 	/**
 	 * Test method for 'com.elasticpath.service.impl.AbstractImportJobRunnerImpl.getUtility()'.
 	 */
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.osgi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.springframework.jdbc.datasource.lookup.DataSourceLookupFailureException;
+
+/**
+ * Test for {@link OsgiServiceDataSourceLookup}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OsgiServiceDataSourceLookupTest {
+
+	private static final String JNDI_NAME = "jdbc/epjndiReadOnly";
+
+	private static final String JNDI_NAME_FILTER = "(jndiName=" + JNDI_NAME + ")";
+
+	@Mock
+	private BundleContext bundleContext;
+
+	@Mock
+	private ServiceReference<DataSource> serviceReference;
+
+	@Mock
+	private DataSource dataSource;
+
+	private final OsgiServiceDataSourceLookup dataSourceLookup = new OsgiServiceDataSourceLookup();
+
+	@Before
+	public void setUp() {
+		dataSourceLookup.setBundleContext(bundleContext);
+	}
+
+	@Test
+	public void verifyDataSourceServiceIsLookedUpByJndiName() throws InvalidSyntaxException {
+		when(bundleContext.getServiceReferences(DataSource.class, JNDI_NAME_FILTER)).thenReturn(Collections.singletonList(serviceReference));
+		when(bundleContext.getService(serviceReference)).thenReturn(dataSource);
+
+		assertThat(dataSourceLookup.getDataSource(JNDI_NAME)).isSameAs(dataSource);
+	}
+
+	@Test
+	public void verifyMissingDataSourceServiceFailsTheLookup() throws InvalidSyntaxException {
+		when(bundleContext.getServiceReferences(DataSource.class, JNDI_NAME_FILTER)).thenReturn(Collections.emptyList());
+
+		assertThatThrownBy(() -> dataSourceLookup.getDataSource(JNDI_NAME)).isInstanceOf(DataSourceLookupFailureException.class);
+	}
+}
@@ -59,7 +59,7 @@ public class PriceUpdatedNotificationServiceImplTest {
 		final IndexNotification notification = notificationService.createUpdateNotification(productUidPk);
 
 		Assert.assertEquals(productUidPk, notification.getAffectedUid());
-		Assert.assertEquals(AffectedEntityType.SINGLE_UNIT, notification.getAffectedEntityType());
+		Assert.assertEquals(AffectedEntityType.PRODUCT_PRICE, notification.getAffectedEntityType());
 		Assert.assertEquals(IndexType.PRODUCT, notification.getIndexType());
 		Assert.assertEquals(UpdateType.UPDATE, notification.getUpdateType());
 	}
@@ -4,6 +4,7 @@
 package com.elasticpath.service.rules.impl;
 
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.FileNotFoundException;
 
@@ -12,11 +13,15 @@ import org.jmock.integration.junit4.JUnitRuleMockery;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.kie.api.KieBase;
 
+import com.elasticpath.domain.rules.EpRuleBase;
+import com.elasticpath.domain.rules.RuleScenarios;
 import com.elasticpath.domain.rules.RuleSet;
 import com.elasticpath.domain.store.Store;
 import com.elasticpath.persistence.PropertiesDao;
 import com.elasticpath.persistence.api.EpPersistenceException;
+import com.elasticpath.service.rules.RuleService;
 import com.elasticpath.service.rules.RulesPackageCompilationException;
 
 /**
@@ -24,6 +29,8 @@ import com.elasticpath.service.rules.RulesPackageCompilationException;
  */
 public class DBCompilingRuleEngineImplTest {
 
+	private static final String STORE_CODE = "store";
+
 	private DBCompilingRuleEngineImpl ruleEngine;
 
 	private PropertiesDao mockPropertiesDao;
@@ -81,8 +88,39 @@ public class DBCompilingRuleEngineImplTest {
 		context.checking(new Expectations() {
 			{
 				allowing(ruleset).getRuleCode(store); will(returnValue("bad rule code"));
+				allowing(ruleset).getScenario(); will(returnValue(RuleScenarios.CART_SCENARIO));
+				allowing(store).getCode(); will(returnValue(STORE_CODE));
 			}
 		});
 		ruleEngine.recompileRuleBase(ruleset, store);
 	}
+
+	/**
+	 * Tests that a rule base whose rule code has not changed is neither compiled nor stored again.
+	 */
+	@Test
+	public void testUnchangedRuleCodeIsNotRecompiled() {
+		final RuleService ruleService = context.mock(RuleService.class);
+		ruleEngine.setRuleService(ruleService);
+		final RuleSet ruleset = context.mock(RuleSet.class);
+		final Store store = context.mock(Store.class);
+		final EpRuleBase epRuleBase = context.mock(EpRuleBase.class);
+		context.checking(new Expectations() {
+			{
+				allowing(ruleset).getRuleCode(store); will(returnValue("package " + STORE_CODE + "\n"));
+				allowing(ruleset).getScenario(); will(returnValue(RuleScenarios.CART_SCENARIO));
+				allowing(store).getCode(); will(returnValue(STORE_CODE));
+
+				oneOf(ruleService).findRuleBaseByScenario(store, null, RuleScenarios.CART_SCENARIO); will(returnValue(epRuleBase));
+				oneOf(epRuleBase).setRuleBase(with(any(KieBase.class)));
+				oneOf(epRuleBase).setScenarioId(RuleScenarios.CART_SCENARIO);
+				oneOf(epRuleBase).setCatalog(null);
+				oneOf(epRuleBase).setStore(store);
+				oneOf(ruleService).saveOrUpdateRuleBase(epRuleBase); will(returnValue(epRuleBase));
+			}
+		});
+
+		final KieBase ruleBase = ruleEngine.recompileRuleBase(ruleset, store);
+		assertSame("The unchanged rule base should be reused", ruleBase, ruleEngine.recompileRuleBase(ruleset, store));
+	}
 }
@@ -37,6 +37,7 @@ public class DBReadingRuleEngineImplTest {
 	private static final long UID = 2000001L;
 	private static final int YEAR = 2020;
 	private static final String SECOND_STEP = "second-step";
+	private static final long REFRESH_INTERVAL = 60000L;
 
 	private DBReadingRuleEngineImpl ruleEngine;
 
@@ -376,4 +377,31 @@ public class DBReadingRuleEngineImplTest {
 		});
 		assertSame(updatedRuleBase, ruleEngine.getCatalogRuleBase(store));
 	}
+
+	/**
+	 * Test method for {@link DBReadingRuleEngineImpl#getCartRuleBase(Store)} where a rule is
+	 * cached and its refresh interval has not passed, so the database is not checked.
+	 */
+	@Test
+	public void testCartRuleCachedWithinRefreshInterval() {
+		final Store store = mockStore;
+		ruleEngine.setRefreshInterval(REFRESH_INTERVAL);
+
+		final InternalKnowledgeBase ruleBase = mockOldRuleBase;
+		final EpRuleBase mockEpRuleBase = context.mock(EpRuleBase.class);
+		context.checking(new Expectations() {
+			{
+				allowing(mockEpRuleBase).getRuleBase();
+				will(returnValue(ruleBase));
+
+				oneOf(mockRuleService).findRuleBaseByScenario(store, null, RuleScenarios.CART_SCENARIO);
+				will(returnValue(mockEpRuleBase));
+
+				never(mockRuleService).getModifiedDateForRuleBase(with(any(Long.class)));
+			}
+		});
+		ruleEngine.getCartRuleBase(store);
+
+		assertSame(ruleBase, ruleEngine.getCartRuleBase(store));
+	}
 }
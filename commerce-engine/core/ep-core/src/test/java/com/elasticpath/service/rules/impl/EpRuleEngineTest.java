@@ -176,6 +176,36 @@ public class EpRuleEngineTest {
 
 	}
 
+	/**
+	 * Tests that a pooled catalog rule session has its facts deleted before it is reused, so the rules fire again for the same product.
+	 */
+	@Test
+	public void testFireCatalogRulesWithPooledSession() {
+
+		// Given
+		final Product product = mock(Product.class);
+
+		final PromotionRuleDelegate mockDelegate = createMockDelegate();
+		ruleEngine.setPromotionRuleDelegate(mockDelegate);
+		ruleEngine.setCatalogSessionPoolSize(1);
+
+		final RuleSet catalogRuleSet = RuleSetTestUtility.createCatalogRuleSet();
+
+		when(mockDelegate.catalogProductInCategory(eq(product), anyBoolean(), anyString(), anyString())).thenReturn(true);
+		when(mockDelegate.catalogProductIs(eq(product), anyBoolean(), anyString(), anyString())).thenReturn(true);
+		when(mockDelegate.catalogBrandIs(eq(product), anyBoolean(), anyString(), anyString())).thenReturn(true);
+
+		ruleEngine.setRuleSetService(createMockRuleSetService(catalogRuleSet, getEmptyRuleSet()));
+
+		// When
+		ruleEngine.fireCatalogPromotionRules(Arrays.asList(product), Currency.getInstance(USD_CURRENCY), store, new HashMap<>(), new TagSet());
+		ruleEngine.fireCatalogPromotionRules(Arrays.asList(product), Currency.getInstance(USD_CURRENCY), store, new HashMap<>(), new TagSet());
+
+		// Verify
+		verify(mockDelegate, times(2)).applyCatalogCurrencyDiscountAmount(anyLong(), anyLong(), isNull(), anyString(), anyString(), anyString());
+
+	}
+
 	/**
 	 * This method tests that the required products parameter is checked for appropriately.
 	 */
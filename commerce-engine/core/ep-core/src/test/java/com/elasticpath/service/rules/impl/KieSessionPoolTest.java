@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.rules.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.drools.core.SessionConfiguration;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Test for {@link KieSessionPool}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class KieSessionPoolTest {
+
+	private final SessionConfiguration sessionConfiguration = SessionConfiguration.newInstance();
+
+	@Mock
+	private KieBase ruleBase;
+
+	@Mock
+	private StatefulKnowledgeSessionImpl firstSession;
+
+	@Mock
+	private StatefulKnowledgeSessionImpl secondSession;
+
+	@Mock
+	private KieSession foreignSession;
+
+	private KieSessionPool sessionPool;
+
+	@Before
+	public void setUp() {
+		when(ruleBase.newKieSession(any(SessionConfiguration.class), any(Environment.class))).thenReturn(firstSession, secondSession);
+		sessionPool = new KieSessionPool(ruleBase, 1);
+	}
+
+	@Test
+	public void testReturnedSessionIsResetAndReused() {
+		final KieSession session = sessionPool.borrowSession(sessionConfiguration);
+		sessionPool.returnSession(session);
+
+		verify(firstSession).reset();
+		assertThat(sessionPool.borrowSession(sessionConfiguration)).isSameAs(firstSession);
+	}
+
+	@Test
+	public void testSessionsWhichCannotBeResetAreDisposed() {
+		sessionPool.returnSession(foreignSession);
+
+		verify(foreignSession).dispose();
+		assertThat(sessionPool.borrowSession(sessionConfiguration)).isSameAs(firstSession);
+	}
+
+	@Test
+	public void testSessionWhichFailsToResetIsDisposedWithoutFailing() {
+		doThrow(new IllegalStateException("reset failed")).when(firstSession).reset();
+		final KieSession session = sessionPool.borrowSession(sessionConfiguration);
+
+		sessionPool.returnSession(session);
+
+		verify(firstSession).dispose();
+		assertThat(sessionPool.borrowSession(sessionConfiguration)).isSameAs(secondSession);
+	}
+
+	@Test
+	public void testSessionsBeyondThePoolSizeAreDisposed() {
+		final KieSession first = sessionPool.borrowSession(sessionConfiguration);
+		final KieSession second = sessionPool.borrowSession(sessionConfiguration);
+
+		sessionPool.returnSession(first);
+		sessionPool.returnSession(second);
+
+		verify(firstSession, never()).dispose();
+		verify(secondSession).dispose();
+	}
+
+	@Test
+	public void testClosedPoolDisposesSessions() {
+		final KieSession first = sessionPool.borrowSession(sessionConfiguration);
+		final KieSession second = sessionPool.borrowSession(sessionConfiguration);
+		sessionPool.returnSession(first);
+
+		sessionPool.close();
+		sessionPool.returnSession(second);
+
+		verify(firstSession).dispose();
+		verify(secondSession).dispose();
+	}
+}
@@ -349,6 +349,72 @@ public class PricingSnapshotServiceImplTest extends AbstractCatalogDataTestCase
 		pricingSnapshotService.getPricingSnapshotForCart(shoppingCart);
 	}
 
+	@Test
+	public void verifyRulesNotFiredAgainOnUnchangedCart() {
+		final CartPricingStatistics statistics = new CartPricingStatistics();
+		final CountingPricingSnapshotService countingService = new CountingPricingSnapshotService(statistics);
+		final ShoppingCartImpl shoppingCart = getShoppingCart();
+
+		countingService.getPricingSnapshotForCart(shoppingCart);
+		countingService.getPricingSnapshotForCart(shoppingCart);
+
+		assertEquals("The rules should only be fired once on an unchanged cart", 1, countingService.ruleFirings);
+		assertEquals(1, statistics.getRuleFiringCount());
+		assertEquals(1, statistics.getSkippedRuleFiringCount());
+	}
+
+	@Test
+	public void verifyRulesFiredAgainWhenCartChanges() {
+		final CountingPricingSnapshotService countingService = new CountingPricingSnapshotService(new CartPricingStatistics());
+		final ShoppingCartImpl shoppingCart = getShoppingCart();
+
+		countingService.getPricingSnapshotForCart(shoppingCart);
+		shoppingCart.setShippingAddress(null);
+		countingService.getPricingSnapshotForCart(shoppingCart);
+
+		assertEquals("The rules should be fired again once the cart changed", 2, countingService.ruleFirings);
+	}
+
+	@Test
+	public void verifyRulesFiredAgainWhenPromotionsCleared() {
+		final CountingPricingSnapshotService countingService = new CountingPricingSnapshotService(new CartPricingStatistics());
+		final ShoppingCartImpl shoppingCart = getShoppingCart();
+
+		countingService.getPricingSnapshotForCart(shoppingCart);
+		shoppingCart.clearPromotions();
+		countingService.getPricingSnapshotForCart(shoppingCart);
+
+		assertEquals("The rules should be fired again once the promotions are cleared", 2, countingService.ruleFirings);
+	}
+
+	@Test
+	public void verifyRulesFiredOnEachCallWhenMemoDisabled() {
+		final CountingPricingSnapshotService countingService = new CountingPricingSnapshotService(new CartPricingStatistics());
+		countingService.setPricingMemoEnabled(false);
+		final ShoppingCartImpl shoppingCart = getShoppingCart();
+
+		countingService.getPricingSnapshotForCart(shoppingCart);
+		countingService.getPricingSnapshotForCart(shoppingCart);
+
+		assertEquals("The rules should be fired on each call", 2, countingService.ruleFirings);
+	}
+
+	/**
+	 * Pricing snapshot service counting the rule firings instead of firing the rules.
+	 */
+	private static final class CountingPricingSnapshotService extends PricingSnapshotServiceImpl {
+		private int ruleFirings;
+
+		CountingPricingSnapshotService(final CartPricingStatistics statistics) {
+			setCartPricingStatistics(statistics);
+		}
+
+		@Override
+		protected void fireRules(final ShoppingCartImpl shoppingCart) {
+			ruleFirings++;
+		}
+	}
+
 	private ShippingOption mockAvailableShippingOption(final String shippingOptionCode, final Money shippingOptionCost) {
 		final ShippingOption result = mockShippingOption(shippingOptionCode, shippingOptionCost);
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.service.tax.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.cache.impl.CaffeineCacheAdapter;
+import com.elasticpath.plugin.tax.domain.TaxDocument;
+import com.elasticpath.plugin.tax.domain.TaxableItem;
+import com.elasticpath.plugin.tax.domain.TaxableItemContainer;
+import com.elasticpath.plugin.tax.domain.TaxedItem;
+import com.elasticpath.plugin.tax.domain.impl.MutableTaxDocument;
+import com.elasticpath.plugin.tax.domain.impl.MutableTaxableItemContainer;
+import com.elasticpath.plugin.tax.domain.impl.MutableTaxedItem;
+import com.elasticpath.plugin.tax.domain.impl.MutableTaxedItemContainer;
+import com.elasticpath.plugin.tax.domain.impl.TaxableItemImpl;
+import com.elasticpath.plugin.tax.manager.TaxManager;
+
+/**
+ * Unit test for the {@code CachingTaxManagerImpl} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingTaxManagerImplTest {
+
+	private static final Currency CAD = Currency.getInstance("CAD");
+	private static final String STORE_CODE = "store";
+
+	@Mock private TaxManager delegateTaxManager;
+
+	private final CachingTaxManagerImpl cachingTaxManager = new CachingTaxManagerImpl();
+
+	@Before
+	public void setUp() {
+		cachingTaxManager.setCache(new CaffeineCacheAdapter<>("taxDocumentCache", Caffeine.newBuilder().build()));
+		cachingTaxManager.setDelegateTaxManager(delegateTaxManager);
+		when(delegateTaxManager.calculate(any(TaxableItemContainer.class))).thenAnswer(invocation -> calculate(invocation.getArgument(0)));
+	}
+
+	/**
+	 * Test that a container differing only by its item GUIDs is served from the cache, with its own GUIDs.
+	 */
+	@Test
+	public void shouldServeCachedDocumentWithTheGuidsOfTheContainer() {
+		cachingTaxManager.calculate(createContainer("first-1", "first-2", BigDecimal.TEN));
+
+		final TaxDocument taxDocument = cachingTaxManager.calculate(createContainer("second-1", "second-2", BigDecimal.TEN));
+
+		assertThat(taxDocument.getTaxedItemContainer().getItems())
+			.extracting(TaxedItem::getItemGuid)
+			.containsExactly("second-1", "second-2");
+		assertThat(taxDocument.getTaxedItemContainer().getItems())
+			.extracting(taxedItem -> taxedItem.getTaxableItem().getItemGuid())
+			.containsExactly("second-1", "second-2");
+		assertThat(taxDocument.getTaxedItemContainer().getItems())
+			.extracting(TaxedItem::getPrice)
+			.containsExactly(BigDecimal.TEN, BigDecimal.ONE);
+		verify(delegateTaxManager).calculate(any(TaxableItemContainer.class));
+		assertThat(cachingTaxManager.getStatistics().getHitCount())
+			.isEqualTo(1);
+		assertThat(cachingTaxManager.getStatistics().getMissCount())
+			.isEqualTo(1);
+		assertThat(cachingTaxManager.getStatistics().getHitRatio())
+			.isEqualTo(0.5);
+	}
+
+	/**
+	 * Test that a container with different prices isn't served from the cache.
+	 */
+	@Test
+	public void shouldCalculateDocumentOfDifferentContainer() {
+		cachingTaxManager.calculate(createContainer("first-1", "first-2", BigDecimal.TEN));
+
+		final TaxDocument taxDocument = cachingTaxManager.calculate(createContainer("second-1", "second-2", BigDecimal.ONE));
+
+		assertThat(taxDocument.getTaxedItemContainer().getItems())
+			.extracting(TaxedItem::getPrice)
+			.containsExactly(BigDecimal.ONE, BigDecimal.ONE);
+		verify(delegateTaxManager, times(2)).calculate(any(TaxableItemContainer.class));
+		assertThat(cachingTaxManager.getStatistics().getMissCount())
+			.isEqualTo(2);
+	}
+
+	/**
+	 * Test that the returned document can't modify the cached one.
+	 */
+	@Test
+	public void shouldReturnReadOnlyDocument() {
+		final TaxDocument taxDocument = cachingTaxManager.calculate(createContainer("first-1", "first-2", BigDecimal.TEN));
+		final TaxedItem taxedItem = taxDocument.getTaxedItemContainer().getItems().get(0);
+
+		assertThatThrownBy(() -> taxedItem.setItemGuid("other"))
+			.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> taxedItem.getTaxableItem().setQuantity(2))
+			.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> taxedItem.getTaxRecords().clear())
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	private TaxableItemContainer createContainer(final String firstGuid, final String secondGuid, final BigDecimal firstPrice) {
+		final List<TaxableItem> items = new ArrayList<>();
+		items.add(createItem(firstGuid, "sku-1", firstPrice));
+		items.add(createItem(secondGuid, "sku-2", BigDecimal.ONE));
+
+		final MutableTaxableItemContainer container = new MutableTaxableItemContainer();
+		container.setStoreCode(STORE_CODE);
+		container.setCurrency(CAD);
+		container.setItems(items);
+		return container;
+	}
+
+	private TaxableItem createItem(final String guid, final String code, final BigDecimal price) {
+		final TaxableItemImpl item = new TaxableItemImpl();
+		item.setItemGuid(guid);
+		item.setItemCode(code);
+		item.setCurrency(CAD);
+		item.setPrice(price);
+		item.setQuantity(1);
+		return item;
+	}
+
+	private TaxDocument calculate(final TaxableItemContainer container) {
+		final MutableTaxedItemContainer taxedItemContainer = new MutableTaxedItemContainer();
+		taxedItemContainer.initialize(container);
+		for (final TaxableItem item : container.getItems()) {
+			final MutableTaxedItem taxedItem = new MutableTaxedItem();
+			taxedItem.setTaxableItem(item);
+			taxedItemContainer.addTaxedItem(taxedItem);
+		}
+
+		final MutableTaxDocument taxDocument = new MutableTaxDocument();
+		taxDocument.setTaxedItemContainer(taxedItemContainer);
+		return taxDocument;
+	}
+}
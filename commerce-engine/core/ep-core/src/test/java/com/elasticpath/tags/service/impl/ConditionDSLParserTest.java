@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tags.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.elasticpath.tags.domain.Condition;
+import com.elasticpath.tags.domain.LogicalOperator;
+import com.elasticpath.tags.domain.LogicalOperatorType;
+import com.elasticpath.tags.service.ConditionValidationFacade;
+import com.elasticpath.tags.service.TagDefinitionReader;
+
+/**
+ * Test that {@link ConditionDSLParser} parses condition strings into the same trees as {@link GroovyConditionDSLBuilderImpl}.
+ */
+public class ConditionDSLParserTest {
+
+	private static final Set<String> OPERATORS = new HashSet<>(Arrays.asList("equalTo", "greaterThan", "lessThan", "contains"));
+
+	@Test
+	public void testValuesAreTypedAsByGroovy() {
+		assertThat(parseValue("(18i)")).isEqualTo(18);
+		assertThat(parseValue("18")).isEqualTo(18);
+		assertThat(parseValue("(-9)")).isEqualTo(-9);
+		assertThat(parseValue("(3333333333)")).isEqualTo(3333333333L);
+		assertThat(parseValue("(18L)")).isEqualTo(18L);
+		assertThat(parseValue("(18G)")).isEqualTo(BigInteger.valueOf(18));
+		assertThat(parseValue("22.222G")).isEqualTo(new BigDecimal("22.222"));
+		assertThat(parseValue("(-9.0G)")).isEqualTo(new BigDecimal("-9.0"));
+		assertThat(parseValue("1.5")).isEqualTo(new BigDecimal("1.5"));
+		assertThat(parseValue("2.2f")).isEqualTo(2.2f);
+		assertThat(parseValue("true")).isEqualTo(true);
+		assertThat(parseValue("'O\\'Brien'")).isEqualTo("O'Brien");
+		assertThat(parseValue("\"US\"")).isEqualTo("US");
+	}
+
+	@Test
+	public void testNestedConditionsAreParsedAsByGroovy() {
+		assertParsedAsByGroovy("{ AND { CUSTOMER_AGE.greaterThan (18i) } { OR { LOCATION.contains 'US' } { LOCATION.contains \"CA\" } } }");
+		assertParsedAsByGroovy("\t{AND {\n\tage.lessThan (-9.0G)\n\t} }\n");
+		assertParsedAsByGroovy("{ OR { AND { a.equalTo true } { b.equalTo 2.2f } } { c.lessThan (3333333333) } { } }");
+	}
+
+	@Test
+	public void testUnsupportedSyntaxIsRejected() {
+		assertRejected("{ AND { name.is \"smith\" } }");
+		assertRejected("{ AND { name.equalTo \"${smith}\" } }");
+		assertRejected("{ AND { age.lessThan -9 } }");
+		assertRejected("{ AND { age.lessThan 010 } }");
+		assertRejected("{ AND { age.lessThan 1e5 } }");
+		assertRejected("{ NOT { age.lessThan 9 } }");
+		assertRejected("{ AND { age.lessThan 9 } } extra");
+		assertRejected("{ age.lessThan 9 }");
+	}
+
+	private Object parseValue(final String value) {
+		final LogicalOperator root = parse("{ AND { TAG.equalTo " + value + " } }");
+		final Condition condition = root.getConditions().iterator().next();
+		assertThat(condition.getTagDefinitionString()).isEqualTo("TAG");
+		assertThat(condition.getOperator()).isEqualTo("equalTo");
+		assertThat(condition.getTagValue()).isEqualTo(buildWithGroovy("{ AND { TAG.equalTo " + value + " } }")
+				.getConditions().iterator().next().getTagValue());
+		return condition.getTagValue();
+	}
+
+	private void assertParsedAsByGroovy(final String dsl) {
+		assertThat(describe(parse(dsl))).isEqualTo(describe(buildWithGroovy(dsl)));
+	}
+
+	private void assertRejected(final String dsl) {
+		assertThatThrownBy(() -> parse(dsl)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private LogicalOperator parse(final String dsl) {
+		return new ConditionDSLParser(dsl, OPERATORS).parse();
+	}
+
+	private LogicalOperator buildWithGroovy(final String dsl) {
+		final GroovyConditionDSLBuilderImpl conditionDSLBuilder = new GroovyConditionDSLBuilderImpl();
+		conditionDSLBuilder.setTagDefinitionReader(mock(TagDefinitionReader.class));
+		conditionDSLBuilder.setValidationFacade(mock(ConditionValidationFacade.class));
+		return conditionDSLBuilder.getLogicalOperationTree(dsl);
+	}
+
+	private String describe(final LogicalOperator logicalOperator) {
+		final Set<String> children = new TreeSet<>();
+		for (Condition condition : logicalOperator.getConditions()) {
+			final Object value = condition.getTagValue();
+			children.add(condition.getTagDefinitionString() + "." + condition.getOperator() + " " + value + ":" + value.getClass().getName());
+		}
+		for (LogicalOperator child : logicalOperator.getLogicalOperators()) {
+			assertThat(child.getParentLogicalOperator()).isSameAs(logicalOperator);
+			children.add(describe(child));
+		}
+		final LogicalOperatorType operatorType = logicalOperator.getOperatorType();
+		return operatorType + children.toString();
+	}
+}
@@ -15,19 +15,25 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.elasticpath.cache.Cache;
 import com.elasticpath.tags.Tag;
+import com.elasticpath.tags.domain.Condition;
 import com.elasticpath.tags.domain.ConditionalExpression;
 import com.elasticpath.tags.domain.LogicalOperator;
+import com.elasticpath.tags.domain.LogicalOperatorType;
 import com.elasticpath.tags.domain.impl.ConditionalExpressionImpl;
 import com.elasticpath.tags.service.ConditionOperatorEvaluator;
 import com.elasticpath.tags.service.ConditionValidationFacade;
@@ -1052,8 +1058,86 @@ public class JavaConditionEvaluatorServiceImplTest {
 		assertThat(evaluator.evaluateConditionOnMap(falseMap, condition)).isTrue();
 	}
 
+	/**
+	 * Test that a condition is compiled once and then evaluated from the cache.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompiledConditionIsCached() {
+		Map<String, Predicate<Map<String, Tag>>> compiledConditions = new HashMap<>();
+		Cache<String, Predicate<Map<String, Tag>>> compiledConditionCache = mock(Cache.class);
+		when(compiledConditionCache.get(any(), any())).then(invocation -> compiledConditions.computeIfAbsent(
+				invocation.getArgument(0), invocation.<Function<String, Predicate<Map<String, Tag>>>>getArgument(1)));
+		evaluator.setCompiledConditionCache(compiledConditionCache);
+
+		ConditionalExpression condition = givenAConditionWithString("age.lessThan 9");
+
+		assertThat(evaluator.evaluateConditionOnMap(singletonMap(AGE, new Tag(0)), condition)).isTrue();
+		assertThat(evaluator.evaluateConditionOnMap(singletonMap(AGE, new Tag(FIFTY)), condition)).isFalse();
+		assertThat(compiledConditions).containsOnlyKeys(condition.getConditionString());
+	}
+
+	/**
+	 * Test that the compiled predicates evaluate every operator like the logical operator tree, on values of every type and on missing
+	 * tags, alone as well as combined with other conditions under AND and OR.
+	 */
+	@Test
+	public void testCompiledConditionsEvaluateLikeTheLogicalOperatorTree() {
+		final Object[] values = {0, FIVE, TEN, LONG_NUMBER, FLOAT_ONE, BIGDECIMAL_ONE, TRUE, FALSE, FOO, "FOO", "foo,bar", EMPTY};
+		final List<Map<String, Tag>> tagMaps = new ArrayList<>();
+		tagMaps.add(Collections.emptyMap());
+		for (Object value : values) {
+			final Map<String, Tag> tagMap = new HashMap<>();
+			tagMap.put(FOO, new Tag(value));
+			tagMap.put(AGE, new Tag(FIVE));
+			tagMaps.add(tagMap);
+		}
+		final List<String> operators = new ArrayList<>();
+		evaluator.getConditionOperatorEvaluators().forEach(conditionOperatorEvaluator -> operators.add(conditionOperatorEvaluator.getOperator()));
+		operators.add("unknownOperator");
+
+		for (String operator : operators) {
+			for (Object conditionValue : values) {
+				for (LogicalOperatorType operatorType : LogicalOperatorType.values()) {
+					final LogicalOperator single = new LogicalOperator(operatorType);
+					single.addCondition(new Condition(null, FOO, operator, conditionValue));
+
+					final LogicalOperator nested = new LogicalOperator(operatorType == LogicalOperatorType.AND
+							? LogicalOperatorType.OR : LogicalOperatorType.AND);
+					nested.addCondition(new Condition(null, FOO, operator, conditionValue));
+					nested.addCondition(new Condition(null, AGE, "lessThan", TEN));
+					final LogicalOperator combined = new LogicalOperator(operatorType);
+					combined.addCondition(new Condition(null, AGE, "greaterThan", THREE));
+					combined.addLogicalOperator(nested);
+
+					for (Map<String, Tag> tagMap : tagMaps) {
+						assertCompiledLikeInterpreted(single, tagMap);
+						assertCompiledLikeInterpreted(combined, tagMap);
+					}
+				}
+			}
+		}
+	}
+
 	// Private helper methods
 
+	private void assertCompiledLikeInterpreted(final LogicalOperator logicalOperatorTree, final Map<String, Tag> tagMap) {
+		final Predicate<Map<String, Tag>> compiled = evaluator.compileLogicalOperator(logicalOperatorTree);
+		Object expected;
+		try {
+			expected = evaluator.evaluateLogicalOperatorOnMap(tagMap, logicalOperatorTree);
+		} catch (RuntimeException e) {
+			expected = e.getClass();
+		}
+		Object actual;
+		try {
+			actual = compiled.test(tagMap);
+		} catch (RuntimeException e) {
+			actual = e.getClass();
+		}
+		assertThat(actual).as("%s on %s", logicalOperatorTree, tagMap).isEqualTo(expected);
+	}
+
 	private ConditionalExpression givenAConditionWithString(final String stringCondition) {
 		ConditionalExpression condition = new ConditionalExpressionImpl();
 		condition.setGuid(String.valueOf(System.currentTimeMillis()));
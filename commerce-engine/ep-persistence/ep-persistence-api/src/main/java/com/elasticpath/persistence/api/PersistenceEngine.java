@@ -7,6 +7,7 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The persistence engine interface.
@@ -372,6 +373,35 @@ public interface PersistenceEngine {
 	 */
 	<T, E> List<T> retrieveByNamedQueryWithList(String queryName, String listParameterName, Collection<E> values, Object... parameters);
 
+	/**
+	 * Retrieve a list of persistent instances with the specified named query, executing the chunks of the list values in parallel,
+	 * each on a new session. The returned instances are detached. When a transaction is active, the chunks are executed one after the other.
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param parameters the parameters to be used with the given query
+	 * @return a list of detached persistent instances
+	 */
+	<T, E> List<T> retrieveByNamedQueryWithListInParallel(String queryName, String listParameterName, Collection<E> values, Object... parameters);
+
+	/**
+	 * Retrieve the persistent instances with the specified named query one chunk of list values at a time, passing the instances retrieved for
+	 * each chunk to the consumer instead of collecting them into a single list.
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param chunkConsumer the consumer of the persistent instances retrieved for each chunk of values
+	 * @param parameters the parameters to be used with the given query
+	 */
+	<T, E> void streamByNamedQueryWithList(String queryName, String listParameterName, Collection<E> values, Consumer<List<T>> chunkConsumer,
+			Object... parameters);
+
 	/**
 	 * Retrieve a list of persistent instances with the specified  named native query.
 	 *
@@ -151,6 +151,10 @@ public abstract class AbstractQueryExecutor<T extends Persistable> {
 		return Pair.of(result, fetchPlan);
 	}
 
+	protected QueryRouter getQueryRouter() {
+		return queryRouter;
+	}
+
 	public void setQueryRouter(final QueryRouter queryRouter) {
 		this.queryRouter = queryRouter;
 	}
@@ -4,33 +4,56 @@
 
 package com.elasticpath.persistence.openjpa.executors;
 
+import static com.elasticpath.persistence.openjpa.util.QueryUtil.MAX_ALLOWED_LIST_PARAMETERS;
 import static com.elasticpath.persistence.openjpa.util.QueryUtil.getResults;
 import static com.elasticpath.persistence.openjpa.util.QueryUtil.splitCollection;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isActualTransactionActive;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.apache.openjpa.persistence.OpenJPAQuery;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.elasticpath.persistence.api.EpPersistenceException;
 import com.elasticpath.persistence.api.Persistable;
+import com.elasticpath.persistence.api.PersistenceSessionFactory;
+import com.elasticpath.persistence.openjpa.JpaPersistenceSession;
 import com.elasticpath.persistence.openjpa.support.JPAUtil;
 
 /**
  * A specialized version of the {@link NamedQueryExecutor} executor that executes named queries with list of values.
  * E..g SELECT x From XImpl where x.uidPk IN (:list)
  *
+ * The list of values is split into chunks of at most {@link #withChunkSize} values, each executed as a separate query. The chunks can be
+ * executed in parallel, each on a new session (see {@link #withChunkExecutor}), and their results can be passed to a consumer one chunk at
+ * a time instead of being collected into a single list (see {@link #withChunkConsumer}).
+ *
  * @param <V> value type
  * @param <T> entity type
  */
 @SuppressWarnings("rawtypes")
 public class NamedQueryWithListExecutor<V, T extends Persistable> extends AbstractQueryExecutor {
 
+	private static final Logger LOG = LoggerFactory.getLogger(NamedQueryWithListExecutor.class);
+
 	private String queryName;
 	private Map<String, Collection<V>> mapParameters;
 	private String listParameterName;
@@ -40,6 +63,9 @@ public class NamedQueryWithListExecutor<V, T extends Persistable> extends Abstra
 	private Integer maxResults;
 	private Class<?> resultClass;
 	private boolean isNativeQuery;
+	private int chunkSize = MAX_ALLOWED_LIST_PARAMETERS;
+	private Executor chunkExecutor;
+	private Consumer<List<T>> chunkConsumer;
 
 	/**
 	 * Set query name.
@@ -138,6 +164,49 @@ public class NamedQueryWithListExecutor<V, T extends Persistable> extends Abstra
 		return this;
 	}
 
+	/**
+	 * Set the max number of list values bound to a single query.
+	 *
+	 * @param chunkSize the max number of list values per query.
+	 * @return the current instance of {@link NamedQueryWithListExecutor}
+	 */
+	public NamedQueryWithListExecutor withChunkSize(final int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+
+		return this;
+	}
+
+	/**
+	 * Execute the chunks in parallel with the given executor, each on a new session, so the returned entities are detached.
+	 * The new sessions are created by the session factory of the db the query is routed to.
+	 * The chunks are still executed one after the other in the current session when a transaction is active, because the new
+	 * sessions wouldn't see its changes.
+	 *
+	 * @param chunkExecutor the executor running the chunks.
+	 * @return the current instance of {@link NamedQueryWithListExecutor}
+	 */
+	public NamedQueryWithListExecutor withChunkExecutor(final Executor chunkExecutor) {
+		this.chunkExecutor = chunkExecutor;
+
+		return this;
+	}
+
+	/**
+	 * Pass the results to the given consumer one chunk at a time, in the order of the list values, instead of collecting them.
+	 * The result list then only holds the results of the last non-empty chunk, which tells whether the query must be retried.
+	 *
+	 * @param chunkConsumer the consumer of the results of each chunk.
+	 * @return the current instance of {@link NamedQueryWithListExecutor}
+	 */
+	public NamedQueryWithListExecutor withChunkConsumer(final Consumer<List<T>> chunkConsumer) {
+		this.chunkConsumer = chunkConsumer;
+
+		return this;
+	}
+
 	@Override
 	protected String getQuery() {
 		return queryName;
@@ -145,93 +214,172 @@ public class NamedQueryWithListExecutor<V, T extends Persistable> extends Abstra
 
 	@Override
 	protected List<T> executeMultiResultQuery(final EntityManager entityManager) {
-		OpenJPAQuery namedQuery = null;
-
-		if (!isNativeQuery) {
-			namedQuery = OpenJPAPersistence.cast(entityManager.createNamedQuery(queryName));
-		}
-
 		if (this.mapParameters != null) {
-			return executeWithMapParameters(namedQuery);
+			return executeWithMapParameters(entityManager);
 		}
 
 		if (firstResult != null && maxResults != null) {
-			return executeWithParametersAndLimit(namedQuery);
+			return executeWithParametersAndLimit(OpenJPAPersistence.cast(entityManager.createNamedQuery(queryName)));
 		}
 
 		return executeWithParametersInBatches(entityManager);
 	}
 
 	@SuppressWarnings("unchecked")
-	private List<T> executeWithMapParameters(final OpenJPAQuery namedQuery) {
+	private List<T> executeWithMapParameters(final EntityManager entityManager) {
+		if (mapParameters.values().stream().anyMatch(CollectionUtils::isEmpty)) {
+			return Collections.emptyList();
+		}
 
-		for (final Map.Entry<String, Collection<V>> entry : mapParameters.entrySet()) {
-			final Collection<V> mapParamValues = entry.getValue();
+		final OpenJPAQuery namedQuery = OpenJPAPersistence.cast(entityManager.createNamedQuery(queryName));
 
-			if (CollectionUtils.isEmpty(mapParamValues)) {
-				return Collections.emptyList();
-			}
+		//a single list can be split into chunks, while several lists must be bound whole to keep their combinations
+		if (mapParameters.size() == 1) {
+			final Map.Entry<String, Collection<V>> entry = mapParameters.entrySet().iterator().next();
 
-			namedQuery.setParameter(entry.getKey(), mapParamValues);
+			return collectChunkResults(splitCollection(entry.getValue(), chunkSize).stream()
+				.map(chunk -> {
+					namedQuery.setParameter(entry.getKey(), chunk);
+					return getResults(namedQuery);
+				}));
 		}
 
-		return getResults(namedQuery);
+		for (final Map.Entry<String, Collection<V>> entry : mapParameters.entrySet()) {
+			namedQuery.setParameter(entry.getKey(), entry.getValue());
+		}
+
+		return collectChunkResults(Stream.of(getResults(namedQuery)));
 	}
 
-	@SuppressWarnings("unchecked")
 	private List<T> executeWithParametersInBatches(final EntityManager entityManager) {
-		if (isNativeQuery) {
-			return executeNativeQueryWithParametersInBatches(entityManager);
+		final List<List<V>> chunks = splitCollection(values, chunkSize);
+
+		if (chunkExecutor != null && chunks.size() > 1) {
+			if (isActualTransactionActive()) {
+				LOG.debug("Executing the chunks of query {} sequentially because a transaction is active", queryName);
+			} else {
+				return collectChunkResults(executeChunksInParallel(entityManager, chunks));
+			}
 		}
 
-		return executeJPQLQueryWithParametersInBatches(entityManager);
+		return collectChunkResults(chunks.stream().map(createChunkQuery(entityManager)));
 	}
 
-	private List<T> executeJPQLQueryWithParametersInBatches(final EntityManager entityManager) {
-		OpenJPAQuery namedQuery = OpenJPAPersistence.cast(entityManager.createNamedQuery(queryName));
+	/*
+	 * Each chunk is executed on its own new session, created on the db the query is routed to, with a copy of the fetch plan configured
+	 * for the current one. The futures are joined in the order of the chunks.
+	 */
+	private Stream<List<T>> executeChunksInParallel(final EntityManager entityManager, final List<List<V>> chunks) {
+		final PersistenceSessionFactory sessionFactory = getQueryRouter().getSessionFactory(entityManager);
+		final FetchPlan fetchPlan = OpenJPAPersistence.cast(entityManager).getFetchPlan();
+
+		final List<CompletableFuture<List<T>>> futures = chunks.stream()
+			.map(chunk -> CompletableFuture.supplyAsync(() -> executeChunkInNewSession(sessionFactory, fetchPlan, chunk), chunkExecutor))
+			.collect(Collectors.toList());
 
-		List<List<V>> listOfSubListsOfParameters = splitCollection(values);
+		return futures.stream().map(future -> joinChunk(future, futures));
+	}
 
-		final List<T> result = new ArrayList<>();
+	private List<T> executeChunkInNewSession(final PersistenceSessionFactory sessionFactory, final FetchPlan fetchPlan, final List<V> chunk) {
+		final JpaPersistenceSession session = (JpaPersistenceSession) sessionFactory.createPersistenceSession();
+		try {
+			final EntityManager newEntityManager = session.getEntityManager();
+			copyFetchPlan(fetchPlan, OpenJPAPersistence.cast(newEntityManager).getFetchPlan());
+
+			return createChunkQuery(newEntityManager).apply(chunk);
+		} finally {
+			session.close();
+		}
+	}
+
+	/*
+	 * The failure of a chunk is thrown as it would be by a sequential execution, and the chunks not started yet are cancelled.
+	 */
+	private List<T> joinChunk(final CompletableFuture<List<T>> future, final List<CompletableFuture<List<T>>> futures) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			futures.forEach(pendingFuture -> pendingFuture.cancel(false));
+			if (e.getCause() instanceof EpPersistenceException) {
+				throw (EpPersistenceException) e.getCause();
+			}
+			throw new EpPersistenceException("Error occurred while executing a chunk of query " + queryName, e.getCause());
+		}
+	}
 
-		for (List<V> subListOfParameters : listOfSubListsOfParameters) {
+	@SuppressWarnings("unchecked")
+	private void copyFetchPlan(final FetchPlan source, final FetchPlan target) {
+		target.addFetchGroups(source.getFetchGroups());
+		target.addFields(source.getFields());
+		target.setMaxFetchDepth(source.getMaxFetchDepth());
+
+		if (source instanceof JDBCFetchPlan && target instanceof JDBCFetchPlan) {
+			((JDBCFetchPlan) target).setEagerFetchMode(((JDBCFetchPlan) source).getEagerFetchMode());
+			((JDBCFetchPlan) target).setSubclassFetchMode(((JDBCFetchPlan) source).getSubclassFetchMode());
+		}
+	}
 
-			namedQuery.setParameters(arrayParameters);
-			namedQuery.setParameter(listParameterName, subListOfParameters);
+	private Function<List<V>, List<T>> createChunkQuery(final EntityManager entityManager) {
+		if (isNativeQuery) {
+			final String nativeQueryTemplate = JPAUtil.getNativeQueryStringByQueryName(entityManager, queryName);
 
-			result.addAll(getResults(namedQuery));
+			return chunk -> executeNativeQueryChunk(entityManager, nativeQueryTemplate, chunk);
 		}
 
-		return result;
+		final OpenJPAQuery namedQuery = OpenJPAPersistence.cast(entityManager.createNamedQuery(queryName));
+
+		return chunk -> executeJPQLQueryChunk(namedQuery, chunk);
 	}
 
-	private List<T> executeNativeQueryWithParametersInBatches(final EntityManager entityManager) {
-		String nativeQueryTemplate = JPAUtil.getNativeQueryStringByQueryName(entityManager, queryName);
+	@SuppressWarnings("unchecked")
+	private List<T> executeJPQLQueryChunk(final OpenJPAQuery namedQuery, final List<V> subListOfParameters) {
+		namedQuery.setParameters(arrayParameters);
+		namedQuery.setParameter(listParameterName, subListOfParameters);
 
-		List<List<V>> listOfSubListsOfParameters = splitCollection(values);
+		return getResults(namedQuery);
+	}
 
-		final List<T> result = new ArrayList<>();
+	@SuppressWarnings("unchecked")
+	private List<T> executeNativeQueryChunk(final EntityManager entityManager, final String nativeQueryTemplate, final List<V> subListOfParameters) {
+		Object[] listValues = subListOfParameters.toArray();
+
+		String modifiedRawNativeQueryString = JPAUtil.expandListParameterForNativeQuery(nativeQueryTemplate, listValues.length);
 
-		for (List<V> subListOfParameters : listOfSubListsOfParameters) {
-			Object[] listValues = subListOfParameters.toArray();
+		Object[] newArrayParameters = new Object[listValues.length + arrayParameters.length];
+		/*the list-param values can't be set in the native queries the same way as in JPQL ones;
+		  The raw SQL query is modified previously and list of list value placeholders is expanded to match the list of params.
+		  For the simplicity reasons, the list values must be always the first to set.
+		 */
+		System.arraycopy(listValues, 0, newArrayParameters, 0, listValues.length);
+		System.arraycopy(arrayParameters, 0, newArrayParameters, listValues.length, arrayParameters.length);
 
-			String modifiedRawNativeQueryString = JPAUtil.expandListParameterForNativeQuery(nativeQueryTemplate, listValues.length);
+		OpenJPAQuery namedQuery = OpenJPAPersistence.cast(entityManager.createNativeQuery(modifiedRawNativeQueryString, resultClass));
+		namedQuery.setParameters(newArrayParameters);
+
+		return getResults(namedQuery);
+	}
 
-			Object[] newArrayParameters = new Object[listValues.length + arrayParameters.length];
-			/*the list-param values can't be set in the native queries the same way as in JPQL ones;
-			  The raw SQL query is modified previously and list of list value placeholders is expanded to match the list of params.
-			  For the simplicity reasons, the list values must be always the first to set.
-			 */
-			System.arraycopy(listValues, 0, newArrayParameters, 0, listValues.length);
-			System.arraycopy(arrayParameters, 0, newArrayParameters, listValues.length, arrayParameters.length);
+	/*
+	 * The chunk results are evaluated lazily, so that with a chunk consumer only one chunk of results is referenced at a time.
+	 */
+	private List<T> collectChunkResults(final Stream<List<T>> chunkResults) {
+		if (chunkConsumer == null) {
+			final List<T> result = new ArrayList<>();
+			chunkResults.forEachOrdered(result::addAll);
 
-			OpenJPAQuery namedQuery = OpenJPAPersistence.cast(entityManager.createNativeQuery(modifiedRawNativeQueryString, resultClass));
-			namedQuery.setParameters(newArrayParameters);
+			return result;
+		}
 
-			result.addAll(getResults(namedQuery));
+		List<T> lastChunkResult = Collections.emptyList();
+		for (final Iterator<List<T>> iterator = chunkResults.iterator(); iterator.hasNext();) {
+			final List<T> chunkResult = iterator.next();
+			if (!chunkResult.isEmpty()) {
+				chunkConsumer.accept(chunkResult);
+				lastChunkResult = chunkResult;
+			}
 		}
 
-		return result;
+		return lastChunkResult;
 	}
 
 	@SuppressWarnings("unchecked")
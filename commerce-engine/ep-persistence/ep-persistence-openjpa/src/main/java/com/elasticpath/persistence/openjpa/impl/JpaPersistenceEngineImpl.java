@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 
@@ -401,6 +402,42 @@ public class JpaPersistenceEngineImpl implements JpaPersistenceEngineInternal {
 		return queryReader.retrieveByNamedQueryWithList(queryName, listParameterName, values, parameters);
 	}
 
+	/**
+	 * Retrieve a list of detached persistent instances with the specified named query, executing the chunks of list values in parallel.
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param parameters the parameters to be used with the given query
+	 * @return a list of detached persistent instances
+	 */
+	@Override
+	public <T, E> List<T> retrieveByNamedQueryWithListInParallel(final String queryName, final String listParameterName,
+		final Collection<E> values, final Object... parameters) {
+
+		return queryReader.retrieveByNamedQueryWithListInParallel(queryName, listParameterName, values, parameters);
+	}
+
+	/**
+	 * Retrieve the persistent instances with the specified named query, passing them to the consumer one chunk of list values at a time.
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param chunkConsumer the consumer of the persistent instances retrieved for each chunk of values
+	 * @param parameters the parameters to be used with the given query
+	 */
+	@Override
+	public <T, E> void streamByNamedQueryWithList(final String queryName, final String listParameterName, final Collection<E> values,
+		final Consumer<List<T>> chunkConsumer, final Object... parameters) {
+
+		queryReader.streamByNamedQueryWithList(queryName, listParameterName, values, chunkConsumer, parameters);
+	}
+
 	/**
 	 * Retrieve a list of persistent instances with the specified named query.
 	 *
@@ -4,9 +4,13 @@
 
 package com.elasticpath.persistence.openjpa.impl;
 
+import static com.elasticpath.persistence.openjpa.util.QueryUtil.MAX_ALLOWED_LIST_PARAMETERS;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.elasticpath.base.exception.EpSystemException;
 import com.elasticpath.persistence.api.FlushMode;
@@ -27,6 +31,8 @@ public class QueryReader {
 
 	private QueryRouter queryRouter;
 	private FetchPlanHelper fetchPlanHelper;
+	private int listParameterChunkSize = MAX_ALLOWED_LIST_PARAMETERS;
+	private Executor listChunkExecutor;
 
 	/**
 	 * @see com.elasticpath.persistence.api.PersistenceEngine#load(Class, long)
@@ -305,6 +311,52 @@ public class QueryReader {
 			.executeAndReturnResultList();
 	}
 
+	/**
+	 * @see com.elasticpath.persistence.api.PersistenceEngine#retrieveByNamedQueryWithListInParallel(String, String, Collection, Object...)
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param parameters the parameters to be used with the given query
+	 * @return a list of detached persistent instances
+	 */
+	public <T, E> List<T> retrieveByNamedQueryWithListInParallel(final String queryName, final String listParameterName,
+		final Collection<E> values, final Object... parameters) {
+
+		return getNamedQueryWithListExecutor()
+			.withQueryName(queryName)
+			.withListParameterName(listParameterName)
+			.withParameters(parameters)
+			.withParameterValues(values)
+			.withChunkExecutor(listChunkExecutor)
+			.executeAndReturnResultList();
+	}
+
+	/**
+	 * @see com.elasticpath.persistence.api.PersistenceEngine#streamByNamedQueryWithList(String, String, Collection, Consumer, Object...)
+	 *
+	 * @param <T> the object's type to retrieve
+	 * @param <E> the type of values used in the query
+	 * @param queryName the named query
+	 * @param listParameterName the name of the parameter for the list values
+	 * @param values the collection of values
+	 * @param chunkConsumer the consumer of the persistent instances retrieved for each chunk of values
+	 * @param parameters the parameters to be used with the given query
+	 */
+	public <T, E> void streamByNamedQueryWithList(final String queryName, final String listParameterName, final Collection<E> values,
+		final Consumer<List<T>> chunkConsumer, final Object... parameters) {
+
+		getNamedQueryWithListExecutor()
+			.withQueryName(queryName)
+			.withListParameterName(listParameterName)
+			.withParameters(parameters)
+			.withParameterValues(values)
+			.withChunkConsumer(chunkConsumer)
+			.executeAndReturnResultList();
+	}
+
 	/**
 	 * @see com.elasticpath.persistence.api.PersistenceEngine#retrieveByNamedNativeQueryWithList
 	 *
@@ -365,7 +417,8 @@ public class QueryReader {
 	}
 
 	public NamedQueryWithListExecutor getNamedQueryWithListExecutor() {
-		return  getQueryExecutor(NamedQueryWithListExecutor.class);
+		return  getQueryExecutor(NamedQueryWithListExecutor.class)
+			.withChunkSize(listParameterChunkSize);
 	}
 
 	private <T extends AbstractQueryExecutor> T getQueryExecutor(final Class<T> executorClass) {
@@ -387,4 +440,12 @@ public class QueryReader {
 	public void setFetchPlanHelper(final FetchPlanHelper fetchPlanHelper) {
 		this.fetchPlanHelper = fetchPlanHelper;
 	}
+
+	public void setListParameterChunkSize(final int listParameterChunkSize) {
+		this.listParameterChunkSize = listParameterChunkSize;
+	}
+
+	public void setListChunkExecutor(final Executor listChunkExecutor) {
+		this.listChunkExecutor = listChunkExecutor;
+	}
 }
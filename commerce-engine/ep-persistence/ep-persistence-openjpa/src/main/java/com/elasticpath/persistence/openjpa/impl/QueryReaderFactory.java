@@ -4,10 +4,20 @@
 
 package com.elasticpath.persistence.openjpa.impl;
 
+import static com.elasticpath.persistence.openjpa.util.QueryUtil.MAX_ALLOWED_LIST_PARAMETERS;
+
+import java.util.concurrent.Executor;
 import javax.persistence.EntityManager;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.elasticpath.persistence.api.PersistenceSessionFactory;
 import com.elasticpath.persistence.openjpa.routing.HDSSupportBean;
 import com.elasticpath.persistence.openjpa.routing.QueryRouter;
+import com.elasticpath.persistence.openjpa.routing.QueryRoutingStatistics;
+import com.elasticpath.persistence.openjpa.routing.ReplicaLagMonitor;
+import com.elasticpath.persistence.openjpa.support.JPAUtil;
 import com.elasticpath.persistence.openjpa.util.FetchPlanHelper;
 import com.elasticpath.persistence.openjpa.util.QueryRouterMetaInfoHolder;
 
@@ -17,13 +27,22 @@ import com.elasticpath.persistence.openjpa.util.QueryRouterMetaInfoHolder;
  *
  * {@link QueryRouter} is created through creation of query readers, for the same reason.
  *
+ * The number of list values bound to a single query is the configured max, lowered to the IN clause limit of the database if it has one.
  */
 public class QueryReaderFactory {
 
+	private static final Logger LOG = LoggerFactory.getLogger(QueryReaderFactory.class);
+
 	private EntityManager readOnlyEntityManager;
+	private PersistenceSessionFactory sessionFactory;
+	private PersistenceSessionFactory readOnlySessionFactory;
 	private FetchPlanHelper fetchPlanHelper;
 	private HDSSupportBean hdsSupportBean;
 	private QueryRouterMetaInfoHolder queryRouterMetaInfoHolder;
+	private ReplicaLagMonitor replicaLagMonitor;
+	private QueryRoutingStatistics queryRoutingStatistics;
+	private int maxListParameters = MAX_ALLOWED_LIST_PARAMETERS;
+	private Executor listChunkExecutor;
 
 	/**
 	 * Create a new {@link QueryReader} and pass read-write entity manager for creation of a {@link QueryRouter}.
@@ -36,17 +55,40 @@ public class QueryReaderFactory {
 		QueryRouter queryRouter = createQueryRouter(readWriteEntityManager);
 		queryReader.setQueryRouter(queryRouter);
 		queryReader.setFetchPlanHelper(fetchPlanHelper);
+		queryReader.setListParameterChunkSize(getListParameterChunkSize(readWriteEntityManager));
+		queryReader.setListChunkExecutor(listChunkExecutor);
 
 		return queryReader;
 	}
 
+	private int getListParameterChunkSize(final EntityManager entityManager) {
+		try {
+			int inClauseLimit = JPAUtil.getInClauseLimit(entityManager);
+			if (inClauseLimit > 0 && inClauseLimit < maxListParameters) {
+				return inClauseLimit;
+			}
+		} catch (RuntimeException e) {
+			LOG.warn("Couldn't read the IN clause limit of the database, using {} list parameters per query", maxListParameters, e);
+		}
+
+		return maxListParameters;
+	}
+
 	private QueryRouter createQueryRouter(final EntityManager readWriteEntityManager) {
 		QueryRouter queryRouter = new QueryRouter();
 
 		queryRouter.setReadWriteEntityManager(readWriteEntityManager);
 		queryRouter.setReadOnlyEntityManager(readOnlyEntityManager);
+		queryRouter.setReadWriteSessionFactory(sessionFactory);
+		queryRouter.setReadOnlySessionFactory(readOnlySessionFactory);
 		queryRouter.setHdsSupportBean(hdsSupportBean);
 		queryRouter.setQueryRouterMetaInfoHolder(queryRouterMetaInfoHolder);
+		if (replicaLagMonitor != null) {
+			queryRouter.setReplicaLagMonitor(replicaLagMonitor);
+		}
+		if (queryRoutingStatistics != null) {
+			queryRouter.setQueryRoutingStatistics(queryRoutingStatistics);
+		}
 		queryRouter.init();
 
 		return queryRouter;
@@ -56,6 +98,25 @@ public class QueryReaderFactory {
 		this.readOnlyEntityManager = readOnlyEntityManager;
 	}
 
+	/**
+	 * Set the session factory creating the read-write sessions on which the chunks of list values are executed in parallel.
+	 *
+	 * @param sessionFactory the read-write session factory.
+	 */
+	public void setSessionFactory(final PersistenceSessionFactory sessionFactory) {
+		this.sessionFactory = sessionFactory;
+	}
+
+	/**
+	 * Set the session factory creating the read-only sessions on which the chunks of list values are executed in parallel, when the
+	 * query is routed to the db replica.
+	 *
+	 * @param readOnlySessionFactory the read-only session factory.
+	 */
+	public void setReadOnlySessionFactory(final PersistenceSessionFactory readOnlySessionFactory) {
+		this.readOnlySessionFactory = readOnlySessionFactory;
+	}
+
 	public void setHdsSupportBean(final HDSSupportBean hdsSupportBean) {
 		this.hdsSupportBean = hdsSupportBean;
 	}
@@ -64,6 +125,27 @@ public class QueryReaderFactory {
 		this.queryRouterMetaInfoHolder = queryRouterMetaInfoHolder;
 	}
 
+	public void setReplicaLagMonitor(final ReplicaLagMonitor replicaLagMonitor) {
+		this.replicaLagMonitor = replicaLagMonitor;
+	}
+
+	public void setQueryRoutingStatistics(final QueryRoutingStatistics queryRoutingStatistics) {
+		this.queryRoutingStatistics = queryRoutingStatistics;
+	}
+
+	/**
+	 * Set the max number of list values bound to a single query, before the IN clause limit of the database is applied.
+	 *
+	 * @param maxListParameters the max number of list values.
+	 */
+	public void setMaxListParameters(final int maxListParameters) {
+		this.maxListParameters = maxListParameters;
+	}
+
+	public void setListChunkExecutor(final Executor listChunkExecutor) {
+		this.listChunkExecutor = listChunkExecutor;
+	}
+
 	public void setFetchPlanHelper(final FetchPlanHelper fetchPlanHelper) {
 		this.fetchPlanHelper = fetchPlanHelper;
 	}
@@ -47,9 +47,25 @@ import com.elasticpath.persistence.openjpa.util.FetchModeSettings;
 
 	/**
 	 * Clear all thread-local variables.
+	 * If entities were modified, the current time is recorded as the last write time of the session.
 	 */
 	void clearAll();
 
+	/**
+	 * Set the id of the client session the current thread works for (e.g. derived from the request's access token), so that the writes
+	 * of a request can be read by the next requests of the same session.
+	 *
+	 * @param sessionId the session id.
+	 */
+	void setSessionId(String sessionId);
+
+	/**
+	 * Return the time of the last write of the current session, recorded when a request modifying entities completed.
+	 *
+	 * @return the time in milliseconds since the epoch, or zero if the session hasn't written recently.
+	 */
+	long getLastWriteTime();
+
 	/**
 	 * Check if HDS feature is enabled.
 	 *
@@ -7,6 +7,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import org.apache.openjpa.persistence.jdbc.FetchMode;
 import org.slf4j.Logger;
@@ -19,6 +23,9 @@ import com.elasticpath.persistence.openjpa.util.FetchModeSettings;
  * Holds vital info about modified domain entities, user id and whether a query can be safely executed on db replica.
  *
  * This is a request-scoped bean (managed by com.elasticpath.rest.relos.rs.authentication.web.listener.RequestListener) and it's thread-safe
+ *
+ * The time of the last write of each session is kept for the session write retention period, so that the {@link QueryRouter} can read
+ * from the master until the replica has caught up with it.
  */
 public class HDSSupportBeanImpl implements HDSSupportBean {
 
@@ -27,8 +34,14 @@ public class HDSSupportBeanImpl implements HDSSupportBean {
 	private boolean hdsSupportEnabled;
 	private boolean shouldCheckDbConnectionUrls = true;
 
+	private static final long DEFAULT_SESSION_WRITE_RETENTION = 60000;
+	private static final long DEFAULT_MAX_SESSIONS = 100000;
+
 	private final ThreadLocal<HDSSupportThreadLocalStates> hdsSupportThreadLocalStatesTL = ThreadLocal.withInitial(HDSSupportThreadLocalStates::new);
 
+	private long sessionWriteRetention = DEFAULT_SESSION_WRITE_RETENTION;
+	private long maxSessions = DEFAULT_MAX_SESSIONS;
+	private Cache<String, Long> sessionWriteTimes = createSessionWriteTimes();
 
 	/**
 	 * Default constructor.
@@ -59,9 +72,56 @@ public class HDSSupportBeanImpl implements HDSSupportBean {
 
 	@Override
 	public void clearAll() {
+		final HDSSupportThreadLocalStates states = hdsSupportThreadLocalStatesTL.get();
+		if (states.getSessionId() != null && !states.getModifiedEntities().isEmpty()) {
+			sessionWriteTimes.put(states.getSessionId(), System.currentTimeMillis());
+		}
 		hdsSupportThreadLocalStatesTL.remove();
 	}
 
+	@Override
+	public void setSessionId(final String sessionId) {
+		hdsSupportThreadLocalStatesTL.get().setSessionId(sessionId);
+	}
+
+	@Override
+	public long getLastWriteTime() {
+		final String sessionId = hdsSupportThreadLocalStatesTL.get().getSessionId();
+		if (sessionId == null) {
+			return 0;
+		}
+		final Long lastWriteTime = sessionWriteTimes.getIfPresent(sessionId);
+		return lastWriteTime == null ? 0 : lastWriteTime;
+	}
+
+	/**
+	 * One-time set on application startup - how long the last write time of a session is kept.
+	 * Should be longer than the largest replica lag which is tolerated.
+	 *
+	 * @param sessionWriteRetention the retention in milliseconds.
+	 */
+	public void setSessionWriteRetention(final long sessionWriteRetention) {
+		this.sessionWriteRetention = sessionWriteRetention;
+		this.sessionWriteTimes = createSessionWriteTimes();
+	}
+
+	/**
+	 * One-time set on application startup - the maximum number of sessions whose last write time is kept.
+	 *
+	 * @param maxSessions the maximum number of sessions.
+	 */
+	public void setMaxSessions(final long maxSessions) {
+		this.maxSessions = maxSessions;
+		this.sessionWriteTimes = createSessionWriteTimes();
+	}
+
+	private Cache<String, Long> createSessionWriteTimes() {
+		return CacheBuilder.newBuilder()
+				.expireAfterWrite(sessionWriteRetention, TimeUnit.MILLISECONDS)
+				.maximumSize(maxSessions)
+				.build();
+	}
+
 	@Override
 	public boolean isHdsSupportEnabled() {
 		return hdsSupportEnabled;
@@ -26,6 +26,7 @@ import com.elasticpath.persistence.openjpa.util.FetchModeSettings;
  */
 public class HDSSupportThreadLocalStates {
 	private boolean queryIsSafeForReplica;
+	private String sessionId;
 	private final Set<String> modifiedEntities = new HashSet<>();
 
 	private FetchMode fetchMode;
@@ -42,6 +43,14 @@ public class HDSSupportThreadLocalStates {
 		this.queryIsSafeForReplica = queryIsSafeForReplica;
 	}
 
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public void setSessionId(final String sessionId) {
+		this.sessionId = sessionId;
+	}
+
 	public Set<String> getModifiedEntities() {
 		return modifiedEntities;
 	}
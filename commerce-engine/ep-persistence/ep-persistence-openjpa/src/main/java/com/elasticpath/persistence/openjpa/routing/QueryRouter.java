@@ -15,6 +15,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.elasticpath.persistence.api.PersistenceSessionFactory;
 import com.elasticpath.persistence.openjpa.util.QueryRouterMetaInfoHolder;
 
 /**
@@ -24,8 +25,11 @@ import com.elasticpath.persistence.openjpa.util.QueryRouterMetaInfoHolder;
  * 2. Is Query is safe to execute on replica
  * 3. Is query, being executed, under active and non-read-only transaction
  * 4. Is result null/empty
+ * 5. Is the replica lag within the lag budget
+ * 6. Has the replica caught up with the writes of the current session (read-your-writes)
  *
  * Based on the outcome of these checks read-write or read-only {@link EntityManager} will be used.
+ * The decisions are counted in {@link QueryRoutingStatistics}.
  *
  */
 public class QueryRouter {
@@ -34,9 +38,13 @@ public class QueryRouter {
 
 	private EntityManager readWriteEntityManager;
 	private EntityManager readOnlyEntityManager;
+	private PersistenceSessionFactory readWriteSessionFactory;
+	private PersistenceSessionFactory readOnlySessionFactory;
 
 	private HDSSupportBean hdsSupportBean;
 	private QueryRouterMetaInfoHolder queryRouterMetaInfoHolder;
+	private ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor();
+	private QueryRoutingStatistics queryRoutingStatistics = new QueryRoutingStatistics();
 
 	/**
 	 * If HDS feature is enabled, it will trigger the population of the {@link QueryRouterMetaInfoHolder} structure.
@@ -106,6 +114,7 @@ public class QueryRouter {
 
 		if (shouldRetryOnMaster) {
 				LOG.debug("Query {} will be retried on master", queryName);
+				queryRoutingStatistics.recordRetryOnMaster();
 				return true;
 		}
 
@@ -114,6 +123,20 @@ public class QueryRouter {
 		return false;
 	}
 
+	/**
+	 * Return the session factory creating new sessions on the same db as the given {@link EntityManager}, so that a query split over
+	 * several new sessions is routed as a whole.
+	 *
+	 * @param activeEntityManager the {@link EntityManager} obtained from {@link #getEntityManagerForQuery} method.
+	 * @return the read-only session factory for the read-only {@link EntityManager}, the read-write one otherwise
+	 */
+	public PersistenceSessionFactory getSessionFactory(final EntityManager activeEntityManager) {
+		if (readOnlySessionFactory != null && isHDSEnabledAndActiveManagerIsReadOnly(activeEntityManager)) {
+			return readOnlySessionFactory;
+		}
+		return readWriteSessionFactory;
+	}
+
 	private boolean isHDSEnabledAndActiveManagerIsReadOnly(final EntityManager activeEntityManager) {
 		return hdsSupportBean.isHdsSupportEnabled() && activeEntityManager.equals(readOnlyEntityManager);
 	}
@@ -134,10 +157,29 @@ public class QueryRouter {
 
 		if (isActualTransactionActive() && !isCurrentTransactionReadOnly()) {
 			LOG.debug("Query {} is under TX. Using master", queryName);
+			queryRoutingStatistics.recordMasterReadInTransaction();
+			return false;
+		}
+
+		if (!verifyQueryIsSafeForReplica(queryName)) {
+			queryRoutingStatistics.recordMasterReadForUnsafeQuery();
+			return false;
+		}
+
+		if (!replicaLagMonitor.isWithinLagBudget()) {
+			LOG.debug("Replica lag exceeds the budget. Using master for query {}", queryName);
+			queryRoutingStatistics.recordMasterReadForReplicaLag();
+			return false;
+		}
+
+		if (!replicaLagMonitor.hasCaughtUpTo(hdsSupportBean.getLastWriteTime())) {
+			LOG.debug("Replica hasn't caught up with the writes of the session. Using master for query {}", queryName);
+			queryRoutingStatistics.recordMasterReadForSessionWrites();
 			return false;
 		}
 
-		return verifyQueryIsSafeForReplica(queryName);
+		queryRoutingStatistics.recordReplicaRead();
+		return true;
 	}
 
 	private boolean verifyQueryIsSafeForReplica(final String queryName) {
@@ -152,6 +194,14 @@ public class QueryRouter {
 		this.queryRouterMetaInfoHolder = queryRouterMetaInfoHolder;
 	}
 
+	public void setReplicaLagMonitor(final ReplicaLagMonitor replicaLagMonitor) {
+		this.replicaLagMonitor = replicaLagMonitor;
+	}
+
+	public void setQueryRoutingStatistics(final QueryRoutingStatistics queryRoutingStatistics) {
+		this.queryRoutingStatistics = queryRoutingStatistics;
+	}
+
 	public void setReadWriteEntityManager(final EntityManager readWriteEntityManager) {
 		this.readWriteEntityManager = readWriteEntityManager;
 	}
@@ -167,4 +217,12 @@ public class QueryRouter {
 	public EntityManager getReadOnlyEntityManager() {
 		return readOnlyEntityManager;
 	}
+
+	public void setReadWriteSessionFactory(final PersistenceSessionFactory readWriteSessionFactory) {
+		this.readWriteSessionFactory = readWriteSessionFactory;
+	}
+
+	public void setReadOnlySessionFactory(final PersistenceSessionFactory readOnlySessionFactory) {
+		this.readOnlySessionFactory = readOnlySessionFactory;
+	}
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Counts the routing decisions of all {@link QueryRouter}s, i.e. why queries were executed on the replica or on the master.
+ */
+@ManagedResource(objectName = "com.elasticpath.persistence:name=QueryRoutingStatistics", description = "Query routing decisions",
+		currencyTimeLimit = 1)
+public class QueryRoutingStatistics {
+
+	private final AtomicLong replicaReads = new AtomicLong();
+	private final AtomicLong masterReadsInTransaction = new AtomicLong();
+	private final AtomicLong masterReadsForUnsafeQuery = new AtomicLong();
+	private final AtomicLong masterReadsForReplicaLag = new AtomicLong();
+	private final AtomicLong masterReadsForSessionWrites = new AtomicLong();
+	private final AtomicLong retriesOnMaster = new AtomicLong();
+
+	void recordReplicaRead() {
+		replicaReads.incrementAndGet();
+	}
+
+	void recordMasterReadInTransaction() {
+		masterReadsInTransaction.incrementAndGet();
+	}
+
+	void recordMasterReadForUnsafeQuery() {
+		masterReadsForUnsafeQuery.incrementAndGet();
+	}
+
+	void recordMasterReadForReplicaLag() {
+		masterReadsForReplicaLag.incrementAndGet();
+	}
+
+	void recordMasterReadForSessionWrites() {
+		masterReadsForSessionWrites.incrementAndGet();
+	}
+
+	void recordRetryOnMaster() {
+		retriesOnMaster.incrementAndGet();
+	}
+
+	@ManagedAttribute(description = "Queries executed on the replica")
+	public long getReplicaReads() {
+		return replicaReads.get();
+	}
+
+	@ManagedAttribute(description = "Queries executed on the master because of an active read-write transaction")
+	public long getMasterReadsInTransaction() {
+		return masterReadsInTransaction.get();
+	}
+
+	@ManagedAttribute(description = "Queries executed on the master because they query entities modified by the request")
+	public long getMasterReadsForUnsafeQuery() {
+		return masterReadsForUnsafeQuery.get();
+	}
+
+	@ManagedAttribute(description = "Queries executed on the master because the replica lag exceeds the budget")
+	public long getMasterReadsForReplicaLag() {
+		return masterReadsForReplicaLag.get();
+	}
+
+	@ManagedAttribute(description = "Queries executed on the master because the replica hasn't caught up with the writes of the session")
+	public long getMasterReadsForSessionWrites() {
+		return masterReadsForSessionWrites.get();
+	}
+
+	@ManagedAttribute(description = "Queries retried on the master after an empty result from the replica")
+	public long getRetriesOnMaster() {
+		return retriesOnMaster.get();
+	}
+
+	/**
+	 * Reset all the counters.
+	 */
+	@ManagedOperation(description = "Reset all the counters")
+	public void reset() {
+		replicaReads.set(0);
+		masterReadsInTransaction.set(0);
+		masterReadsForUnsafeQuery.set(0);
+		masterReadsForReplicaLag.set(0);
+		masterReadsForSessionWrites.set(0);
+		retriesOnMaster.set(0);
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+/**
+ * One db replica of a {@link ReadReplicaRoutingDataSource}, with its weight, health and usage counters.
+ *
+ * The latency of a replica is the exponentially weighted moving average of how long its connections are held, which, with connections
+ * retained only for the duration of a query, approximates its query latency.
+ */
+public class ReadReplica {
+
+	private static final double LATENCY_SMOOTHING = 0.2;
+	private static final double NANOS_PER_MILLI = 1_000_000d;
+
+	private final String name;
+	private final DataSource dataSource;
+	private final int weight;
+
+	private final AtomicLong connectionCount = new AtomicLong();
+	private final AtomicLong failureCount = new AtomicLong();
+	private final AtomicInteger connectionsInUse = new AtomicInteger();
+	private volatile double averageLatency;
+	private volatile long ejectedUntil;
+	private volatile boolean lagging;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name the name of the replica, e.g. its JNDI name.
+	 * @param dataSource the data source of the replica.
+	 * @param weight the share of the connections the replica gets, relative to the other replicas.
+	 */
+	public ReadReplica(final String name, final DataSource dataSource, final int weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("The weight of replica " + name + " must be positive: " + weight);
+		}
+		this.name = name;
+		this.dataSource = dataSource;
+		this.weight = weight;
+	}
+
+	/**
+	 * Open a connection to the replica, using the given opener. A successful connection re-admits an ejected replica.
+	 *
+	 * @param opener opens a connection from the data source.
+	 * @return a connection which records its usage when closed.
+	 * @throws SQLException if the connection can't be opened.
+	 */
+	Connection open(final ConnectionOpener opener) throws SQLException {
+		final Connection connection = opener.open(dataSource);
+		ejectedUntil = 0;
+		connectionCount.incrementAndGet();
+		connectionsInUse.incrementAndGet();
+		return trackUsage(connection, System.nanoTime());
+	}
+
+	/**
+	 * Eject the replica after a failure. It's used again, as a last resort, only if every replica has been ejected.
+	 *
+	 * @param until the time, in milliseconds since the epoch, when the replica may be tried again.
+	 */
+	void eject(final long until) {
+		failureCount.incrementAndGet();
+		ejectedUntil = until;
+	}
+
+	/**
+	 * Check if the replica is ejected.
+	 *
+	 * @param now the current time in milliseconds since the epoch.
+	 * @return true, if the replica is ejected.
+	 */
+	boolean isEjected(final long now) {
+		return ejectedUntil > now;
+	}
+
+	/**
+	 * Check if the replica lags beyond the lag budget, as last measured by the {@link ReplicaLagMonitor}.
+	 *
+	 * @return true, if the replica lags beyond the lag budget.
+	 */
+	boolean isLagging() {
+		return lagging;
+	}
+
+	void setLagging(final boolean lagging) {
+		this.lagging = lagging;
+	}
+
+	private Connection trackUsage(final Connection connection, final long openTime) {
+		final AtomicBoolean closed = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+				(proxy, method, args) -> {
+					if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+						connectionsInUse.decrementAndGet();
+						recordLatency((System.nanoTime() - openTime) / NANOS_PER_MILLI);
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (final InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private synchronized void recordLatency(final double latency) {
+		averageLatency = averageLatency == 0 ? latency : averageLatency + LATENCY_SMOOTHING * (latency - averageLatency);
+	}
+
+	DataSource getDataSource() {
+		return dataSource;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public long getConnectionCount() {
+		return connectionCount.get();
+	}
+
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	public int getConnectionsInUse() {
+		return connectionsInUse.get();
+	}
+
+	/**
+	 * Return the average latency of the replica.
+	 *
+	 * @return the average latency in milliseconds.
+	 */
+	public double getAverageLatency() {
+		return averageLatency;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: weight=%d, ejected=%b, lagging=%b, connections=%d, failures=%d, inUse=%d, averageLatencyMs=%.2f",
+				name, weight, isEjected(System.currentTimeMillis()), isLagging(), getConnectionCount(), getFailureCount(), getConnectionsInUse(),
+				getAverageLatency());
+	}
+
+	/**
+	 * Opens a connection from a data source.
+	 */
+	@FunctionalInterface
+	interface ConnectionOpener {
+
+		/**
+		 * Open a connection.
+		 *
+		 * @param dataSource the data source.
+		 * @return the connection.
+		 * @throws SQLException if the connection can't be opened.
+		 */
+		Connection open(DataSource dataSource) throws SQLException;
+	}
+}
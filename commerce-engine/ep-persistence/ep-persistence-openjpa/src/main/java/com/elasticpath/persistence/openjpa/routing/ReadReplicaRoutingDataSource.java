@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.lookup.DataSourceLookup;
+import org.springframework.jdbc.datasource.lookup.JndiDataSourceLookup;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * The read-only data source used by horizontal db scaling (HDS) when reads are spread over several db replicas.
+ *
+ * Each connection is opened from one replica, chosen either at random in proportion to the replica weights, or as the replica with
+ * the lowest average latency. A replica failing to open a connection is ejected for the ejection period and the next one is tried;
+ * once the period is over, the replica is tried again and re-admitted by its first successful connection. A replica which the
+ * {@link ReplicaLagMonitor} found lagging beyond the lag budget is only tried after the replicas within the budget. If every replica is
+ * ejected, they are all still tried before giving up.
+ *
+ * The replicas are configured as a comma separated list of data source names (JNDI names by default), each optionally followed by
+ * a colon and its weight, e.g. {@code jdbc/epjndiReadOnly:2,jdbc/epjndiReadOnly2}.
+ */
+@ManagedResource(objectName = "com.elasticpath.persistence:name=ReadReplicas", description = "Read replicas used by HDS",
+		currencyTimeLimit = 1)
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+	private static final long DEFAULT_EJECTION_PERIOD = 30000;
+
+	/**
+	 * How connections are spread over the replicas.
+	 */
+	public enum BalancingStrategy {
+		/** At random, in proportion to the replica weights. */
+		WEIGHTED,
+		/** To the replica with the lowest average latency. */
+		LEAST_LATENCY
+	}
+
+	private String replicas;
+	private DataSourceLookup dataSourceLookup = new JndiDataSourceLookup();
+	private BalancingStrategy balancingStrategy = BalancingStrategy.WEIGHTED;
+	private long ejectionPeriod = DEFAULT_EJECTION_PERIOD;
+
+	private List<ReadReplica> readReplicas = new ArrayList<>();
+
+	@Override
+	public void afterPropertiesSet() {
+		final List<ReadReplica> configuredReplicas = new ArrayList<>();
+		for (final String replica : StringUtils.split(StringUtils.defaultString(replicas), ',')) {
+			final String name = StringUtils.substringBefore(replica, ":").trim();
+			final String weight = StringUtils.substringAfter(replica, ":").trim();
+			configuredReplicas.add(new ReadReplica(name, dataSourceLookup.getDataSource(name),
+					weight.isEmpty() ? 1 : Integer.parseInt(weight)));
+		}
+		if (configuredReplicas.isEmpty()) {
+			throw new IllegalArgumentException("At least one read replica must be configured");
+		}
+		readReplicas = configuredReplicas;
+		LOG.info(":: Read replicas {} balanced by {}", readReplicas, balancingStrategy);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return openConnection(dataSource -> dataSource.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(final String username, final String password) throws SQLException {
+		return openConnection(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	/**
+	 * Delegates to every replica, so that a missing read replica is still detected by {@code HDSSupportSwitch}.
+	 *
+	 * @return the longest login timeout of the replicas.
+	 */
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		int loginTimeout = 0;
+		for (final ReadReplica replica : readReplicas) {
+			loginTimeout = Math.max(loginTimeout, replica.getDataSource().getLoginTimeout());
+		}
+		return loginTimeout;
+	}
+
+	private Connection openConnection(final ReadReplica.ConnectionOpener opener) throws SQLException {
+		SQLException failure = null;
+		for (final ReadReplica replica : selectReplicas(System.currentTimeMillis())) {
+			try {
+				return replica.open(opener);
+			} catch (final SQLException e) {
+				LOG.warn("Read replica {} failed and is ejected for {}ms", replica.getName(), ejectionPeriod, e);
+				replica.eject(System.currentTimeMillis() + ejectionPeriod);
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if (failure == null) {
+			throw new SQLException("No read replica is configured");
+		}
+		throw failure;
+	}
+
+	/**
+	 * Return the replicas in the order they should be tried: the available ones within the lag budget ordered by the balancing strategy,
+	 * then the lagging ones, then the ejected ones.
+	 *
+	 * @param now the current time in milliseconds since the epoch.
+	 * @return the replicas.
+	 */
+	List<ReadReplica> selectReplicas(final long now) {
+		final List<ReadReplica> available = new ArrayList<>(readReplicas.size());
+		final List<ReadReplica> lagging = new ArrayList<>();
+		final List<ReadReplica> ejected = new ArrayList<>();
+		for (final ReadReplica replica : readReplicas) {
+			if (replica.isEjected(now)) {
+				ejected.add(replica);
+			} else if (replica.isLagging()) {
+				lagging.add(replica);
+			} else {
+				available.add(replica);
+			}
+		}
+
+		if (balancingStrategy == BalancingStrategy.LEAST_LATENCY) {
+			available.sort(Comparator.comparingDouble(ReadReplica::getAverageLatency)
+					.thenComparingInt(ReadReplica::getConnectionsInUse));
+		} else if (available.size() > 1) {
+			available.add(0, available.remove(pickWeighted(available)));
+		}
+
+		available.addAll(lagging);
+		available.addAll(ejected);
+		return available;
+	}
+
+	private int pickWeighted(final List<ReadReplica> candidates) {
+		final int totalWeight = candidates.stream().mapToInt(ReadReplica::getWeight).sum();
+		int target = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (int index = 0; index < candidates.size(); index++) {
+			target -= candidates.get(index).getWeight();
+			if (target < 0) {
+				return index;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Return the weight, health and usage of each replica.
+	 *
+	 * @return one line per replica.
+	 */
+	@ManagedAttribute(description = "Weight, health and usage of each read replica")
+	public String[] getReplicaStatistics() {
+		return readReplicas.stream().map(ReadReplica::toString).toArray(String[]::new);
+	}
+
+	public List<ReadReplica> getReadReplicas() {
+		return readReplicas;
+	}
+
+	/**
+	 * Set the comma separated replica names, each optionally followed by a colon and its weight.
+	 *
+	 * @param replicas the replicas.
+	 */
+	public void setReplicas(final String replicas) {
+		this.replicas = replicas;
+	}
+
+	public void setDataSourceLookup(final DataSourceLookup dataSourceLookup) {
+		this.dataSourceLookup = dataSourceLookup;
+	}
+
+	public void setBalancingStrategy(final BalancingStrategy balancingStrategy) {
+		this.balancingStrategy = balancingStrategy;
+	}
+
+	public void setEjectionPeriod(final long ejectionPeriod) {
+		this.ejectionPeriod = ejectionPeriod;
+	}
+}
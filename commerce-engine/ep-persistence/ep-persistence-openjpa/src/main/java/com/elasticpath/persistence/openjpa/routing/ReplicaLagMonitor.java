@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Measures how far the db replicas lag behind the master, so that the {@link QueryRouter} can stop reading from the replicas when they
+ * are all too far behind, and read the writes of a session from the master until the replicas have caught up with them.
+ *
+ * The lag is measured with a configurable SQL query, which must return the replica lag in milliseconds. When the read-only data source
+ * is a {@link ReadReplicaRoutingDataSource}, the query is executed on each of its replicas, and a replica lagging beyond the budget
+ * is marked as lagging, so that connections are routed to the other replicas; otherwise the query is executed on the read-only data
+ * source. The lag is measured again at most once per check interval, by the first thread that needs it; the other threads use the
+ * last measurements in the meantime. A replica whose lag can't be measured is fenced until its next successful measurement.
+ *
+ * Without a lag query, the replicas are never fenced and are assumed to lag by the configured assumed lag.
+ */
+@ManagedResource(objectName = "com.elasticpath.persistence:name=ReplicaLagMonitor", description = "Lag of the db replicas",
+		currencyTimeLimit = 1)
+public class ReplicaLagMonitor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	private static final long UNKNOWN_LAG = -1;
+
+	private DataSource readOnlyDataSource;
+	private String lagQuery;
+	private long maxLag;
+	private long checkInterval;
+	private long assumedLag;
+
+	private volatile List<MonitoredReplica> monitoredReplicas;
+	private volatile long lastMeasurementTime;
+	private final AtomicBoolean measuring = new AtomicBoolean();
+
+	/**
+	 * Check if at least one replica lags within the lag budget.
+	 *
+	 * @return true, if the replicas can be read from.
+	 */
+	public boolean isWithinLagBudget() {
+		if (!isEnabled()) {
+			return true;
+		}
+		return getCurrentReplicas().stream().anyMatch(MonitoredReplica::isWithinLagBudget);
+	}
+
+	/**
+	 * Check if every replica within the lag budget contains the writes committed on the master up to the given time, as a connection
+	 * may be opened from any of them.
+	 *
+	 * @param writeTime the time of the writes, in milliseconds since the epoch, or zero if there are none.
+	 * @return true, if the replicas contain the writes.
+	 */
+	public boolean hasCaughtUpTo(final long writeTime) {
+		if (writeTime <= 0) {
+			return true;
+		}
+		if (!isEnabled()) {
+			return System.currentTimeMillis() - assumedLag >= writeTime;
+		}
+		boolean withinLagBudget = false;
+		for (final MonitoredReplica replica : getCurrentReplicas()) {
+			if (replica.isWithinLagBudget()) {
+				if (!replica.hasCaughtUpTo(writeTime)) {
+					return false;
+				}
+				withinLagBudget = true;
+			}
+		}
+		return withinLagBudget;
+	}
+
+	/**
+	 * Return the largest last measured replica lag.
+	 *
+	 * @return the replica lag in milliseconds, or -1 if it's unknown for every replica.
+	 */
+	@ManagedAttribute(description = "The largest last measured replica lag in milliseconds, or -1 if unknown")
+	public long getReplicaLag() {
+		final List<MonitoredReplica> replicas = monitoredReplicas;
+		if (replicas == null) {
+			return UNKNOWN_LAG;
+		}
+		return replicas.stream().mapToLong(replica -> replica.getSample().getLag()).max().orElse(UNKNOWN_LAG);
+	}
+
+	/**
+	 * Return the last measured lag of each replica.
+	 *
+	 * @return one line per replica.
+	 */
+	@ManagedAttribute(description = "The last measured lag of each replica in milliseconds, or -1 if unknown")
+	public String[] getReplicaLags() {
+		final List<MonitoredReplica> replicas = monitoredReplicas;
+		if (replicas == null) {
+			return new String[0];
+		}
+		return replicas.stream().map(replica -> replica.getName() + ": " + replica.getSample().getLag()).toArray(String[]::new);
+	}
+
+	@ManagedAttribute(description = "The replica lag budget in milliseconds")
+	public long getMaxLag() {
+		return maxLag;
+	}
+
+	private boolean isEnabled() {
+		return readOnlyDataSource != null && StringUtils.isNotBlank(lagQuery);
+	}
+
+	private List<MonitoredReplica> getCurrentReplicas() {
+		final List<MonitoredReplica> replicas = getMonitoredReplicas();
+		if (System.currentTimeMillis() - lastMeasurementTime >= checkInterval && measuring.compareAndSet(false, true)) {
+			try {
+				replicas.forEach(this::measure);
+				lastMeasurementTime = System.currentTimeMillis();
+			} finally {
+				measuring.set(false);
+			}
+		}
+		return replicas;
+	}
+
+	private List<MonitoredReplica> getMonitoredReplicas() {
+		List<MonitoredReplica> replicas = monitoredReplicas;
+		if (replicas == null) {
+			if (readOnlyDataSource instanceof ReadReplicaRoutingDataSource) {
+				replicas = ((ReadReplicaRoutingDataSource) readOnlyDataSource).getReadReplicas().stream()
+						.map(replica -> new MonitoredReplica(replica.getName(), replica.getDataSource(), replica))
+						.collect(Collectors.toList());
+			} else {
+				replicas = Collections.singletonList(new MonitoredReplica("readOnlyDataSource", readOnlyDataSource, null));
+			}
+			monitoredReplicas = replicas;
+		}
+		return replicas;
+	}
+
+	private void measure(final MonitoredReplica replica) {
+		final LagSample sample = measure(replica.getName(), replica.getDataSource());
+		replica.setSample(sample);
+		if (replica.getReadReplica() != null) {
+			replica.getReadReplica().setLagging(!replica.isWithinLagBudget());
+		}
+	}
+
+	private LagSample measure(final String name, final DataSource dataSource) {
+		final long measuredAt = System.currentTimeMillis();
+		try (Connection connection = dataSource.getConnection();
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+			if (resultSet.next()) {
+				final long lag = Math.max(0, resultSet.getLong(1));
+				if (lag > maxLag) {
+					LOG.warn("Replica {} lag {}ms exceeds the budget of {}ms. Reading from the other replicas or master", name, lag, maxLag);
+				}
+				return new LagSample(lag, measuredAt);
+			}
+			LOG.warn("Replica {} lag query returned no rows. Reading from the other replicas or master", name);
+		} catch (SQLException e) {
+			LOG.warn("Replica {} lag couldn't be measured. Reading from the other replicas or master", name, e);
+		}
+		return new LagSample(UNKNOWN_LAG, measuredAt);
+	}
+
+	public void setReadOnlyDataSource(final DataSource readOnlyDataSource) {
+		this.readOnlyDataSource = readOnlyDataSource;
+	}
+
+	/**
+	 * Set the SQL query returning the replica lag in milliseconds. If blank, the lag isn't measured.
+	 *
+	 * @param lagQuery the lag query.
+	 */
+	public void setLagQuery(final String lagQuery) {
+		this.lagQuery = lagQuery;
+	}
+
+	public void setMaxLag(final long maxLag) {
+		this.maxLag = maxLag;
+	}
+
+	public void setCheckInterval(final long checkInterval) {
+		this.checkInterval = checkInterval;
+	}
+
+	/**
+	 * Set the lag assumed for read-your-writes when the lag isn't measured.
+	 *
+	 * @param assumedLag the assumed lag in milliseconds.
+	 */
+	public void setAssumedLag(final long assumedLag) {
+		this.assumedLag = assumedLag;
+	}
+
+	/**
+	 * A replica whose lag is measured, with its last measurement.
+	 */
+	private final class MonitoredReplica {
+		private final String name;
+		private final DataSource dataSource;
+		private final ReadReplica readReplica;
+		private volatile LagSample sample = new LagSample(UNKNOWN_LAG, 0);
+
+		MonitoredReplica(final String name, final DataSource dataSource, final ReadReplica readReplica) {
+			this.name = name;
+			this.dataSource = dataSource;
+			this.readReplica = readReplica;
+		}
+
+		boolean isWithinLagBudget() {
+			final long lag = sample.getLag();
+			return lag != UNKNOWN_LAG && lag <= maxLag;
+		}
+
+		boolean hasCaughtUpTo(final long writeTime) {
+			final LagSample lastSample = sample;
+			return lastSample.getLag() != UNKNOWN_LAG && lastSample.getMeasuredAt() - lastSample.getLag() >= writeTime;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		DataSource getDataSource() {
+			return dataSource;
+		}
+
+		ReadReplica getReadReplica() {
+			return readReplica;
+		}
+
+		LagSample getSample() {
+			return sample;
+		}
+
+		void setSample(final LagSample sample) {
+			this.sample = sample;
+		}
+	}
+
+	/**
+	 * A replica lag measurement.
+	 */
+	private static final class LagSample {
+		private final long lag;
+		private final long measuredAt;
+
+		LagSample(final long lag, final long measuredAt) {
+			this.lag = lag;
+			this.measuredAt = measuredAt;
+		}
+
+		long getLag() {
+			return lag;
+		}
+
+		long getMeasuredAt() {
+			return measuredAt;
+		}
+	}
+}
@@ -15,7 +15,9 @@ import javax.persistence.EntityManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.openjpa.ee.ManagedRuntime;
+import org.apache.openjpa.conf.OpenJPAConfiguration;
 import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
 import org.apache.openjpa.kernel.Broker;
 import org.apache.openjpa.kernel.OpenJPAStateManager;
 import org.apache.openjpa.meta.ClassMetaData;
@@ -264,4 +266,20 @@ public final class JPAUtil {
 			throw new EpServiceException("Error occurred while getting database connection", sqlException);
 		}
 	}
+
+	/**
+	 * Return the max number of values the database allows in an IN clause, as configured in the OpenJPA db dictionary.
+	 *
+	 * @param entityManager the entity manager
+	 * @return the max number of values, or -1 if the database doesn't limit it
+	 */
+	public static int getInClauseLimit(final EntityManager entityManager) {
+		OpenJPAConfiguration configuration = OpenJPAPersistence.cast(entityManager.getEntityManagerFactory()).getConfiguration();
+
+		if (configuration instanceof JDBCConfiguration) {
+			return ((JDBCConfiguration) configuration).getDBDictionaryInstance().inClauseLimit;
+		}
+
+		return -1;
+	}
 }
@@ -75,6 +75,18 @@ public final class QueryUtil {
 	 * @return the list of strings containing a group of values
 	 */
 	public static <V> List<List<V>> splitCollection(final Collection<V> values) {
+		return splitCollection(values, MAX_ALLOWED_LIST_PARAMETERS);
+	}
+
+	/**
+	 * Split a collection of values into batches of at most the given size.
+	 *
+	 * @param values the collection of values to split.
+	 * @param maxListParameters the max number of values per batch.
+	 * @param <V> value type.
+	 * @return the list of batches
+	 */
+	public static <V> List<List<V>> splitCollection(final Collection<V> values, final int maxListParameters) {
 		List<List<V>> listOfSubLists = new ArrayList<>();
 
 		if (values.isEmpty()) {
@@ -84,8 +96,8 @@ public final class QueryUtil {
 		//can't break the interface, but Lists.partition works only with List
 		List<V> valuesCopy = ImmutableList.copyOf(values);
 
-		if (values.size() > MAX_ALLOWED_LIST_PARAMETERS) {
-			return Lists.partition(valuesCopy, MAX_ALLOWED_LIST_PARAMETERS);
+		if (values.size() > maxListParameters) {
+			return Lists.partition(valuesCopy, maxListParameters);
 		}
 
 		listOfSubLists.add(valuesCopy);
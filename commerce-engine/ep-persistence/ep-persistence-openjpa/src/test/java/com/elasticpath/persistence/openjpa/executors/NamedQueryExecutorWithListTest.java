@@ -5,6 +5,7 @@ package com.elasticpath.persistence.openjpa.executors;
 
 import static com.elasticpath.persistence.openjpa.util.QueryUtil.MAX_ALLOWED_LIST_PARAMETERS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -19,8 +20,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-import javax.persistence.EntityManager;
-
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -28,12 +27,18 @@ import org.junit.runner.RunWith;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import org.apache.openjpa.persistence.FetchPlan;
+import org.apache.openjpa.persistence.OpenJPAEntityManager;
 import org.apache.openjpa.persistence.OpenJPAQuery;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.elasticpath.persistence.api.EpPersistenceException;
 import com.elasticpath.persistence.api.Persistable;
+import com.elasticpath.persistence.api.PersistenceSessionFactory;
+import com.elasticpath.persistence.openjpa.JpaPersistenceSession;
+import com.elasticpath.persistence.openjpa.routing.QueryRouter;
 
 /**
  * Unit test for the {@code NamedQueryExecutor} class.
@@ -46,9 +51,13 @@ public class NamedQueryExecutorWithListTest {
 
 	@InjectMocks private NamedQueryWithListExecutor namedQueryWithListExecutor;
 
-	@Mock private EntityManager entityManager;
+	@Mock private OpenJPAEntityManager entityManager;
 	@Mock private OpenJPAQuery query;
 	@Mock private Persistable persistable;
+	@Mock private QueryRouter queryRouter;
+	@Mock private PersistenceSessionFactory sessionFactory;
+	@Mock private JpaPersistenceSession session;
+	@Mock private FetchPlan fetchPlan;
 	private List<Persistable> persistables;
 
 	@Before
@@ -171,6 +180,151 @@ public class NamedQueryExecutorWithListTest {
 		verifyNoMoreInteractions(query);
 	}
 
+	/**
+	 * Test whether the list values are split into chunks of the given size.
+	 */
+	@Test
+	public void shouldExecuteMultiResultQueryInChunksOfGivenSize() {
+
+		String listParam = "listParam";
+		Object[] arrayParams = {"param1val"};
+
+		Persistable customEntity1 = new CustomEntityImpl();
+		Persistable customEntity2 = new CustomEntityImpl();
+		Persistable customEntity3 = new CustomEntityImpl();
+
+		when(query.getResultList()).thenReturn(Lists.newArrayList(customEntity1), Lists.newArrayList(customEntity2),
+			Lists.newArrayList(customEntity3));
+
+		List result = namedQueryWithListExecutor
+			.withChunkSize(2)
+			.withParameters(arrayParams)
+			.withParameterValues(Lists.newArrayList(1, 2, 3, 4, 5))
+			.withListParameterName(listParam)
+			.executeMultiResultQuery(entityManager);
+
+		assertThat(result)
+			.containsExactly(customEntity1, customEntity2, customEntity3);
+
+		verify(query).setParameter(listParam, Lists.newArrayList(1, 2));
+		verify(query).setParameter(listParam, Lists.newArrayList(3, 4));
+		verify(query).setParameter(listParam, Lists.newArrayList(5));
+	}
+
+	/**
+	 * Test whether the results of each chunk are passed to the chunk consumer instead of being collected.
+	 */
+	@Test
+	public void shouldPassResultsOfEachChunkToChunkConsumer() {
+
+		Persistable customEntity1 = new CustomEntityImpl();
+		Persistable customEntity2 = new CustomEntityImpl();
+
+		List resultList1 = Lists.newArrayList(customEntity1);
+		List resultList2 = Lists.newArrayList(customEntity2);
+
+		when(query.getResultList()).thenReturn(resultList1, new ArrayList<>(), resultList2);
+
+		List<List<Persistable>> consumedChunks = new ArrayList<>();
+
+		List result = namedQueryWithListExecutor
+			.withChunkSize(1)
+			.withParameters(new Object[0])
+			.withParameterValues(Lists.newArrayList(1, 2, 3))
+			.withListParameterName("listParam")
+			.withChunkConsumer(chunk -> consumedChunks.add((List<Persistable>) chunk))
+			.executeMultiResultQuery(entityManager);
+
+		assertThat(consumedChunks)
+			.containsExactly(resultList1, resultList2);
+		assertThat(result)
+			.as("the last non-empty chunk is returned so that an empty result can be retried")
+			.isEqualTo(resultList2);
+	}
+
+	/**
+	 * Test whether a single list in the map with parameters is split into chunks.
+	 */
+	@Test
+	public void shouldExecuteMultiResultQueryWithMapParametersInChunks() {
+
+		when(query.getResultList()).thenReturn(persistables);
+
+		String listParam = "param1";
+
+		Map<String, Collection<String>> mapParams = Maps.newHashMap();
+		mapParams.put(listParam, Lists.newArrayList("val1", "val2", "val3"));
+
+		List result = namedQueryWithListExecutor
+			.withChunkSize(2)
+			.withParameters(mapParams)
+			.executeMultiResultQuery(entityManager);
+
+		assertThat(result)
+			.containsExactly(persistable, persistable);
+
+		verify(query).setParameter(listParam, Lists.newArrayList("val1", "val2"));
+		verify(query).setParameter(listParam, Lists.newArrayList("val3"));
+		verify(query, times(2)).getResultList();
+	}
+
+	/**
+	 * Test whether the chunks executed in parallel are executed on new sessions of the db the query is routed to.
+	 */
+	@Test
+	public void shouldExecuteChunksInParallelOnNewSessionsOfTheRoutedDb() {
+		givenNewSessionsOfTheRoutedDb();
+
+		Persistable customEntity1 = new CustomEntityImpl();
+		Persistable customEntity2 = new CustomEntityImpl();
+
+		when(query.getResultList()).thenReturn(Lists.newArrayList(customEntity1), Lists.newArrayList(customEntity2));
+
+		List result = namedQueryWithListExecutor
+			.withChunkSize(1)
+			.withParameters(new Object[0])
+			.withParameterValues(Lists.newArrayList(1, 2))
+			.withListParameterName("listParam")
+			.withChunkExecutor(Runnable::run)
+			.executeMultiResultQuery(entityManager);
+
+		assertThat(result)
+			.containsExactly(customEntity1, customEntity2);
+
+		verify(sessionFactory, times(2)).createPersistenceSession();
+		verify(session, times(2)).close();
+	}
+
+	/**
+	 * Test whether the failure of a chunk executed in parallel is thrown as a persistence exception.
+	 */
+	@Test
+	public void shouldThrowFailureOfChunkExecutedInParallelAsPersistenceException() {
+		givenNewSessionsOfTheRoutedDb();
+
+		IllegalStateException failure = new IllegalStateException("replica is down");
+		when(query.getResultList()).thenThrow(failure);
+
+		assertThatThrownBy(() -> namedQueryWithListExecutor
+			.withChunkSize(1)
+			.withParameters(new Object[0])
+			.withParameterValues(Lists.newArrayList(1, 2))
+			.withListParameterName("listParam")
+			.withChunkExecutor(Runnable::run)
+			.executeMultiResultQuery(entityManager))
+			.isInstanceOf(EpPersistenceException.class)
+			.hasCause(failure);
+
+		verify(session, times(2)).close();
+	}
+
+	private void givenNewSessionsOfTheRoutedDb() {
+		when(queryRouter.getSessionFactory(entityManager)).thenReturn(sessionFactory);
+		when(sessionFactory.createPersistenceSession()).thenReturn(session);
+		when(session.getEntityManager()).thenReturn(entityManager);
+		when(entityManager.getFetchPlan()).thenReturn(fetchPlan);
+	}
+
 	private class CustomEntityImpl implements Persistable {
 		@Override
 		public long getUidPk() {
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the {@code HDSSupportBeanImpl} class.
+ */
+public class HDSSupportBeanImplTest {
+
+	private static final String SESSION_ID = "session";
+	private static final String OTHER_SESSION_ID = "other";
+	private static final String ENTITY = "CustomerImpl";
+
+	private final HDSSupportBeanImpl hdsSupportBean = new HDSSupportBeanImpl();
+
+	/**
+	 * Test that the write time of a request modifying entities is recorded for its session only.
+	 */
+	@Test
+	public void shouldRecordLastWriteTimeOfSessionWhenRequestModifiedEntities() {
+		final long before = System.currentTimeMillis();
+		hdsSupportBean.setSessionId(SESSION_ID);
+		hdsSupportBean.addModifiedEntity(ENTITY);
+		hdsSupportBean.clearAll();
+
+		hdsSupportBean.setSessionId(SESSION_ID);
+		assertThat(hdsSupportBean.getLastWriteTime())
+			.isGreaterThanOrEqualTo(before);
+		assertThat(hdsSupportBean.getModifiedEntities())
+			.isEmpty();
+
+		hdsSupportBean.setSessionId(OTHER_SESSION_ID);
+		assertThat(hdsSupportBean.getLastWriteTime())
+			.isZero();
+	}
+
+	/**
+	 * Test that no write time is recorded for a request which only read entities.
+	 */
+	@Test
+	public void shouldNotRecordLastWriteTimeWhenRequestOnlyRead() {
+		hdsSupportBean.setSessionId(SESSION_ID);
+		hdsSupportBean.clearAll();
+
+		hdsSupportBean.setSessionId(SESSION_ID);
+		assertThat(hdsSupportBean.getLastWriteTime())
+			.isZero();
+	}
+}
@@ -270,4 +270,52 @@ public class QueryRouterTest {
 		verify(queryRouterMetaInfoHolder).isQueryRetriable(NAMED_QUERY);
 	}
 
+	/**
+	 * Test that read-write entity manager is returned when the replica lag exceeds the lag budget.
+	 */
+	@Test
+	public void shouldReturnReadWriteEntityManagerWhenReplicaLagExceedsBudget() {
+		ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+		QueryRoutingStatistics queryRoutingStatistics = new QueryRoutingStatistics();
+		queryRouter.setReplicaLagMonitor(replicaLagMonitor);
+		queryRouter.setQueryRoutingStatistics(queryRoutingStatistics);
+
+		when(hdsSupportBean.isHdsSupportEnabled()).thenReturn(true);
+		when(queryRouterMetaInfoHolder.isQuerySafeForReadingFromReplica(any())).thenReturn(true);
+		when(replicaLagMonitor.isWithinLagBudget()).thenReturn(false);
+
+		EntityManager actualEntityManager = queryRouter.getEntityManagerForQuery(NAMED_QUERY);
+
+		assertThat(actualEntityManager)
+			.isSameAs(readWriteEntityManager);
+		assertThat(queryRoutingStatistics.getMasterReadsForReplicaLag())
+			.isEqualTo(1);
+	}
+
+	/**
+	 * Test that read-write entity manager is returned when the replica hasn't caught up with the writes of the session.
+	 */
+	@Test
+	public void shouldReturnReadWriteEntityManagerWhenReplicaHasNotCaughtUpWithSessionWrites() {
+		final long lastWriteTime = 1000L;
+		ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+		QueryRoutingStatistics queryRoutingStatistics = new QueryRoutingStatistics();
+		queryRouter.setReplicaLagMonitor(replicaLagMonitor);
+		queryRouter.setQueryRoutingStatistics(queryRoutingStatistics);
+
+		when(hdsSupportBean.isHdsSupportEnabled()).thenReturn(true);
+		when(hdsSupportBean.getLastWriteTime()).thenReturn(lastWriteTime);
+		when(queryRouterMetaInfoHolder.isQuerySafeForReadingFromReplica(any())).thenReturn(true);
+		when(replicaLagMonitor.isWithinLagBudget()).thenReturn(true);
+		when(replicaLagMonitor.hasCaughtUpTo(lastWriteTime)).thenReturn(false);
+
+		EntityManager actualEntityManager = queryRouter.getEntityManagerForQuery(NAMED_QUERY);
+
+		assertThat(actualEntityManager)
+			.isSameAs(readWriteEntityManager);
+		assertThat(queryRoutingStatistics.getMasterReadsForSessionWrites())
+			.isEqualTo(1);
+		assertThat(queryRoutingStatistics.getReplicaReads())
+			.isZero();
+	}
 }
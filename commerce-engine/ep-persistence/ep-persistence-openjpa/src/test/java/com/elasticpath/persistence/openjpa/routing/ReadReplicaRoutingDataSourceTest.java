@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.datasource.lookup.MapDataSourceLookup;
+
+/**
+ * Unit test for the {@code ReadReplicaRoutingDataSource} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReadReplicaRoutingDataSourceTest {
+
+	private static final String FIRST = "jdbc/first";
+	private static final String SECOND = "jdbc/second";
+	private static final long ONE_MINUTE = 60000L;
+
+	@Mock private DataSource firstDataSource;
+	@Mock private DataSource secondDataSource;
+	@Mock private Connection connection;
+
+	private final ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource();
+
+	@Before
+	public void setUp() {
+		final Map<String, DataSource> dataSources = new HashMap<>();
+		dataSources.put(FIRST, firstDataSource);
+		dataSources.put(SECOND, secondDataSource);
+		routingDataSource.setDataSourceLookup(new MapDataSourceLookup(dataSources));
+		routingDataSource.setEjectionPeriod(ONE_MINUTE);
+	}
+
+	/**
+	 * Test that the replicas and their weights are read from the configuration.
+	 */
+	@Test
+	public void shouldReadReplicasAndWeights() {
+		routingDataSource.setReplicas(FIRST + ":3, " + SECOND);
+		routingDataSource.afterPropertiesSet();
+
+		assertThat(routingDataSource.getReadReplicas())
+			.extracting(ReadReplica::getName, ReadReplica::getWeight)
+			.containsExactly(tuple(FIRST, 3), tuple(SECOND, 1));
+	}
+
+	/**
+	 * Test that a failing replica is ejected and the connection is opened from the other one.
+	 */
+	@Test
+	public void shouldEjectFailingReplicaAndUseTheOtherOne() throws SQLException {
+		routingDataSource.setBalancingStrategy(ReadReplicaRoutingDataSource.BalancingStrategy.LEAST_LATENCY);
+		routingDataSource.setReplicas(FIRST + "," + SECOND);
+		routingDataSource.afterPropertiesSet();
+		when(firstDataSource.getConnection()).thenThrow(new SQLException("replica is down"));
+		when(secondDataSource.getConnection()).thenReturn(connection);
+
+		try (Connection actualConnection = routingDataSource.getConnection()) {
+			assertThat(actualConnection)
+				.isNotNull();
+		}
+
+		final ReadReplica first = routingDataSource.getReadReplicas().get(0);
+		final ReadReplica second = routingDataSource.getReadReplicas().get(1);
+		assertThat(first.getFailureCount())
+			.isEqualTo(1);
+		assertThat(second.getConnectionCount())
+			.isEqualTo(1);
+		assertThat(second.getConnectionsInUse())
+			.isZero();
+		assertThat(routingDataSource.selectReplicas(System.currentTimeMillis()))
+			.containsExactly(second, first);
+		assertThat(routingDataSource.selectReplicas(System.currentTimeMillis() + ONE_MINUTE))
+			.containsExactlyInAnyOrder(first, second);
+		verify(connection).close();
+	}
+
+	/**
+	 * Test that a missing replica is detected by the login timeout, whichever its position.
+	 */
+	@Test
+	public void shouldAskEveryReplicaForTheLoginTimeout() throws SQLException {
+		routingDataSource.setReplicas(FIRST + "," + SECOND);
+		routingDataSource.afterPropertiesSet();
+		when(firstDataSource.getLoginTimeout()).thenReturn(1);
+		when(secondDataSource.getLoginTimeout()).thenThrow(new UnsupportedOperationException("second is missing"));
+
+		assertThatThrownBy(routingDataSource::getLoginTimeout)
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	/**
+	 * Test that the failure is reported when every replica fails.
+	 */
+	@Test
+	public void shouldFailWhenEveryReplicaFails() throws SQLException {
+		routingDataSource.setReplicas(FIRST + "," + SECOND);
+		routingDataSource.afterPropertiesSet();
+		when(firstDataSource.getConnection()).thenThrow(new SQLException("first is down"));
+		when(secondDataSource.getConnection()).thenThrow(new SQLException("second is down"));
+
+		assertThatThrownBy(routingDataSource::getConnection)
+			.isInstanceOf(SQLException.class);
+		assertThat(routingDataSource.getReadReplicas())
+			.allMatch(replica -> replica.getFailureCount() == 1);
+	}
+}
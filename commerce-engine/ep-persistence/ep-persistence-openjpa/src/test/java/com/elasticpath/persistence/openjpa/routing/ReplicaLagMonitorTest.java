@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.persistence.openjpa.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.datasource.lookup.MapDataSourceLookup;
+
+/**
+ * Unit test for the {@code ReplicaLagMonitor} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReplicaLagMonitorTest {
+
+	private static final String LAG_QUERY = "SELECT LAG";
+	private static final long MAX_LAG = 500L;
+	private static final long ONE_MINUTE = 60000L;
+	private static final String LAGGING = "jdbc/lagging";
+	private static final String CURRENT = "jdbc/current";
+
+	@Mock private DataSource readOnlyDataSource;
+	@Mock private Connection connection;
+	@Mock private Statement statement;
+	@Mock private ResultSet resultSet;
+
+	private final ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor();
+
+	@Before
+	public void setUp() {
+		replicaLagMonitor.setReadOnlyDataSource(readOnlyDataSource);
+		replicaLagMonitor.setMaxLag(MAX_LAG);
+		replicaLagMonitor.setCheckInterval(ONE_MINUTE);
+	}
+
+	/**
+	 * Test that the replica is always usable when no lag query is configured.
+	 */
+	@Test
+	public void shouldNotFenceReplicaWhenLagIsNotMeasured() {
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isTrue();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis() - 1))
+			.isTrue();
+	}
+
+	/**
+	 * Test that the assumed lag is used for read-your-writes when no lag query is configured.
+	 */
+	@Test
+	public void shouldUseAssumedLagWhenLagIsNotMeasured() {
+		replicaLagMonitor.setAssumedLag(ONE_MINUTE);
+
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis() - 1))
+			.isFalse();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(0))
+			.isTrue();
+	}
+
+	/**
+	 * Test that the replica is fenced when the measured lag exceeds the budget.
+	 */
+	@Test
+	public void shouldFenceReplicaWhenLagExceedsBudget() throws SQLException {
+		givenMeasuredLag(MAX_LAG + 1);
+
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isFalse();
+		assertThat(replicaLagMonitor.getReplicaLag())
+			.isEqualTo(MAX_LAG + 1);
+	}
+
+	/**
+	 * Test that writes are visible on the replica only once they are older than the measured lag.
+	 */
+	@Test
+	public void shouldCompareWriteTimeWithMeasuredLag() throws SQLException {
+		givenMeasuredLag(MAX_LAG);
+
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isTrue();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis() - ONE_MINUTE))
+			.isTrue();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis()))
+			.isFalse();
+	}
+
+	/**
+	 * Test that the replica is fenced when the lag can't be measured.
+	 */
+	@Test
+	public void shouldFenceReplicaWhenLagCannotBeMeasured() throws SQLException {
+		replicaLagMonitor.setLagQuery(LAG_QUERY);
+		when(readOnlyDataSource.getConnection()).thenThrow(new SQLException("replica is down"));
+
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isFalse();
+		assertThat(replicaLagMonitor.getReplicaLag())
+			.isEqualTo(-1);
+	}
+
+	/**
+	 * Test that the lag of each replica of a routing data source is measured, and that connections are routed away from a lagging replica.
+	 */
+	@Test
+	public void shouldMeasureEachReplicaAndRouteAwayFromLaggingOnes() throws SQLException {
+		final DataSource laggingDataSource = mock(DataSource.class);
+		final DataSource currentDataSource = mock(DataSource.class);
+		final ReadReplicaRoutingDataSource routingDataSource = givenRoutingDataSource(laggingDataSource, currentDataSource);
+		givenMeasuredLag(laggingDataSource, MAX_LAG + 1);
+		givenMeasuredLag(currentDataSource, 0);
+		replicaLagMonitor.setReadOnlyDataSource(routingDataSource);
+		replicaLagMonitor.setLagQuery(LAG_QUERY);
+
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isTrue();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis() - 1))
+			.isTrue();
+		assertThat(replicaLagMonitor.getReplicaLag())
+			.isEqualTo(MAX_LAG + 1);
+		assertThat(replicaLagMonitor.getReplicaLags())
+			.containsExactly(LAGGING + ": " + (MAX_LAG + 1), CURRENT + ": 0");
+
+		final ReadReplica lagging = routingDataSource.getReadReplicas().get(0);
+		final ReadReplica current = routingDataSource.getReadReplicas().get(1);
+		assertThat(lagging.isLagging())
+			.isTrue();
+		assertThat(current.isLagging())
+			.isFalse();
+		assertThat(routingDataSource.selectReplicas(System.currentTimeMillis()))
+			.containsExactly(current, lagging);
+	}
+
+	/**
+	 * Test that the replicas are fenced when every replica of a routing data source lags beyond the budget.
+	 */
+	@Test
+	public void shouldFenceReplicasWhenEveryReplicaLags() throws SQLException {
+		final DataSource laggingDataSource = mock(DataSource.class);
+		final DataSource failingDataSource = mock(DataSource.class);
+		final ReadReplicaRoutingDataSource routingDataSource = givenRoutingDataSource(laggingDataSource, failingDataSource);
+		givenMeasuredLag(laggingDataSource, MAX_LAG + 1);
+		when(failingDataSource.getConnection()).thenThrow(new SQLException("replica is down"));
+		replicaLagMonitor.setReadOnlyDataSource(routingDataSource);
+		replicaLagMonitor.setLagQuery(LAG_QUERY);
+
+		assertThat(replicaLagMonitor.isWithinLagBudget())
+			.isFalse();
+		assertThat(replicaLagMonitor.hasCaughtUpTo(System.currentTimeMillis() - ONE_MINUTE))
+			.isFalse();
+		assertThat(routingDataSource.getReadReplicas())
+			.allMatch(ReadReplica::isLagging);
+	}
+
+	private ReadReplicaRoutingDataSource givenRoutingDataSource(final DataSource laggingDataSource, final DataSource otherDataSource) {
+		final Map<String, DataSource> dataSources = new HashMap<>();
+		dataSources.put(LAGGING, laggingDataSource);
+		dataSources.put(CURRENT, otherDataSource);
+		final ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource();
+		routingDataSource.setDataSourceLookup(new MapDataSourceLookup(dataSources));
+		routingDataSource.setReplicas(LAGGING + "," + CURRENT);
+		routingDataSource.afterPropertiesSet();
+		return routingDataSource;
+	}
+
+	private void givenMeasuredLag(final long lag) throws SQLException {
+		replicaLagMonitor.setLagQuery(LAG_QUERY);
+		when(readOnlyDataSource.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getLong(1)).thenReturn(lag);
+	}
+
+	private void givenMeasuredLag(final DataSource dataSource, final long lag) throws SQLException {
+		final Connection replicaConnection = mock(Connection.class);
+		final Statement replicaStatement = mock(Statement.class);
+		final ResultSet replicaResultSet = mock(ResultSet.class);
+		when(dataSource.getConnection()).thenReturn(replicaConnection);
+		when(replicaConnection.createStatement()).thenReturn(replicaStatement);
+		when(replicaStatement.executeQuery(LAG_QUERY)).thenReturn(replicaResultSet);
+		when(replicaResultSet.next()).thenReturn(true);
+		when(replicaResultSet.getLong(1)).thenReturn(lag);
+	}
+}
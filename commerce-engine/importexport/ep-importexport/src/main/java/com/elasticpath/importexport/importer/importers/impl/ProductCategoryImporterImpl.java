@@ -10,6 +10,7 @@ import com.elasticpath.domain.catalog.Catalog;
 import com.elasticpath.domain.catalog.Category;
 import com.elasticpath.domain.catalog.Product;
 import com.elasticpath.domain.catalog.ProductLoadTuner;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.importexport.common.adapters.DomainAdapter;
 import com.elasticpath.importexport.common.adapters.productcategories.ProductCategoryAdapter;
 import com.elasticpath.importexport.common.caching.CachingService;
@@ -51,11 +52,12 @@ public class ProductCategoryImporterImpl extends AbstractImporterImpl<Product, P
 
 		getSavingStrategy().setLifecycleListener(new DefaultLifecycleListener() {
 			/**
-			 * Notify the Search Server that the product has been updated.
+			 * Notify the Search Server that the product's categories have been updated.
 			 */
 			@Override
 			public void afterSave(final Persistable persistable) {
-				indexNotificationService.addNotificationForEntityIndexUpdate(IndexType.PRODUCT, persistable.getUidPk());
+				indexNotificationService.addNotificationForEntityIndexUpdate(IndexType.PRODUCT, persistable.getUidPk(),
+						AffectedEntityType.PRODUCT_CATEGORIES);
 			}
 		});
 	}
@@ -22,6 +22,7 @@ import com.elasticpath.domain.catalog.Product;
 import com.elasticpath.domain.catalog.impl.CatalogImpl;
 import com.elasticpath.domain.catalog.impl.CategoryImpl;
 import com.elasticpath.domain.catalog.impl.ProductImpl;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.importexport.common.adapters.productcategories.ProductCategoryAdapter;
 import com.elasticpath.importexport.common.caching.CachingService;
 import com.elasticpath.importexport.common.dto.productcategory.CatalogCategoriesDTO;
@@ -159,7 +160,8 @@ public class ProductCategoryImporterImplTest {
 				allowing(productLookup).findByGuid(with(aNull(String.class)));
 				will(returnValue(product));
 
-				oneOf(mockIndexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, PRODUCT_UIDPK);
+				oneOf(mockIndexNotificationService).addNotificationForEntityIndexUpdate(IndexType.PRODUCT, PRODUCT_UIDPK,
+						AffectedEntityType.PRODUCT_CATEGORIES);
 			}
 		});
 
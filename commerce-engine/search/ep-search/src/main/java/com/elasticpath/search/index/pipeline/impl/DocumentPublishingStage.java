@@ -9,14 +9,21 @@ import org.apache.solr.common.SolrInputDocument;
 
 import com.elasticpath.search.index.pipeline.IndexingStage;
 import com.elasticpath.search.index.pipeline.stats.PipelinePerformance;
+import com.elasticpath.search.index.solr.service.ShadowIndexService;
 import com.elasticpath.search.index.solr.service.impl.QueueingSolrDocumentPublisher;
 import com.elasticpath.service.search.IndexType;
 import com.elasticpath.service.search.solr.SolrDocumentPublisher;
+import com.elasticpath.service.search.solr.SolrDocumentPublisherFactory;
 import com.elasticpath.service.search.solr.SolrManager;
 
 /**
  * This stage sends the created {@code SolrInputDocument} to the appropriate {@code SolrDocumentPublisher}. Since the {@code SolrDocumentPublisher}
  * already has a work queue, we do not do this in a separate thread and therefore do not need a {@code IndexingTask}.
+ * <p>
+ * By default the stage shares the {@code SolrDocumentPublisher} which the {@code SolrManager} holds for the index type. When a
+ * {@code SolrDocumentPublisherFactory} is set, the stage creates and starts a publisher of its own on the same {@code SolrClient}, so that the
+ * partitions of a {@link PartitionedIndexingPipelineImpl} do not contend for a single publishing queue. If a {@code ShadowIndexService} is set,
+ * that publisher writes through its indexing client, so that shadow rebuilds can mirror its writes to the shadow index.
  */
 public class DocumentPublishingStage implements IndexingStage<SolrInputDocument, Long> {
 
@@ -30,7 +37,11 @@ public class DocumentPublishingStage implements IndexingStage<SolrInputDocument,
 
 	private IndexingStage<Long, ?> nextStage;
 
-	private SolrDocumentPublisher publisher;
+	private volatile SolrDocumentPublisher publisher;
+
+	private SolrDocumentPublisherFactory solrDocumentPublisherFactory;
+
+	private ShadowIndexService shadowIndexService;
 
 	@Override
 	public void send(final SolrInputDocument document) {
@@ -55,14 +66,45 @@ public class DocumentPublishingStage implements IndexingStage<SolrInputDocument,
 
 	private void initPublisher() {
 		if (publisher == null) {
-			solrManager.getServer(getIndexType());
-			publisher = solrManager.getDocumentPublisher(getIndexType());
+			if (solrDocumentPublisherFactory == null) {
+				solrManager.getServer(getIndexType());
+				publisher = solrManager.getDocumentPublisher(getIndexType());
+			} else {
+				createPublisher();
+			}
 			if (publisher instanceof QueueingSolrDocumentPublisher) {
 				((QueueingSolrDocumentPublisher) publisher).setPipelinePerformance(performance);
 			}
 		}
 	}
 
+	/**
+	 * Documents are sent from several threads, so creation is guarded to make sure only one publisher is started.
+	 */
+	private synchronized void createPublisher() {
+		if (publisher == null) {
+			final SolrDocumentPublisher newPublisher = solrDocumentPublisherFactory.createSolrDocumentPublisher();
+			if (shadowIndexService == null) {
+				newPublisher.setSolrServer(solrManager.getServer(getIndexType()));
+			} else {
+				newPublisher.setSolrServer(shadowIndexService.getIndexingClient(getIndexType()));
+			}
+			newPublisher.start();
+			publisher = newPublisher;
+		}
+	}
+
+	/**
+	 * Shuts down the publisher this stage created through its {@code SolrDocumentPublisherFactory}, if any. The publisher shared through
+	 * the {@code SolrManager} is left running.
+	 */
+	public synchronized void shutdownPublisher() {
+		if (solrDocumentPublisherFactory != null && publisher != null) {
+			publisher.shutdown();
+			publisher = null;
+		}
+	}
+
 	@Override
 	public void setNextStage(final IndexingStage<Long, ?> nextStage) {
 		this.nextStage = nextStage;
@@ -89,6 +131,14 @@ public class DocumentPublishingStage implements IndexingStage<SolrInputDocument,
 		this.performance = performance;
 	}
 
+	public void setSolrDocumentPublisherFactory(final SolrDocumentPublisherFactory solrDocumentPublisherFactory) {
+		this.solrDocumentPublisherFactory = solrDocumentPublisherFactory;
+	}
+
+	public void setShadowIndexService(final ShadowIndexService shadowIndexService) {
+		this.shadowIndexService = shadowIndexService;
+	}
+
 	protected void setDocumentPublisher(final SolrDocumentPublisher publisher) {
 		this.publisher = publisher;
 	}
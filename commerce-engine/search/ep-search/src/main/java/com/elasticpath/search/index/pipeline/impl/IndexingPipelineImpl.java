@@ -64,6 +64,8 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 	private IndexBuildStatusUpdater indexBuildStatusUpdater;
 	
 	private final AtomicBoolean active = new AtomicBoolean(false);
+
+	private PipelineStatus partitionStatus;
 	
 	/**
 	 * The final stage of the pipeline pairs up with the {@code IndexingPipeline#start(Object)} method, indicating how many input items have been
@@ -114,6 +116,31 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 
 	}
 
+	/**
+	 * Initializes this pipeline as one partition of a {@link PartitionedIndexingPipelineImpl}. Instead of registering its own status with the
+	 * {@code IndexingStatistics}, a partition reports into the given partition status and performance, and leaves the {@code IndexBuildStatus}
+	 * to the partitioned pipeline.
+	 *
+	 * @param partitionStatus the status of this partition
+	 * @param performance the performance shared by all partitions of the pipeline
+	 */
+	void initializeAsPartition(final PipelineStatus partitionStatus, final PipelinePerformance performance) {
+		if (CollectionUtils.isEmpty(stages)) {
+			throw new IllegalStateException("A list of stages must be provided");
+		}
+
+		this.partitionStatus = partitionStatus;
+		this.pipelinePerformance = performance;
+
+		connectStages();
+
+		active.set(true);
+	}
+
+	private boolean isPartition() {
+		return partitionStatus != null;
+	}
+
 	/**
 	 * Connects the stages of the pipeline to each other and sets up the start and final stages of the pipeline.
 	 */
@@ -136,6 +163,9 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 	}
 
 	protected PipelineStatus getPipelineStatus() {
+		if (isPartition()) {
+			return partitionStatus;
+		}
 		return indexingStatistics.getPipelineStatus(indexType);
 	}
 
@@ -203,17 +233,16 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 			if (active.get()) {
 				getPipelineStatus().markStarted();
 				getPipelineStatus().setLatestIndexingStart(timeService.getCurrentTime());
-				getPipelineStatus().incrementIncomingItems(uids.size());
 
 				// at least total must be set here otherwise we get problems updating the processed records
-				IndexBuildStatus buildStatus = indexingStatistics.getIndexBuildStatus(indexType);
+				IndexBuildStatus buildStatus = getIndexBuildStatus();
 				if (buildStatus != null) {
 					buildStatus.setProcessedRecords(0);
 					buildStatus.setTotalRecords(uids.size());
 					updateIndexingBuildStatus(buildStatus);
 				}
 
-				firstStage.send(uids);
+				dispatch(uids);
 			} else {
 				LOG.warn("Pipeline for " + indexType + " is no longer active, and therefore rejected work on:" + uids);
 				throw new IllegalStateException("Pipeline for " + indexType + " is no longer active, and therefore rejected work on:" + uids);
@@ -223,6 +252,28 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 		}
 	}
 
+	/**
+	 * Counts the work as incoming and sends it to the first stage. Called by {@link #start(Collection)} while holding the status lock.
+	 *
+	 * @param uids the uids to index
+	 */
+	protected void dispatch(final Collection<Long> uids) {
+		getPipelineStatus().incrementIncomingItems(uids.size());
+		firstStage.send(uids);
+	}
+
+	/**
+	 * Partitions leave the {@code IndexBuildStatus} to the pipeline which owns them.
+	 *
+	 * @return the build status of the index, or null if there is none or this pipeline is a partition
+	 */
+	private IndexBuildStatus getIndexBuildStatus() {
+		if (isPartition()) {
+			return null;
+		}
+		return indexingStatistics.getIndexBuildStatus(indexType);
+	}
+
 	/**
 	 * Called periodically in a separate set of threads to update the completion status and time as well as the records being processed via
 	 * {@code IndexBuildStatusDao}.
@@ -238,7 +289,7 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 		 */
 		pipelineStatus.getStatusLock().lock();
 		try {
-			indexBuildStatus = indexingStatistics.getIndexBuildStatus(indexType);
+			indexBuildStatus = getIndexBuildStatus();
 
 			/**
 			 * If the pipeline is busy then we provide new progress numbers to the IndexBuildStatus.
@@ -310,6 +361,30 @@ public class IndexingPipelineImpl implements IndexingPipeline<Collection<Long>>
 		indexBuildStatus.setProcessedRecords(processed);
 	}
 
+	protected PipelinePerformance getPipelinePerformance() {
+		return pipelinePerformance;
+	}
+
+	protected void setPipelinePerformance(final PipelinePerformance pipelinePerformance) {
+		this.pipelinePerformance = pipelinePerformance;
+	}
+
+	protected IndexingStatistics getIndexingStatistics() {
+		return indexingStatistics;
+	}
+
+	protected IndexType getIndexType() {
+		return indexType;
+	}
+
+	protected void setActive(final boolean active) {
+		this.active.set(active);
+	}
+
+	protected List<IndexingStage<?, ?>> getStages() {
+		return stages;
+	}
+
 	public void setStages(final List<IndexingStage<?, ?>> stages) {
 		this.stages = stages;
 	}
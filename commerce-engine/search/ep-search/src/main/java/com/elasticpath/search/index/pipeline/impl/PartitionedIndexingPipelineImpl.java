@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.pipeline.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.task.TaskExecutor;
+
+import com.elasticpath.search.index.pipeline.IndexingStage;
+import com.elasticpath.search.index.pipeline.stats.PipelinePerformance;
+import com.elasticpath.search.index.pipeline.stats.impl.PipelinePerformanceImpl;
+import com.elasticpath.search.index.pipeline.stats.impl.PipelineStatusImpl;
+
+/**
+ * An {@code IndexingPipeline} which splits large batches of uids into contiguous uid ranges and indexes each range through its own
+ * {@link IndexingPipelineImpl}, concurrently.
+ * <p>
+ * Each partition is a complete pipeline with its own loading and publishing stages, so a full rebuild is no longer limited by a single
+ * publishing queue. The partitions report their progress through partition statuses of this pipeline's {@code PipelineStatus}, which
+ * counts the work of all partitions, and share this pipeline's {@code PipelinePerformance}. This pipeline owns the {@code IndexBuildStatus}.
+ * <p>
+ * Batches smaller than the minimum partition size, such as the uids of an incremental update, are sent through the first partition in the
+ * calling thread without being split.
+ */
+public class PartitionedIndexingPipelineImpl extends IndexingPipelineImpl {
+
+	private static final Logger LOG = LogManager.getLogger(PartitionedIndexingPipelineImpl.class);
+
+	private static final int DEFAULT_PARTITION_COUNT = 4;
+
+	private static final int DEFAULT_MINIMUM_PARTITION_SIZE = 2000;
+
+	private ObjectFactory<IndexingPipelineImpl> partitionPipelineFactory;
+
+	private TaskExecutor partitionTaskExecutor;
+
+	private int partitionCount = DEFAULT_PARTITION_COUNT;
+
+	private int minimumPartitionSize = DEFAULT_MINIMUM_PARTITION_SIZE;
+
+	private final List<IndexingPipelineImpl> partitions = new ArrayList<>();
+
+	private final AtomicInteger pendingDispatches = new AtomicInteger();
+
+	/**
+	 * {@inheritDoc} Creates and initializes the partition pipelines.
+	 */
+	@Override
+	public void initialize() {
+		if (partitionCount < 1) {
+			throw new IllegalStateException("At least one partition is required, but the partition count is " + partitionCount);
+		}
+
+		final PipelinePerformance performance = new PipelinePerformanceImpl();
+		final PipelineStatusImpl status = new PipelineStatusImpl();
+
+		getIndexingStatistics().attachPipelinePerformance(getIndexType(), performance);
+		getIndexingStatistics().attachPipelineStatus(getIndexType(), status);
+		setPipelinePerformance(performance);
+
+		for (int partitionIndex = 0; partitionIndex < partitionCount; partitionIndex++) {
+			final IndexingPipelineImpl partition = partitionPipelineFactory.getObject();
+			partition.initializeAsPartition(status.createPartitionStatus(), performance);
+			partitions.add(partition);
+		}
+
+		setActive(true);
+	}
+
+	/**
+	 * Splits the uids into contiguous ranges and starts one partition per range on the partition task executor. If the executor rejects
+	 * a range, the ranges already handed to it are still indexed and the rejection is rethrown.
+	 *
+	 * @param uids the uids to index
+	 */
+	@Override
+	protected void dispatch(final Collection<Long> uids) {
+		if (uids.size() < minimumPartitionSize || partitions.size() == 1) {
+			partitions.get(0).start(uids);
+			return;
+		}
+
+		final List<List<Long>> ranges = splitIntoRanges(uids, partitions.size());
+		for (int partitionIndex = 0; partitionIndex < ranges.size(); partitionIndex++) {
+			final IndexingPipelineImpl partition = partitions.get(partitionIndex);
+			final List<Long> range = ranges.get(partitionIndex);
+
+			pendingDispatches.incrementAndGet();
+			try {
+				partitionTaskExecutor.execute(() -> startPartition(partition, range));
+			} catch (final RuntimeException e) {
+				pendingDispatches.decrementAndGet();
+				throw e;
+			}
+		}
+	}
+
+	private void startPartition(final IndexingPipelineImpl partition, final List<Long> range) {
+		try {
+			partition.start(range);
+		} catch (final RuntimeException e) {
+			LOG.error("Partition " + partitions.indexOf(partition) + " of the pipeline for " + getIndexType()
+					+ " failed to index " + range.size() + " uids.", e);
+		} finally {
+			pendingDispatches.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Sorts the uids and splits them into contiguous ranges of (nearly) equal size. Uids are assigned sequentially, so neighbouring uids
+	 * tend to share database pages and the ranges keep loading queries local.
+	 *
+	 * @param uids the uids to split
+	 * @param rangeCount the maximum number of ranges
+	 * @return the non-empty ranges in ascending order
+	 */
+	static List<List<Long>> splitIntoRanges(final Collection<Long> uids, final int rangeCount) {
+		final List<Long> sortedUids = new ArrayList<>(uids);
+		Collections.sort(sortedUids);
+
+		final List<List<Long>> ranges = new ArrayList<>(rangeCount);
+		final int size = sortedUids.size();
+		for (int rangeIndex = 0; rangeIndex < rangeCount; rangeIndex++) {
+			final int fromIndex = (int) ((long) size * rangeIndex / rangeCount);
+			final int toIndex = (int) ((long) size * (rangeIndex + 1) / rangeCount);
+			if (fromIndex < toIndex) {
+				ranges.add(new ArrayList<>(sortedUids.subList(fromIndex, toIndex)));
+			}
+		}
+		return ranges;
+	}
+
+	@Override
+	public boolean isBusy() {
+		if (pendingDispatches.get() > 0) {
+			return true;
+		}
+		for (final IndexingPipelineImpl partition : partitions) {
+			if (partition.isBusy()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc} Lets each partition update its own status before the status of the whole pipeline is updated.
+	 */
+	@Override
+	public void periodicMonitor() {
+		for (final IndexingPipelineImpl partition : partitions) {
+			partition.periodicMonitor();
+		}
+		super.periodicMonitor();
+	}
+
+	/**
+	 * {@inheritDoc} Destroys the partitions too, then shuts down the publishers their publishing stages created.
+	 */
+	@Override
+	public void destroy() {
+		super.destroy();
+		for (final IndexingPipelineImpl partition : partitions) {
+			partition.destroy();
+			for (final IndexingStage<?, ?> stage : partition.getStages()) {
+				if (stage instanceof DocumentPublishingStage) {
+					((DocumentPublishingStage) stage).shutdownPublisher();
+				}
+			}
+		}
+	}
+
+	protected List<IndexingPipelineImpl> getPartitions() {
+		return Collections.unmodifiableList(partitions);
+	}
+
+	public void setPartitionPipelineFactory(final ObjectFactory<IndexingPipelineImpl> partitionPipelineFactory) {
+		this.partitionPipelineFactory = partitionPipelineFactory;
+	}
+
+	public void setPartitionTaskExecutor(final TaskExecutor partitionTaskExecutor) {
+		this.partitionTaskExecutor = partitionTaskExecutor;
+	}
+
+	public void setPartitionCount(final int partitionCount) {
+		this.partitionCount = partitionCount;
+	}
+
+	public void setMinimumPartitionSize(final int minimumPartitionSize) {
+		this.minimumPartitionSize = minimumPartitionSize;
+	}
+
+}
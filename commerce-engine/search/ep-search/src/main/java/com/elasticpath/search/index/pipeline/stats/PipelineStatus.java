@@ -4,6 +4,7 @@
 package com.elasticpath.search.index.pipeline.stats;
 
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -109,4 +110,12 @@ public interface PipelineStatus {
 	 * {@code #waitUntilCompleted()} will return right away. After it is called, they will wait.
 	 */
 	void markStarted();
+
+	/**
+	 * When the pipeline splits its work across partitions, each partition reports its progress through its own status. Items counted by a
+	 * partition are also counted by this status.
+	 * 
+	 * @return the statuses of the partitions in partition order, or an empty list if the pipeline is not partitioned.
+	 */
+	List<PipelineStatus> getPartitionStatuses();
 }
@@ -3,6 +3,7 @@
  */
 package com.elasticpath.search.index.pipeline.stats.impl;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -67,7 +68,7 @@ public class IndexingStatsImpl implements IndexingStatistics {
 
 	/**
 	 * Exposed via JMX, returns a formatted table of the in/out count of items for each {@code IndexingPipeline} registered with this
-	 * {@code IndexingStatistics}.
+	 * {@code IndexingStatistics}. Partitioned pipelines are followed by a row for each of their partitions.
 	 *
 	 * @return A multi-line string, best displayed with a non-proportional font.
 	 */
@@ -75,8 +76,14 @@ public class IndexingStatsImpl implements IndexingStatistics {
 	public String getPipelineStatuses() {
 		StringBuilder message = new StringBuilder(String.format("%-30s %-15s %-15s%n", "IndexType", "Items In", "Items Out"));
 		for (final IndexType key : pipelineStatuses.keySet()) {
-			message.append(String.format("%-30s %-15s %-15s%n", key, getPipelineStatus(key).getIncomingCount(), getPipelineStatus(key)
-					.getCompletedCount()));
+			final PipelineStatus status = getPipelineStatus(key);
+			message.append(String.format("%-30s %-15s %-15s%n", key, status.getIncomingCount(), status.getCompletedCount()));
+			final List<PipelineStatus> partitionStatuses = status.getPartitionStatuses();
+			for (int partitionIndex = 0; partitionIndex < partitionStatuses.size(); partitionIndex++) {
+				final PipelineStatus partitionStatus = partitionStatuses.get(partitionIndex);
+				message.append(String.format("%-30s %-15s %-15s%n", "  partition " + partitionIndex, partitionStatus.getIncomingCount(),
+						partitionStatus.getCompletedCount()));
+			}
 		}
 		return message.toString();
 	}
@@ -3,14 +3,18 @@
  */
 package com.elasticpath.search.index.pipeline.stats.impl;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.elasticpath.search.index.pipeline.stats.PipelineStatus;
 
 /**
- * An implementation of {@code PipelineStatus}. There is one for each {@code IndexingPipeline}.
+ * An implementation of {@code PipelineStatus}. There is one for each {@code IndexingPipeline}, and one for each partition of a partitioned
+ * {@code IndexingPipeline}.
  */
 public class PipelineStatusImpl implements PipelineStatus {
 
@@ -32,20 +36,55 @@ public class PipelineStatusImpl implements PipelineStatus {
 
 	private int waitTime = DEFAULT_WAIT_TIME_MS;
 
+	private final PipelineStatusImpl parent;
+
+	private final List<PipelineStatus> partitionStatuses = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Creates the status of an unpartitioned pipeline.
+	 */
+	public PipelineStatusImpl() {
+		this(null);
+	}
+
+	private PipelineStatusImpl(final PipelineStatusImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Creates the status of a new partition of this pipeline. Items counted by the partition are also counted by this status.
+	 *
+	 * @return the partition status
+	 */
+	public PipelineStatusImpl createPartitionStatus() {
+		final PipelineStatusImpl partitionStatus = new PipelineStatusImpl(this);
+		partitionStatuses.add(partitionStatus);
+		return partitionStatus;
+	}
+
 	@Override
 	public void incrementIncomingItems(final long count) {
 		totalInCount.addAndGet(count);
+		if (parent != null) {
+			parent.incrementIncomingItems(count);
+		}
 	}
 
 	@Override
 	public void incrementCompletedItems(final long count) {
 		totalOutCount.addAndGet(count);
+		if (parent != null) {
+			parent.incrementCompletedItems(count);
+		}
 	}
 
 	@Override
 	public void reset() {
 		totalInCount = new AtomicLong();
 		totalOutCount = new AtomicLong();
+		for (final PipelineStatus partitionStatus : partitionStatuses) {
+			partitionStatus.reset();
+		}
 	}
 
 	@Override
@@ -107,6 +146,11 @@ public class PipelineStatusImpl implements PipelineStatus {
 		}
 	}
 
+	@Override
+	public List<PipelineStatus> getPartitionStatuses() {
+		return Collections.unmodifiableList(partitionStatuses);
+	}
+
 	public void setWaitTime(final int waitTime) {
 		this.waitTime = waitTime;
 	}
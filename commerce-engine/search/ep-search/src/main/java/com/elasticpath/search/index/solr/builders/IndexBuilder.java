@@ -6,6 +6,8 @@ package com.elasticpath.search.index.solr.builders;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.solr.client.solrj.SolrClient;
 
@@ -64,6 +66,28 @@ public interface IndexBuilder {
 	 * @return a set of all UIDs that represent the given notification
 	 */
 	Collection<Long> findUidsByNotification(IndexNotification notifications);
+
+	/**
+	 * Returns the group of document fields which an update notification affects, if the documents of this index can be brought up to date by
+	 * recreating only that group of fields. The documents of the UIDs of such notifications are passed to
+	 * {@link #preparePartialUpdates(Map)} before they are submitted.
+	 *
+	 * @param notification an update notification
+	 * @return the affected field group, or null if the affected documents must be recreated in full, which is the default
+	 */
+	default String getAffectedFieldGroup(IndexNotification notification) {
+		return null;
+	}
+
+	/**
+	 * Prepares the next submission to only update the given field groups of the documents of the given UIDs. This replaces the
+	 * preparation of any earlier submission. Index builders which cannot update parts of a document recreate the documents in full.
+	 *
+	 * @param affectedFieldGroupsByUid the field groups to update, by the UID of the document
+	 */
+	default void preparePartialUpdates(Map<Long, Set<String>> affectedFieldGroupsByUid) {
+		// documents are recreated in full by default
+	}
 		
 	/**
 	 * Retrieve added or modified UIDs since last build.
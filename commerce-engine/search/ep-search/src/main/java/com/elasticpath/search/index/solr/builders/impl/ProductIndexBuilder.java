@@ -6,9 +6,11 @@ package com.elasticpath.search.index.solr.builders.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -20,6 +22,7 @@ import com.elasticpath.commons.util.IntervalTimer;
 import com.elasticpath.domain.search.IndexNotification;
 import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.search.index.pipeline.IndexingPipeline;
+import com.elasticpath.search.index.solr.document.ProductDocumentCache;
 import com.elasticpath.service.catalog.CategoryService;
 import com.elasticpath.service.catalog.ProductService;
 import com.elasticpath.service.pricing.PriceListAssignmentService;
@@ -36,6 +39,9 @@ public class ProductIndexBuilder extends AbstractIndexBuilder { // NOPMD
 
 	private static final long MILLI = 1000L;
 
+	private static final Set<String> PARTIAL_UPDATE_ENTITY_TYPES = new HashSet<>(Arrays.asList(AffectedEntityType.PRODUCT_PRICE,
+			AffectedEntityType.PRODUCT_AVAILABILITY, AffectedEntityType.PRODUCT_CATEGORIES));
+
 	private ProductService productService;
 
 	private CategoryService categoryService;
@@ -52,6 +58,8 @@ public class ProductIndexBuilder extends AbstractIndexBuilder { // NOPMD
 
 	private IndexingPipeline<Collection<Long>> productIndexingPipeline;
 
+	private ProductDocumentCache productDocumentCache;
+
 	private static final Logger LOG = LogManager.getLogger(ProductIndexBuilder.class);
 
 	/**
@@ -184,6 +192,8 @@ public class ProductIndexBuilder extends AbstractIndexBuilder { // NOPMD
 				return productService.findUidsByCategoryUids(Arrays.asList(notification.getAffectedUid()));
 			} else if (AffectedEntityType.STORE.equals(notification.getAffectedEntityType())) {
 				return productService.findUidsByStoreUid(notification.getAffectedUid());
+			} else if (PARTIAL_UPDATE_ENTITY_TYPES.contains(notification.getAffectedEntityType())) {
+				return Collections.singletonList(notification.getAffectedUid());
 			}
 			break;
 		default:
@@ -192,6 +202,28 @@ public class ProductIndexBuilder extends AbstractIndexBuilder { // NOPMD
 		throw new UnsupportedOperationException("not implemented.");
 	}
 
+	/**
+	 * Returns the affected entity type of product price, availability and category notifications, whose products have their cached
+	 * documents patched rather than recreated.
+	 *
+	 * @param notification the update notification
+	 * @return the affected field group, or null if the affected products must be indexed in full
+	 */
+	@Override
+	public String getAffectedFieldGroup(final IndexNotification notification) {
+		if (productDocumentCache != null && PARTIAL_UPDATE_ENTITY_TYPES.contains(notification.getAffectedEntityType())) {
+			return notification.getAffectedEntityType();
+		}
+		return null;
+	}
+
+	@Override
+	public void preparePartialUpdates(final Map<Long, Set<String>> affectedFieldGroupsByUid) {
+		if (productDocumentCache != null) {
+			productDocumentCache.setPartialUpdates(affectedFieldGroupsByUid);
+		}
+	}
+
 	/**
 	 * Sets the product service.
 	 *
@@ -363,4 +395,12 @@ public class ProductIndexBuilder extends AbstractIndexBuilder { // NOPMD
 	public IndexingPipeline<Collection<Long>> getProductIndexingPipeline() {
 		return productIndexingPipeline;
 	}
+
+	public void setProductDocumentCache(final ProductDocumentCache productDocumentCache) {
+		this.productDocumentCache = productDocumentCache;
+	}
+
+	protected ProductDocumentCache getProductDocumentCache() {
+		return productDocumentCache;
+	}
 }
\ No newline at end of file
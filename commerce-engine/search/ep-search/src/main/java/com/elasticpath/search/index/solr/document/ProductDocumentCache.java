@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.document;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Keeps the most recently published product documents, so that a change which only affects some of a product's fields can be indexed by
+ * patching a copy of its last document instead of creating the whole document again.
+ * <p>
+ * Solr cannot patch the product documents itself with atomic updates, because most of the product index fields are not stored.
+ * <p>
+ * The cache also holds the field groups which the pending partial updates affect, by product UID.
+ */
+public interface ProductDocumentCache {
+
+	/**
+	 * Returns the last published document of a product.
+	 *
+	 * @param productUid the product UID
+	 * @return the document, which must not be modified, or null if it is not cached
+	 */
+	SolrInputDocument getDocument(long productUid);
+
+	/**
+	 * Records the document published for a product.
+	 *
+	 * @param productUid the product UID
+	 * @param document the document, which must not be modified once it is cached
+	 */
+	void putDocument(long productUid, SolrInputDocument document);
+
+	/**
+	 * Replaces the pending partial updates.
+	 *
+	 * @param affectedFieldGroupsByUid the field groups to update, by product UID
+	 */
+	void setPartialUpdates(Map<Long, Set<String>> affectedFieldGroupsByUid);
+
+	/**
+	 * Removes and returns the field groups of the pending partial update of a product.
+	 *
+	 * @param productUid the product UID
+	 * @return the field groups to update, or an empty set if the product's document must be created in full
+	 */
+	Set<String> takePartialUpdate(long productUid);
+
+	/**
+	 * Removes all documents and pending partial updates.
+	 */
+	void clear();
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.document.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.solr.common.SolrInputDocument;
+
+import com.elasticpath.search.index.solr.document.ProductDocumentCache;
+
+/**
+ * A {@link ProductDocumentCache} which keeps up to a maximum number of the most recently used product documents in memory.
+ */
+public class ProductDocumentCacheImpl implements ProductDocumentCache {
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final Map<Long, SolrInputDocument> documents;
+
+	private final Map<Long, Set<String>> partialUpdates = new ConcurrentHashMap<>();
+
+	private final int maximumSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maximumSize the maximum number of documents to keep, or zero to disable partial updates
+	 */
+	public ProductDocumentCacheImpl(final int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size must not be negative: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.documents = Collections.synchronizedMap(new LinkedHashMap<Long, SolrInputDocument>(16, LOAD_FACTOR, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, SolrInputDocument> eldest) {
+				return size() > ProductDocumentCacheImpl.this.maximumSize;
+			}
+		});
+	}
+
+	@Override
+	public SolrInputDocument getDocument(final long productUid) {
+		return documents.get(productUid);
+	}
+
+	@Override
+	public void putDocument(final long productUid, final SolrInputDocument document) {
+		if (maximumSize > 0) {
+			documents.put(productUid, document);
+		}
+	}
+
+	@Override
+	public void setPartialUpdates(final Map<Long, Set<String>> affectedFieldGroupsByUid) {
+		partialUpdates.clear();
+		if (maximumSize > 0) {
+			partialUpdates.putAll(affectedFieldGroupsByUid);
+		}
+	}
+
+	@Override
+	public Set<String> takePartialUpdate(final long productUid) {
+		final Set<String> affectedFieldGroups = partialUpdates.remove(productUid);
+		if (affectedFieldGroups == null) {
+			return Collections.emptySet();
+		}
+		return affectedFieldGroups;
+	}
+
+	@Override
+	public void clear() {
+		documents.clear();
+		partialUpdates.clear();
+	}
+
+	/**
+	 * Returns the number of cached documents.
+	 *
+	 * @return the number of cached documents
+	 */
+	public int size() {
+		return documents.size();
+	}
+}
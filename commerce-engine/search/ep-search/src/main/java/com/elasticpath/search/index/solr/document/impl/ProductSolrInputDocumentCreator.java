@@ -45,12 +45,14 @@ import com.elasticpath.domain.catalog.ProductSku;
 import com.elasticpath.domain.pricing.PriceListAssignment;
 import com.elasticpath.domain.pricing.PriceListDescriptor;
 import com.elasticpath.domain.pricing.PriceListStack;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.domain.skuconfiguration.SkuOption;
 import com.elasticpath.domain.skuconfiguration.SkuOptionValue;
 import com.elasticpath.domain.store.Store;
 import com.elasticpath.money.Money;
 import com.elasticpath.persistence.api.FetchGroupLoadTuner;
 import com.elasticpath.persistence.support.FetchGroupConstants;
+import com.elasticpath.search.index.solr.document.ProductDocumentCache;
 import com.elasticpath.service.catalog.BrandService;
 import com.elasticpath.service.catalog.CategoryLookup;
 import com.elasticpath.service.catalogview.IndexProduct;
@@ -74,8 +76,23 @@ public class ProductSolrInputDocumentCreator extends AbstractDocumentCreatingTas
 	/** A value that boost the value. */
 	protected static final int FEATURED_RANK_BOOST = 1000;
 
+	private static final Collection<String> PRICE_FIELD_PREFIXES = Collections.singletonList(SolrIndexConstants.PRICE + '_');
+
+	private static final Collection<String> DISPLAYABLE_FIELD_PREFIXES = Collections.singletonList(SolrIndexConstants.DISPLAYABLE + '_');
+
+	private static final Set<String> CATEGORY_FIELD_NAMES = new HashSet<>(Arrays.asList(SolrIndexConstants.CATALOG_CODE,
+			SolrIndexConstants.CATEGORY_CODE, SolrIndexConstants.PARENT_CATEGORY_CODES, SolrIndexConstants.FEATURED, SolrIndexConstants.STORE_CODE));
+
+	/** The default category name fields are matched with and without their locale suffix. */
+	private static final Collection<String> CATEGORY_FIELD_PREFIXES = Arrays.asList(SolrIndexConstants.PRODUCT_CATEGORY + '_',
+			SolrIndexConstants.MASTER_PRODUCT_CATEGORY + '_', SolrIndexConstants.FEATURED_FIELD, SolrIndexConstants.DISPLAYABLE + '_',
+			SolrIndexConstants.CATEGORY_NAME + '_', SolrIndexConstants.PRODUCT_DEFAULT_CATEGORY_NAME,
+			SolrIndexConstants.SORT_PRODUCT_DEFAULT_CATEGORY_NAME);
+
 	private SolrInputDocument solrInputDocument;
 
+	private ProductDocumentCache productDocumentCache;
+
 	private Analyzer analyzer;
 
 	private FetchGroupLoadTuner productLoadTuner;
@@ -106,6 +123,17 @@ public class ProductSolrInputDocumentCreator extends AbstractDocumentCreatingTas
 	@Override
 	public SolrInputDocument createDocument() {
 		initialize();
+		if (!patchCachedDocument()) {
+			solrInputDocument = new SolrInputDocument();
+			addAllFieldsToDocument();
+		}
+		if (productDocumentCache != null) {
+			productDocumentCache.putDocument(getEntity().getUidPk(), solrInputDocument);
+		}
+		return solrInputDocument;
+	}
+
+	private void addAllFieldsToDocument() {
 		addProductFieldsToDocument(solrInputDocument, getEntity());
 		final Map<Long, Boolean> catalogUidAvailability = addAvailableCategoriesAndCatalogsToDocument(solrInputDocument, getEntity());
 		addBrandCodeToDocument(solrInputDocument, getEntity());
@@ -126,8 +154,98 @@ public class ProductSolrInputDocumentCreator extends AbstractDocumentCreatingTas
 			addConstituentFieldsToDocument(solrInputDocument, (ProductBundle) getEntity().getWrappedProduct(), count, false);
 			addFieldToDocument(solrInputDocument, SolrIndexConstants.CONSTITUENT_COUNT, getAnalyzer().analyze(count.size()));
 		}
+	}
 
-		return solrInputDocument;
+	/**
+	 * Patches a copy of the product's cached document if the product only has a pending partial update.
+	 * The category fields can only be patched while the product stays in the same catalogs, which determine its locales.
+	 *
+	 * @return true if the patched copy is now the document, false if the document must be created in full
+	 */
+	private boolean patchCachedDocument() {
+		if (productDocumentCache == null) {
+			return false;
+		}
+		final long productUid = getEntity().getUidPk();
+		final Set<String> affectedFieldGroups = productDocumentCache.takePartialUpdate(productUid);
+		final SolrInputDocument cachedDocument = productDocumentCache.getDocument(productUid);
+		if (affectedFieldGroups.isEmpty() || cachedDocument == null) {
+			return false;
+		}
+
+		final SolrInputDocument document = cachedDocument.deepCopy();
+		if (affectedFieldGroups.contains(AffectedEntityType.PRODUCT_CATEGORIES)) {
+			if (!patchCategoryFields(document)) {
+				return false;
+			}
+		} else if (affectedFieldGroups.contains(AffectedEntityType.PRODUCT_AVAILABILITY)) {
+			final Map<Long, Boolean> catalogUidAvailability = addAvailableCategoriesAndCatalogsToDocument(new SolrInputDocument(), getEntity());
+			removeFields(document, Collections.emptySet(), DISPLAYABLE_FIELD_PREFIXES);
+			addDisplayableFieldsToDocument(document, getEntity(), catalogUidAvailability, stores);
+		}
+		if (affectedFieldGroups.contains(AffectedEntityType.PRODUCT_PRICE)) {
+			removeFields(document, Collections.emptySet(), PRICE_FIELD_PREFIXES);
+			addPriceFieldsToDocument(document, getEntity(), stores);
+		}
+
+		getPipelinePerformance().addCount("createdocument:docs_patched", 1);
+		solrInputDocument = document;
+		return true;
+	}
+
+	private boolean patchCategoryFields(final SolrInputDocument document) {
+		final SolrInputDocument categoryFields = new SolrInputDocument();
+		final Map<Long, Boolean> catalogUidAvailability = addAvailableCategoriesAndCatalogsToDocument(categoryFields, getEntity());
+		if (!getFieldValueSet(categoryFields, SolrIndexConstants.CATALOG_CODE).equals(getFieldValueSet(document, SolrIndexConstants.CATALOG_CODE))) {
+			return false;
+		}
+
+		removeFields(document, CATEGORY_FIELD_NAMES, CATEGORY_FIELD_PREFIXES);
+		document.putAll(categoryFields);
+		addFeaturenessToDocument(document, getEntity());
+		addDisplayableFieldsToDocument(document, getEntity(), catalogUidAvailability, stores);
+		addStoreSpecificFieldsToDocument(document, catalogUidAvailability);
+		addCategoryNameFieldsToDocument(document, getEntity());
+		return true;
+	}
+
+	/**
+	 * Adds the category names and the default category names, as {@link #addLocaleSpecificFieldsToDocument(SolrInputDocument, Product)},
+	 * {@link #addSortedFieldsToDocument(SolrInputDocument, Product)} and
+	 * {@link #addDefaultLocalizedFieldsToDocument(SolrInputDocument, Product, Brand)} add them.
+	 */
+	private void addCategoryNameFieldsToDocument(final SolrInputDocument document, final Product product) {
+		final Category defaultCategory = product.getDefaultCategory(product.getMasterCatalog());
+		for (final Locale locale : getAllLocales(product)) {
+			for (final Category category : product.getCategories()) {
+				addFieldToDocument(document, getIndexUtility().createLocaleFieldName(SolrIndexConstants.CATEGORY_NAME, locale),
+						getAnalyzer().analyze(category.getDisplayName(locale)));
+			}
+			addFieldToDocument(document, getIndexUtility().createLocaleFieldName(SolrIndexConstants.PRODUCT_DEFAULT_CATEGORY_NAME, locale),
+					getAnalyzer().analyze(defaultCategory.getDisplayName(locale)));
+			addFieldNotMultiValuedToDocument(document,
+					getIndexUtility().createLocaleFieldName(SolrIndexConstants.SORT_PRODUCT_DEFAULT_CATEGORY_NAME, locale),
+					getAnalyzer().analyze(defaultCategory.getDisplayName(locale)));
+		}
+
+		final Locale defaultLocale = product.getMasterCatalog().getDefaultLocale();
+		addFieldToDocument(document, SolrIndexConstants.PRODUCT_DEFAULT_CATEGORY_NAME,
+				getAnalyzer().analyze(defaultCategory.getDisplayName(defaultLocale)));
+		addFieldNotMultiValuedToDocument(document, SolrIndexConstants.SORT_PRODUCT_DEFAULT_CATEGORY_NAME,
+				getAnalyzer().analyze(defaultCategory.getDisplayName(defaultLocale)));
+	}
+
+	private static void removeFields(final SolrInputDocument document, final Set<String> fieldNames, final Collection<String> fieldNamePrefixes) {
+		document.getFieldNames().removeIf(fieldName -> fieldNames.contains(fieldName)
+				|| fieldNamePrefixes.stream().anyMatch(fieldName::startsWith));
+	}
+
+	private static Set<Object> getFieldValueSet(final SolrInputDocument document, final String fieldName) {
+		final Collection<Object> values = document.getFieldValues(fieldName);
+		if (values == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(values);
 	}
 
 	private void addDocValueProductAttributes(final SolrInputDocument solrInputDocument, final Product product) {
@@ -777,7 +895,6 @@ public class ProductSolrInputDocumentCreator extends AbstractDocumentCreatingTas
 	}
 
 	private void initialize() {
-		solrInputDocument = new SolrInputDocument();
 		productLoadTuner.addFetchGroup(FetchGroupConstants.ORDER_DEFAULT);
 		populateStoreAndPriceListAssignmentCache();
 	}
@@ -999,4 +1116,11 @@ public class ProductSolrInputDocumentCreator extends AbstractDocumentCreatingTas
 		return beanFactory;
 	}
 
+	public void setProductDocumentCache(final ProductDocumentCache productDocumentCache) {
+		this.productDocumentCache = productDocumentCache;
+	}
+
+	public ProductDocumentCache getProductDocumentCache() {
+		return productDocumentCache;
+	}
 }
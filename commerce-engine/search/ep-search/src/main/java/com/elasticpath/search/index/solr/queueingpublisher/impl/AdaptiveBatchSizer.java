@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.queueingpublisher.impl;
+
+/**
+ * Sizes the batches of the {@code QueueingSolrDocumentPublisher} from the Solr round trips it observes, using additive increase and
+ * multiplicative decrease: while full batches are published within the target latency the batch size grows by a fixed step, and a batch
+ * which fails or exceeds the target latency halves it. Batches which were not full say nothing about what Solr could take, so they leave the
+ * batch size alone; this keeps incremental updates from inflating it.
+ * <p>
+ * Only the publishing thread records batches, but the batch size may be read by other threads for monitoring.
+ */
+public class AdaptiveBatchSizer {
+
+	private final int minimumBatchSize;
+
+	private final int maximumBatchSize;
+
+	private final int batchSizeIncrement;
+
+	private final long targetLatency;
+
+	private volatile int batchSize;
+
+	/**
+	 * Constructor. Starts at the minimum batch size.
+	 *
+	 * @param minimumBatchSize the smallest batch size, at least one
+	 * @param maximumBatchSize the largest batch size, at least the minimum
+	 * @param batchSizeIncrement the step the batch size grows by after a fast, full batch
+	 * @param targetLatency the longest round trip, in milliseconds, that still lets the batch size grow
+	 */
+	public AdaptiveBatchSizer(final int minimumBatchSize, final int maximumBatchSize, final int batchSizeIncrement, final long targetLatency) {
+		if (minimumBatchSize < 1 || maximumBatchSize < minimumBatchSize) {
+			throw new IllegalArgumentException("Invalid batch size range " + minimumBatchSize + " to " + maximumBatchSize);
+		}
+		this.minimumBatchSize = minimumBatchSize;
+		this.maximumBatchSize = maximumBatchSize;
+		this.batchSizeIncrement = batchSizeIncrement;
+		this.targetLatency = targetLatency;
+		this.batchSize = minimumBatchSize;
+	}
+
+	/**
+	 * Adjusts the batch size to the outcome of a published batch.
+	 *
+	 * @param publishedSize the number of commands in the batch
+	 * @param latency the time the batch took to publish, in milliseconds
+	 * @param failed whether any command of the batch failed
+	 */
+	public void recordBatch(final int publishedSize, final long latency, final boolean failed) {
+		final int currentBatchSize = batchSize;
+		if (failed || latency > targetLatency) {
+			batchSize = Math.max(minimumBatchSize, currentBatchSize / 2);
+		} else if (publishedSize >= currentBatchSize) {
+			batchSize = Math.min(maximumBatchSize, currentBatchSize + batchSizeIncrement);
+		}
+	}
+
+	/**
+	 * Returns the number of commands the next batch may hold.
+	 *
+	 * @return the batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+}
@@ -36,4 +36,8 @@ public class UpdateCommand implements SolrPublishCommand {
 	public void apply(final SolrClient client) throws SolrServerException, IOException {
 		client.add(document);
 	}
+
+	public SolrInputDocument getDocument() {
+		return document;
+	}
 }
\ No newline at end of file
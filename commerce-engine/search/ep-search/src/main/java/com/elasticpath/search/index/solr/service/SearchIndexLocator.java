@@ -20,4 +20,12 @@ public interface SearchIndexLocator {
 	 */
 	File getSearchIndexLocation(IndexType indexType);
 
+	/**
+	 * Returns the file system location into which a complete rebuild of the given index type is built before it is swapped in.
+	 *
+	 * @param indexType the index to locate
+	 * @return the file system location of the rebuild of the search index
+	 */
+	File getRebuildSearchIndexLocation(IndexType indexType);
+
 }
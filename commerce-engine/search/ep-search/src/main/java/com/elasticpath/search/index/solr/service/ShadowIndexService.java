@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.service;
+
+import org.apache.solr.client.solrj.SolrClient;
+
+import com.elasticpath.service.search.IndexType;
+
+/**
+ * Rebuilds search indexes into a shadow index and swaps the shadow index in once it is complete, so that searches keep using the complete
+ * live index while a rebuild runs.
+ */
+public interface ShadowIndexService {
+
+	/**
+	 * Returns whether rebuilds of the given index type are built into a shadow index.
+	 *
+	 * @param indexType the index type
+	 * @return true if rebuilds are built into a shadow index
+	 */
+	boolean isShadowRebuildEnabled(IndexType indexType);
+
+	/**
+	 * Returns the client that document publishers of the given index type must write through. It writes to the live index and, while a
+	 * shadow rebuild of the index type is in progress, to the shadow index too.
+	 *
+	 * @param indexType the index type
+	 * @return the indexing client
+	 */
+	SolrClient getIndexingClient(IndexType indexType);
+
+	/**
+	 * Creates an empty shadow index for the given index type and mirrors the writes of the indexing client to it.
+	 *
+	 * @param indexType the index type
+	 * @return a client of the shadow index
+	 */
+	SolrClient startShadowRebuild(IndexType indexType);
+
+	/**
+	 * Commits the shadow index and, if it holds enough documents compared to the live index, swaps it in as the live index. Otherwise the
+	 * shadow index is discarded and the live index is left untouched. The indexing client stops writing to the shadow index either way.
+	 *
+	 * @param indexType the index type
+	 * @return true if the shadow index was swapped in, false if it was rolled back
+	 */
+	boolean completeShadowRebuild(IndexType indexType);
+
+	/**
+	 * Discards the shadow index of a failed rebuild and stops writing to it through the indexing client.
+	 *
+	 * @param indexType the index type
+	 */
+	void abandonShadowRebuild(IndexType indexType);
+
+}
@@ -6,9 +6,12 @@ package com.elasticpath.search.index.solr.service.impl;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -34,6 +37,7 @@ import com.elasticpath.search.index.solr.builders.IndexBuilder;
 import com.elasticpath.search.index.solr.service.IndexBuildPolicy;
 import com.elasticpath.search.index.solr.service.IndexBuildPolicyContext;
 import com.elasticpath.search.index.solr.service.IndexBuildPolicyContextFactory;
+import com.elasticpath.search.index.solr.service.ShadowIndexService;
 import com.elasticpath.service.search.IndexType;
 import com.elasticpath.service.search.index.IndexSearchService;
 import com.elasticpath.service.search.query.LuceneRawSearchCriteria;
@@ -63,6 +67,8 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 
 	private int maxIndexBuildIteration;
 
+	private ShadowIndexService shadowIndexService;
+
 	/**
 	 * Finds all deleted uids.
 	 *
@@ -111,13 +117,19 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 
 		final Set<Long> allModifiedUids = new HashSet<>(addedOrModifiedUids.size());
 		allModifiedUids.addAll(addedOrModifiedUids);
+		final Map<Long, Set<String>> partiallyModifiedUids = new HashMap<>();
 
 		for (final IndexNotification notification : indexNotificationProcessor.getNotifications()) {
 			if (notification.getUpdateType() != UpdateType.UPDATE) {
 				continue;
 			}
 
-			if (notification.getAffectedEntityType() == null) {
+			final String affectedFieldGroup = indexBuilder.getAffectedFieldGroup(notification);
+			if (affectedFieldGroup != null) {
+				for (final Long uid : indexBuilder.findUidsByNotification(notification)) {
+					partiallyModifiedUids.computeIfAbsent(uid, key -> new HashSet<>()).add(affectedFieldGroup);
+				}
+			} else if (notification.getAffectedEntityType() == null) {
 				allModifiedUids.addAll(findAffectedUidsByQuery(indexBuilder.getIndexType(), notification.getQueryString()));
 			} else if (AffectedEntityType.SINGLE_UNIT.equals(notification.getAffectedEntityType())) {
 				allModifiedUids.add(notification.getAffectedUid());
@@ -125,10 +137,19 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 				allModifiedUids.addAll(indexBuilder.findUidsByNotification(notification));
 			}
 		}
+
+		// a document which is recreated in full picks up the partial changes as well
+		partiallyModifiedUids.keySet().removeAll(allModifiedUids);
+		indexBuilder.preparePartialUpdates(partiallyModifiedUids);
+
 		if (LOG.isDebugEnabled()) {
-			LOG.debug("Building Index -- total objects of " + indexBuilder.getName() + " modified:" + allModifiedUids.size());
+			LOG.debug("Building Index -- total objects of " + indexBuilder.getName() + " modified:" + allModifiedUids.size()
+					+ ", partially modified:" + partiallyModifiedUids.size());
 		}
-		return new ArrayList<>(allModifiedUids);
+		final List<Long> uids = new ArrayList<>(allModifiedUids.size() + partiallyModifiedUids.size());
+		uids.addAll(allModifiedUids);
+		uids.addAll(partiallyModifiedUids.keySet());
+		return uids;
 	}
 
 	/**
@@ -148,7 +169,11 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 			final IndexNotificationProcessor indexNotificationProcessor = indexBuilder.getIndexNotificationProcessor();
 			// just find notifications for indexType and then clear this notifications then buildFinished(..) called
 			List<IndexNotification> notification = indexNotificationProcessor.findLastDeleteAllOrRebuildIndexType(indexType);
-			documentsWerePublished = rebuildInternal(indexBuilder, solrClient);
+			if (isShadowRebuild(indexType)) {
+				documentsWerePublished = shadowRebuildInternal(indexBuilder);
+			} else {
+				documentsWerePublished = rebuildInternal(indexBuilder, solrClient);
+			}
 			if (!notification.isEmpty()) {
 				indexNotificationProcessor.removeNotificationByMaxUidAndIndexType(notification.get(0).getUidPk(), indexType);
 			}
@@ -249,6 +274,8 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 		}
 		onIndexUpdatingInternal(indexBuilder, solrClient);
 
+		// every document is recreated in full
+		indexBuilder.preparePartialUpdates(Collections.emptyMap());
 		deleteIndex(solrClient);
 
 		boolean documentsWerePublished = false;
@@ -269,6 +296,37 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 		return documentsWerePublished;
 	}
 
+	private boolean isShadowRebuild(final IndexType indexType) {
+		return shadowIndexService != null && shadowIndexService.isShadowRebuildEnabled(indexType);
+	}
+
+	/**
+	 * Rebuild an index into a shadow index, which is swapped in once it is complete, so that searches use the complete live index until then.
+	 * If the rebuilt index holds too few documents compared to the live index, it is rolled back and the rebuild fails, leaving the rebuild
+	 * request in place.
+	 *
+	 * @param indexBuilder the index builder to use
+	 * @return if there was solr documents published during the build
+	 * @throws EpServiceException if the rebuilt index was rolled back
+	 */
+	protected boolean shadowRebuildInternal(final IndexBuilder indexBuilder) {
+		final IndexType indexType = indexBuilder.getIndexType();
+		final SolrClient shadowClient = shadowIndexService.startShadowRebuild(indexType);
+
+		final boolean documentsWerePublished;
+		try {
+			documentsWerePublished = rebuildInternal(indexBuilder, shadowClient);
+		} catch (final RuntimeException e) {
+			shadowIndexService.abandonShadowRebuild(indexType);
+			throw e;
+		}
+
+		if (!shadowIndexService.completeShadowRebuild(indexType)) {
+			throw new EpServiceException("The rebuild of " + indexType + " was rolled back because it indexed too few documents.");
+		}
+		return documentsWerePublished;
+	}
+
 	private boolean publishBatch(final IndexBuilder indexBuilder, final SolrClient solrClient, final List<Long> uidsToIndex) {
 		if (uidsToIndex.isEmpty()) {
 			return false;
@@ -517,4 +575,12 @@ public class IndexBuildServiceImpl extends AbstractIndexServiceImpl {
 	protected int getMaxIndexBuildIteration() {
 		return maxIndexBuildIteration;
 	}
+
+	protected ShadowIndexService getShadowIndexService() {
+		return shadowIndexService;
+	}
+
+	public void setShadowIndexService(final ShadowIndexService shadowIndexService) {
+		this.shadowIndexService = shadowIndexService;
+	}
 }
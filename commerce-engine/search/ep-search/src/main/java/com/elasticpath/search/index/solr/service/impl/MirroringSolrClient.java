@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.service.impl;
+
+import java.io.IOException;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.util.NamedList;
+
+/**
+ * A {@code SolrClient} which sends every request to a live client and, while mirroring, to a mirror client too. Document publishers hold on
+ * to their client, so publishing through this client lets a rebuild write every update to a shadow index as well as to the live index.
+ * <p>
+ * Closing this client does not close the target clients, which are owned elsewhere.
+ */
+class MirroringSolrClient extends SolrClient {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SolrClient liveClient;
+
+	private volatile SolrClient mirror;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param liveClient the client to send every request to
+	 */
+	MirroringSolrClient(final SolrClient liveClient) {
+		this.liveClient = liveClient;
+	}
+
+	/**
+	 * {@inheritDoc} The request is sent to the live client first, then to the mirror if any. The response of the live client is returned.
+	 */
+	@Override
+	public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException, IOException {
+		final NamedList<Object> response = liveClient.request(request, collection);
+		final SolrClient currentMirror = mirror;
+		if (currentMirror != null) {
+			currentMirror.request(request, collection);
+		}
+		return response;
+	}
+
+	@Override
+	public void close() {
+		// the target clients are owned elsewhere
+	}
+
+	/**
+	 * Sends all following requests to the given client too.
+	 *
+	 * @param newMirror the client to mirror requests to
+	 */
+	void mirrorTo(final SolrClient newMirror) {
+		mirror = newMirror;
+	}
+
+	/**
+	 * Sends all following requests to the live client only.
+	 */
+	void stopMirroring() {
+		mirror = null;
+	}
+
+	SolrClient getMirror() {
+		return mirror;
+	}
+
+}
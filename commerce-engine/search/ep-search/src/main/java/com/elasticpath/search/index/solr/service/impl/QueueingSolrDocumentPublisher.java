@@ -4,6 +4,7 @@
 package com.elasticpath.search.index.solr.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -22,6 +23,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.elasticpath.base.exception.EpSystemException;
 import com.elasticpath.search.index.pipeline.stats.PipelinePerformance;
+import com.elasticpath.search.index.solr.queueingpublisher.impl.AdaptiveBatchSizer;
 import com.elasticpath.search.index.solr.queueingpublisher.impl.DeleteCommand;
 import com.elasticpath.search.index.solr.queueingpublisher.impl.ShutdownCommand;
 import com.elasticpath.search.index.solr.queueingpublisher.impl.SolrPublishCommand;
@@ -39,15 +41,23 @@ import com.elasticpath.service.search.solr.SolrDocumentPublisher;
  *
  * It is <i>very likely</i> that since we do <b>not</b> do periodic commits that area of index building can be replaced by using a
  * {@code StreamingUpdateSolrServer} instead as long as you honour commit requests through the {@code SolrDocumentPublisher#commit()} call.
+ * <p>
+ * Consecutive updates drained from the queue are sent to Solr in a single request. The number of commands drained at once adapts to how
+ * Solr copes, see {@link AdaptiveBatchSizer}, so that rebuilds send large batches while Solr keeps up and back off when it slows down or
+ * fails. When the queue is full, producers block until the publisher catches up. The queue depth, batch sizes, batch limit and publishing
+ * time are recorded in the {@code PipelinePerformance}.
  */
 public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 
 	private static final int DEFAULT_QUEUE_SIZE = 15000;
 
-	/**
-	 * One short of the maximum size that the thread will pull from the queue at once.
-	 */
-	private static final int QUEUE_DRAIN_SIZE = 499;
+	private static final int DEFAULT_MINIMUM_BATCH_SIZE = 50;
+
+	private static final int DEFAULT_MAXIMUM_BATCH_SIZE = 2000;
+
+	private static final int DEFAULT_BATCH_SIZE_INCREMENT = 50;
+
+	private static final long DEFAULT_TARGET_BATCH_LATENCY = 2000;
 
 	private static final int BUFFER_SIZE = 510;
 
@@ -63,7 +73,15 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 
 	private int documentQueueSize = DEFAULT_QUEUE_SIZE;
 
-	private int queueDrainSize = QUEUE_DRAIN_SIZE;
+	private int minimumBatchSize = DEFAULT_MINIMUM_BATCH_SIZE;
+
+	private int maximumBatchSize = DEFAULT_MAXIMUM_BATCH_SIZE;
+
+	private int batchSizeIncrement = DEFAULT_BATCH_SIZE_INCREMENT;
+
+	private long targetBatchLatency = DEFAULT_TARGET_BATCH_LATENCY;
+
+	private AdaptiveBatchSizer batchSizer;
 
 	private int bufferSize = BUFFER_SIZE;
 
@@ -78,6 +96,8 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 	 */
 	class PublisherTask implements Runnable {
 
+		private boolean batchRejected;
+
 		/**
 		 * Consumes the Solr document queue and publishes to the Solr server.
 		 */
@@ -95,9 +115,8 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 			for (;;) {
 
 				/**
-				 * Drain as much of the queue as we can (up to a total of QUEUE_DRAIN_SIZE+1. Calling .take() on a blocking queue will block until
-				 * there is something on the queue. If the queue has less than half of a QUEUE_DRAIN_SIZE on it, we sleep for DRAIN_WAIT_MS and then
-				 * attempt our drain. This is really so that if the queue is full-enough, we don't bother waiting.
+				 * Drain as much of the queue as we can, up to a total of the current batch size. Calling .take() on a blocking queue will block until
+				 * there is something on the queue.
 				 */
 
 				try {
@@ -119,13 +138,23 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 		}
 
 		private boolean handleDocuments(final List<SolrPublishCommand> localCopy) {
-			final int docCount = documentQueue.drainTo(localCopy, queueDrainSize);
+			final int batchLimit = batchSizer.getBatchSize();
+			getPipelinePerformance().addValue("publish:queue_depth", documentQueue.size() + localCopy.size());
+			final int docCount = documentQueue.drainTo(localCopy, batchLimit - 1);
 			getPipelinePerformance().addCount("publish:documents_in", docCount);
 
 			final StopWatch stopWatch = new StopWatch();
 			stopWatch.start();
 
+			final List<SolrInputDocument> pendingUpdates = new ArrayList<>(localCopy.size());
+			batchRejected = false;
+			int failures = 0;
 			for (final SolrPublishCommand cmd : localCopy) {
+				if (cmd instanceof UpdateCommand) {
+					pendingUpdates.add(((UpdateCommand) cmd).getDocument());
+					continue;
+				}
+				failures += publishUpdates(pendingUpdates);
 				try {
 
 					cmd.apply(solrServer);
@@ -137,25 +166,69 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 
 				} catch (final Exception e) {
 					LOG.error("Error processing command.", e);
+					failures++;
 				}
 			}
+			failures += publishUpdates(pendingUpdates);
+
 			if (solrServer instanceof HttpSolrClient) {
 				LOG.info("Updated " + localCopy.size() + " documents against " + ((HttpSolrClient) solrServer).getBaseURL());
 			}
 			stopWatch.stop();
+			batchSizer.recordBatch(localCopy.size(), stopWatch.getTime(), batchRejected || failures > 0);
+
 			getPipelinePerformance().addValue("publish:time", stopWatch.getTime());
+			getPipelinePerformance().addValue("publish:batch_size", localCopy.size());
+			getPipelinePerformance().addValue("publish:batch_limit", batchSizer.getBatchSize());
 			getPipelinePerformance().addCount("publish:documents_out", localCopy.size());
+			getPipelinePerformance().addCount("publish:errors", failures);
 
 			localCopy.clear();
 			return true;
 		}
 
+		/**
+		 * Sends the given documents to Solr in one request. If Solr rejects the request, the documents are sent one at a time so that one bad
+		 * document does not lose the others.
+		 *
+		 * @param documents the documents, which are removed from the list
+		 * @return the number of documents which could not be published
+		 */
+		private int publishUpdates(final List<SolrInputDocument> documents) {
+			if (documents.isEmpty()) {
+				return 0;
+			}
+			try {
+				solrServer.add(documents);
+				return 0;
+			} catch (final Exception e) {
+				LOG.warn("Unable to publish a batch of " + documents.size() + " documents, publishing them one at a time.", e);
+				batchRejected = true;
+				return publishIndividually(documents);
+			} finally {
+				documents.clear();
+			}
+		}
+
+		private int publishIndividually(final Collection<SolrInputDocument> documents) {
+			int failures = 0;
+			for (final SolrInputDocument document : documents) {
+				try {
+					solrServer.add(document);
+				} catch (final Exception e) {
+					LOG.error("Error processing command.", e);
+					failures++;
+				}
+			}
+			return failures;
+		}
+
 	}
 
 	/** Called by Spring to initialize this bean. */
 	public void initialize() {
 		this.documentQueue = new ArrayBlockingQueue<>(documentQueueSize);
-
+		this.batchSizer = new AdaptiveBatchSizer(minimumBatchSize, maximumBatchSize, batchSizeIncrement, targetBatchLatency);
 	}
 
 	@Override
@@ -262,17 +335,54 @@ public class QueueingSolrDocumentPublisher implements SolrDocumentPublisher {
 		this.documentQueueSize = documentQueueSize;
 	}
 
+	/**
+	 * The number of documents that will be removed from the queue at once when publishing starts, and the least it will shrink to when Solr
+	 * struggles.
+	 *
+	 * @param minimumBatchSize the smallest number of documents to pull off the queue at once
+	 */
+	public void setMinimumBatchSize(final int minimumBatchSize) {
+		this.minimumBatchSize = minimumBatchSize;
+	}
+
 	/**
 	 * The maximum number of documents that will be removed from the queue at once.
 	 *
-	 * @param queueDrainSize documents to pull off the queue
+	 * @param maximumBatchSize the largest number of documents to pull off the queue at once
+	 */
+	public void setMaximumBatchSize(final int maximumBatchSize) {
+		this.maximumBatchSize = maximumBatchSize;
+	}
+
+	/**
+	 * How many documents the batch size grows by after a full batch was published within the target latency.
+	 *
+	 * @param batchSizeIncrement the number of documents
+	 */
+	public void setBatchSizeIncrement(final int batchSizeIncrement) {
+		this.batchSizeIncrement = batchSizeIncrement;
+	}
+
+	/**
+	 * The longest time, in milliseconds, that publishing a batch may take for the batch size to keep growing. Slower batches halve it.
+	 *
+	 * @param targetBatchLatency the target latency in milliseconds
+	 */
+	public void setTargetBatchLatency(final long targetBatchLatency) {
+		this.targetBatchLatency = targetBatchLatency;
+	}
+
+	/**
+	 * Returns the number of commands that will be removed from the queue at once.
+	 *
+	 * @return the current batch size
 	 */
-	protected void setQueueDrainSize(final int queueDrainSize) {
-		this.queueDrainSize = queueDrainSize;
+	public int getBatchSize() {
+		return batchSizer.getBatchSize();
 	}
 
 	/**
-	 * Initial size for the array used to hold local copies of {@code SolrInputDocument}. Set this slightly larger than {@code #queueDrainSize} if
+	 * Initial size for the array used to hold local copies of {@code SolrInputDocument}. Set this slightly larger than the usual batch size if
 	 * needed.
 	 *
 	 * @param bufferSize initial collection size
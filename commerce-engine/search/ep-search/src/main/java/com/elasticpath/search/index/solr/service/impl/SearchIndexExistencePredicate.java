@@ -6,6 +6,9 @@ package com.elasticpath.search.index.solr.service.impl;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Properties;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -26,6 +29,8 @@ public class SearchIndexExistencePredicate implements Predicate<IndexType> {
 	private static final Logger LOG = LogManager.getLogger(SearchIndexExistencePredicate.class);
 
 	private static final String SOLR_INDEX_SUBDIRECTORY = "index";
+	private static final String SOLR_INDEX_PROPERTIES_FILE = "index.properties";
+	private static final String SOLR_INDEX_PROPERTY = "index";
 	// This is set to 2 because Solr increments this twice before the index is ready to be used.
 	// This may change in future versions of Solr.
 	private static final long SOLR_INDEX_INITIAL_VERSION = 2L;
@@ -60,12 +65,26 @@ public class SearchIndexExistencePredicate implements Predicate<IndexType> {
 	}
 
 	/**
-	 * Confusingly, Solr creates an 'index' subdirectory within the directory configured to be the index directory.
+	 * Confusingly, Solr creates an 'index' subdirectory within the directory configured to be the index directory. When an index has been
+	 * installed by a build-and-swap rebuild, the subdirectory is instead named by the 'index.properties' file in the index directory.
 	 *
 	 * @param searchIndexLocation the directory that Solr was told to use as an index directory
 	 * @return the actual directory that Solr uses to store the index
 	 */
 	protected File getActualIndexDirectory(final File searchIndexLocation) {
+		final File indexPropertiesFile = new File(searchIndexLocation, SOLR_INDEX_PROPERTIES_FILE);
+		if (indexPropertiesFile.isFile()) {
+			final Properties indexProperties = new Properties();
+			try (InputStream inputStream = Files.newInputStream(indexPropertiesFile.toPath())) {
+				indexProperties.load(inputStream);
+			} catch (final IOException ioe) {
+				throw new EpServiceException("Unable to read " + indexPropertiesFile, ioe);
+			}
+			final String indexSubdirectory = indexProperties.getProperty(SOLR_INDEX_PROPERTY);
+			if (indexSubdirectory != null) {
+				return new File(searchIndexLocation, indexSubdirectory);
+			}
+		}
 		return new File(searchIndexLocation, SOLR_INDEX_SUBDIRECTORY);
 	}
 
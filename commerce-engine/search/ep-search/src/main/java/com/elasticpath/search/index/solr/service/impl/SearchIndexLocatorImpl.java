@@ -18,6 +18,8 @@ import com.elasticpath.service.search.IndexType;
  */
 public class SearchIndexLocatorImpl implements SearchIndexLocator {
 
+	private static final String REBUILD_SUFFIX = "-rebuild";
+
 	private Map<IndexType, String> indexTypeSystemPropertyKeyMap = Maps.newHashMap();
 
 	@Override
@@ -43,6 +45,16 @@ public class SearchIndexLocatorImpl implements SearchIndexLocator {
 		return new File(filePath);
 	}
 
+	/**
+	 * {@inheritDoc} The rebuild location is a sibling of the search index location, so that the rebuilt index can be moved into place
+	 * without copying.
+	 */
+	@Override
+	public File getRebuildSearchIndexLocation(final IndexType indexType) {
+		final File searchIndexLocation = getSearchIndexLocation(indexType);
+		return new File(searchIndexLocation.getParentFile(), searchIndexLocation.getName() + REBUILD_SUFFIX);
+	}
+
 	public void setIndexTypeSystemPropertyKeyMap(final Map<IndexType, String> indexTypeSystemPropertyKeyMap) {
 		this.indexTypeSystemPropertyKeyMap = indexTypeSystemPropertyKeyMap;
 	}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.request.CoreAdminRequest;
+import org.apache.solr.common.util.NamedList;
+
+import com.elasticpath.base.exception.EpServiceException;
+import com.elasticpath.search.index.solr.service.SearchIndexLocator;
+import com.elasticpath.search.index.solr.service.ShadowIndexService;
+import com.elasticpath.service.misc.TimeService;
+import com.elasticpath.service.search.IndexType;
+import com.elasticpath.service.search.solr.SolrManager;
+
+/**
+ * A {@link ShadowIndexService} for the embedded, standalone Solr of the search server.
+ * <p>
+ * A shadow rebuild creates a temporary core with the live core's configuration, whose data is kept in the rebuild location given by the
+ * {@link SearchIndexLocator}. When the rebuild completes, the temporary core is unloaded, its index is moved into the live index location as a
+ * new index directory and named in the location's {@code index.properties}, and the live core is reloaded. This is the mechanism Solr uses to
+ * install replicated indexes: the reloaded core opens the new index directory, searches are served by the old index until it is ready, and
+ * Solr removes the old index directory.
+ * <p>
+ * While a rebuild runs, the indexing client writes every update to the live core as well as to the shadow core, so that incremental updates
+ * published during the rebuild are kept whichever index ends up live. This doubles the indexing load on the search server for the duration
+ * of the rebuild.
+ * <p>
+ * The index is moved rather than copied, so the search index location and the rebuild location must be on the same file system, and this
+ * service must run on the host of the search server.
+ */
+public class SolrShadowIndexServiceImpl implements ShadowIndexService {
+
+	private static final Logger LOG = LogManager.getLogger(SolrShadowIndexServiceImpl.class);
+
+	private static final String DEFAULT_SHADOW_CORE_SUFFIX = "_rebuild";
+
+	private static final double DEFAULT_MINIMUM_DOCUMENT_RATIO = 0.9;
+
+	private static final String CONF_DIRECTORY = "conf";
+
+	private static final String INDEX_DIRECTORY = "index";
+
+	private static final String INDEX_PROPERTIES_FILE = "index.properties";
+
+	private static final String INDEX_PROPERTY = "index";
+
+	private static final String INDEX_DIRECTORY_TIMESTAMP_FORMAT = "yyyyMMddHHmmssSSS";
+
+	private SolrManager solrManager;
+
+	private SearchIndexLocator searchIndexLocator;
+
+	private TimeService timeService;
+
+	private boolean enabled;
+
+	private double minimumDocumentRatio = DEFAULT_MINIMUM_DOCUMENT_RATIO;
+
+	private String shadowCoreSuffix = DEFAULT_SHADOW_CORE_SUFFIX;
+
+	private final Map<IndexType, MirroringSolrClient> indexingClients = new ConcurrentHashMap<>();
+
+	private final Map<IndexType, SolrClient> shadowClients = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean isShadowRebuildEnabled(final IndexType indexType) {
+		return enabled;
+	}
+
+	@Override
+	public SolrClient getIndexingClient(final IndexType indexType) {
+		return getMirroringIndexingClient(indexType);
+	}
+
+	private MirroringSolrClient getMirroringIndexingClient(final IndexType indexType) {
+		return indexingClients.computeIfAbsent(indexType, key -> new MirroringSolrClient(solrManager.getServer(key)));
+	}
+
+	@Override
+	public SolrClient startShadowRebuild(final IndexType indexType) {
+		if (shadowClients.containsKey(indexType)) {
+			LOG.warn("Discarding the unfinished shadow rebuild of " + indexType + " before starting a new one.");
+			abandonShadowRebuild(indexType);
+		}
+
+		final String shadowCoreName = getShadowCoreName(indexType);
+		try (SolrClient adminClient = createClient(getSearchHost(indexType))) {
+			if (getCoreStatus(adminClient, shadowCoreName).get("instanceDir") != null) {
+				unloadCore(adminClient, shadowCoreName, true);
+			}
+
+			final NamedList<Object> liveCoreStatus = getCoreStatus(adminClient, indexType.getIndexName());
+			final Object liveInstanceDir = liveCoreStatus.get("instanceDir");
+			if (liveInstanceDir == null) {
+				throw new EpServiceException("The Solr core " + indexType.getIndexName() + " does not exist.");
+			}
+
+			final Path shadowInstanceDir = Paths.get(liveInstanceDir.toString()).resolveSibling(shadowCoreName);
+			copyDirectory(Paths.get(liveInstanceDir.toString(), CONF_DIRECTORY), shadowInstanceDir.resolve(CONF_DIRECTORY));
+
+			final File rebuildLocation = searchIndexLocator.getRebuildSearchIndexLocation(indexType);
+			deleteDirectory(rebuildLocation.toPath());
+
+			final CoreAdminRequest.Create create = new CoreAdminRequest.Create();
+			create.setCoreName(shadowCoreName);
+			create.setInstanceDir(shadowInstanceDir.toString());
+			create.setConfigName(String.valueOf(liveCoreStatus.get("config")));
+			create.setSchemaName(String.valueOf(liveCoreStatus.get("schema")));
+			create.setDataDir(rebuildLocation.getAbsolutePath());
+			create.process(adminClient);
+		} catch (final SolrServerException | IOException e) {
+			throw new EpServiceException("Unable to create the shadow index " + shadowCoreName + " for " + indexType, e);
+		}
+
+		final SolrClient shadowClient = createClient(getSearchHost(indexType) + shadowCoreName);
+		shadowClients.put(indexType, shadowClient);
+
+		// the shared publisher of the index type, which isn't created by a publishing stage, has to write through the indexing client too
+		final MirroringSolrClient indexingClient = getMirroringIndexingClient(indexType);
+		solrManager.getDocumentPublisher(indexType).setSolrServer(indexingClient);
+		indexingClient.mirrorTo(shadowClient);
+
+		LOG.info("Rebuilding " + indexType + " into shadow index " + shadowCoreName + ".");
+		return shadowClient;
+	}
+
+	@Override
+	public boolean completeShadowRebuild(final IndexType indexType) {
+		final SolrClient shadowClient = shadowClients.remove(indexType);
+		if (shadowClient == null) {
+			throw new IllegalStateException("No shadow rebuild of " + indexType + " is in progress.");
+		}
+		stopMirroring(indexType);
+
+		try {
+			shadowClient.commit();
+
+			final long shadowDocuments = countDocuments(shadowClient);
+			final long liveDocuments = countDocuments(solrManager.getServer(indexType));
+			if (liveDocuments > 0 && shadowDocuments < liveDocuments * minimumDocumentRatio) {
+				LOG.error("Rolling back the rebuild of " + indexType + ": the rebuilt index has " + shadowDocuments
+						+ " documents, but the live index has " + liveDocuments + " and at least " + minimumDocumentRatio
+						+ " of them are required. The live index was left untouched.");
+				discardShadowIndex(indexType);
+				return false;
+			}
+
+			swapShadowIndex(indexType);
+			LOG.info("Swapped in the rebuilt " + indexType + " index with " + shadowDocuments + " documents, replacing " + liveDocuments + ".");
+			return true;
+		} catch (final SolrServerException | IOException e) {
+			discardShadowIndex(indexType);
+			throw new EpServiceException("Unable to swap in the rebuilt index for " + indexType, e);
+		} finally {
+			closeQuietly(shadowClient);
+		}
+	}
+
+	@Override
+	public void abandonShadowRebuild(final IndexType indexType) {
+		final SolrClient shadowClient = shadowClients.remove(indexType);
+		stopMirroring(indexType);
+		if (shadowClient != null) {
+			closeQuietly(shadowClient);
+			discardShadowIndex(indexType);
+		}
+	}
+
+	/**
+	 * Stops mirroring the indexing client to the shadow index and points the shared publisher of the index type back to the live index.
+	 *
+	 * @param indexType the index type
+	 */
+	private void stopMirroring(final IndexType indexType) {
+		getMirroringIndexingClient(indexType).stopMirroring();
+		solrManager.getDocumentPublisher(indexType).setSolrServer(solrManager.getServer(indexType));
+	}
+
+	/**
+	 * Moves the index of the shadow core into the live index location and reloads the live core onto it.
+	 *
+	 * @param indexType the index type
+	 * @throws SolrServerException if Solr rejects a request
+	 * @throws IOException in case of communication or file system errors
+	 */
+	private void swapShadowIndex(final IndexType indexType) throws SolrServerException, IOException {
+		final Path rebuildLocation = searchIndexLocator.getRebuildSearchIndexLocation(indexType).toPath();
+		final Path liveLocation = searchIndexLocator.getSearchIndexLocation(indexType).toPath();
+
+		try (SolrClient adminClient = createClient(getSearchHost(indexType))) {
+			// releases the shadow core's hold on its index, but keeps the index
+			unloadCore(adminClient, getShadowCoreName(indexType), false);
+
+			final String indexDirectoryName = INDEX_DIRECTORY + "."
+					+ new SimpleDateFormat(INDEX_DIRECTORY_TIMESTAMP_FORMAT).format(timeService.getCurrentTime());
+			Files.move(rebuildLocation.resolve(INDEX_DIRECTORY), liveLocation.resolve(indexDirectoryName), StandardCopyOption.ATOMIC_MOVE);
+			writeIndexProperties(liveLocation, indexDirectoryName);
+
+			CoreAdminRequest.reloadCore(indexType.getIndexName(), adminClient);
+		}
+
+		deleteDirectory(rebuildLocation);
+	}
+
+	private void discardShadowIndex(final IndexType indexType) {
+		try (SolrClient adminClient = createClient(getSearchHost(indexType))) {
+			unloadCore(adminClient, getShadowCoreName(indexType), true);
+		} catch (final Exception e) {
+			LOG.warn("Unable to remove the shadow index of " + indexType + "; it will be removed by the next rebuild.", e);
+		}
+	}
+
+	private void unloadCore(final SolrClient adminClient, final String coreName, final boolean deleteData) throws SolrServerException, IOException {
+		final CoreAdminRequest.Unload unload = new CoreAdminRequest.Unload(deleteData);
+		unload.setCoreName(coreName);
+		unload.setDeleteDataDir(deleteData);
+		unload.setDeleteInstanceDir(true);
+		unload.process(adminClient);
+	}
+
+	private NamedList<Object> getCoreStatus(final SolrClient adminClient, final String coreName) throws SolrServerException, IOException {
+		final NamedList<Object> coreStatus = CoreAdminRequest.getStatus(coreName, adminClient).getCoreStatus(coreName);
+		if (coreStatus == null) {
+			return new NamedList<>();
+		}
+		return coreStatus;
+	}
+
+	private long countDocuments(final SolrClient client) throws SolrServerException, IOException {
+		return client.query(new SolrQuery("*:*").setRows(0)).getResults().getNumFound();
+	}
+
+	/**
+	 * Writes the {@code index.properties} file, which tells Solr which directory of the index location holds the index, atomically.
+	 */
+	private void writeIndexProperties(final Path liveLocation, final String indexDirectoryName) throws IOException {
+		final Properties indexProperties = new Properties();
+		indexProperties.setProperty(INDEX_PROPERTY, indexDirectoryName);
+
+		final Path temporaryFile = Files.createTempFile(liveLocation, INDEX_PROPERTIES_FILE, null);
+		try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+			indexProperties.store(outputStream, null);
+		}
+		Files.move(temporaryFile, liveLocation.resolve(INDEX_PROPERTIES_FILE), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void copyDirectory(final Path source, final Path target) throws IOException {
+		try (Stream<Path> paths = Files.walk(source)) {
+			for (final Path path : (Iterable<Path>) paths::iterator) {
+				final Path targetPath = target.resolve(source.relativize(path).toString());
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(targetPath);
+				} else {
+					Files.copy(path, targetPath, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+	}
+
+	private void deleteDirectory(final Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	private void closeQuietly(final SolrClient client) {
+		try {
+			client.close();
+		} catch (final IOException e) {
+			LOG.debug("Unable to close Solr client", e);
+		}
+	}
+
+	/**
+	 * Creates a client for the given Solr URL.
+	 *
+	 * @param baseSolrUrl the URL of Solr or of one of its cores
+	 * @return the client
+	 */
+	protected SolrClient createClient(final String baseSolrUrl) {
+		return new HttpSolrClient.Builder().withBaseSolrUrl(baseSolrUrl).build();
+	}
+
+	private String getSearchHost(final IndexType indexType) {
+		final String searchHost = solrManager.getSearchConfig(indexType).getSearchHost();
+		if (searchHost.endsWith("/")) {
+			return searchHost;
+		}
+		return searchHost + "/";
+	}
+
+	private String getShadowCoreName(final IndexType indexType) {
+		return indexType.getIndexName() + shadowCoreSuffix;
+	}
+
+	public void setSolrManager(final SolrManager solrManager) {
+		this.solrManager = solrManager;
+	}
+
+	public void setSearchIndexLocator(final SearchIndexLocator searchIndexLocator) {
+		this.searchIndexLocator = searchIndexLocator;
+	}
+
+	public void setTimeService(final TimeService timeService) {
+		this.timeService = timeService;
+	}
+
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public void setMinimumDocumentRatio(final double minimumDocumentRatio) {
+		this.minimumDocumentRatio = minimumDocumentRatio;
+	}
+
+	public void setShadowCoreSuffix(final String shadowCoreSuffix) {
+		this.shadowCoreSuffix = shadowCoreSuffix;
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.pipeline.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.elasticpath.search.index.grouper.impl.UidGroupingTaskImpl;
+import com.elasticpath.search.index.pipeline.AbstractIndexingTask;
+import com.elasticpath.search.index.pipeline.DocumentCreatingTask;
+import com.elasticpath.search.index.pipeline.EntityLoadingTask;
+import com.elasticpath.search.index.pipeline.IndexingStage;
+import com.elasticpath.search.index.pipeline.stats.PipelineStatus;
+import com.elasticpath.search.index.pipeline.stats.impl.IndexingStatsImpl;
+import com.elasticpath.search.index.solr.service.impl.TestSolrDocumentPublisher;
+import com.elasticpath.service.misc.TimeService;
+import com.elasticpath.service.search.IndexType;
+import com.elasticpath.service.search.solr.SolrManager;
+
+/**
+ * Wire up a {@code PartitionedIndexingPipelineImpl} with synchronous partitions and check how work is split between them.
+ */
+@SuppressWarnings({ "PMD.TooManyStaticImports" })
+public class PartitionedIndexingPipelineImplTest {
+	private static final IndexType INDEX_TYPE = IndexType.PRODUCT;
+	private static final int PARTITION_COUNT = 3;
+	private static final int MINIMUM_PARTITION_SIZE = 5;
+	private static final int UID_COUNT = 9;
+
+	@Rule
+	public final JUnitRuleMockery context = new JUnitRuleMockery();
+
+	private final List<TestSolrDocumentPublisher> publishers = new ArrayList<>();
+
+	private PartitionedIndexingPipelineImpl indexingPipeline;
+
+	private IndexingStatsImpl stats;
+
+	private TimeService timeService;
+
+	private SolrManager solrManager;
+
+	/**
+	 * Fake {@code DocumentCreatingTask} which simply puts the uid in a {@code SolrInputDocument}.
+	 */
+	class UidDocumentCreator extends AbstractIndexingTask<SolrInputDocument> implements DocumentCreatingTask<Long> {
+
+		private Long uid;
+
+		@Override
+		public void run() {
+			final SolrInputDocument sid = new SolrInputDocument();
+			sid.setField("uid", uid);
+			getNextStage().send(sid);
+		}
+
+		@Override
+		public void setEntity(final Long uid) {
+			this.uid = uid;
+		}
+	}
+
+	/**
+	 * Fake loader which hands on the uids themselves as entities.
+	 */
+	class UidLoader extends AbstractIndexingTask<Long> implements EntityLoadingTask<Long> {
+
+		private Set<Long> batch;
+
+		@Override
+		public void run() {
+			for (final Long uid : batch) {
+				getNextStage().send(uid);
+			}
+		}
+
+		@Override
+		public void setBatch(final Set<Long> batch) {
+			this.batch = batch;
+		}
+	}
+
+	/**
+	 * Create a new pipeline before each test.
+	 */
+	@Before
+	public void createPipeline() {
+		stats = new IndexingStatsImpl();
+		timeService = context.mock(TimeService.class);
+		solrManager = context.mock(SolrManager.class);
+		context.checking(new Expectations() {
+			{
+				allowing(timeService).getCurrentTime();
+				will(returnValue(new Date()));
+				allowing(solrManager).getServer(INDEX_TYPE);
+				will(returnValue(null));
+			}
+		});
+
+		indexingPipeline = new PartitionedIndexingPipelineImpl();
+		indexingPipeline.setIndexingStatistics(stats);
+		indexingPipeline.setIndexType(INDEX_TYPE);
+		indexingPipeline.setTimeService(timeService);
+		indexingPipeline.setPartitionCount(PARTITION_COUNT);
+		indexingPipeline.setMinimumPartitionSize(MINIMUM_PARTITION_SIZE);
+		indexingPipeline.setPartitionTaskExecutor(new SyncTaskExecutor());
+		indexingPipeline.setPartitionPipelineFactory(this::makePartition);
+		indexingPipeline.initialize();
+	}
+
+	private IndexingPipelineImpl makePartition() {
+		final IndexingPipelineImpl partition = new IndexingPipelineImpl();
+		partition.setIndexingStatistics(stats);
+		partition.setIndexType(INDEX_TYPE);
+		partition.setTimeService(timeService);
+
+		final UidGroupingStage groupingStage = new UidGroupingStage();
+		groupingStage.setTaskExecutor(new SyncTaskExecutor());
+		groupingStage.setIndexGroupingTaskFactory(UidGroupingTaskImpl::new);
+
+		final EntityLoadingStage<Long> loadingStage = new EntityLoadingStage<>();
+		loadingStage.setTaskExecutor(new SyncTaskExecutor());
+		loadingStage.setLoaderFactory(UidLoader::new);
+
+		final DocumentCreatingStage<Long> documentCreatingStage = new DocumentCreatingStage<>();
+		documentCreatingStage.setTaskExecutor(new SyncTaskExecutor());
+		documentCreatingStage.setDocumentCreatorFactory(UidDocumentCreator::new);
+
+		final TestSolrDocumentPublisher publisher = new TestSolrDocumentPublisher();
+		publishers.add(publisher);
+		final DocumentPublishingStage documentPublishingStage = new DocumentPublishingStage();
+		documentPublishingStage.setIndexType(INDEX_TYPE);
+		documentPublishingStage.setSolrManager(solrManager);
+		documentPublishingStage.setSolrDocumentPublisherFactory(() -> publisher);
+
+		@SuppressWarnings("unchecked")
+		final List<IndexingStage<?, ?>> stages = Arrays.asList(groupingStage, loadingStage, documentCreatingStage, documentPublishingStage);
+		partition.setStages(stages);
+		return partition;
+	}
+
+	/**
+	 * A large batch is split into contiguous uid ranges, one per partition, and the partition counts roll up into the pipeline status.
+	 */
+	@Test
+	public void testLargeBatchIsSplitAcrossPartitions() {
+		final List<Long> uids = createUids(UID_COUNT);
+		Collections.reverse(uids);
+
+		indexingPipeline.start(uids);
+
+		// CHECKSTYLE:OFF -- the expected uid ranges.
+		assertEquals(Arrays.asList(1L, 2L, 3L), publishedUids(publishers.get(0)));
+		assertEquals(Arrays.asList(4L, 5L, 6L), publishedUids(publishers.get(1)));
+		assertEquals(Arrays.asList(7L, 8L, 9L), publishedUids(publishers.get(2)));
+		// CHECKSTYLE:ON
+
+		final PipelineStatus status = stats.getPipelineStatus(INDEX_TYPE);
+		assertEquals(uids.size(), status.getIncomingCount());
+		assertEquals(uids.size(), status.getCompletedCount());
+		assertEquals(PARTITION_COUNT, status.getPartitionStatuses().size());
+		for (final PipelineStatus partitionStatus : status.getPartitionStatuses()) {
+			assertEquals(UID_COUNT / PARTITION_COUNT, partitionStatus.getCompletedCount());
+		}
+	}
+
+	/**
+	 * Batches below the minimum partition size are not split.
+	 */
+	@Test
+	public void testSmallBatchUsesFirstPartition() {
+		final List<Long> uids = createUids(MINIMUM_PARTITION_SIZE - 1);
+
+		indexingPipeline.start(uids);
+
+		assertEquals(uids.size(), publishers.get(0).getUpdated().size());
+		assertTrue(publishers.get(1).getUpdated().isEmpty());
+		assertEquals(uids.size(), stats.getPipelineStatus(INDEX_TYPE).getCompletedCount());
+	}
+
+	/**
+	 * Resetting the pipeline status resets its partitions too.
+	 */
+	@Test
+	public void testResetClearsPartitionStatuses() {
+		indexingPipeline.start(createUids(UID_COUNT));
+
+		stats.reset();
+
+		assertEquals(0, stats.getPipelineStatus(INDEX_TYPE).getCompletedCount());
+		assertEquals(0, stats.getPipelineStatus(INDEX_TYPE).getPartitionStatuses().get(0).getCompletedCount());
+	}
+
+	/**
+	 * Ranges never outnumber the uids and cover every uid exactly once.
+	 */
+	@Test
+	public void testSplitIntoRangesWithFewerUidsThanRanges() {
+		final List<List<Long>> ranges = PartitionedIndexingPipelineImpl.splitIntoRanges(Arrays.asList(2L, 1L), PARTITION_COUNT);
+
+		assertEquals(Arrays.asList(Collections.singletonList(1L), Collections.singletonList(2L)), ranges);
+	}
+
+	/**
+	 * The pipeline does not report itself busy once its synchronous partitions are done, and rejects work once destroyed.
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testRejectOnShutdown() {
+		indexingPipeline.start(createUids(UID_COUNT));
+		assertFalse(indexingPipeline.isBusy());
+
+		indexingPipeline.destroy();
+		indexingPipeline.start(createUids(1));
+	}
+
+	/**
+	 * A range rejected by the partition task executor does not leave the pipeline busy.
+	 */
+	@Test
+	public void testRejectedRangeDoesNotLeavePipelineBusy() {
+		indexingPipeline.setPartitionTaskExecutor(task -> {
+			throw new TaskRejectedException("The partition task executor is saturated");
+		});
+
+		try {
+			indexingPipeline.start(createUids(UID_COUNT));
+			fail("The rejection should be rethrown");
+		} catch (final TaskRejectedException expected) {
+			assertFalse(indexingPipeline.isBusy());
+		}
+	}
+
+	/**
+	 * Destroying the pipeline shuts down the publishers created for its partitions.
+	 */
+	@Test
+	public void testDestroyShutsDownPartitionPublishers() {
+		indexingPipeline.start(createUids(UID_COUNT));
+
+		indexingPipeline.destroy();
+
+		for (final TestSolrDocumentPublisher publisher : publishers) {
+			assertTrue(publisher.isShutdown());
+		}
+	}
+
+	private List<Long> publishedUids(final TestSolrDocumentPublisher publisher) {
+		final List<Long> uids = new ArrayList<>();
+		for (final SolrInputDocument document : publisher.getUpdated()) {
+			uids.add((Long) document.getFieldValue("uid"));
+		}
+		Collections.sort(uids);
+		return uids;
+	}
+
+	private List<Long> createUids(final int count) {
+		final List<Long> uids = new ArrayList<>();
+		for (long uid = 1; uid <= count; uid++) {
+			uids.add(uid);
+		}
+		return uids;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.document.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ProductDocumentCacheImpl}.
+ */
+public class ProductDocumentCacheImplTest {
+
+	private static final String PRICE = "productPrice";
+
+	@Test
+	public void testLeastRecentlyUsedDocumentIsEvicted() {
+		final ProductDocumentCacheImpl cache = new ProductDocumentCacheImpl(2);
+		final SolrInputDocument first = new SolrInputDocument();
+		final SolrInputDocument second = new SolrInputDocument();
+		cache.putDocument(1L, first);
+		cache.putDocument(2L, second);
+
+		assertThat(cache.getDocument(1L)).isSameAs(first);
+		cache.putDocument(3L, new SolrInputDocument());
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getDocument(1L)).isSameAs(first);
+		assertThat(cache.getDocument(2L)).isNull();
+	}
+
+	@Test
+	public void testPartialUpdateIsTakenOnce() {
+		final ProductDocumentCacheImpl cache = new ProductDocumentCacheImpl(2);
+		cache.setPartialUpdates(Collections.singletonMap(1L, Collections.singleton(PRICE)));
+
+		assertThat(cache.takePartialUpdate(1L)).containsExactly(PRICE);
+		assertThat(cache.takePartialUpdate(1L)).isEmpty();
+	}
+
+	@Test
+	public void testPartialUpdatesReplaceEarlierOnes() {
+		final ProductDocumentCacheImpl cache = new ProductDocumentCacheImpl(2);
+		cache.setPartialUpdates(Collections.singletonMap(1L, Collections.singleton(PRICE)));
+		cache.setPartialUpdates(Collections.emptyMap());
+
+		assertThat(cache.takePartialUpdate(1L)).isEmpty();
+	}
+
+	@Test
+	public void testZeroSizeDisablesPartialUpdates() {
+		final ProductDocumentCacheImpl cache = new ProductDocumentCacheImpl(0);
+		cache.putDocument(1L, new SolrInputDocument());
+		cache.setPartialUpdates(Collections.singletonMap(1L, Collections.singleton(PRICE)));
+
+		final Set<String> partialUpdate = cache.takePartialUpdate(1L);
+		assertThat(partialUpdate).isEmpty();
+		assertThat(cache.getDocument(1L)).isNull();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.queueingpublisher.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link AdaptiveBatchSizer}.
+ */
+public class AdaptiveBatchSizerTest {
+
+	private static final int MINIMUM = 10;
+	private static final int MAXIMUM = 40;
+	private static final int INCREMENT = 10;
+	private static final long TARGET_LATENCY = 100L;
+	private static final long FAST = 50L;
+	private static final long SLOW = 150L;
+
+	private final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MINIMUM, MAXIMUM, INCREMENT, TARGET_LATENCY);
+
+	@Test
+	public void testStartsAtTheMinimum() {
+		assertThat(sizer.getBatchSize()).isEqualTo(MINIMUM);
+	}
+
+	@Test
+	public void testFastFullBatchesGrowTheBatchSizeUpToTheMaximum() {
+		sizer.recordBatch(MINIMUM, FAST, false);
+		assertThat(sizer.getBatchSize()).isEqualTo(MINIMUM + INCREMENT);
+
+		for (int batch = 0; batch < MAXIMUM; batch++) {
+			sizer.recordBatch(sizer.getBatchSize(), FAST, false);
+		}
+		assertThat(sizer.getBatchSize()).isEqualTo(MAXIMUM);
+	}
+
+	@Test
+	public void testPartialBatchesLeaveTheBatchSizeAlone() {
+		sizer.recordBatch(MINIMUM - 1, FAST, false);
+
+		assertThat(sizer.getBatchSize()).isEqualTo(MINIMUM);
+	}
+
+	@Test
+	public void testSlowOrFailedBatchesHalveTheBatchSizeDownToTheMinimum() {
+		growToMaximum();
+
+		sizer.recordBatch(MAXIMUM, SLOW, false);
+		assertThat(sizer.getBatchSize()).isEqualTo(MAXIMUM / 2);
+
+		sizer.recordBatch(MAXIMUM / 2, FAST, true);
+		assertThat(sizer.getBatchSize()).isEqualTo(MINIMUM);
+
+		sizer.recordBatch(MINIMUM, SLOW, true);
+		assertThat(sizer.getBatchSize()).isEqualTo(MINIMUM);
+	}
+
+	@Test
+	public void testRejectsAnEmptyRange() {
+		assertThatThrownBy(() -> new AdaptiveBatchSizer(MAXIMUM, MINIMUM, INCREMENT, TARGET_LATENCY))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void growToMaximum() {
+		while (sizer.getBatchSize() < MAXIMUM) {
+			sizer.recordBatch(sizer.getBatchSize(), FAST, false);
+		}
+	}
+}
@@ -3,6 +3,7 @@
  */
 package com.elasticpath.search.index.solr.service.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -14,6 +15,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.jmock.Expectations;
@@ -26,9 +28,11 @@ import org.junit.Test;
 
 import com.elasticpath.domain.search.IndexBuildStatus;
 import com.elasticpath.domain.search.IndexNotification;
+import com.elasticpath.domain.search.IndexNotification.AffectedEntityType;
 import com.elasticpath.domain.search.IndexStatus;
 import com.elasticpath.domain.search.UpdateType;
 import com.elasticpath.domain.search.impl.IndexBuildStatusImpl;
+import com.elasticpath.domain.search.impl.IndexNotificationImpl;
 import com.elasticpath.persistence.dao.IndexBuildStatusDao;
 import com.elasticpath.search.IndexNotificationProcessor;
 import com.elasticpath.search.index.pipeline.impl.IndexBuildStatusUpdater;
@@ -58,6 +62,10 @@ public class IndexBuildServiceImplTest {
 	private static final String ALL_SCHEDULED_DOCUMENT_CHANGES_MUST_BE_FLUSHED = "All scheduled document changes must be flushed.";
 	public static final String WILDCARD = "*:*";
 
+	private static final long PARTIAL_UID = 5L;
+
+	private static final long SINGLE_UNIT_UID = 6L;
+
 	private IndexBuildServiceImpl indexBuildService;
 
 	@Rule
@@ -397,4 +405,107 @@ public class IndexBuildServiceImplTest {
 		assertTrue(ALL_SCHEDULED_DOCUMENT_CHANGES_MUST_BE_FLUSHED, publisher.getUpdated().isEmpty());
 	}
 
+	/**
+	 * Tests that notifications with an affected field group are prepared as partial updates, unless their documents are recreated in full.
+	 */
+	@Test
+	public void testFindAddedOrModifiedUidsPreparesPartialUpdates() {
+		final Map<Long, Set<String>> preparedPartialUpdates = new HashMap<>();
+		final IndexBuilder partialIndexBuilder = new DelegatingPartialIndexBuilder(indexBuilder, preparedPartialUpdates);
+		final List<IndexNotification> notifications = Arrays.asList(
+				createNotification(2L, AffectedEntityType.PRODUCT_PRICE),
+				createNotification(PARTIAL_UID, AffectedEntityType.PRODUCT_PRICE),
+				createNotification(PARTIAL_UID, AffectedEntityType.PRODUCT_AVAILABILITY),
+				createNotification(SINGLE_UNIT_UID, AffectedEntityType.SINGLE_UNIT));
+		context.checking(new Expectations() {
+			{
+				allowing(mockIndexNotificationProcessor).getNotifications();
+				will(returnValue(notifications));
+			}
+		});
+
+		final List<Long> uids = indexBuildService.findAddedOrModifiedUidsInternal(partialIndexBuilder, new Date());
+
+		assertEquals(new HashSet<>(Arrays.asList(2L, 3L, BAD_UID, SINGLE_UNIT_UID, PARTIAL_UID)), new HashSet<>(uids));
+		assertEquals(Collections.singletonMap(PARTIAL_UID,
+				new HashSet<>(Arrays.asList(AffectedEntityType.PRODUCT_PRICE, AffectedEntityType.PRODUCT_AVAILABILITY))),
+				preparedPartialUpdates);
+	}
+
+	private IndexNotification createNotification(final long affectedUid, final String affectedEntityType) {
+		final IndexNotification notification = new IndexNotificationImpl();
+		notification.setIndexType(indexType);
+		notification.setUpdateType(UpdateType.UPDATE);
+		notification.setAffectedUid(affectedUid);
+		notification.setAffectedEntityType(affectedEntityType);
+		return notification;
+	}
+
+	/**
+	 * An index builder which treats product price and availability notifications as partial updates of the notified uid.
+	 */
+	private static class DelegatingPartialIndexBuilder extends AbstractIndexBuilder {
+
+		private final IndexBuilder delegate;
+
+		private final Map<Long, Set<String>> preparedPartialUpdates;
+
+		DelegatingPartialIndexBuilder(final IndexBuilder delegate, final Map<Long, Set<String>> preparedPartialUpdates) {
+			this.delegate = delegate;
+			this.preparedPartialUpdates = preparedPartialUpdates;
+		}
+
+		@Override
+		public String getAffectedFieldGroup(final IndexNotification notification) {
+			if (AffectedEntityType.SINGLE_UNIT.equals(notification.getAffectedEntityType())) {
+				return null;
+			}
+			return notification.getAffectedEntityType();
+		}
+
+		@Override
+		public void preparePartialUpdates(final Map<Long, Set<String>> affectedFieldGroupsByUid) {
+			preparedPartialUpdates.putAll(affectedFieldGroupsByUid);
+		}
+
+		@Override
+		public Collection<Long> findUidsByNotification(final IndexNotification notification) {
+			return Collections.singletonList(notification.getAffectedUid());
+		}
+
+		@Override
+		public String getName() {
+			return delegate.getName();
+		}
+
+		@Override
+		public List<Long> findDeletedUids(final Date lastBuildDate) {
+			return delegate.findDeletedUids(lastBuildDate);
+		}
+
+		@Override
+		public List<Long> findAddedOrModifiedUids(final Date lastBuildDate) {
+			return delegate.findAddedOrModifiedUids(lastBuildDate);
+		}
+
+		@Override
+		public List<Long> findAllUids() {
+			return delegate.findAllUids();
+		}
+
+		@Override
+		public IndexType getIndexType() {
+			return delegate.getIndexType();
+		}
+
+		@Override
+		public IndexNotificationProcessor getIndexNotificationProcessor() {
+			return delegate.getIndexNotificationProcessor();
+		}
+
+		@Override
+		public void submit(final Collection<Long> uids) {
+			delegate.submit(uids);
+		}
+	}
 }
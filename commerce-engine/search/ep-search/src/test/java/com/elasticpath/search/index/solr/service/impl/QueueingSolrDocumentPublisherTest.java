@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.elasticpath.search.index.pipeline.stats.PipelinePerformance;
+import com.elasticpath.search.index.pipeline.stats.impl.PipelinePerformanceImpl;
+import com.elasticpath.service.search.IndexType;
+
+/**
+ * Test class for {@link QueueingSolrDocumentPublisher}. The publisher runs on the test thread, so the commands are queued first and the
+ * publisher stops at the shutdown command.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class QueueingSolrDocumentPublisherTest {
+
+	private static final IndexType INDEX_TYPE = IndexType.PRODUCT;
+	private static final int MINIMUM_BATCH_SIZE = 10;
+	private static final long DELETED_UID = 7L;
+
+	@Mock
+	private SolrClient solrClient;
+
+	private final PipelinePerformance performance = new PipelinePerformanceImpl();
+
+	private final List<List<SolrInputDocument>> publishedBatches = new ArrayList<>();
+
+	private QueueingSolrDocumentPublisher publisher;
+
+	@Before
+	public void setUp() {
+		publisher = new QueueingSolrDocumentPublisher();
+		publisher.setSolrServer(solrClient);
+		publisher.setPipelinePerformance(performance);
+		publisher.setDocumentPublisherTask(new SyncTaskExecutor());
+		publisher.setMinimumBatchSize(MINIMUM_BATCH_SIZE);
+		publisher.initialize();
+	}
+
+	@After
+	public void tearDown() {
+		// the shutdown command interrupts the publishing thread, which is the test thread here
+		Thread.interrupted();
+	}
+
+	@Test
+	public void testConsecutiveUpdatesArePublishedInOneRequest() throws Exception {
+		recordPublishedBatches();
+		final SolrInputDocument first = createDocument(1);
+		final SolrInputDocument second = createDocument(2);
+		final SolrInputDocument third = createDocument(3);
+
+		publisher.addUpdate(INDEX_TYPE, first);
+		publisher.addUpdate(INDEX_TYPE, second);
+		publisher.deleteDocument(INDEX_TYPE, DELETED_UID);
+		publisher.addUpdate(INDEX_TYPE, third);
+		publisher.shutdown();
+		publisher.start();
+
+		assertThat(publishedBatches).containsExactly(asList(first, second), asList(third));
+		verify(solrClient).deleteById(String.valueOf(DELETED_UID));
+	}
+
+	@Test
+	public void testFullFastBatchesGrowTheBatchSize() throws Exception {
+		recordPublishedBatches();
+		for (int uid = 0; uid < MINIMUM_BATCH_SIZE; uid++) {
+			publisher.addUpdate(INDEX_TYPE, createDocument(uid));
+		}
+		publisher.shutdown();
+		publisher.start();
+
+		assertThat(publishedBatches).hasSize(1);
+		assertThat(publisher.getBatchSize()).isGreaterThan(MINIMUM_BATCH_SIZE);
+		assertThat(performance.getDescriptiveStatistics("publish:batch_size").getMax()).isEqualTo(MINIMUM_BATCH_SIZE);
+		assertThat(performance.getDescriptiveStatisticsKeys()).contains("publish:queue_depth", "publish:time", "publish:batch_limit");
+	}
+
+	@Test
+	public void testRejectedBatchIsPublishedOneDocumentAtATime() throws Exception {
+		doThrow(new SolrServerException("rejected")).when(solrClient).add(anyCollection());
+		final SolrInputDocument first = createDocument(1);
+		final SolrInputDocument second = createDocument(2);
+
+		publisher.addUpdate(INDEX_TYPE, first);
+		publisher.addUpdate(INDEX_TYPE, second);
+		publisher.shutdown();
+		publisher.start();
+
+		verify(solrClient).add(first);
+		verify(solrClient).add(second);
+		assertThat(performance.getCounter("publish:errors")).isZero();
+		assertThat(publisher.getBatchSize()).isEqualTo(MINIMUM_BATCH_SIZE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void recordPublishedBatches() throws Exception {
+		// the publisher reuses its batch list, so copy it when it is published
+		doAnswer(invocation -> {
+			publishedBatches.add(new ArrayList<>((Collection<SolrInputDocument>) invocation.getArgument(0)));
+			return null;
+		}).when(solrClient).add(anyCollection());
+	}
+
+	private SolrInputDocument createDocument(final long uid) {
+		final SolrInputDocument document = new SolrInputDocument();
+		document.setField("uid", uid);
+		return document;
+	}
+
+	private List<SolrInputDocument> asList(final SolrInputDocument... documents) {
+		final List<SolrInputDocument> list = new ArrayList<>();
+		for (final SolrInputDocument document : documents) {
+			list.add(document);
+		}
+		return list;
+	}
+}
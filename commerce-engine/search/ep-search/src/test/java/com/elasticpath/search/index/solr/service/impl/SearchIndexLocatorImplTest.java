@@ -3,6 +3,7 @@
  */
 package com.elasticpath.search.index.solr.service.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
@@ -56,6 +57,17 @@ public class SearchIndexLocatorImplTest {
 		softly.assertAll();
 	}
 
+	@Test
+	public void verifyRebuildLocationIsASiblingOfTheIndexLocation() throws Exception {
+		final File indexLocation = new File(new File("data"), CATEGORY_SYSTEM_PROPERTY_VALUE);
+		System.setProperty(CATEGORY_SYSTEM_PROPERTY_KEY, indexLocation.getPath());
+
+		locator.setIndexTypeSystemPropertyKeyMap(ImmutableMap.of(IndexType.CATEGORY, CATEGORY_SYSTEM_PROPERTY_KEY));
+
+		assertThat(locator.getRebuildSearchIndexLocation(IndexType.CATEGORY))
+				.isEqualTo(new File(new File("data"), CATEGORY_SYSTEM_PROPERTY_VALUE + "-rebuild"));
+	}
+
 	@Test
 	public void verifyIllegalArgumentExceptionThrownWhenNoMappingForIndexType() throws Exception {
 		assertThatThrownBy(() -> locator.getSearchIndexLocation(IndexType.PRODUCT))
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.search.index.solr.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CoreAdminParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.domain.misc.SearchConfig;
+import com.elasticpath.search.index.solr.service.SearchIndexLocator;
+import com.elasticpath.service.misc.TimeService;
+import com.elasticpath.service.search.IndexType;
+import com.elasticpath.service.search.solr.SolrDocumentPublisher;
+import com.elasticpath.service.search.solr.SolrManager;
+
+/**
+ * Test class for {@link SolrShadowIndexServiceImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SolrShadowIndexServiceImplTest {
+
+	private static final IndexType INDEX_TYPE = IndexType.PRODUCT;
+	private static final String SEARCH_HOST = "http://search/";
+	private static final String SHADOW_CORE = "product_rebuild";
+	private static final long LIVE_DOCUMENTS = 100L;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	private SolrManager solrManager;
+
+	@Mock
+	private SearchIndexLocator searchIndexLocator;
+
+	@Mock
+	private TimeService timeService;
+
+	@Mock
+	private SearchConfig searchConfig;
+
+	@Mock
+	private SolrClient adminClient;
+
+	@Mock
+	private SolrClient liveClient;
+
+	@Mock
+	private SolrClient shadowClient;
+
+	@Mock
+	private SolrDocumentPublisher publisher;
+
+	@Mock
+	private SolrRequest<?> updateRequest;
+
+	private final List<String> coreAdminActions = new ArrayList<>();
+
+	private File liveInstanceDir;
+	private File liveLocation;
+	private File rebuildLocation;
+
+	private SolrShadowIndexServiceImpl service;
+
+	@Before
+	public void setUp() throws Exception {
+		liveInstanceDir = temporaryFolder.newFolder("cores", "product");
+		Files.write(new File(temporaryFolder.newFolder("cores", "product", "conf"), "product.config.xml").toPath(), new byte[0]);
+		liveLocation = temporaryFolder.newFolder("data", "index-product");
+		rebuildLocation = new File(liveLocation.getParentFile(), "index-product-rebuild");
+
+		service = new SolrShadowIndexServiceImpl() {
+			@Override
+			protected SolrClient createClient(final String baseSolrUrl) {
+				if (SEARCH_HOST.equals(baseSolrUrl)) {
+					return adminClient;
+				}
+				assertThat(baseSolrUrl).isEqualTo(SEARCH_HOST + SHADOW_CORE);
+				return shadowClient;
+			}
+		};
+		service.setSolrManager(solrManager);
+		service.setSearchIndexLocator(searchIndexLocator);
+		service.setTimeService(timeService);
+		service.setEnabled(true);
+
+		when(solrManager.getServer(INDEX_TYPE)).thenReturn(liveClient);
+		when(solrManager.getSearchConfig(INDEX_TYPE)).thenReturn(searchConfig);
+		when(searchConfig.getSearchHost()).thenReturn(SEARCH_HOST);
+		when(solrManager.getDocumentPublisher(INDEX_TYPE)).thenReturn(publisher);
+		when(searchIndexLocator.getRebuildSearchIndexLocation(INDEX_TYPE)).thenReturn(rebuildLocation);
+		when(adminClient.request(any(SolrRequest.class), isNull())).thenAnswer(invocation -> {
+			final SolrParams params = invocation.<SolrRequest<?>>getArgument(0).getParams();
+			// core creation names the core with the name parameter, the other actions with the core parameter
+			final String coreName = params.get(CoreAdminParams.CORE, params.get(CoreAdminParams.NAME));
+			coreAdminActions.add(params.get(CoreAdminParams.ACTION) + ":" + coreName);
+			return createCoreAdminResponse(coreName);
+		});
+	}
+
+	@Test
+	public void testStartCreatesTheShadowCoreAndMirrorsTheIndexingClient() throws Exception {
+		final SolrClient indexingClient = service.getIndexingClient(INDEX_TYPE);
+
+		assertThat(service.startShadowRebuild(INDEX_TYPE)).isSameAs(shadowClient);
+
+		assertThat(coreAdminActions).containsExactly("STATUS:" + SHADOW_CORE, "STATUS:product", "CREATE:" + SHADOW_CORE);
+		assertThat(new File(liveInstanceDir.getParentFile(), SHADOW_CORE + "/conf/product.config.xml")).exists();
+		assertThat(((MirroringSolrClient) indexingClient).getMirror()).isSameAs(shadowClient);
+		verify(publisher).setSolrServer(indexingClient);
+	}
+
+	@Test
+	public void testIndexingClientWritesToTheLiveAndShadowIndexesDuringTheRebuild() throws Exception {
+		final SolrClient indexingClient = service.getIndexingClient(INDEX_TYPE);
+		service.startShadowRebuild(INDEX_TYPE);
+
+		indexingClient.request(updateRequest, null);
+
+		verify(liveClient).request(updateRequest, null);
+		verify(shadowClient).request(updateRequest, null);
+	}
+
+	@Test
+	public void testAbandonStopsMirroringAndRestoresThePublisherClient() throws Exception {
+		service.startShadowRebuild(INDEX_TYPE);
+
+		service.abandonShadowRebuild(INDEX_TYPE);
+
+		assertThat(coreAdminActions).endsWith("UNLOAD:" + SHADOW_CORE);
+		assertThat(((MirroringSolrClient) service.getIndexingClient(INDEX_TYPE)).getMirror()).isNull();
+		verify(publisher).setSolrServer(liveClient);
+	}
+
+	@Test
+	public void testCompleteRollsBackWhenTheRebuildHasTooFewDocuments() throws Exception {
+		service.startShadowRebuild(INDEX_TYPE);
+		givenDocumentCount(shadowClient, LIVE_DOCUMENTS / 2);
+		givenDocumentCount(liveClient, LIVE_DOCUMENTS);
+
+		assertThat(service.completeShadowRebuild(INDEX_TYPE)).isFalse();
+
+		assertThat(coreAdminActions).endsWith("UNLOAD:" + SHADOW_CORE);
+		assertThat(((MirroringSolrClient) service.getIndexingClient(INDEX_TYPE)).getMirror()).isNull();
+		verify(publisher).setSolrServer(liveClient);
+		assertThat(new File(liveLocation, "index.properties")).doesNotExist();
+	}
+
+	@Test
+	public void testCompleteInstallsTheRebuiltIndexAndReloadsTheLiveCore() throws Exception {
+		when(searchIndexLocator.getSearchIndexLocation(INDEX_TYPE)).thenReturn(liveLocation);
+		when(timeService.getCurrentTime()).thenReturn(new Date(0));
+		service.startShadowRebuild(INDEX_TYPE);
+		assertThat(new File(rebuildLocation, "index").mkdirs()).isTrue();
+		givenDocumentCount(shadowClient, LIVE_DOCUMENTS);
+		givenDocumentCount(liveClient, LIVE_DOCUMENTS);
+
+		assertThat(service.completeShadowRebuild(INDEX_TYPE)).isTrue();
+
+		assertThat(coreAdminActions).endsWith("UNLOAD:" + SHADOW_CORE, "RELOAD:product");
+		final String indexDirectoryName = readIndexProperties().getProperty("index");
+		assertThat(new File(liveLocation, indexDirectoryName)).isDirectory();
+		assertThat(rebuildLocation).doesNotExist();
+		verify(shadowClient).commit();
+	}
+
+	private void givenDocumentCount(final SolrClient client, final long count) throws Exception {
+		final SolrDocumentList results = new SolrDocumentList();
+		results.setNumFound(count);
+		final QueryResponse response = new QueryResponse();
+		final NamedList<Object> responseValues = new NamedList<>();
+		responseValues.add("response", results);
+		response.setResponse(responseValues);
+		when(client.query(any(SolrParams.class))).thenReturn(response);
+	}
+
+	private NamedList<Object> createCoreAdminResponse(final String coreName) {
+		final NamedList<Object> coreStatus = new NamedList<>();
+		if ("product".equals(coreName)) {
+			coreStatus.add("instanceDir", liveInstanceDir.getPath());
+			coreStatus.add("config", "product.config.xml");
+			coreStatus.add("schema", "product.schema.xml");
+		}
+		final NamedList<Object> status = new NamedList<>();
+		status.add(coreName, coreStatus);
+		final NamedList<Object> response = new NamedList<>();
+		response.add("status", status);
+		return response;
+	}
+
+	private Properties readIndexProperties() throws IOException {
+		final Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(new File(liveLocation, "index.properties").toPath())) {
+			properties.load(inputStream);
+		}
+		return properties;
+	}
+}
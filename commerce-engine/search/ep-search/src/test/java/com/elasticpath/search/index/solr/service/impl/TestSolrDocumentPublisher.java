@@ -21,6 +21,8 @@ public class TestSolrDocumentPublisher implements SolrDocumentPublisher {
 
 	private final List<Long> deleted = new LinkedList<>();
 
+	private boolean shutdown;
+
 	@Override
 	public void addUpdate(final IndexType indexType, final SolrInputDocument document) {
 		updated.add(document);
@@ -64,7 +66,11 @@ public class TestSolrDocumentPublisher implements SolrDocumentPublisher {
 
 	@Override
 	public void shutdown() {
-		// nothing to do
+		shutdown = true;
+	}
+
+	public boolean isShutdown() {
+		return shutdown;
 	}
 
 	@Override
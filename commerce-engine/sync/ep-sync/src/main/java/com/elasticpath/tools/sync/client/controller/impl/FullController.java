@@ -29,6 +29,7 @@ import com.elasticpath.tools.sync.job.descriptor.dao.JobDescriptorDaoFactory;
 import com.elasticpath.tools.sync.processing.SerializableObject;
 import com.elasticpath.tools.sync.processing.SerializableObjectListener;
 import com.elasticpath.tools.sync.processing.SyncJobObjectProcessor;
+import com.elasticpath.tools.sync.processing.TransactionJobUnitsProcessor;
 /**
  * This controller is used to do synchronization between two live systems. It performs the following steps: <li>load data from the source system
  * (usually database) <li>process the data <li>send data to the target system
@@ -48,6 +49,7 @@ public class FullController extends AbstractSyncController {
 	private DomainSorter domainSorter;
 	private DataSource sourceDataSource;
 	private DataSource targetDataSource;
+	private TransactionJobUnitsProcessor transactionJobUnitsProcessor;
 
 	/**
 	 * Builds TransactionJob.
@@ -98,6 +100,11 @@ public class FullController extends AbstractSyncController {
 
 		getTransactionJobDao(syncJobConfiguration).save(transactionJob);
 
+		if (transactionJobUnitsProcessor != null && transactionJobUnitsProcessor.supports(transactionJob)) {
+			processTransactionJobUnits(objectListener, transactionJob, sourceObjectCache);
+			return;
+		}
+
 		// notify the listener of the new objects
 		for (final SerializableObject object : transactionJob) {
 			//process the object, take it from src object Cache and put it in target.
@@ -109,6 +116,29 @@ public class FullController extends AbstractSyncController {
 		}
 	}
 
+	/**
+	 * Processes the units of the transaction job with the {@link TransactionJobUnitsProcessor}, instead of notifying the listener
+	 * of each of their objects. The listener is still notified of the job itself, so that the target session is opened and closed
+	 * as usual.
+	 *
+	 * @param objectListener the object listener
+	 * @param transactionJob the transaction job
+	 * @param sourceObjectCache the cache of the source objects to evict once processed
+	 */
+	protected void processTransactionJobUnits(final SerializableObjectListener objectListener, final TransactionJob transactionJob,
+			final SourceObjectCache sourceObjectCache) {
+		objectListener.processObject(transactionJob);
+		try {
+			transactionJobUnitsProcessor.process(transactionJob, getObjectEventDistributor().getSummary());
+		} finally {
+			for (final TransactionJobUnit jobUnit : transactionJob.getTransactionJobUnits()) {
+				for (final TransactionJobDescriptorEntry entry : jobUnit.getJobDescriptorEntries()) {
+					sourceObjectCache.remove(entry.getGuid(), entry.getType());
+				}
+			}
+		}
+	}
+
 	/**
 	 * Clears the caches, useful for running multiple DST runs in a row without restarting/clearing the context.
 	 */
@@ -283,4 +313,12 @@ public class FullController extends AbstractSyncController {
 		this.targetDataSource = targetDataSource;
 	}
 
+	protected TransactionJobUnitsProcessor getTransactionJobUnitsProcessor() {
+		return transactionJobUnitsProcessor;
+	}
+
+	public void setTransactionJobUnitsProcessor(final TransactionJobUnitsProcessor transactionJobUnitsProcessor) {
+		this.transactionJobUnitsProcessor = transactionJobUnitsProcessor;
+	}
+
 }
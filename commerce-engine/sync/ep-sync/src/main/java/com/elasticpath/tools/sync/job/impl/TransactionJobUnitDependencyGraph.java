@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tools.sync.job.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.elasticpath.tools.sync.job.Command;
+import com.elasticpath.tools.sync.job.GlobalEpDependencyDescriptor;
+import com.elasticpath.tools.sync.job.TransactionJobUnit;
+import com.elasticpath.tools.sync.job.descriptor.TransactionJobDescriptorEntry;
+
+/**
+ * The dependencies between the transaction job units of a transaction job, so that independent units can be processed concurrently.
+ * <p>
+ * A unit depends on a unit before it in the job if they share an object, or if the order of their object types in the
+ * {@link GlobalEpDependencyDescriptor} requires it: updated objects must come after the objects of the types they depend on, and
+ * removed objects after the objects of the types depending on them. Units whose objects all have the same place, or only have
+ * places that the other unit must follow anyway, don't depend on each other.
+ */
+public class TransactionJobUnitDependencyGraph {
+
+	private final List<TransactionJobUnit> units;
+
+	private final List<List<Integer>> prerequisites;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param units the transaction job units, in the order of the job
+	 * @param globalEpDependencyDescriptor the dependency order of the domain classes
+	 */
+	public TransactionJobUnitDependencyGraph(final List<TransactionJobUnit> units,
+			final GlobalEpDependencyDescriptor globalEpDependencyDescriptor) {
+		this.units = Collections.unmodifiableList(new ArrayList<>(units));
+
+		final List<UnitFootprint> footprints = new ArrayList<>(units.size());
+		for (final TransactionJobUnit unit : units) {
+			footprints.add(new UnitFootprint(unit, globalEpDependencyDescriptor));
+		}
+
+		final List<List<Integer>> unitPrerequisites = new ArrayList<>(units.size());
+		for (int index = 0; index < footprints.size(); index++) {
+			final List<Integer> unitIndexes = new ArrayList<>();
+			for (int previousIndex = 0; previousIndex < index; previousIndex++) {
+				if (footprints.get(index).dependsOn(footprints.get(previousIndex))) {
+					unitIndexes.add(previousIndex);
+				}
+			}
+			unitPrerequisites.add(Collections.unmodifiableList(unitIndexes));
+		}
+		this.prerequisites = Collections.unmodifiableList(unitPrerequisites);
+	}
+
+	/**
+	 * @return the transaction job units, in the order of the job
+	 */
+	public List<TransactionJobUnit> getUnits() {
+		return units;
+	}
+
+	/**
+	 * Gets the units that must be processed before the given one.
+	 *
+	 * @param unitIndex the index of the unit in the job
+	 * @return the indexes of the units it depends on, in the order of the job
+	 */
+	public List<Integer> getPrerequisites(final int unitIndex) {
+		return prerequisites.get(unitIndex);
+	}
+
+	/**
+	 * The objects of a unit, and the places of the types it updates and removes.
+	 */
+	private static final class UnitFootprint {
+
+		private final Set<Pair<Class<?>, String>> objects = new HashSet<>();
+		private int minUpdatePlace = Integer.MAX_VALUE;
+		private int maxUpdatePlace = Integer.MIN_VALUE;
+		private int minRemovePlace = Integer.MAX_VALUE;
+		private int maxRemovePlace = Integer.MIN_VALUE;
+
+		UnitFootprint(final TransactionJobUnit unit, final GlobalEpDependencyDescriptor globalEpDependencyDescriptor) {
+			for (final TransactionJobDescriptorEntry entry : unit.getJobDescriptorEntries()) {
+				objects.add(Pair.of(entry.getType(), entry.getGuid()));
+				final int place = globalEpDependencyDescriptor.getPlace(entry.getType());
+				if (Command.REMOVE.equals(entry.getCommand())) {
+					minRemovePlace = Math.min(minRemovePlace, place);
+					maxRemovePlace = Math.max(maxRemovePlace, place);
+				} else {
+					minUpdatePlace = Math.min(minUpdatePlace, place);
+					maxUpdatePlace = Math.max(maxUpdatePlace, place);
+				}
+			}
+		}
+
+		boolean dependsOn(final UnitFootprint previous) {
+			return sharesObjectWith(previous)
+					// an updated object may reference the objects the previous unit updates
+					|| maxUpdatePlace > previous.getMinPlace()
+					// a removed object may be referenced by the objects the previous unit updates or removes
+					|| minRemovePlace < previous.getMaxPlace()
+					// the previous unit may remove an object referenced by the objects of this unit
+					|| previous.minRemovePlace < getMaxPlace();
+		}
+
+		private boolean sharesObjectWith(final UnitFootprint other) {
+			for (final Pair<Class<?>, String> object : objects) {
+				if (other.objects.contains(object)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private int getMinPlace() {
+			return Math.min(minUpdatePlace, minRemovePlace);
+		}
+
+		private int getMaxPlace() {
+			return Math.max(maxUpdatePlace, maxRemovePlace);
+		}
+	}
+}
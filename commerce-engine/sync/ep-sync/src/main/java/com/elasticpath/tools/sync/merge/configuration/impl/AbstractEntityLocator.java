@@ -17,6 +17,7 @@ import com.elasticpath.tools.sync.merge.configuration.GuidLocator;
 /**
  *
  * Abstract Entity Locator class.
+ * The persistent references it locates are cached per thread, as the transaction job units of a job may be processed concurrently.
  *
  */
 public abstract class AbstractEntityLocator implements EntityLocator {
@@ -25,7 +26,11 @@ public abstract class AbstractEntityLocator implements EntityLocator {
 
 	private FetchGroupLoadTuner emptyFetchGroupLoadTuner;
 
-	private LRUMap refCache;
+	private static final int DEFAULT_REF_CACHE_SIZE = 2048;
+
+	private int refCacheSize = DEFAULT_REF_CACHE_SIZE;
+
+	private final ThreadLocal<LRUMap> refCache = ThreadLocal.withInitial(() -> new LRUMap(refCacheSize));
 
 	private static final Logger LOG = LogManager.getLogger(AbstractEntityLocator.class);
 
@@ -119,18 +124,19 @@ public abstract class AbstractEntityLocator implements EntityLocator {
 
 	/**
 	 *
-	 * @return the refCache
+	 * @return the refCache of the current thread
 	 */
 	public LRUMap getRefCache() {
-		return refCache;
+		return refCache.get();
 	}
 
 	/**
+	 * Sets the maximum number of persistent references cached by each thread.
 	 *
-	 * @param refCache the refCache to set
+	 * @param refCacheSize the size of the refCache of each thread
 	 */
-	public void setRefCache(final LRUMap refCache) {
-		this.refCache = refCache;
+	public void setRefCacheSize(final int refCacheSize) {
+		this.refCacheSize = refCacheSize;
 	}
 
 
@@ -13,12 +13,13 @@ import com.elasticpath.tools.sync.merge.configuration.MergeBoundarySpecification
 /**
  * Provides boundary condition when merge process should be abandoned.
  * Each granular class (e.g. Product, ProductSku, Promotion) should have its own list of stop classes.
+ * The boundary is initialized per thread, as the transaction job units of a job may be merged concurrently.
  */
 public class MergeBoundarySpecificationImpl implements MergeBoundarySpecification {
 
 	private Map<Class<?>, Set<Class<?>>> mergeBoundaryMap;
 
-	private Set<Class<?>> currentBoundary = Collections.emptySet();
+	private final ThreadLocal<Set<Class<?>>> currentBoundary = ThreadLocal.withInitial(Collections::emptySet);
 
 	/**
 	 * Initializes the stopper with baseClass in order to determine the merge boundary for this class.
@@ -28,22 +29,23 @@ public class MergeBoundarySpecificationImpl implements MergeBoundarySpecificatio
 	 */
 	@Override
 	public void initialize(final Class<?> baseClazz) throws SyncToolConfigurationException {
-		currentBoundary = mergeBoundaryMap.get(baseClazz);
-		if (currentBoundary == null) {
+		final Set<Class<?>> boundary = mergeBoundaryMap.get(baseClazz);
+		if (boundary == null) {
 			throw new SyncToolConfigurationException("Boundary specification for: " + baseClazz + " could not be found.");			
 		}
+		currentBoundary.set(boundary);
 	}
 
 	/**
 	 * Notifies whether merge should be proceeded recursively for the given object. If <code>initialize</code> method was not called before this
-	 * method then it will return false for any class argument.
+	 * method by the same thread then it will return false for any class argument.
 	 * 
 	 * @param clazz class of the given object
 	 * @return true if recursive merge should be stopped
 	 */
 	@Override
 	public boolean stopMerging(final Class<?> clazz) {
-		return currentBoundary.contains(clazz);
+		return currentBoundary.get().contains(clazz);
 	}
 
 	/**
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tools.sync.processing;
+
+import com.elasticpath.tools.sync.job.TransactionJob;
+import com.elasticpath.tools.sync.target.result.Summary;
+
+/**
+ * Processes all the transaction job units of a transaction job at once, instead of being notified of its objects one by one.
+ */
+public interface TransactionJobUnitsProcessor {
+
+	/**
+	 * Checks whether the units of the given job should be processed by this processor.
+	 *
+	 * @param job the transaction job
+	 * @return true if the processor is enabled and there is something to gain from it for the job
+	 */
+	boolean supports(TransactionJob job);
+
+	/**
+	 * Processes the units of the given job, each one in its own transaction on the target.
+	 * A failing unit is rolled back and no other unit is started after the failure, as when the units are processed one by one.
+	 *
+	 * @param job the transaction job
+	 * @param summary the summary to report results
+	 * @throws RuntimeException the failure of the first failing unit
+	 */
+	void process(TransactionJob job, Summary summary);
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tools.sync.processing.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.commons.constants.ContextIdNames;
+import com.elasticpath.persistence.api.EpPersistenceException;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.persistence.api.PersistenceSession;
+import com.elasticpath.persistence.api.Transaction;
+import com.elasticpath.tools.sync.beanfactory.SyncBeanFactory;
+import com.elasticpath.tools.sync.job.GlobalEpDependencyDescriptor;
+import com.elasticpath.tools.sync.job.JobEntry;
+import com.elasticpath.tools.sync.job.TransactionJob;
+import com.elasticpath.tools.sync.job.TransactionJobUnit;
+import com.elasticpath.tools.sync.job.impl.TransactionJobUnitDependencyGraph;
+import com.elasticpath.tools.sync.processing.TransactionJobUnitsProcessor;
+import com.elasticpath.tools.sync.target.JobUnitTransactionCallbackListener;
+import com.elasticpath.tools.sync.target.SyncService;
+import com.elasticpath.tools.sync.target.result.Summary;
+
+/**
+ * Processes the transaction job units of a job concurrently, each one in its own transaction on the target, in the order given
+ * by their {@link TransactionJobUnitDependencyGraph}: a unit starts once all the units it depends on are committed. A unit, such as
+ * the single unit of a change set, is never split, so each unit is still committed or rolled back as a whole.
+ * <p>
+ * As when the units are processed one by one, a failing unit is rolled back, no unit is started after the failure and the failure
+ * is rethrown once the running units are finished. A report of the time each unit waited and took is logged at the end.
+ */
+public class ParallelTransactionJobUnitsProcessorImpl implements TransactionJobUnitsProcessor {
+
+	private static final Logger LOG = LogManager.getLogger(ParallelTransactionJobUnitsProcessorImpl.class);
+
+	private SyncBeanFactory syncBeanFactory;
+
+	private GlobalEpDependencyDescriptor globalEpDependencyDescriptor;
+
+	private Executor jobUnitExecutor;
+
+	private int parallelJobUnits = 1;
+
+	@Override
+	public boolean supports(final TransactionJob job) {
+		return parallelJobUnits > 1 && jobUnitExecutor != null && job.getTransactionJobUnits().size() > 1;
+	}
+
+	@Override
+	public void process(final TransactionJob job, final Summary summary) {
+		final TransactionJobUnitDependencyGraph graph = new TransactionJobUnitDependencyGraph(job.getTransactionJobUnits(),
+				getGlobalEpDependencyDescriptor());
+		final List<TransactionJobUnit> units = graph.getUnits();
+
+		final AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+		final List<JobUnitTiming> timings = new ArrayList<>(units.size());
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(units.size());
+		final long jobStartTime = System.nanoTime();
+
+		for (int index = 0; index < units.size(); index++) {
+			final JobUnitTiming timing = new JobUnitTiming(units.get(index), jobStartTime);
+			timings.add(timing);
+
+			final CompletableFuture<?>[] prerequisites = graph.getPrerequisites(index).stream()
+					.map(futures::get)
+					.toArray(CompletableFuture<?>[]::new);
+			futures.add(CompletableFuture.allOf(prerequisites)
+					.thenRunAsync(() -> processUnit(timing, summary, firstFailure), getJobUnitExecutor()));
+		}
+
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+		} catch (final CompletionException e) {
+			// the failure of the first failing unit is rethrown below, the other units depending on it were skipped
+			LOG.debug("A transaction job unit failed", e);
+		} finally {
+			logReport(timings, System.nanoTime() - jobStartTime);
+		}
+
+		if (firstFailure.get() != null) {
+			throw firstFailure.get();
+		}
+	}
+
+	/**
+	 * Processes a unit in its own transaction, unless another unit already failed.
+	 *
+	 * @param timing the timing of the unit
+	 * @param summary the summary to report results
+	 * @param firstFailure the failure of the first failing unit, if any
+	 */
+	protected void processUnit(final JobUnitTiming timing, final Summary summary, final AtomicReference<RuntimeException> firstFailure) {
+		if (firstFailure.get() != null) {
+			return;
+		}
+		timing.started();
+		try {
+			processUnitInTransaction(timing.getUnit(), summary);
+			timing.finished(true);
+		} catch (final RuntimeException e) {
+			timing.finished(false);
+			firstFailure.compareAndSet(null, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Processes the job entries of a unit in a new transaction, then commits it, or rolls it back if an entry failed. The persistence
+	 * session opened by the worker thread is closed afterwards.
+	 *
+	 * @param unit the unit
+	 * @param summary the summary to report results
+	 */
+	protected void processUnitInTransaction(final TransactionJobUnit unit, final Summary summary) {
+		final PersistenceSession persistenceSession = getPersistenceEngine().getSharedPersistenceSession();
+		try {
+			processUnitInTransaction(unit, summary, persistenceSession.beginTransaction());
+		} finally {
+			closeSession(persistenceSession);
+		}
+	}
+
+	private void processUnitInTransaction(final TransactionJobUnit unit, final Summary summary, final Transaction transaction) {
+		final SyncService syncService = getSyncBeanFactory().getTargetBean("syncService");
+		try {
+			for (final JobEntry jobEntry : unit.createJobEntries()) {
+				syncService.processJobEntry(jobEntry);
+				synchronized (summary) {
+					summary.addSuccessJobEntry(jobEntry);
+				}
+			}
+			firePreCommitListeners();
+		} catch (final RuntimeException e) {
+			LOG.debug("Rolling back the transaction of the transaction job unit " + unit);
+			transaction.rollback();
+			throw e;
+		}
+
+		if (transaction.isRollbackOnly()) {
+			LOG.debug("The transaction is marked as rollback only. Rolling back... ");
+			transaction.rollback();
+		} else {
+			transaction.commit();
+		}
+	}
+
+	private void closeSession(final PersistenceSession persistenceSession) {
+		try {
+			persistenceSession.close();
+		} catch (final EpPersistenceException e) {
+			LOG.error("Error closing the persistence session", e);
+		}
+	}
+
+	private void firePreCommitListeners() {
+		final List<JobUnitTransactionCallbackListener> callbackListeners = getSyncBeanFactory().getTargetBean("callbackListeners");
+		for (final JobUnitTransactionCallbackListener listener : callbackListeners) {
+			listener.preCommitHook();
+		}
+	}
+
+	private void logReport(final List<JobUnitTiming> timings, final long elapsedNanos) {
+		if (!LOG.isInfoEnabled()) {
+			return;
+		}
+		long busyMillis = 0;
+		final StringBuilder report = new StringBuilder("Processed ").append(timings.size()).append(" transaction job units in ")
+				.append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms with up to ").append(parallelJobUnits)
+				.append(" concurrent units:");
+		for (final JobUnitTiming timing : timings) {
+			busyMillis += timing.getProcessingMillis();
+			report.append(System.lineSeparator()).append("  ").append(timing);
+		}
+		report.append(System.lineSeparator()).append("  total unit time ").append(busyMillis).append(" ms");
+		LOG.info(report);
+	}
+
+	/**
+	 * The timing of a transaction job unit.
+	 */
+	protected static final class JobUnitTiming {
+
+		private final TransactionJobUnit unit;
+		private final long jobStartTime;
+		private volatile long startTime;
+		private volatile long endTime;
+		private volatile String status = "skipped";
+
+		JobUnitTiming(final TransactionJobUnit unit, final long jobStartTime) {
+			this.unit = unit;
+			this.jobStartTime = jobStartTime;
+		}
+
+		TransactionJobUnit getUnit() {
+			return unit;
+		}
+
+		void started() {
+			startTime = System.nanoTime();
+			status = "running";
+		}
+
+		void finished(final boolean committed) {
+			endTime = System.nanoTime();
+			status = committed ? "committed" : "rolled back";
+		}
+
+		long getProcessingMillis() {
+			if (endTime == 0) {
+				return 0;
+			}
+			return TimeUnit.NANOSECONDS.toMillis(endTime - startTime);
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder result = new StringBuilder(String.valueOf(unit.getName())).append(": ")
+					.append(unit.getJobDescriptorEntries().size()).append(" entries, ").append(status);
+			if (startTime != 0) {
+				result.append(", waited ").append(TimeUnit.NANOSECONDS.toMillis(startTime - jobStartTime)).append(" ms");
+			}
+			if (endTime != 0) {
+				result.append(", took ").append(getProcessingMillis()).append(" ms");
+			}
+			return result.toString();
+		}
+	}
+
+	/**
+	 * @return the target persistence engine
+	 */
+	protected PersistenceEngine getPersistenceEngine() {
+		return getSyncBeanFactory().getTargetBean(ContextIdNames.PERSISTENCE_ENGINE);
+	}
+
+	protected SyncBeanFactory getSyncBeanFactory() {
+		return syncBeanFactory;
+	}
+
+	public void setSyncBeanFactory(final SyncBeanFactory syncBeanFactory) {
+		this.syncBeanFactory = syncBeanFactory;
+	}
+
+	protected GlobalEpDependencyDescriptor getGlobalEpDependencyDescriptor() {
+		return globalEpDependencyDescriptor;
+	}
+
+	public void setGlobalEpDependencyDescriptor(final GlobalEpDependencyDescriptor globalEpDependencyDescriptor) {
+		this.globalEpDependencyDescriptor = globalEpDependencyDescriptor;
+	}
+
+	protected Executor getJobUnitExecutor() {
+		return jobUnitExecutor;
+	}
+
+	public void setJobUnitExecutor(final Executor jobUnitExecutor) {
+		this.jobUnitExecutor = jobUnitExecutor;
+	}
+
+	public int getParallelJobUnits() {
+		return parallelJobUnits;
+	}
+
+	public void setParallelJobUnits(final int parallelJobUnits) {
+		this.parallelJobUnits = parallelJobUnits;
+	}
+}
@@ -20,7 +20,8 @@ import com.elasticpath.tools.sync.target.JobUnitTransactionCallbackListener;
  */
 public class BaseAmountJobTransactionCallbackListener implements JobTransactionCallback, JobUnitTransactionCallbackListener {
 
-	private final Set<BaseAmount> baseAmountsToUpdate = new HashSet<>();
+	/** Kept per thread, since transaction job units may be processed concurrently. */
+	private final ThreadLocal<Set<BaseAmount>> baseAmountsToUpdate = ThreadLocal.withInitial(HashSet::new);
 	
 	private BeanFactory coreBeanFactory;
 
@@ -62,6 +63,7 @@ public class BaseAmountJobTransactionCallbackListener implements JobTransactionC
 			priceUpdatedNotificationService.notifyPriceUpdated(baseAmount.getPriceListDescriptorGuid(), baseAmount.getObjectType(),
 					baseAmount.getObjectGuid());
 		}
+		getBaseAmountsToUpdate().clear();
 	}
 
 	/**
@@ -83,7 +85,7 @@ public class BaseAmountJobTransactionCallbackListener implements JobTransactionC
 	 * @return the baseAmountsToUpdate
 	 */
 	private Set<BaseAmount> getBaseAmountsToUpdate() {
-		return baseAmountsToUpdate;
+		return baseAmountsToUpdate.get();
 	}
 
 	/**
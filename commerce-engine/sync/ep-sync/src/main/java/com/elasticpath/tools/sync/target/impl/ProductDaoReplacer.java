@@ -16,9 +16,10 @@ import org.springframework.beans.factory.support.MethodReplacer;
  */
 public class ProductDaoReplacer implements MethodReplacer {
 
-	private Method replacedMethod;
-	private Object invokingObject;
-	private Set<Long> affectedCategoryUids = new HashSet<>();
+	private volatile Method replacedMethod;
+	private volatile Object invokingObject;
+	/** Kept per thread, since transaction job units may be processed concurrently. */
+	private final ThreadLocal<Set<Long>> affectedCategoryUids = ThreadLocal.withInitial(HashSet::new);
 
 
 	/**
@@ -81,18 +82,18 @@ public class ProductDaoReplacer implements MethodReplacer {
 
 	/**
 	 *
-	 * @return the affectedCategoryUids
+	 * @return the affectedCategoryUids of the current thread
 	 */
 	public Set<Long> getAffectedCategoryUids() {
-		return affectedCategoryUids;
+		return affectedCategoryUids.get();
 	}
 
 	/**
 	 *
-	 * @param affectedCategoryUids the affectedCategoryUids to set
+	 * @param affectedCategoryUids the affectedCategoryUids of the current thread to set
 	 */
 	public void setAffectedCategoryUids(final Set<Long> affectedCategoryUids) {
-		this.affectedCategoryUids = affectedCategoryUids;
+		this.affectedCategoryUids.set(affectedCategoryUids);
 	}
 
 
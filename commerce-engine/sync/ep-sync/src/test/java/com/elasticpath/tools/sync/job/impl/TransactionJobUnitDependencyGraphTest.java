@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tools.sync.job.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.elasticpath.domain.catalog.Catalog;
+import com.elasticpath.domain.catalog.Category;
+import com.elasticpath.domain.catalog.Product;
+import com.elasticpath.tools.sync.job.Command;
+import com.elasticpath.tools.sync.job.TransactionJobUnit;
+import com.elasticpath.tools.sync.job.descriptor.impl.TransactionJobDescriptorEntryImpl;
+
+/**
+ * Tests that <code>TransactionJobUnitDependencyGraph</code> only makes a unit wait for the units it depends on.
+ */
+public class TransactionJobUnitDependencyGraphTest {
+
+	private GlobalEpDependencyDescriptorImpl globalEpDependencyDescriptor;
+
+	/**
+	 * Setup test.
+	 */
+	@Before
+	public void setUp() {
+		globalEpDependencyDescriptor = new GlobalEpDependencyDescriptorImpl();
+		Map<Class<?>, Integer> domainClassOrdering = new HashMap<>();
+		domainClassOrdering.put(Catalog.class, 0);
+		domainClassOrdering.put(Category.class, 1);
+		domainClassOrdering.put(Product.class, 2);
+		globalEpDependencyDescriptor.setDomainClassOrdering(domainClassOrdering);
+	}
+
+	/**
+	 * Units updating different objects of the same type don't depend on each other.
+	 */
+	@Test
+	public void testUnitsUpdatingDifferentObjectsOfSameTypeAreIndependent() {
+		final TransactionJobUnitDependencyGraph graph = createGraph(
+				createUnit(Product.class, "product1", Command.UPDATE),
+				createUnit(Product.class, "product2", Command.UPDATE));
+
+		assertEquals(Collections.emptyList(), graph.getPrerequisites(0));
+		assertEquals(Collections.emptyList(), graph.getPrerequisites(1));
+	}
+
+	/**
+	 * Units sharing an object are processed in the order of the job.
+	 */
+	@Test
+	public void testUnitsSharingAnObjectDependOnEachOther() {
+		final TransactionJobUnitDependencyGraph graph = createGraph(
+				createUnit(Product.class, "product1", Command.UPDATE),
+				createUnit(Product.class, "product1", Command.REMOVE));
+
+		assertEquals(Collections.singletonList(0), graph.getPrerequisites(1));
+	}
+
+	/**
+	 * A product update may reference the category updated by a previous unit.
+	 */
+	@Test
+	public void testUpdateDependsOnUpdateOfTypeItDependsOn() {
+		final TransactionJobUnitDependencyGraph graph = createGraph(
+				createUnit(Category.class, "category", Command.UPDATE),
+				createUnit(Product.class, "product", Command.UPDATE),
+				createUnit(Catalog.class, "catalog", Command.UPDATE));
+
+		assertEquals(Collections.singletonList(0), graph.getPrerequisites(1));
+		assertEquals(Collections.emptyList(), graph.getPrerequisites(2));
+	}
+
+	/**
+	 * A category removal may be referenced by the product updated by a previous unit.
+	 */
+	@Test
+	public void testRemoveDependsOnUpdateOfTypeDependingOnIt() {
+		final TransactionJobUnitDependencyGraph graph = createGraph(
+				createUnit(Product.class, "product", Command.UPDATE),
+				createUnit(Catalog.class, "catalog", Command.UPDATE),
+				createUnit(Category.class, "category", Command.REMOVE));
+
+		assertEquals(Collections.singletonList(0), graph.getPrerequisites(2));
+	}
+
+	private TransactionJobUnitDependencyGraph createGraph(final TransactionJobUnit... units) {
+		return new TransactionJobUnitDependencyGraph(Arrays.asList(units), globalEpDependencyDescriptor);
+	}
+
+	private TransactionJobUnit createUnit(final Class<?> type, final String guid, final Command command) {
+		final TransactionJobDescriptorEntryImpl entry = new TransactionJobDescriptorEntryImpl();
+		entry.setType(type);
+		entry.setGuid(guid);
+		entry.setCommand(command);
+
+		final TransactionJobUnitImpl unit = new TransactionJobUnitImpl(null);
+		unit.addJobEntry(entry);
+		return unit;
+	}
+}
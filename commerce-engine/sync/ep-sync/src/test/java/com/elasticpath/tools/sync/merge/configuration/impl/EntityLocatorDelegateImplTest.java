@@ -4,9 +4,12 @@
 package com.elasticpath.tools.sync.merge.configuration.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.collections.map.LRUMap;
 import org.jmock.Expectations;
@@ -140,8 +143,8 @@ public class EntityLocatorDelegateImplTest {
 		final GuidLocator guidLocator = context.mock(GuidLocator.class);
 
 		entityLocatorDelegateImpl.setGuidLocator(guidLocator);
-		final LRUMap cache = new LRUMap(10);
-		entityLocatorDelegateImpl.setRefCache(cache);
+		entityLocatorDelegateImpl.setRefCacheSize(10);
+		final LRUMap cache = entityLocatorDelegateImpl.getRefCache();
 
 
 		final Product aProduct = new ProductImpl();
@@ -169,8 +172,8 @@ public class EntityLocatorDelegateImplTest {
 		final GuidLocator guidLocator = context.mock(GuidLocator.class);
 
 		entityLocatorDelegateImpl.setGuidLocator(guidLocator);
-		final LRUMap cache = new LRUMap(10);
-		entityLocatorDelegateImpl.setRefCache(cache);
+		entityLocatorDelegateImpl.setRefCacheSize(10);
+		final LRUMap cache = entityLocatorDelegateImpl.getRefCache();
 
 
 		final ProductBundle aBundle = new ProductBundleImpl();
@@ -190,4 +193,22 @@ public class EntityLocatorDelegateImplTest {
 		assertEquals("product not found from cache", aBundle, locatedPersistent);
 
 	}
+
+	/**
+	 * Tests that each thread caches its own persistent references, as job units may be processed concurrently.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the other thread
+	 */
+	@Test
+	public void testCacheIsPerThread() throws InterruptedException {
+		final LRUMap cache = entityLocatorDelegateImpl.getRefCache();
+
+		final AtomicReference<LRUMap> otherThreadCache = new AtomicReference<>();
+		final Thread otherThread = new Thread(() -> otherThreadCache.set(entityLocatorDelegateImpl.getRefCache()));
+		otherThread.start();
+		otherThread.join();
+
+		assertNotSame("each thread should have its own cache", cache, otherThreadCache.get());
+		assertSame("the cache of the thread should be reused", cache, entityLocatorDelegateImpl.getRefCache());
+	}
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.tools.sync.processing.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.commons.constants.ContextIdNames;
+import com.elasticpath.domain.catalog.Brand;
+import com.elasticpath.domain.catalog.Catalog;
+import com.elasticpath.domain.catalog.Category;
+import com.elasticpath.domain.catalog.Product;
+import com.elasticpath.persistence.api.PersistenceEngine;
+import com.elasticpath.persistence.api.PersistenceSession;
+import com.elasticpath.persistence.api.Transaction;
+import com.elasticpath.tools.sync.beanfactory.SyncBeanFactory;
+import com.elasticpath.tools.sync.job.Command;
+import com.elasticpath.tools.sync.job.JobEntry;
+import com.elasticpath.tools.sync.job.TransactionJob;
+import com.elasticpath.tools.sync.job.impl.GlobalEpDependencyDescriptorImpl;
+import com.elasticpath.tools.sync.job.impl.JobEntryImpl;
+import com.elasticpath.tools.sync.job.impl.TransactionJobImpl;
+import com.elasticpath.tools.sync.job.impl.TransactionJobUnitImpl;
+import com.elasticpath.tools.sync.job.descriptor.impl.TransactionJobDescriptorEntryImpl;
+import com.elasticpath.tools.sync.merge.configuration.impl.MergeBoundarySpecificationImpl;
+import com.elasticpath.tools.sync.target.SyncService;
+import com.elasticpath.tools.sync.target.result.Summary;
+
+/**
+ * Tests for {@link ParallelTransactionJobUnitsProcessorImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelTransactionJobUnitsProcessorImplTest {
+
+	private static final int PARALLEL_JOB_UNITS = 2;
+
+	private static final long TIMEOUT_SECONDS = 10;
+
+	@Mock
+	private SyncBeanFactory syncBeanFactory;
+
+	@Mock
+	private PersistenceEngine persistenceEngine;
+
+	@Mock
+	private PersistenceSession persistenceSession;
+
+	@Mock
+	private Transaction transaction;
+
+	@Mock
+	private SyncService syncService;
+
+	@Mock
+	private Summary summary;
+
+	private final ExecutorService jobUnitExecutor = Executors.newFixedThreadPool(PARALLEL_JOB_UNITS);
+
+	private final ParallelTransactionJobUnitsProcessorImpl processor = new ParallelTransactionJobUnitsProcessorImpl();
+
+	private final MergeBoundarySpecificationImpl mergeBoundarySpecification = new MergeBoundarySpecificationImpl();
+
+	private final TransactionJob job = new TransactionJobImpl();
+
+	/**
+	 * Sets up a test case.
+	 */
+	@Before
+	public void setUp() {
+		final Map<Class<?>, Integer> domainClassOrdering = new HashMap<>();
+		domainClassOrdering.put(Category.class, 0);
+		domainClassOrdering.put(Product.class, 1);
+		domainClassOrdering.put(Brand.class, 1);
+		final GlobalEpDependencyDescriptorImpl globalEpDependencyDescriptor = new GlobalEpDependencyDescriptorImpl();
+		globalEpDependencyDescriptor.setDomainClassOrdering(domainClassOrdering);
+
+		final Map<Class<?>, Set<Class<?>>> mergeBoundaryMap = new HashMap<>();
+		mergeBoundaryMap.put(Product.class, Collections.singleton(Category.class));
+		mergeBoundaryMap.put(Brand.class, Collections.singleton(Catalog.class));
+		mergeBoundarySpecification.setMergeBoundaryMap(mergeBoundaryMap);
+
+		processor.setSyncBeanFactory(syncBeanFactory);
+		processor.setGlobalEpDependencyDescriptor(globalEpDependencyDescriptor);
+		processor.setJobUnitExecutor(jobUnitExecutor);
+		processor.setParallelJobUnits(PARALLEL_JOB_UNITS);
+	}
+
+	/**
+	 * Shuts the executor down.
+	 */
+	@After
+	public void tearDown() {
+		jobUnitExecutor.shutdownNow();
+	}
+
+	/**
+	 * Independent units of different types are merged at the same time, each one within its own merge boundary.
+	 */
+	@Test
+	public void shouldProcessIndependentUnitsOfDifferentTypesConcurrently() {
+		givenTargetTransactions();
+		doReturn(Collections.emptyList()).when(syncBeanFactory).getTargetBean("callbackListeners");
+		addUnit("products", Product.class, "product");
+		addUnit("brands", Brand.class, "brand");
+
+		final CyclicBarrier bothUnitsMerging = new CyclicBarrier(PARALLEL_JOB_UNITS);
+		final Map<Class<?>, Boolean> stopsMergingAtCategory = new ConcurrentHashMap<>();
+		doAnswer(invocation -> {
+			final JobEntry jobEntry = invocation.getArgument(0);
+			mergeBoundarySpecification.initialize(jobEntry.getType());
+			bothUnitsMerging.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			stopsMergingAtCategory.put(jobEntry.getType(), mergeBoundarySpecification.stopMerging(Category.class));
+			return null;
+		}).when(syncService).processJobEntry(any(JobEntry.class));
+
+		assertThat(processor.supports(job)).isTrue();
+		processor.process(job, summary);
+
+		assertThat(stopsMergingAtCategory)
+				.containsEntry(Product.class, true)
+				.containsEntry(Brand.class, false);
+		verify(transaction, times(2)).commit();
+		verify(persistenceSession, times(2)).close();
+		verify(summary, times(2)).addSuccessJobEntry(any(JobEntry.class));
+	}
+
+	/**
+	 * A failing unit is rolled back, the units depending on it are not started and its failure is rethrown.
+	 */
+	@Test
+	public void shouldRollBackFailingUnitAndSkipTheUnitsDependingOnIt() {
+		givenTargetTransactions();
+		addUnit("categories", Category.class, "category");
+		addUnit("products", Product.class, "product");
+		final IllegalStateException failure = new IllegalStateException("failed");
+		doThrow(failure).when(syncService).processJobEntry(argThat(jobEntry -> Category.class.equals(jobEntry.getType())));
+
+		assertThatThrownBy(() -> processor.process(job, summary)).isSameAs(failure);
+
+		verify(transaction).rollback();
+		verify(transaction, never()).commit();
+		verify(persistenceSession).close();
+		verify(syncService, never()).processJobEntry(argThat(jobEntry -> Product.class.equals(jobEntry.getType())));
+	}
+
+	/**
+	 * A job made of a single unit, such as a change set, is processed as usual so that it is published in a single transaction.
+	 */
+	@Test
+	public void shouldNotSupportJobWithSingleUnit() {
+		final TransactionJobUnitImpl unit = addUnit("changeSet", Product.class, "product1");
+		unit.addJobEntry(createEntry(Product.class, "product2"));
+
+		assertThat(processor.supports(job)).isFalse();
+	}
+
+	private void givenTargetTransactions() {
+		doReturn(syncService).when(syncBeanFactory).getTargetBean("syncService");
+		doReturn(persistenceEngine).when(syncBeanFactory).getTargetBean(ContextIdNames.PERSISTENCE_ENGINE);
+		when(persistenceEngine.getSharedPersistenceSession()).thenReturn(persistenceSession);
+		when(persistenceSession.beginTransaction()).thenReturn(transaction);
+	}
+
+	private TransactionJobUnitImpl addUnit(final String name, final Class<?> type, final String guid) {
+		final TransactionJobUnitImpl unit = new TransactionJobUnitImpl((transactionJobUnit, descriptorEntry) -> {
+			final JobEntry jobEntry = new JobEntryImpl();
+			jobEntry.setGuid(descriptorEntry.getGuid());
+			jobEntry.setType(descriptorEntry.getType());
+			jobEntry.setCommand(descriptorEntry.getCommand());
+			jobEntry.setTransactionJobUnitName(transactionJobUnit.getName());
+			return jobEntry;
+		});
+		unit.setName(name);
+		unit.addJobEntry(createEntry(type, guid));
+		job.addTransactionJobUnit(unit);
+		return unit;
+	}
+
+	private TransactionJobDescriptorEntryImpl createEntry(final Class<?> type, final String guid) {
+		final TransactionJobDescriptorEntryImpl entry = new TransactionJobDescriptorEntryImpl();
+		entry.setType(type);
+		entry.setGuid(guid);
+		entry.setCommand(Command.UPDATE);
+		return entry;
+	}
+}
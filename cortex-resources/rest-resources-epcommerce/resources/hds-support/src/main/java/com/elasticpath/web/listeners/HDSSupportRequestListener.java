@@ -3,8 +3,13 @@
  */
 package com.elasticpath.web.listeners;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.servlet.ServletRequest;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.ServletRequestListener;
+import javax.servlet.http.HttpServletRequest;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -13,13 +18,18 @@ import org.osgi.service.http.whiteboard.HttpWhiteboardConstants;
 import com.elasticpath.persistence.openjpa.routing.HDSSupportBean;
 
 /**
- * This filter clears thread locals from {@link HDSSupportBean} on each request.
+ * This filter clears thread locals from {@link HDSSupportBean} on each request, and identifies the session of the request
+ * by its access token so that the session can read its own writes.
  */
 @Component(property = {
 	HttpWhiteboardConstants.HTTP_WHITEBOARD_LISTENER + "=true"
 })
 public class HDSSupportRequestListener implements ServletRequestListener {
 
+	private static final String AUTHORIZATION_HEADER = "Authorization";
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
 	@Reference
 	private HDSSupportBean hdsSupportBean;
 
@@ -31,5 +41,29 @@ public class HDSSupportRequestListener implements ServletRequestListener {
 	@Override
 	public void requestInitialized(final ServletRequestEvent servletRequestEvent) {
 		hdsSupportBean.clearAll();
+		hdsSupportBean.setSessionId(getSessionId(servletRequestEvent.getServletRequest()));
+	}
+
+	private String getSessionId(final ServletRequest request) {
+		if (!(request instanceof HttpServletRequest)) {
+			return null;
+		}
+		final String authorization = ((HttpServletRequest) request).getHeader(AUTHORIZATION_HEADER);
+		// the token itself isn't kept, only a digest of it
+		return authorization == null ? null : digest(authorization);
+	}
+
+	private static String digest(final String value) {
+		final MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Every Java platform supports " + DIGEST_ALGORITHM, e);
+		}
+		final StringBuilder hex = new StringBuilder();
+		for (final byte digestByte : messageDigest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+			hex.append(String.format("%02x", digestByte));
+		}
+		return hex.toString();
 	}
 }
@@ -24,4 +24,11 @@ public interface StatusChecker {
 	 */
 	Map<String, Status> checkStatusSimple();
 
+	/**
+	 * Checks that the application itself is running, without checking any target.  Intended for frequent liveness probes.
+	 *
+	 * @return map of statuses.
+	 */
+	Map<String, Status> checkLiveness();
+
 }
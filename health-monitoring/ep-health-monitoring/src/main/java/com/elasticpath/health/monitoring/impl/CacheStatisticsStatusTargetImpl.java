@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.health.monitoring.impl;
+
+import java.lang.management.ManagementFactory;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.elasticpath.health.monitoring.Status;
+import com.elasticpath.health.monitoring.StatusType;
+
+/**
+ * Reports the cache statistics published over JMX by the caching module. The statistics are read from the platform MBean server
+ * rather than from a bean reference, so the target also works where the caches live in a different application context,
+ * such as the OSGi container of Cortex. The webapps may share an MBean server, so the statistics of the application named by
+ * {@link #setApplicationName(String)} are read. The target is informational and reports OK even when no statistics are published.
+ */
+public class CacheStatisticsStatusTargetImpl extends AbstractStatusCheckerTarget {
+
+	private static final Logger LOG = LogManager.getLogger(CacheStatisticsStatusTargetImpl.class);
+
+	private static final String DEFAULT_OBJECT_NAME = "com.elasticpath.cache:name=CacheStatistics";
+
+	private static final String DEFAULT_ATTRIBUTE_NAME = "CacheSummary";
+
+	private static final String APPLICATION_KEY = "application";
+
+	private MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+	private String objectName = DEFAULT_OBJECT_NAME;
+
+	private String attributeName = DEFAULT_ATTRIBUTE_NAME;
+
+	private String applicationName;
+
+	/**
+	 * Reads the cache statistics summary.
+	 *
+	 * @return an OK status with the summary table as info
+	 */
+	@Override
+	public Status check() {
+		LOG.debug("Checking cache statistics.");
+		try {
+			final Object summary = mBeanServer.getAttribute(getApplicationObjectName(), attributeName);
+			return createStatus(StatusType.OK, "Cache statistics", String.valueOf(summary));
+		} catch (InstanceNotFoundException e) {
+			return createStatus(StatusType.OK, "Cache statistics are not published by this application", null);
+		} catch (JMException e) {
+			LOG.warn("Unable to read cache statistics.", e);
+			return createStatus(StatusType.OK, "Cache statistics are not available", e.getMessage());
+		}
+	}
+
+	private ObjectName getApplicationObjectName() throws JMException {
+		if (StringUtils.isEmpty(applicationName)) {
+			return new ObjectName(objectName);
+		}
+		return new ObjectName(objectName + "," + APPLICATION_KEY + "=" + applicationName);
+	}
+
+	public void setMBeanServer(final MBeanServer mBeanServer) {
+		this.mBeanServer = mBeanServer;
+	}
+
+	public void setObjectName(final String objectName) {
+		this.objectName = objectName;
+	}
+
+	public void setAttributeName(final String attributeName) {
+		this.attributeName = attributeName;
+	}
+
+	public void setApplicationName(final String applicationName) {
+		this.applicationName = applicationName;
+	}
+
+}
@@ -36,6 +36,8 @@ public class ServerStatusCheckerImpl implements ServerStatusChecker {
 
     private static final String FORMAT_SIMPLE = "lb";
 
+    private static final String FORMAT_LIVENESS = "live";
+
     private static final String ENCODING = "UTF-8";
 
     private static final Logger LOG = LogManager.getLogger(ServerStatusCheckerImpl.class);
@@ -61,12 +63,17 @@ public class ServerStatusCheckerImpl implements ServerStatusChecker {
             format = FORMAT_JSON;
         } else if (request.getRequestURI().endsWith(FORMAT_HTML)) {
             format = FORMAT_HTML;
+        } else if (request.getRequestURI().endsWith(FORMAT_LIVENESS)) {
+            format = FORMAT_LIVENESS;
         }
 
         Map<String, Status> results;
 
-        // For load balancers, only check the simple statuses.
-        if (FORMAT_SIMPLE.equals(format)) {
+        // For liveness probes, don't check any target. For load balancers, only check the simple statuses.
+        if (FORMAT_LIVENESS.equals(format)) {
+            results = statusChecker.checkLiveness();
+            format = FORMAT_SIMPLE;
+        } else if (FORMAT_SIMPLE.equals(format)) {
             results = statusChecker.checkStatusSimple();
         } else {
             results = statusChecker.checkStatus();
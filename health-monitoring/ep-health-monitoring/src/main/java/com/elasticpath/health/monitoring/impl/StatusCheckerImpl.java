@@ -5,14 +5,29 @@ package com.elasticpath.health.monitoring.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
 
 import com.elasticpath.health.monitoring.Status;
 import com.elasticpath.health.monitoring.StatusChecker;
 import com.elasticpath.health.monitoring.StatusCheckerTarget;
+import com.elasticpath.health.monitoring.StatusType;
 
 /**
  * <p>
@@ -22,24 +37,56 @@ import com.elasticpath.health.monitoring.StatusCheckerTarget;
  * <p>
  * The targets all return a {@link Status} object. The calling client decides how to use the status objects.
  * </p>
+ * <p>
+ * The targets are checked concurrently, and a target that doesn't answer within the timeout is reported as critical while its check
+ * goes on in the background. The status of a target is cached for the cache TTL, then served stale up to the max staleness while a
+ * single background check refreshes it, so that frequent polling by load balancers doesn't duplicate the checks. A cache TTL of 0 disables
+ * both, so that every call waits for a fresh check.
+ * </p>
  */
-public class StatusCheckerImpl implements StatusChecker {
+public class StatusCheckerImpl implements StatusChecker, DisposableBean {
+
+	private static final Logger LOG = LogManager.getLogger(StatusCheckerImpl.class);
+
+	private static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+	private static final long DEFAULT_CACHE_TTL_MILLIS = 5000;
+
+	private static final long DEFAULT_MAX_STALE_MILLIS = 30000;
+
+	private static final String LIVENESS_NAME = "Liveness";
 
 	private Collection<StatusCheckerTarget> loadBalancerTargets;
 
 	private Collection<StatusCheckerTarget> additionalInfoTargets;
 
+	private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+	private long cacheTtlMillis = DEFAULT_CACHE_TTL_MILLIS;
+
+	private long maxStaleMillis = DEFAULT_MAX_STALE_MILLIS;
+
+	private Executor executor;
+
+	private ExecutorService defaultExecutor;
+
+	private final Map<StatusCheckerTarget, TargetStatus> targetStatuses = new ConcurrentHashMap<>();
+
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see com.elasticpath.health.monitoring.StatusChecker#checkStatus()
 	 */
 	@Override
 	public Map<String, Status> checkStatus() {
-		Map<String, Status> results = new LinkedHashMap<>();
-		results.putAll(checkStatus(loadBalancerTargets));
-		results.putAll(checkStatus(additionalInfoTargets));
-		return results;
+		Collection<StatusCheckerTarget> targets = new ArrayList<>();
+		if (CollectionUtils.isNotEmpty(loadBalancerTargets)) {
+			targets.addAll(loadBalancerTargets);
+		}
+		if (CollectionUtils.isNotEmpty(additionalInfoTargets)) {
+			targets.addAll(additionalInfoTargets);
+		}
+		return checkStatus(targets);
 	}
 
 	@Override
@@ -47,20 +94,149 @@ public class StatusCheckerImpl implements StatusChecker {
 		return checkStatus(loadBalancerTargets);
 	}
 
+	@Override
+	public Map<String, Status> checkLiveness() {
+		Status status = new StatusImpl();
+		status.setStatus(StatusType.OK);
+		status.setMessage("Application is running");
+		return Collections.singletonMap(LIVENESS_NAME, status);
+	}
+
 	private Map<String, Status> checkStatus(final Collection<StatusCheckerTarget> targets) {
 		Map<String, Status> results = new LinkedHashMap<>();
 		if (CollectionUtils.isNotEmpty(targets)) {
+			Map<StatusCheckerTarget, CompletableFuture<Status>> checks = new LinkedHashMap<>();
 			for (StatusCheckerTarget target : targets) {
-				Status status = target.check();
-				results.put(target.getName(), status);
+				checks.put(target, targetStatuses.computeIfAbsent(target, TargetStatus::new).getStatus());
+			}
+
+			final long deadline = System.currentTimeMillis() + timeoutMillis;
+			for (Map.Entry<StatusCheckerTarget, CompletableFuture<Status>> check : checks.entrySet()) {
+				results.put(check.getKey().getName(), waitForStatus(check.getKey(), check.getValue(), deadline));
 			}
 		}
 		return results;
 	}
 
+	private Status waitForStatus(final StatusCheckerTarget target, final CompletableFuture<Status> check, final long deadline) {
+		try {
+			return check.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException exn) {
+			LOG.warn("Status check of " + target.getName() + " did not complete within " + timeoutMillis + " ms.");
+			return createStatus(StatusType.CRITICAL, "Timed out", "No answer within " + timeoutMillis + " ms");
+		} catch (InterruptedException exn) {
+			Thread.currentThread().interrupt();
+			return createStatus(StatusType.UNKNOWN, "Interrupted", exn.getMessage());
+		} catch (ExecutionException exn) {
+			return createStatus(StatusType.CRITICAL, "Exception", exn.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Checks the target, turning any exception thrown by it into a critical status.
+	 *
+	 * @param target the target
+	 * @return the status of the target
+	 */
+	protected Status checkTarget(final StatusCheckerTarget target) {
+		try {
+			return target.check();
+		} catch (RuntimeException exn) {
+			LOG.error("Failed status check of " + target.getName() + ".", exn);
+			return createStatus(StatusType.CRITICAL, "Exception", exn.getMessage());
+		}
+	}
+
+	private Status createStatus(final StatusType type, final String message, final String info) {
+		Status status = new StatusImpl();
+		status.setStatus(type);
+		status.setMessage(message);
+		status.setInfo(info);
+		return status;
+	}
+
+	/**
+	 * The cached status of a target, and its check in progress if any.
+	 */
+	private final class TargetStatus {
+
+		private final StatusCheckerTarget target;
+
+		private Status status;
+
+		private long checkedAt;
+
+		private CompletableFuture<Status> inProgressCheck;
+
+		TargetStatus(final StatusCheckerTarget target) {
+			this.target = target;
+		}
+
+		synchronized CompletableFuture<Status> getStatus() {
+			final long age = System.currentTimeMillis() - checkedAt;
+			if (status != null && age < cacheTtlMillis) {
+				return CompletableFuture.completedFuture(status);
+			}
+
+			final CompletableFuture<Status> check = inProgressCheck == null || inProgressCheck.isDone() ? startCheck() : inProgressCheck;
+			// without a cache TTL, every call waits for a fresh check
+			if (status != null && cacheTtlMillis > 0 && age < maxStaleMillis) {
+				return CompletableFuture.completedFuture(status);
+			}
+			return check;
+		}
+
+		private CompletableFuture<Status> startCheck() {
+			CompletableFuture<Status> check;
+			try {
+				check = CompletableFuture.supplyAsync(() -> checkTarget(target), getExecutor());
+			} catch (RejectedExecutionException exn) {
+				LOG.warn("Status check of " + target.getName() + " rejected, checking in the calling thread.");
+				check = CompletableFuture.completedFuture(checkTarget(target));
+			}
+			// callers waiting for the check only see it complete once its status is cached
+			inProgressCheck = check.thenApply(this::checked);
+			return inProgressCheck;
+		}
+
+		private synchronized Status checked(final Status checkedStatus) {
+			status = checkedStatus;
+			checkedAt = System.currentTimeMillis();
+			inProgressCheck = null;
+			return checkedStatus;
+		}
+	}
+
+	/**
+	 * Gets the executor running the checks, creating a pool of daemon threads if none was set.
+	 *
+	 * @return the executor
+	 */
+	protected synchronized Executor getExecutor() {
+		if (executor == null) {
+			final AtomicInteger threadNumber = new AtomicInteger();
+			defaultExecutor = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "status-checker-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor = defaultExecutor;
+		}
+		return executor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (defaultExecutor != null) {
+			defaultExecutor.shutdownNow();
+			defaultExecutor = null;
+			executor = null;
+		}
+	}
+
 	/**
 	 * Sets the simple targets.
-	 * 
+	 *
 	 * @param loadBalancerTargets the targets to set
 	 */
 	public void setLoadBalancerTargets(final Collection<StatusCheckerTarget> loadBalancerTargets) {
@@ -69,11 +245,48 @@ public class StatusCheckerImpl implements StatusChecker {
 
 	/**
 	 * Sets the additionalInfoTargets.
-	 * 
+	 *
 	 * @param additionalInfoTargets additional targets to set for info URLs
 	 */
 	public void setAdditionalInfoTargets(final Collection<StatusCheckerTarget> additionalInfoTargets) {
 		this.additionalInfoTargets = new ArrayList<>(additionalInfoTargets);
 	}
 
+	/**
+	 * Sets how long to wait for the targets before reporting them as critical.
+	 *
+	 * @param timeoutMillis the timeout in milliseconds
+	 */
+	public void setTimeoutMillis(final long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Sets how long the status of a target is served without checking it again; 0 checks it on every call, and never serves a stale
+	 * status whatever the max staleness.
+	 *
+	 * @param cacheTtlMillis the cache TTL in milliseconds
+	 */
+	public void setCacheTtlMillis(final long cacheTtlMillis) {
+		this.cacheTtlMillis = cacheTtlMillis;
+	}
+
+	/**
+	 * Sets how old a status of a target can be served while it is checked again in the background.
+	 *
+	 * @param maxStaleMillis the max staleness in milliseconds
+	 */
+	public void setMaxStaleMillis(final long maxStaleMillis) {
+		this.maxStaleMillis = maxStaleMillis;
+	}
+
+	/**
+	 * Sets the executor running the checks.
+	 *
+	 * @param executor the executor
+	 */
+	public synchronized void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
 }
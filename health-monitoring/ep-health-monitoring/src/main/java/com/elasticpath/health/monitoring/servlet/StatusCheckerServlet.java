@@ -58,6 +58,8 @@ public class StatusCheckerServlet extends HttpServlet {
      * <dl>
      * <dt>/status/lb</dt>
      * <dd>used by load-balancers for their health checks (the default)</dd>
+     * <dt>/status/live</dt>
+     * <dd>used by liveness probes, only checks that the application is running</dd>
      * <dt>/status/info.json</dt>
      * <dd>used by central status aggregator applications</dd>
      * <dt>/status/info.html</dt>
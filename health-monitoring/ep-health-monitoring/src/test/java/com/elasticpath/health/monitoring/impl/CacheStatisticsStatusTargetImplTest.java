@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.health.monitoring.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.health.monitoring.Status;
+import com.elasticpath.health.monitoring.StatusType;
+
+/**
+ * Tests {@link CacheStatisticsStatusTargetImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CacheStatisticsStatusTargetImplTest {
+	private static final String SUMMARY = "Cache Entries Hits";
+
+	@Mock
+	private MBeanServer mBeanServer;
+
+	private final CacheStatisticsStatusTargetImpl target = new CacheStatisticsStatusTargetImpl();
+
+	@Before
+	public void setUp() {
+		target.setMBeanServer(mBeanServer);
+	}
+
+	@Test
+	public void testSummaryIsReportedAsInfo() throws Exception {
+		when(mBeanServer.getAttribute(new ObjectName("com.elasticpath.cache:name=CacheStatistics"), "CacheSummary")).thenReturn(SUMMARY);
+
+		Status status = target.check();
+
+		assertThat(status.getStatus()).isEqualTo(StatusType.OK);
+		assertThat(status.getInfo()).isEqualTo(SUMMARY);
+	}
+
+	@Test
+	public void testSummaryOfTheApplicationIsReported() throws Exception {
+		target.setApplicationName("Commerce Manager");
+		when(mBeanServer.getAttribute(new ObjectName("com.elasticpath.cache:name=CacheStatistics,application=Commerce Manager"), "CacheSummary"))
+				.thenReturn(SUMMARY);
+
+		Status status = target.check();
+
+		assertThat(status.getInfo()).isEqualTo(SUMMARY);
+	}
+
+	@Test
+	public void testMissingStatisticsAreNotAFailure() throws Exception {
+		when(mBeanServer.getAttribute(any(ObjectName.class), eq("CacheSummary"))).thenThrow(new InstanceNotFoundException());
+
+		Status status = target.check();
+
+		assertThat(status.getStatus()).isEqualTo(StatusType.OK);
+		assertThat(status.getInfo()).isNull();
+	}
+}
@@ -6,6 +6,8 @@ package com.elasticpath.health.monitoring.impl;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -55,6 +57,15 @@ public class ServerStatusCheckerImplTest {
 		assertEquals("Should return OK.", "OK\n\n", stringWriter.toString());
 	}
 
+	@Test
+	public void getServerStatusLivenessShouldNotCheckTargets() throws IOException {
+		when(request.getRequestURI()).thenReturn("live");
+		when(statusChecker.checkLiveness()).thenReturn(new StatusCheckerImpl().checkLiveness());
+		serverStatusCheckerImpl.getServerStatus(REFRESH_INTERVAL, statusChecker, request, response);
+		assertThat("Should return OK", stringWriter.toString(), containsString("OK"));
+		verify(statusChecker, never()).checkStatusSimple();
+	}
+
 	@Test
 	public void getServerStatusJsonShouldReturnJson() throws IOException {
 		when(request.getRequestURI()).thenReturn("info.json");
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Elastic Path Software Inc., 2021
+ */
+package com.elasticpath.health.monitoring.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.elasticpath.health.monitoring.Status;
+import com.elasticpath.health.monitoring.StatusCheckerTarget;
+import com.elasticpath.health.monitoring.StatusType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatusCheckerImplTest {
+
+	private static final String FAST_TARGET = "Fast";
+
+	private static final String SLOW_TARGET = "Slow";
+
+	private static final long TIMEOUT_MILLIS = 100;
+
+	@Mock
+	private StatusCheckerTarget fastTarget;
+
+	@Mock
+	private StatusCheckerTarget slowTarget;
+
+	private final CountDownLatch slowTargetRelease = new CountDownLatch(1);
+
+	private final StatusCheckerImpl statusChecker = new StatusCheckerImpl();
+
+	@Before
+	public void setUp() {
+		statusChecker.setTimeoutMillis(TIMEOUT_MILLIS);
+	}
+
+	@After
+	public void tearDown() {
+		slowTargetRelease.countDown();
+		statusChecker.destroy();
+	}
+
+	@Test
+	public void slowTargetShouldTimeOutWithoutDelayingOtherTargets() {
+		givenFastTarget();
+		when(slowTarget.getName()).thenReturn(SLOW_TARGET);
+		when(slowTarget.check()).thenAnswer(invocation -> {
+			slowTargetRelease.await();
+			return createStatus(StatusType.OK);
+		});
+		statusChecker.setLoadBalancerTargets(Arrays.asList(slowTarget, fastTarget));
+
+		Map<String, Status> results = statusChecker.checkStatusSimple();
+
+		assertThat(results.keySet()).containsExactly(SLOW_TARGET, FAST_TARGET);
+		assertThat(results.get(SLOW_TARGET).getStatus()).isEqualTo(StatusType.CRITICAL);
+		assertThat(results.get(FAST_TARGET).getStatus()).isEqualTo(StatusType.OK);
+	}
+
+	@Test
+	public void statusShouldBeServedFromCacheWithinTtl() {
+		givenFastTarget();
+		statusChecker.setLoadBalancerTargets(Collections.singletonList(fastTarget));
+
+		statusChecker.checkStatusSimple();
+		Map<String, Status> results = statusChecker.checkStatusSimple();
+
+		assertThat(results.get(FAST_TARGET).getStatus()).isEqualTo(StatusType.OK);
+		verify(fastTarget, times(1)).check();
+	}
+
+	@Test
+	public void statusShouldBeCheckedOnEveryCallWithoutCache() {
+		givenFastTarget();
+		statusChecker.setCacheTtlMillis(0);
+		statusChecker.setLoadBalancerTargets(Collections.singletonList(fastTarget));
+
+		statusChecker.checkStatusSimple();
+		statusChecker.checkStatusSimple();
+
+		verify(fastTarget, times(2)).check();
+	}
+
+	@Test
+	public void exceptionFromTargetShouldBeReportedAsCritical() {
+		when(fastTarget.getName()).thenReturn(FAST_TARGET);
+		when(fastTarget.check()).thenThrow(new IllegalStateException("Boom"));
+		statusChecker.setLoadBalancerTargets(Collections.singletonList(fastTarget));
+
+		Map<String, Status> results = statusChecker.checkStatusSimple();
+
+		assertThat(results.get(FAST_TARGET).getStatus()).isEqualTo(StatusType.CRITICAL);
+		assertThat(results.get(FAST_TARGET).getInfo()).isEqualTo("Boom");
+	}
+
+	@Test
+	public void livenessShouldNotCheckTargets() {
+		statusChecker.setLoadBalancerTargets(Collections.singletonList(fastTarget));
+
+		Map<String, Status> results = statusChecker.checkLiveness();
+
+		assertThat(results.values()).extracting(Status::getStatus).containsExactly(StatusType.OK);
+		verify(fastTarget, never()).check();
+	}
+
+	private void givenFastTarget() {
+		when(fastTarget.getName()).thenReturn(FAST_TARGET);
+		when(fastTarget.check()).thenReturn(createStatus(StatusType.OK));
+	}
+
+	private Status createStatus(final StatusType type) {
+		Status status = new StatusImpl();
+		status.setStatus(type);
+		return status;
+	}
+}